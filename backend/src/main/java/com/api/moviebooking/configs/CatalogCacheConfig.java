@@ -0,0 +1,202 @@
+package com.api.moviebooking.configs;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.BatchStrategies;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.cache.RedisCacheWriter;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext.SerializationPair;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.moviebooking.models.dtos.cache.CatalogCacheEvictionMessage;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Two-level cache for read-heavy catalog responses (movies, showtimes, cinemas,
+ * snack menus) and the per-showtime booking contexts of the lock path
+ *
+ * L1 is a small per-node Caffeine cache with a short TTL, L2 is Redis shared by
+ * all nodes. Service write methods evict with @CacheEvict; the eviction is
+ * broadcast on {@link #CHANNEL} so every node drops its L1 copy. Hit/miss
+ * counters are exported as cache_gets{cache=...,layer=l1|l2} in Prometheus.
+ *
+ * Degraded mode: while {@link DatabaseLoadMonitor} reports the database as
+ * overloaded, misses are answered from the last-known value of the key (kept
+ * for cache.catalog.stale.ttl.minutes) and refreshed in the background; see
+ * {@link TwoLevelCache}. Stale answers count as cache_gets{layer=stale} and
+ * the current mode is exported as cache_catalog_degraded. Booking contexts
+ * are excluded ({@link #NEVER_STALE}): their prices get locked and charged,
+ * so a context evicted after a price change must never be served again.
+ *
+ * cache.catalog.enabled=false replaces the manager with a no-op one (used by
+ * the integration tests, which write through repositories and bypass eviction).
+ */
+@Configuration
+@EnableCaching
+@Slf4j
+public class CatalogCacheConfig {
+
+    public static final String MOVIES = "catalog:movies";
+    public static final String MOVIE_LISTS = "catalog:movie-lists";
+    public static final String MOVIE_SHOWTIMES = "catalog:movie-showtimes";
+    public static final String CINEMAS = "catalog:cinemas";
+    public static final String SNACKS = "catalog:snacks";
+    public static final String SHOWTIMES = "catalog:showtimes";
+    public static final String BOOKING_CONTEXTS = "catalog:booking-contexts";
+
+    public static final List<String> CACHE_NAMES = List.of(MOVIES, MOVIE_LISTS, MOVIE_SHOWTIMES, CINEMAS, SNACKS,
+            SHOWTIMES, BOOKING_CONTEXTS);
+
+    /** Caches whose values are never served stale in degraded mode */
+    public static final Set<String> NEVER_STALE = Set.of(BOOKING_CONTEXTS);
+
+    public static final String CHANNEL = "cache:catalog:evict";
+
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    @Value("${cache.catalog.l1.max-entries:10000}")
+    private long localMaxEntries;
+
+    @Value("${cache.catalog.l1.ttl.seconds:60}")
+    private long localTtlSeconds;
+
+    @Value("${cache.catalog.l2.ttl.minutes:10}")
+    private long remoteTtlMinutes;
+
+    @Value("${cache.catalog.stale.ttl.minutes:60}")
+    private long staleTtlMinutes;
+
+    @Value("${cache.catalog.refresh.threads:2}")
+    private int refreshThreads;
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.catalog.enabled", havingValue = "true", matchIfMissing = true)
+    public TwoLevelCacheManager catalogCacheManager(RedisConnectionFactory connectionFactory,
+            RedisTemplate<String, Object> redisTemplate, DatabaseLoadMonitor loadMonitor,
+            PlatformTransactionManager transactionManager) {
+        // SCAN instead of KEYS when clearing a cache, so a clear never blocks Redis
+        RedisCacheManager redisCacheManager = RedisCacheManager
+                .builder(RedisCacheWriter.nonLockingRedisCacheWriter(connectionFactory, BatchStrategies.scan(1000)))
+                .cacheDefaults(RedisCacheConfiguration.defaultCacheConfig()
+                        .entryTtl(Duration.ofMinutes(remoteTtlMinutes))
+                        .serializeValuesWith(SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer()
+                                .configure(mapper -> mapper.registerModule(new JavaTimeModule())
+                                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)))))
+                .initialCacheNames(Set.copyOf(CACHE_NAMES))
+                .build();
+        redisCacheManager.afterPropertiesSet();
+
+        // Background refreshes in degraded mode; a full queue just skips the refresh
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("catalog-refresh-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor refreshExecutor = new ThreadPoolExecutor(refreshThreads, refreshThreads,
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(256), threadFactory);
+        TransactionTemplate refreshTransaction = new TransactionTemplate(transactionManager);
+        refreshTransaction.setReadOnly(true);
+
+        List<TwoLevelCache> caches = CACHE_NAMES.stream()
+                .map(name -> new TwoLevelCache(name,
+                        Caffeine.newBuilder()
+                                .maximumSize(localMaxEntries)
+                                .expireAfterWrite(Duration.ofSeconds(localTtlSeconds))
+                                .recordStats()
+                                .build(),
+                        redisCacheManager.getCache(name),
+                        NEVER_STALE.contains(name) ? null
+                                : Caffeine.newBuilder()
+                                        .maximumSize(localMaxEntries)
+                                        .expireAfterWrite(Duration.ofMinutes(staleTtlMinutes))
+                                        .<Object, TwoLevelCache.LastKnown>build(),
+                        (cacheName, key) -> publishEviction(redisTemplate, cacheName, key),
+                        loadMonitor,
+                        refreshExecutor,
+                        refreshTransaction))
+                .toList();
+        return new TwoLevelCacheManager(caches, refreshExecutor);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.catalog.enabled", havingValue = "false")
+    public CacheManager noOpCacheManager() {
+        return new NoOpCacheManager();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.catalog.enabled", havingValue = "true", matchIfMissing = true)
+    public MeterBinder catalogCacheMetrics(TwoLevelCacheManager catalogCacheManager,
+            DatabaseLoadMonitor loadMonitor) {
+        return registry -> {
+            Gauge.builder("cache.catalog.degraded", loadMonitor, monitor -> monitor.isDegraded() ? 1 : 0)
+                    .description("1 while catalog reads are served in degraded mode")
+                    .register(registry);
+            for (TwoLevelCache cache : catalogCacheManager.getTwoLevelCaches()) {
+                CaffeineCacheMetrics.monitor(registry, cache.getLocalCache(), cache.getName(), "layer", "l1");
+                FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getRemoteHits)
+                        .tags("cache", cache.getName(), "layer", "l2", "result", "hit")
+                        .description("The number of times cache lookup methods have returned a cached value.")
+                        .register(registry);
+                FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getRemoteMisses)
+                        .tags("cache", cache.getName(), "layer", "l2", "result", "miss")
+                        .description("The number of times cache lookup methods have returned an uncached value.")
+                        .register(registry);
+                FunctionCounter.builder("cache.gets", cache, TwoLevelCache::getStaleHits)
+                        .tags("cache", cache.getName(), "layer", "stale", "result", "hit")
+                        .description("The number of times degraded mode returned a last-known value.")
+                        .register(registry);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.catalog.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer catalogCacheEvictionContainer(RedisConnectionFactory connectionFactory,
+            RedisTemplate<String, Object> redisTemplate, TwoLevelCacheManager catalogCacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener((message, pattern) -> {
+            Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+            if (body instanceof CatalogCacheEvictionMessage eviction && !NODE_ID.equals(eviction.getOrigin())) {
+                catalogCacheManager.onRemoteEviction(eviction);
+            }
+        }, new ChannelTopic(CHANNEL));
+        return container;
+    }
+
+    private static void publishEviction(RedisTemplate<String, Object> redisTemplate, String cacheName, String key) {
+        try {
+            redisTemplate.convertAndSend(CHANNEL, new CatalogCacheEvictionMessage(NODE_ID, cacheName, key));
+        } catch (Exception e) {
+            // Other nodes fall back to the L1 TTL
+            log.warn("Failed to publish catalog cache eviction for {}::{}", cacheName, key, e);
+        }
+    }
+}
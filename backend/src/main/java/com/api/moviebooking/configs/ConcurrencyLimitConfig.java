@@ -0,0 +1,28 @@
+package com.api.moviebooking.configs;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.api.moviebooking.services.ConcurrencyLimitService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Adaptive concurrency limit (ConcurrencyLimitService) on the seat lock,
+ * booking confirm and checkout endpoints
+ */
+@Configuration
+@ConditionalOnProperty(name = "booking.concurrency.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitService concurrencyLimitService;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConcurrencyLimitInterceptor(concurrencyLimitService))
+                .addPathPatterns(ConcurrencyLimitInterceptor.LOCK_PATH, "/bookings/confirm", "/checkout");
+    }
+}
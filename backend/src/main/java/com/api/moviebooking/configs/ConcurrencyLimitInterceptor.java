@@ -0,0 +1,51 @@
+package com.api.moviebooking.configs;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import com.api.moviebooking.services.ConcurrencyLimitService;
+import com.api.moviebooking.services.ConcurrencyLimitService.Priority;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Holds a concurrency limit slot for the duration of a booking request
+ * (POST only, see ConcurrencyLimitConfig for the paths). A shed request
+ * throws ServiceOverloadedException, answered with 503 and Retry-After.
+ */
+@RequiredArgsConstructor
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    public static final String LOCK_PATH = "/seat-locks";
+
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+    private static final String PRIORITY_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".priority";
+
+    private final ConcurrencyLimitService concurrencyLimitService;
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (HttpMethod.POST.matches(request.getMethod())) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            Priority priority = LOCK_PATH.equals(path) ? Priority.LOW : Priority.HIGH;
+            request.setAttribute(START_ATTRIBUTE, concurrencyLimitService.acquire(priority));
+            request.setAttribute(PRIORITY_ATTRIBUTE, priority);
+        }
+        return true;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        if (request.getAttribute(START_ATTRIBUTE) instanceof Long start
+                && request.getAttribute(PRIORITY_ATTRIBUTE) instanceof Priority priority) {
+            request.removeAttribute(START_ATTRIBUTE);
+            request.removeAttribute(PRIORITY_ATTRIBUTE);
+            concurrencyLimitService.release(start, priority);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.api.moviebooking.configs;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.jdbc.JdbcConnectionDetails;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Separate connection pools for browsing reads and for writes
+ *
+ * - write pool (spring.datasource.write.hikari.*): every read-write
+ * transaction, i.e. the booking, checkout and payment funnel and admin writes
+ * - read side: @Transactional(readOnly = true), which covers the catalog
+ * services and Spring Data finder methods called outside a write transaction.
+ * It goes to the read replicas in spring.datasource.replicas.urls (one pool
+ * each, spring.datasource.replicas.hikari.*) and falls back to the primary's
+ * read pool (spring.datasource.read.hikari.*); see {@link ReplicaRoutingDataSource}
+ *
+ * Routing is done by the lazy connection proxy: the physical connection is
+ * only fetched at the first statement, after the transaction manager has
+ * marked it read-only or not. Hibernate releases connections after each
+ * transaction (see application.properties) so every transaction is routed on
+ * its own rather than reusing the connection open-in-view got first.
+ * Connections taken from the write pool pin the session to the primary once
+ * the transaction commits ({@link ReadYourWritesTracker}).
+ *
+ * Each pool is a separate HikariDataSource, so metrics are exported per pool
+ * as hikaricp_connections_*{pool="read-pool"|"write-pool"|"replica-pool-N"}.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    public static final String WRITE_POOL = "write-pool";
+    public static final String READ_POOL = "read-pool";
+    public static final String REPLICA_POOL_PREFIX = "replica-pool-";
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.write.hikari")
+    public HikariDataSource writeDataSource(ObjectProvider<JdbcConnectionDetails> connectionDetails,
+            DataSourceProperties properties) {
+        HikariDataSource dataSource = pool(connectionDetails, properties, null);
+        dataSource.setPoolName(WRITE_POOL);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.read.hikari")
+    public HikariDataSource readDataSource(ObjectProvider<JdbcConnectionDetails> connectionDetails,
+            DataSourceProperties properties) {
+        HikariDataSource dataSource = pool(connectionDetails, properties, null);
+        dataSource.setPoolName(READ_POOL);
+        return dataSource;
+    }
+
+    /**
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: loop
+     */
+    @Bean
+    public ReplicaRoutingDataSource readRoutingDataSource(@Qualifier("readDataSource") DataSource readDataSource,
+            ObjectProvider<JdbcConnectionDetails> connectionDetails, DataSourceProperties properties,
+            Environment environment, ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry,
+            @Value("${spring.datasource.replicas.urls:}") List<String> replicaUrls,
+            @Value("${spring.datasource.replicas.max-lag-ms:1000}") long maxLagMs) {
+        Binder binder = Binder.get(environment);
+        List<String> urls = replicaUrls.stream().filter(StringUtils::hasText).map(String::trim).toList();
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = pool(connectionDetails, properties, urls.get(i));
+            binder.bind("spring.datasource.replicas.hikari", Bindable.ofInstance(replica));
+            replica.setPoolName(REPLICA_POOL_PREFIX + (i + 1));
+            replica.setReadOnly(true);
+            // Not beans, so the pool metrics are not bound automatically
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.add(replica);
+        }
+        return new ReplicaRoutingDataSource(readDataSource, replicas, readYourWrites, maxLagMs, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("writeDataSource") DataSource writeDataSource,
+            @Qualifier("readRoutingDataSource") DataSource readRoutingDataSource,
+            ReadYourWritesTracker readYourWrites) {
+        DataSource writes = new DelegatingDataSource(writeDataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                Connection connection = super.getConnection();
+                readYourWrites.onPrimaryWrite();
+                return connection;
+            }
+        };
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(writes);
+        proxy.setReadOnlyDataSource(readRoutingDataSource);
+        return proxy;
+    }
+
+    /**
+     * Pool on the service connection (Testcontainers) when there is one,
+     * otherwise on spring.datasource.*
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: url override
+     */
+    private static HikariDataSource pool(ObjectProvider<JdbcConnectionDetails> connectionDetails,
+            DataSourceProperties properties, String urlOverride) {
+        JdbcConnectionDetails details = connectionDetails.getIfAvailable();
+        String url = details != null ? details.getJdbcUrl() : properties.determineUrl();
+        if (StringUtils.hasText(urlOverride)) {
+            url = urlOverride;
+        }
+        return DataSourceBuilder.create(properties.getClassLoader())
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(details != null ? details.getUsername() : properties.determineUsername())
+                .password(details != null ? details.getPassword() : properties.determinePassword())
+                .driverClassName(details != null ? details.getDriverClassName() : properties.determineDriverClassName())
+                .build();
+    }
+}
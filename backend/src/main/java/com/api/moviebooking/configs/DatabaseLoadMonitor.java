@@ -0,0 +1,154 @@
+package com.api.moviebooking.configs;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides when catalog reads switch to degraded mode
+ *
+ * Degraded when the read pool (catalog queries, see {@link DataSourceConfig})
+ * is saturated (threads waiting for a connection, or nearly every connection
+ * busy) or when catalog loads get slow (moving average above the latency
+ * threshold). Leaves degraded mode only once the pool has headroom again and
+ * latency is back under half the threshold, so the mode does not flap around
+ * the limit.
+ *
+ * While degraded, catalog loads share a small number of permits so the read
+ * pool keeps room for the other read-only queries of the booking funnel.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DatabaseLoadMonitor {
+
+    // Weight of the newest sample in the latency moving average
+    private static final double LATENCY_EWMA_WEIGHT = 0.2;
+
+    // Resolved by parameter name among the two pools
+    private final HikariDataSource readDataSource;
+
+    @Value("${cache.catalog.degraded.pool-usage-threshold:0.9}")
+    private double poolUsageThreshold;
+
+    @Value("${cache.catalog.degraded.awaiting-threshold:1}")
+    private int awaitingThreshold;
+
+    @Value("${cache.catalog.degraded.latency-threshold-ms:500}")
+    private long latencyThresholdMs;
+
+    @Value("${cache.catalog.degraded.max-concurrent-loads:4}")
+    private int maxConcurrentLoads;
+
+    private volatile Semaphore loadPermits;
+
+    private volatile boolean degraded;
+    private volatile double loadLatencyMs;
+
+    @PostConstruct
+    void init() {
+        loadPermits = new Semaphore(maxConcurrentLoads);
+    }
+
+    public boolean isDegraded() {
+        return degraded;
+    }
+
+    /**
+     * Record how long a catalog load spent in the database
+     */
+    public void recordLoad(long durationNanos) {
+        double sampleMs = durationNanos / 1_000_000.0;
+        loadLatencyMs = loadLatencyMs + LATENCY_EWMA_WEIGHT * (sampleMs - loadLatencyMs);
+    }
+
+    /**
+     * Take a catalog load permit; always granted outside degraded mode
+     * Returns null when the load should be shed
+     */
+    public LoadPermit tryAcquireLoad() {
+        if (!degraded) {
+            return LoadPermit.NONE;
+        }
+        Semaphore permits = loadPermits;
+        return permits.tryAcquire() ? permits::release : null;
+    }
+
+    /**
+     * Re-evaluate the mode from the pool state and load latency
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: overloaded, !degraded, recovered
+     */
+    @Scheduled(fixedDelayString = "${cache.catalog.degraded.check-interval-ms:1000}")
+    public void evaluate() {
+        double poolUsage = poolUsage();
+        int awaiting = threadsAwaitingConnection();
+        boolean overloaded = awaiting >= awaitingThreshold
+                || poolUsage >= poolUsageThreshold
+                || loadLatencyMs > latencyThresholdMs;
+
+        if (overloaded && !degraded) {
+            // Fresh permits for the degraded period
+            loadPermits = new Semaphore(maxConcurrentLoads);
+            degraded = true;
+            log.warn("Catalog reads degraded: pool usage {}, {} threads awaiting, load latency {} ms",
+                    poolUsage, awaiting, Math.round(loadLatencyMs));
+        } else if (degraded && !overloaded && loadLatencyMs < latencyThresholdMs / 2.0) {
+            degraded = false;
+            log.info("Catalog reads recovered: pool usage {}, load latency {} ms",
+                    poolUsage, Math.round(loadLatencyMs));
+        }
+    }
+
+    /**
+     * Seconds clients should wait before retrying a shed request
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, TimeUnit.MILLISECONDS.toSeconds(latencyThresholdMs * 2));
+    }
+
+    private double poolUsage() {
+        HikariPoolMXBean pool = pool();
+        if (pool == null || pool.getTotalConnections() == 0) {
+            return 0;
+        }
+        return (double) pool.getActiveConnections() / maximumPoolSize();
+    }
+
+    private int threadsAwaitingConnection() {
+        HikariPoolMXBean pool = pool();
+        return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+    }
+
+    private int maximumPoolSize() {
+        return Math.max(1, readDataSource.getMaximumPoolSize());
+    }
+
+    private HikariPoolMXBean pool() {
+        // Null until the pool has started
+        return readDataSource.getHikariPoolMXBean();
+    }
+
+    /**
+     * Held while a catalog load runs, released with try-with-resources
+     */
+    @FunctionalInterface
+    public interface LoadPermit extends AutoCloseable {
+
+        LoadPermit NONE = () -> {
+        };
+
+        @Override
+        void close();
+    }
+}
@@ -305,9 +305,10 @@ public class K6TestDataSeeder implements CommandLineRunner {
                     seat.setSeatType(SeatType.NORMAL);
                 }
 
-                seats.add(seatRepo.save(seat));
+                seats.add(seat);
             }
         }
+        seatRepo.saveAllInBatches(seats);
 
         log.info("   ✅ Created {} seats", seats.size());
         return seats;
@@ -414,7 +415,7 @@ public class K6TestDataSeeder implements CommandLineRunner {
             showtimeSeats.add(showtimeSeat);
         }
 
-        showtimeSeatRepo.saveAll(showtimeSeats);
+        showtimeSeatRepo.copyInsert(showtimeSeats);
         log.info("   ✅ Created {} showtime seats (all AVAILABLE)", showtimeSeats.size());
     }
 
@@ -0,0 +1,91 @@
+package com.api.moviebooking.configs;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Exposes the number of SQL statements a request ran as the X-Query-Count
+ * response header. The header is written just before the body starts, so
+ * streamed responses are not buffered; statements run while streaming are
+ * not included.
+ */
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountResponse wrapped = new QueryCountResponse(response, QueryCountInspector.start());
+        try {
+            filterChain.doFilter(request, wrapped);
+        } finally {
+            // Responses without a body (204, redirects handled by the container)
+            wrapped.writeQueryCount();
+            QueryCountInspector.clear();
+        }
+    }
+
+    private static class QueryCountResponse extends HttpServletResponseWrapper {
+
+        private final AtomicLong counter;
+
+        QueryCountResponse(HttpServletResponse response, AtomicLong counter) {
+            super(response);
+            this.counter = counter;
+        }
+
+        void writeQueryCount() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(counter.get()));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeQueryCount();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeQueryCount();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeQueryCount();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            writeQueryCount();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            writeQueryCount();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            writeQueryCount();
+            super.sendRedirect(location);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.api.moviebooking.configs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread
+ * A request (or test) calls {@link #start()} to get a fresh counter; every
+ * statement prepared afterwards on the same thread increments it.
+ * Tests can also {@link #capture(Runnable)} the SQL itself, e.g. to EXPLAIN it
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    private static final ThreadLocal<AtomicLong> COUNTER = ThreadLocal.withInitial(AtomicLong::new);
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    /**
+     * Start counting on the current thread and return the live counter
+     */
+    public static AtomicLong start() {
+        AtomicLong counter = new AtomicLong();
+        COUNTER.set(counter);
+        return counter;
+    }
+
+    /**
+     * Statements prepared on the current thread since the last {@link #start()}
+     */
+    public static long count() {
+        return COUNTER.get().get();
+    }
+
+    public static void clear() {
+        COUNTER.remove();
+    }
+
+    /**
+     * Run the action and return the SQL of the statements it prepared on the
+     * current thread, in order
+     */
+    public static List<String> capture(Runnable action) {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+        return statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get().incrementAndGet();
+        List<String> statements = CAPTURED.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+}
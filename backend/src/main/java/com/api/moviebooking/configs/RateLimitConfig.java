@@ -0,0 +1,47 @@
+package com.api.moviebooking.configs;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import com.api.moviebooking.services.JwtService;
+import com.api.moviebooking.services.RateLimitService;
+import com.api.moviebooking.services.RateLimitService.Policy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Rate limiting of the booking endpoints, one rate-limit.policies.<name>
+ * entry per policy (see RateLimitFilter for the endpoints of each policy),
+ * requests from the rate-limit.allowlist IPs pass unlimited
+ * Registered right after the query counter so rejected requests never reach
+ * the security filter chain
+ */
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(RateLimitService rateLimitService,
+            JwtService jwtService, ObjectMapper objectMapper, Environment environment) {
+        Map<String, Policy> policies = Binder.get(environment)
+                .bind("rate-limit.policies", Bindable.mapOf(String.class, Policy.class))
+                .orElse(Map.of());
+        List<String> allowlist = Binder.get(environment)
+                .bind("rate-limit.allowlist", Bindable.listOf(String.class))
+                .orElse(List.of());
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(
+                new RateLimitFilter(rateLimitService, jwtService, objectMapper, policies,
+                        new HashSet<>(allowlist)));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
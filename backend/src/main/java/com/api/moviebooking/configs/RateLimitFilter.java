@@ -0,0 +1,152 @@
+package com.api.moviebooking.configs;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.api.moviebooking.helpers.exceptions.CustomError;
+import com.api.moviebooking.helpers.utils.SessionHelper;
+import com.api.moviebooking.services.JwtService;
+import com.api.moviebooking.services.RateLimitService;
+import com.api.moviebooking.services.RateLimitService.Decision;
+import com.api.moviebooking.services.RateLimitService.Policy;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Rate limits the booking endpoints before security and the controllers run,
+ * so a rejected request costs a token bucket check and nothing else. The
+ * caller is the user of the JWT (signature checked, no user lookup) or else
+ * the guest session; the IP is limited as well. Allowlisted IPs (load test
+ * runners, internal callers) are not limited.
+ *
+ * Responses carry the RateLimit-Limit, RateLimit-Remaining, RateLimit-Reset
+ * and RateLimit-Policy headers; rejected requests get 429 with Retry-After.
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public static final String LIMIT_HEADER = "RateLimit-Limit";
+    public static final String REMAINING_HEADER = "RateLimit-Remaining";
+    public static final String RESET_HEADER = "RateLimit-Reset";
+    public static final String POLICY_HEADER = "RateLimit-Policy";
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    // Rate limited endpoints and their policy
+    private static final List<Endpoint> ENDPOINTS = List.of(
+            new Endpoint(HttpMethod.POST, "/seat-locks", "lock"),
+            new Endpoint(HttpMethod.DELETE, "/seat-locks/showtime/*", "release"),
+            new Endpoint(HttpMethod.POST, "/seat-locks/showtime/*/release", "release"),
+            new Endpoint(HttpMethod.POST, "/bookings/price-preview", "price-preview"),
+            new Endpoint(HttpMethod.POST, "/bookings/confirm", "checkout"),
+            new Endpoint(HttpMethod.POST, "/checkout", "checkout"));
+
+    private final RateLimitService rateLimitService;
+    private final JwtService jwtService;
+    private final ObjectMapper objectMapper;
+    private final Map<String, Policy> policies;
+    private final Set<String> allowlist;
+
+    private record Endpoint(HttpMethod method, String pattern, String policy) {
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return allowlist.contains(request.getRemoteAddr()) || policyOf(request) == null;
+    }
+
+    @SuppressWarnings("NullableProblems")
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String policyName = policyOf(request);
+        Decision decision = rateLimitService.tryAcquire(policyName, policies.get(policyName), subjectOf(request),
+                request.getRemoteAddr());
+
+        if (decision != null) {
+            response.setHeader(LIMIT_HEADER, String.valueOf(decision.limit()));
+            response.setHeader(REMAINING_HEADER, String.valueOf(decision.remaining()));
+            response.setHeader(RESET_HEADER, String.valueOf(decision.resetSeconds()));
+            response.setHeader(POLICY_HEADER, decision.limit() + ";w=" + decision.windowSeconds());
+            if (!decision.allowed()) {
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                objectMapper.writeValue(response.getOutputStream(), new CustomError(new Date(),
+                        "Too many requests, retry in " + decision.retryAfterSeconds() + " seconds",
+                        "uri=" + request.getRequestURI()));
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private String policyOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Endpoint endpoint : ENDPOINTS) {
+            if (endpoint.method().matches(request.getMethod()) && PATH_MATCHER.match(endpoint.pattern(), path)
+                    && policies.containsKey(endpoint.policy())) {
+                return endpoint.policy();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Predicate nodes (d): 7 -> V(G) = d + 1 = 8
+     * Nodes: bearer header, token == null && cookies, (loop: cookies),
+     * access_token, token != null, catch, guest session is a UUID
+     */
+    private String subjectOf(HttpServletRequest request) {
+        String token = null;
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            token = authHeader.substring(7);
+        }
+        if (token == null && request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if ("access_token".equals(cookie.getName())) {
+                    token = cookie.getValue();
+                    break;
+                }
+            }
+        }
+        if (token != null) {
+            try {
+                return "user:" + jwtService.extractEmailFromToken(token);
+            } catch (RuntimeException e) {
+                // Invalid or expired: limited by IP only, security rejects it later
+                return null;
+            }
+        }
+
+        String sessionId = request.getHeader(SessionHelper.SESSION_HEADER);
+        if (sessionId == null) {
+            sessionId = request.getParameter(SessionHelper.SESSION_PARAM);
+        }
+        try {
+            // Only well-formed session IDs get a bucket, so made-up ones cannot fill Redis
+            return sessionId != null ? "session:" + UUID.fromString(sessionId) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.api.moviebooking.configs;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.api.moviebooking.helpers.utils.SessionHelper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Read-your-writes for replica routing
+ *
+ * A session (authenticated user, or guest X-Session-Id) that commits a
+ * read-write transaction, e.g. lockSeats or confirmBooking, is pinned to the
+ * primary for spring.datasource.replicas.pin-window-ms. Its reads in that
+ * window skip the replicas (see {@link ReplicaRoutingDataSource}), so it never
+ * sees seat or booking state older than its own write. The window should be
+ * longer than the replica lag the router tolerates.
+ *
+ * Pins are kept per node, so with several nodes a session must stay on one
+ * node for the window (sticky load balancing).
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    @Value("${spring.datasource.replicas.pin-window-ms:5000}")
+    private long pinWindowMs;
+
+    @Value("${spring.datasource.replicas.max-pinned-sessions:100000}")
+    private long maxPinnedSessions;
+
+    private Cache<String, Boolean> pinnedSessions;
+
+    @PostConstruct
+    void init() {
+        pinnedSessions = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMillis(pinWindowMs))
+                .maximumSize(maxPinnedSessions)
+                .build();
+    }
+
+    /**
+     * Called when a read-write transaction takes a primary connection: pins
+     * the current session once the transaction commits
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: no synchronization, no session
+     */
+    public void onPrimaryWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String sessionKey = currentSessionKey();
+        if (sessionKey == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                pinnedSessions.put(sessionKey, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: no session
+     */
+    public boolean isCurrentSessionPinned() {
+        String sessionKey = currentSessionKey();
+        return sessionKey != null && pinnedSessions.getIfPresent(sessionKey) != null;
+    }
+
+    /**
+     * Same identity as seat lock ownership (see {@link SessionHelper}): the
+     * authenticated user, else the guest session header; null outside a request
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: no request, authenticated, session header
+     */
+    static String currentSessionKey() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getPrincipal())) {
+            return "user:" + authentication.getName();
+        }
+
+        String sessionId = servletAttributes.getRequest().getHeader(SessionHelper.SESSION_HEADER);
+        return StringUtils.hasText(sessionId) ? "guest:" + sessionId : null;
+    }
+}
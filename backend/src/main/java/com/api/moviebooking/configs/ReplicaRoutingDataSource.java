@@ -0,0 +1,217 @@
+package com.api.moviebooking.configs;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Read-only side of {@link DataSourceConfig}: spreads read-only transactions
+ * over the read replicas, round robin
+ *
+ * Falls back to the primary (its read pool) when
+ * - the current session wrote recently ({@link ReadYourWritesTracker})
+ * - no replica is healthy: every replica is checked every
+ * spring.datasource.replicas.lag-check-interval-ms and is skipped while its
+ * replay lag is above spring.datasource.replicas.max-lag-ms, it is not
+ * streaming WAL from the primary, or it cannot be reached
+ * - the chosen replica fails to hand out a connection (it is then skipped
+ * until the next check)
+ *
+ * Without replicas every read goes to the primary read pool.
+ * Metrics: db_replica_lag_seconds{replica} (NaN while unreachable, +Inf while
+ * not streaming),
+ * db_replica_healthy{replica} and db_reads_routed_total{target,reason}.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    // Lag is zero when the replica has replayed everything it received, so an idle primary does not read
+    // as lag. That only holds while WAL is still streaming in: a replica cut off from the primary has
+    // replayed all it got and would look current. Roles without pg_read_all_stats see the receiver's
+    // status as NULL; a running receiver process then counts as streaming.
+    private static final String LAG_QUERY = """
+            SELECT NOT pg_is_in_recovery() OR EXISTS (
+                    SELECT 1 FROM pg_stat_wal_receiver
+                    WHERE status = 'streaming' OR (status IS NULL AND pid IS NOT NULL)) AS streaming,
+                CASE
+                    WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                    ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+                END AS lag
+            """;
+    private static final int LAG_QUERY_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWritesTracker readYourWrites;
+    private final long maxLagMillis;
+
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter pinnedReads;
+    private final Counter fallbackReads;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools,
+            ReadYourWritesTracker readYourWrites, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.readYourWrites = readYourWrites;
+        this.maxLagMillis = maxLagMillis;
+        this.replicas = replicaPools.stream().map(pool -> new Replica(pool, meterRegistry)).toList();
+        this.pinnedReads = routedReads(meterRegistry, "primary", "pinned");
+        this.fallbackReads = routedReads(meterRegistry, "primary", "fallback");
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = route();
+        if (replica == null) {
+            return primary.getConnection();
+        }
+        try {
+            return replica.pool.getConnection();
+        } catch (SQLException e) {
+            replica.markDown(e);
+            fallbackReads.increment();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Pools own their credentials
+        return getConnection();
+    }
+
+    /**
+     * Re-check the replay lag of every replica
+     */
+    @Scheduled(fixedDelayString = "${spring.datasource.replicas.lag-check-interval-ms:1000}")
+    public void checkLag() {
+        replicas.forEach(this::checkLag);
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    /**
+     * Replica for the next read, or null to read from the primary
+     * Predicate nodes (d): 4 -> V(G) = d + 1 = 5
+     * Nodes: no replicas, pinned, loop, healthy
+     */
+    private Replica route() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        if (readYourWrites.isCurrentSessionPinned()) {
+            pinnedReads.increment();
+            return null;
+        }
+
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get(Math.floorMod(start + i, replicas.size()));
+            if (replica.healthy) {
+                replica.reads.increment();
+                return replica;
+            }
+        }
+        fallbackReads.increment();
+        return null;
+    }
+
+    /**
+     * Predicate nodes (d): 4 -> V(G) = d + 1 = 5
+     * Nodes: lag unknown, not streaming, SQLException, health changed
+     */
+    private void checkLag(Replica replica) {
+        boolean streaming;
+        double lagSeconds;
+        try (Connection connection = replica.pool.getConnection();
+                Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(LAG_QUERY_TIMEOUT_SECONDS);
+            try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                resultSet.next();
+                streaming = resultSet.getBoolean("streaming");
+                lagSeconds = resultSet.getDouble("lag");
+                if (resultSet.wasNull()) {
+                    // Received WAL but never replayed a transaction yet
+                    lagSeconds = Double.POSITIVE_INFINITY;
+                }
+                if (!streaming) {
+                    // Staleness grows unseen while nothing comes in
+                    lagSeconds = Double.POSITIVE_INFINITY;
+                }
+            }
+        } catch (SQLException e) {
+            replica.markDown(e);
+            return;
+        }
+
+        replica.lagSeconds = lagSeconds;
+        boolean healthy = lagSeconds * 1000 <= maxLagMillis;
+        if (healthy != replica.healthy) {
+            log.info("Replica {} {} (lag {} s)", replica.pool.getPoolName(),
+                    healthy ? "back in rotation"
+                            : streaming ? "lagging, reads fall back to the primary"
+                                    : "not streaming from the primary, reads fall back to the primary",
+                    lagSeconds);
+        }
+        replica.healthy = healthy;
+    }
+
+    private static Counter routedReads(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("db.reads.routed")
+                .description("Read-only transactions by the data source they were routed to")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    private static class Replica {
+
+        private final HikariDataSource pool;
+        private final Counter reads;
+
+        // Out of rotation until the first lag check passes
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        Replica(HikariDataSource pool, MeterRegistry meterRegistry) {
+            this.pool = pool;
+            this.reads = routedReads(meterRegistry, pool.getPoolName(), "replica");
+            Gauge.builder("db.replica.lag", this, r -> r.lagSeconds)
+                    .description("Replay lag of the read replica")
+                    .baseUnit("seconds")
+                    .tag("replica", pool.getPoolName())
+                    .register(meterRegistry);
+            Gauge.builder("db.replica.healthy", this, r -> r.healthy ? 1 : 0)
+                    .description("Whether the read replica is in the read rotation")
+                    .tag("replica", pool.getPoolName())
+                    .register(meterRegistry);
+        }
+
+        void markDown(SQLException e) {
+            if (healthy) {
+                log.warn("Replica {} unreachable, reads fall back to the primary", pool.getPoolName(), e);
+            }
+            healthy = false;
+            lagSeconds = Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.api.moviebooking.configs;
+
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+
+/**
+ * Hibernate second-level cache for reference data (cinemas, rooms, seats,
+ * ticket types, membership tiers, snacks, base prices)
+ *
+ * Regions live in an in-process Caffeine JCache manager. Entries expire after
+ * cache.l2.ttl.minutes so a missed invalidation can only serve stale data for
+ * that long; changes are also broadcast to other nodes over Redis
+ * (see {@link SecondLevelCacheInvalidator}). Hit/miss counters are exported as
+ * cache_gets{cache=...,layer=hibernate} in Prometheus.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    /** Entity regions, named after their tables (see @Cache on the entities) */
+    public static final List<String> ENTITY_REGIONS = List.of(
+            "cinemas", "rooms", "seats", "ticket_types", "membership_tiers", "snacks", "price_base");
+
+    @Value("${cache.l2.max-entries:20000}")
+    private long maxEntries;
+
+    @Value("${cache.l2.ttl.minutes:30}")
+    private long ttlMinutes;
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // One manager per application context: the provider's default manager is a
+        // JVM-wide singleton and would be shared by every context in a test run
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("moviebooking-l2-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : ENTITY_REGIONS) {
+            cacheManager.createCache(region, regionConfiguration(maxEntries, ttlMinutes));
+        }
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(maxEntries / 10, ttlMinutes));
+        // Update timestamps must outlive every cached query result, so never expire them
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME,
+                regionConfiguration(-1, -1));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public TableChangeTimestampsCacheFactory tableChangeTimestampsCacheFactory() {
+        return new TableChangeTimestampsCacheFactory();
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheHibernateCustomizer(CacheManager hibernateCacheManager,
+            TableChangeTimestampsCacheFactory tableChangeTimestampsCacheFactory) {
+        return properties -> {
+            properties.put("hibernate.cache.use_second_level_cache", "true");
+            properties.put("hibernate.cache.use_query_cache", "true");
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.cache.query_cache_factory", tableChangeTimestampsCacheFactory);
+            properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String name : hibernateCacheManager.getCacheNames()) {
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(name), "layer", "hibernate");
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.l2.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+    public RedisMessageListenerContainer secondLevelCacheInvalidationContainer(
+            RedisConnectionFactory connectionFactory, SecondLevelCacheInvalidator invalidator) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(invalidator, new ChannelTopic(SecondLevelCacheInvalidator.CHANNEL));
+        return container;
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(long maxEntries, long ttlMinutes) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores immutable cache entries, no need to copy them on every read
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttlMinutes > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MINUTES.toNanos(ttlMinutes)));
+        }
+        return configuration;
+    }
+}
@@ -0,0 +1,156 @@
+package com.api.moviebooking.configs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.api.moviebooking.models.dtos.cache.CacheInvalidationMessage;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps the second-level cache of every node in sync
+ * After a cached entity is inserted, updated or deleted and the transaction
+ * commits, the change is published on a Redis channel; the other nodes evict
+ * that entity and their cached query results. Bulk JPQL and native statements
+ * raise no entity events, so every transaction that wrote a table of a cached
+ * entity also publishes an eviction of that entity's whole region (reported by
+ * {@link TableChangeTimestampsCacheFactory}). The local node is already up to
+ * date through Hibernate itself.
+ */
+@Component
+@ConditionalOnProperty(name = "cache.l2.invalidation.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCacheInvalidator implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, MessageListener {
+
+    public static final String CHANNEL = "cache:l2:invalidate";
+
+    private static final String NODE_ID = UUID.randomUUID().toString();
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final TableChangeTimestampsCacheFactory timestampsCacheFactory;
+
+    private SessionFactoryImplementor sessionFactory;
+    private List<EntityPersister> cachedPersisters = List.of();
+
+    @PostConstruct
+    void registerListeners() {
+        sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+
+        cachedPersisters = sessionFactory.getMappingMetamodel().streamEntityDescriptors()
+                .filter(EntityPersister::canWriteToCache)
+                .toList();
+        timestampsCacheFactory.setListener(this::publishTables);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache();
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Rolled back, nothing reached the database
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Rolled back, nothing reached the database
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Rolled back, nothing reached the database
+    }
+
+    /**
+     * Evict an entity changed on another node
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: !(body instanceof message), own origin, id == null
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        Object body = redisTemplate.getValueSerializer().deserialize(message.getBody());
+        if (!(body instanceof CacheInvalidationMessage invalidation)) {
+            return;
+        }
+        if (NODE_ID.equals(invalidation.getOrigin())) {
+            return;
+        }
+
+        if (invalidation.getId() == null) {
+            sessionFactory.getCache().evictEntityData(invalidation.getEntityName());
+        } else {
+            sessionFactory.getCache().evictEntityData(invalidation.getEntityName(), invalidation.getId());
+        }
+        sessionFactory.getCache().evictDefaultQueryRegion();
+        log.debug("Evicted {}#{} from second-level cache", invalidation.getEntityName(), invalidation.getId());
+    }
+
+    /**
+     * Publish a region eviction for every cached entity stored in one of the
+     * tables a completed transaction wrote
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: (loop: cachedPersisters), table changed
+     */
+    void publishTables(String[] spaces) {
+        List<String> changed = Arrays.asList(spaces);
+        for (EntityPersister persister : cachedPersisters) {
+            if (Arrays.stream(persister.getPropertySpaces()).anyMatch(changed::contains)) {
+                publish(persister, null);
+            }
+        }
+    }
+
+    private void publish(EntityPersister persister, Object id) {
+        UUID uuid = id instanceof UUID value ? value : null;
+        try {
+            redisTemplate.convertAndSend(CHANNEL,
+                    new CacheInvalidationMessage(NODE_ID, persister.getEntityName(), uuid));
+        } catch (Exception e) {
+            // Other nodes fall back to the region TTL
+            log.warn("Failed to publish cache invalidation for {}#{}", persister.getEntityName(), id, e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.api.moviebooking.configs;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Flags responses built from last-known catalog data served in degraded mode
+ * Adds X-Cache-Stale: true and Age: seconds since the oldest stale entry used
+ * by the request was loaded.
+ */
+@RestControllerAdvice
+public class StaleResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String STALE_HEADER = "X-Cache-Stale";
+
+    private static final String STALE_AGE_ATTRIBUTE = StaleResponseAdvice.class.getName() + ".ageSeconds";
+
+    /**
+     * Record that the current request used a stale entry of the given age
+     * (no-op outside a request, e.g. on background refresh threads)
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: no request, older than recorded
+     */
+    public static void markStale(long ageSeconds) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Object recorded = attributes.getAttribute(STALE_AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (recorded == null || (Long) recorded < ageSeconds) {
+            attributes.setAttribute(STALE_AGE_ATTRIBUTE, ageSeconds, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType, ServerHttpRequest request,
+            ServerHttpResponse response) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object ageSeconds = attributes == null ? null
+                : attributes.getAttribute(STALE_AGE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (ageSeconds != null) {
+            response.getHeaders().set(STALE_HEADER, "true");
+            response.getHeaders().set(HttpHeaders.AGE, String.valueOf(ageSeconds));
+        }
+        return body;
+    }
+}
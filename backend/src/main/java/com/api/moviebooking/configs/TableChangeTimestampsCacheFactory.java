@@ -0,0 +1,84 @@
+package com.api.moviebooking.configs;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+import org.hibernate.cache.CacheException;
+import org.hibernate.cache.internal.StandardTimestampsCacheFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.TimestampsCacheFactory;
+import org.hibernate.cache.spi.TimestampsRegion;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Hibernate's standard timestamps cache, reporting the tables each completed
+ * transaction changed
+ * Hibernate invalidates the update timestamps of every table a transaction
+ * wrote once it completes, bulk JPQL and native statements included. Those
+ * statements only evict the local second-level cache, so the tables are handed
+ * to the listener (SecondLevelCacheInvalidator) to tell the other nodes.
+ */
+public class TableChangeTimestampsCacheFactory implements TimestampsCacheFactory {
+
+    private volatile Consumer<String[]> listener = spaces -> {
+    };
+
+    public void setListener(Consumer<String[]> listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public TimestampsCache buildTimestampsCache(CacheImplementor cacheImplementor, TimestampsRegion region) {
+        return new ReportingTimestampsCache(
+                StandardTimestampsCacheFactory.INSTANCE.buildTimestampsCache(cacheImplementor, region));
+    }
+
+    private class ReportingTimestampsCache implements TimestampsCache {
+
+        private final TimestampsCache delegate;
+
+        ReportingTimestampsCache(TimestampsCache delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public TimestampsRegion getRegion() {
+            return delegate.getRegion();
+        }
+
+        @Override
+        public void preInvalidate(String[] spaces, SharedSessionContractImplementor session) {
+            delegate.preInvalidate(spaces, session);
+        }
+
+        @Override
+        public void invalidate(String[] spaces, SharedSessionContractImplementor session) {
+            delegate.invalidate(spaces, session);
+            if (spaces.length > 0) {
+                listener.accept(spaces);
+            }
+        }
+
+        @Override
+        public boolean isUpToDate(String[] spaces, Long timestamp, SharedSessionContractImplementor session) {
+            return delegate.isUpToDate(spaces, timestamp, session);
+        }
+
+        @Override
+        public boolean isUpToDate(Collection<String> spaces, Long timestamp,
+                SharedSessionContractImplementor session) {
+            return delegate.isUpToDate(spaces, timestamp, session);
+        }
+
+        @Override
+        public void clear() throws CacheException {
+            delegate.clear();
+        }
+
+        @Override
+        public void destroy() {
+            delegate.destroy();
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.api.moviebooking.configs;
+
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.transaction.support.TransactionOperations;
+
+import com.api.moviebooking.helpers.exceptions.ServiceOverloadedException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Catalog cache with an in-process Caffeine level (L1) in front of a shared
+ * Redis level (L2)
+ *
+ * Reads try L1, then L2 (copying hits into L1), then the loader. Redis errors
+ * are logged and treated as misses so the catalog keeps working from the
+ * database when Redis is down. Evictions clear both levels and are published
+ * so other nodes drop their L1 copy too.
+ *
+ * Keys are normalised to strings: Redis stores them as strings anyway and the
+ * eviction messages carry them as strings.
+ *
+ * Degraded mode (see {@link DatabaseLoadMonitor}): every loaded value is also
+ * kept as "last known", which survives evictions and the L1 TTL. While the
+ * database is overloaded, a miss that has a last-known value serves it
+ * (flagged through {@link StaleResponseAdvice}) and refreshes it in the
+ * background, at most one refresh per key at a time. Misses without one load
+ * under the monitor's permits and are shed with 503 when none is free.
+ * Stale serving needs the loader, so it applies to get(key, loader), i.e.
+ * {@code @Cacheable(sync = true)}. Caches created without a last-known cache
+ * never serve stale values; their misses always load.
+ *
+ * Misses load outside Caffeine's compute, which would hold the lock of the
+ * map bin for the whole database call and block unrelated keys hashing to the
+ * same bin. Concurrent misses of one key share a single load through a
+ * per-key future instead. An eviction drops the key's future, and a load only
+ * fills L1 while its future is still registered, so a value read before the
+ * eviction is never put back after it.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local;
+    private final org.springframework.cache.Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, LastKnown> lastKnown;
+    private final BiConsumer<String, String> evictionPublisher;
+    private final DatabaseLoadMonitor loadMonitor;
+    private final Executor refreshExecutor;
+    private final TransactionOperations refreshTransaction;
+
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> loading = new ConcurrentHashMap<>();
+
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+
+    public TwoLevelCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> local,
+            org.springframework.cache.Cache remote, com.github.benmanes.caffeine.cache.Cache<Object, LastKnown> lastKnown,
+            BiConsumer<String, String> evictionPublisher, DatabaseLoadMonitor loadMonitor, Executor refreshExecutor,
+            TransactionOperations refreshTransaction) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.remote = remote;
+        this.lastKnown = lastKnown;
+        this.evictionPublisher = evictionPublisher;
+        this.loadMonitor = loadMonitor;
+        this.refreshExecutor = refreshExecutor;
+        this.refreshTransaction = refreshTransaction;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getLocalCache() {
+        return local;
+    }
+
+    public long getRemoteHits() {
+        return remoteHits.sum();
+    }
+
+    public long getRemoteMisses() {
+        return remoteMisses.sum();
+    }
+
+    public long getStaleHits() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: L1 hit, L2 hit
+     */
+    @Override
+    protected Object lookup(Object key) {
+        String cacheKey = String.valueOf(key);
+        Object value = local.getIfPresent(cacheKey);
+        if (value != null) {
+            return value;
+        }
+
+        ValueWrapper wrapper = remoteGet(cacheKey);
+        if (wrapper == null) {
+            return null;
+        }
+        Object storeValue = toStoreValue(wrapper.get());
+        local.put(cacheKey, storeValue);
+        remember(cacheKey, storeValue);
+        return storeValue;
+    }
+
+    /**
+     * Predicate nodes (d): 5 -> V(G) = d + 1 = 6
+     * Nodes: L1 hit, keeps last-known values, degraded, L2 hit, last-known value
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String cacheKey = String.valueOf(key);
+        Object storeValue = local.getIfPresent(cacheKey);
+        if (storeValue != null) {
+            return (T) fromStoreValue(storeValue);
+        }
+
+        if (lastKnown != null && loadMonitor.isDegraded()) {
+            // Stay off the database: Redis first, then the last-known value
+            ValueWrapper wrapper = remoteGet(cacheKey);
+            if (wrapper != null) {
+                storeValue = toStoreValue(wrapper.get());
+                local.put(cacheKey, storeValue);
+                remember(cacheKey, storeValue);
+                return (T) fromStoreValue(storeValue);
+            }
+            LastKnown stale = lastKnown.getIfPresent(cacheKey);
+            if (stale != null) {
+                staleHits.increment();
+                StaleResponseAdvice.markStale(stale.ageSeconds());
+                refreshInBackground(cacheKey, key, valueLoader);
+                return (T) fromStoreValue(stale.storeValue());
+            }
+        }
+
+        return (T) fromStoreValue(loadOnce(cacheKey, key, valueLoader));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String cacheKey = String.valueOf(key);
+        Object storeValue = toStoreValue(value);
+        local.put(cacheKey, storeValue);
+        remember(cacheKey, storeValue);
+        remotePut(cacheKey, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+        loading.remove(cacheKey);
+        local.invalidate(cacheKey);
+        try {
+            remote.evict(cacheKey);
+        } catch (RuntimeException e) {
+            log.warn("Failed to evict {}::{} from Redis", name, cacheKey, e);
+        }
+        evictionPublisher.accept(name, cacheKey);
+    }
+
+    @Override
+    public void clear() {
+        loading.clear();
+        local.invalidateAll();
+        try {
+            remote.clear();
+        } catch (RuntimeException e) {
+            log.warn("Failed to clear {} in Redis", name, e);
+        }
+        evictionPublisher.accept(name, null);
+    }
+
+    /**
+     * Drop an entry from L1 only, after another node evicted it
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: key == null
+     */
+    public void evictLocal(String key) {
+        if (key == null) {
+            loading.clear();
+            local.invalidateAll();
+        } else {
+            loading.remove(key);
+            local.invalidate(key);
+        }
+    }
+
+    /**
+     * Fill L1 from L2 or the loader, one load per key at a time; concurrent
+     * callers of the key wait for the running load and share its outcome
+     * Predicate nodes (d): 5 -> V(G) = d + 1 = 6
+     * Nodes: load running, L1 filled meanwhile, L2 hit, not evicted meanwhile,
+     * catch
+     */
+    private Object loadOnce(String cacheKey, Object key, Callable<?> valueLoader) {
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = loading.putIfAbsent(cacheKey, mine);
+        if (running != null) {
+            return await(running);
+        }
+
+        try {
+            Object storeValue = local.getIfPresent(cacheKey);
+            if (storeValue == null) {
+                ValueWrapper wrapper = remoteGet(cacheKey);
+                if (wrapper != null) {
+                    storeValue = toStoreValue(wrapper.get());
+                    remember(cacheKey, storeValue);
+                } else {
+                    storeValue = load(cacheKey, key, valueLoader);
+                }
+                Object loaded = storeValue;
+                loading.computeIfPresent(cacheKey, (k, current) -> {
+                    if (current == mine) {
+                        local.put(cacheKey, loaded);
+                    }
+                    return current;
+                });
+            }
+            mine.complete(storeValue);
+            return storeValue;
+        } catch (Throwable e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(cacheKey, mine);
+        }
+    }
+
+    /**
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: RuntimeException cause, Error cause
+     */
+    private static Object await(CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Run the loader under a database load permit and store the result in
+     * both levels
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: permit == null
+     */
+    private Object load(String cacheKey, Object key, Callable<?> valueLoader) {
+        DatabaseLoadMonitor.LoadPermit permit = loadMonitor.tryAcquireLoad();
+        if (permit == null) {
+            throw new ServiceOverloadedException("Catalog is temporarily unavailable, please retry",
+                    loadMonitor.retryAfterSeconds());
+        }
+
+        try (permit) {
+            Object value;
+            long start = System.nanoTime();
+            try {
+                value = valueLoader.call();
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            } finally {
+                loadMonitor.recordLoad(System.nanoTime() - start);
+            }
+            remotePut(cacheKey, value);
+            Object storeValue = toStoreValue(value);
+            remember(cacheKey, storeValue);
+            return storeValue;
+        }
+    }
+
+    /**
+     * Reload a key served from its last-known value; skipped when a refresh
+     * of the key is already running or the refresh queue is full
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: already refreshing
+     */
+    private void refreshInBackground(String cacheKey, Object key, Callable<?> valueLoader) {
+        if (!refreshing.add(cacheKey)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    // Loaders map lazy associations; request threads get that from open-in-view
+                    local.put(cacheKey, refreshTransaction.execute(status -> load(cacheKey, key, valueLoader)));
+                } catch (RuntimeException e) {
+                    log.debug("Background refresh of {}::{} failed", name, cacheKey, e);
+                } finally {
+                    refreshing.remove(cacheKey);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(cacheKey);
+        }
+    }
+
+    private void remember(String cacheKey, Object storeValue) {
+        if (lastKnown == null) {
+            return;
+        }
+        lastKnown.put(cacheKey, new LastKnown(storeValue, System.currentTimeMillis()));
+    }
+
+    private ValueWrapper remoteGet(String key) {
+        try {
+            ValueWrapper wrapper = remote.get(key);
+            if (wrapper != null) {
+                remoteHits.increment();
+            } else {
+                remoteMisses.increment();
+            }
+            return wrapper;
+        } catch (RuntimeException e) {
+            remoteMisses.increment();
+            log.warn("Failed to read {}::{} from Redis, falling back to the database", name, key, e);
+            return null;
+        }
+    }
+
+    private void remotePut(String key, Object value) {
+        try {
+            remote.put(key, value);
+        } catch (RuntimeException e) {
+            log.warn("Failed to write {}::{} to Redis", name, key, e);
+        }
+    }
+
+    /**
+     * Last loaded value of a key, kept for degraded mode
+     */
+    public record LastKnown(Object storeValue, long loadedAtMillis) {
+
+        long ageSeconds() {
+            return TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - loadedAtMillis);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.api.moviebooking.configs;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+
+import com.api.moviebooking.models.dtos.cache.CatalogCacheEvictionMessage;
+
+/**
+ * Cache manager for the fixed set of catalog caches
+ * Transaction aware: puts and evictions made inside a transaction are applied
+ * after it commits, so other readers never re-cache rows that are rolled back.
+ */
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements DisposableBean {
+
+    private final Map<String, TwoLevelCache> caches = new LinkedHashMap<>();
+    private final ExecutorService refreshExecutor;
+
+    public TwoLevelCacheManager(List<TwoLevelCache> caches, ExecutorService refreshExecutor) {
+        caches.forEach(cache -> this.caches.put(cache.getName(), cache));
+        this.refreshExecutor = refreshExecutor;
+        setTransactionAware(true);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return caches.values();
+    }
+
+    public Collection<TwoLevelCache> getTwoLevelCaches() {
+        return caches.values();
+    }
+
+    /**
+     * Apply an eviction made on another node to the local level
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: unknown cache
+     */
+    public void onRemoteEviction(CatalogCacheEvictionMessage message) {
+        TwoLevelCache cache = caches.get(message.getCacheName());
+        if (cache == null) {
+            return;
+        }
+        cache.evictLocal(message.getKey());
+    }
+}
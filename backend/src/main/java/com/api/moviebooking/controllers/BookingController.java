@@ -46,6 +46,7 @@ public class BookingController {
     @Operation(summary = "Preview booking price", description = """
             Calculate and return a cost overview for a booking transaction.
             Uses the seat lock to get locked prices, then adds snacks and applies discounts.
+            Send the lockToken from the lock or the last heartbeat to price it without reading the lock.
             """, parameters = {
             @Parameter(name = "X-Session-Id", description = "Guest session ID (required for guests, ignored if JWT present)", example = "550e8400-e29b-41d4-a716-446655440000", required = false, schema = @Schema(type = "string", format = "uuid"))
     })
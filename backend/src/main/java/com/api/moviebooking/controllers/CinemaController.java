@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.api.moviebooking.helpers.utils.CursorUtils;
 import com.api.moviebooking.models.dtos.cinema.AddCinemaRequest;
 import com.api.moviebooking.models.dtos.cinema.CinemaDataResponse;
 import com.api.moviebooking.models.dtos.cinema.UpdateCinemaRequest;
@@ -115,9 +116,10 @@ public class CinemaController {
     }
 
     @GetMapping("/rooms")
-    public ResponseEntity<List<RoomDataResponse>> getAllRooms() {
-        List<RoomDataResponse> response = cinemaService.getAllRooms();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<RoomDataResponse>> getAllRooms(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return CursorUtils.okWithCursor(cinemaService.getAllRooms(cursor, limit));
     }
 
     @PostMapping("/snacks")
@@ -153,9 +155,10 @@ public class CinemaController {
     }
 
     @GetMapping("/snacks")
-    public ResponseEntity<List<SnackDataResponse>> getAllSnacks() {
-        List<SnackDataResponse> response = cinemaService.getAllSnacks();
-        return ResponseEntity.ok(response);
+    public ResponseEntity<List<SnackDataResponse>> getAllSnacks(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return CursorUtils.okWithCursor(cinemaService.getAllSnacks(cursor, limit));
     }
 
     @GetMapping("/{cinemaId}/movies")
@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.api.moviebooking.helpers.utils.CursorUtils;
 import com.api.moviebooking.models.dtos.movie.AddMovieRequest;
 import com.api.moviebooking.models.dtos.movie.MovieDataResponse;
 import com.api.moviebooking.models.dtos.movie.UpdateMovieRequest;
@@ -72,22 +73,21 @@ public class MovieController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all movies or search movies")
+    @Operation(summary = "Get all movies or search movies", description = "Without search parameters the list is "
+            + "paginated: pass the X-Next-Cursor response header back as 'cursor' to fetch the next page")
     public ResponseEntity<List<MovieDataResponse>> getAllMovies(
             @RequestParam(required = false) String title,
             @RequestParam(required = false) String genre,
-            @RequestParam(required = false) String status) {
-        
-        List<MovieDataResponse> movies;
-        
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+
         // If any search parameter is provided, use advanced search
         if (title != null || genre != null || status != null) {
-            movies = movieService.searchMovies(title, genre, status);
-        } else {
-            movies = movieService.getAllMovies();
+            return ResponseEntity.ok(movieService.searchMovies(title, genre, status));
         }
-        
-        return ResponseEntity.ok(movies);
+
+        return CursorUtils.okWithCursor(movieService.getAllMovies(cursor, limit));
     }
 
     @GetMapping("/search/title")
@@ -1,17 +1,27 @@
 package com.api.moviebooking.controllers;
 
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.api.moviebooking.helpers.utils.CursorUtils;
+import com.api.moviebooking.models.dtos.CursorPage;
 
 import com.api.moviebooking.models.dtos.payment.ConfirmPaymentRequest;
 import com.api.moviebooking.models.dtos.payment.InitiatePaymentRequest;
 import com.api.moviebooking.models.dtos.payment.InitiatePaymentResponse;
 import com.api.moviebooking.models.dtos.payment.IpnResponse;
 import com.api.moviebooking.models.dtos.payment.PaymentResponse;
+import com.api.moviebooking.models.dtos.payment.PaymentSearchRequest;
 import com.api.moviebooking.services.PaymentService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -60,19 +70,50 @@ public class PaymentController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Keyset-paginated search. The body stays a plain list; the cursor for the
+     * next page is returned in the X-Next-Cursor header (absent on the last page)
+     */
     @GetMapping("/search")
     @SecurityRequirement(name = "bearerToken")
-    @Operation(summary = "Search payments", description = "Search payments with various filters")
+    @Operation(summary = "Search payments", description = "Search payments with various filters, newest first. "
+            + "Pass the X-Next-Cursor response header back as 'cursor' to fetch the next page")
     public ResponseEntity<List<PaymentResponse>> searchPayments(
+            @RequestParam(required = false) UUID bookingId,
+            @RequestParam(required = false) UUID userId,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String method,
+            @RequestParam(required = false) LocalDateTime startDate,
+            @RequestParam(required = false) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        PaymentSearchRequest filter = paymentService.buildSearchRequest(bookingId, userId, status,
+                method, startDate, endDate);
+        CursorPage<PaymentResponse> page = paymentService.searchPayments(filter, cursor, limit);
+        return CursorUtils.okWithCursor(page);
+    }
+
+    @GetMapping(value = "/export", produces = "text/csv")
+    @SecurityRequirement(name = "bearerToken")
+    @Operation(summary = "Export payments", description = "Stream all payments matching the search filters as CSV")
+    public ResponseEntity<StreamingResponseBody> exportPayments(
             @RequestParam(required = false) UUID bookingId,
             @RequestParam(required = false) UUID userId,
             @RequestParam(required = false) String status,
             @RequestParam(required = false) String method,
             @RequestParam(required = false) LocalDateTime startDate,
             @RequestParam(required = false) LocalDateTime endDate) {
-        List<PaymentResponse> responses = paymentService.searchPayments(bookingId, userId, status,
+        PaymentSearchRequest filter = paymentService.buildSearchRequest(bookingId, userId, status,
                 method, startDate, endDate);
-        return ResponseEntity.ok(responses);
+        StreamingResponseBody body = out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            paymentService.exportPayments(filter, writer);
+            writer.flush();
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"payments.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(body);
     }
 
 }
@@ -17,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.api.moviebooking.helpers.utils.CursorUtils;
 import com.api.moviebooking.models.dtos.promotion.AddPromotionRequest;
 import com.api.moviebooking.models.dtos.promotion.PromotionDataResponse;
 import com.api.moviebooking.models.dtos.promotion.UpdatePromotionRequest;
@@ -91,18 +92,17 @@ public class PromotionController {
     @GetMapping
     @Operation(summary = "Get all promotions or filter by status(active/valid)")
     public ResponseEntity<List<PromotionDataResponse>> getPromotions(
-            @RequestParam(required = false) String filter) {
-        List<PromotionDataResponse> response;
+            @RequestParam(required = false) String filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
 
         if ("active".equalsIgnoreCase(filter)) {
-            response = promotionService.getActivePromotions();
+            return ResponseEntity.ok(promotionService.getActivePromotions());
         } else if ("valid".equalsIgnoreCase(filter)) {
-            response = promotionService.getValidPromotions();
-        } else {
-            response = promotionService.getAllPromotions();
+            return ResponseEntity.ok(promotionService.getValidPromotions());
         }
 
-        return ResponseEntity.ok(response);
+        return CursorUtils.okWithCursor(promotionService.getAllPromotions(cursor, limit));
     }
 
     @GetMapping("/active")
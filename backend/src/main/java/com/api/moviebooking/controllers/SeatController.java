@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.api.moviebooking.helpers.utils.CursorUtils;
 import com.api.moviebooking.models.dtos.seat.AddSeatRequest;
 import com.api.moviebooking.models.dtos.seat.BulkSeatResponse;
 import com.api.moviebooking.models.dtos.seat.GenerateSeatsRequest;
@@ -75,10 +76,12 @@ public class SeatController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all seats")
-    public ResponseEntity<List<SeatDataResponse>> getAllSeats() {
-        List<SeatDataResponse> seats = seatService.getAllSeats();
-        return ResponseEntity.ok(seats);
+    @Operation(summary = "Get all seats", description = "Paginated: pass the X-Next-Cursor response header back "
+            + "as 'cursor' to fetch the next page")
+    public ResponseEntity<List<SeatDataResponse>> getAllSeats(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return CursorUtils.okWithCursor(seatService.getAllSeats(cursor, limit));
     }
 
     @GetMapping("/room/{roomId}")
@@ -9,15 +9,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.api.moviebooking.helpers.utils.SessionHelper;
 import com.api.moviebooking.models.dtos.SessionContext;
+import com.api.moviebooking.models.dtos.booking.LockHeartbeatResponse;
 import com.api.moviebooking.models.dtos.booking.LockSeatsRequest;
 import com.api.moviebooking.models.dtos.booking.LockSeatsResponse;
 import com.api.moviebooking.models.dtos.booking.SeatAvailabilityResponse;
 import com.api.moviebooking.services.BookingService;
+import com.api.moviebooking.services.WaitingRoomService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -34,24 +37,32 @@ import lombok.RequiredArgsConstructor;
 public class SeatLockController {
 
         private final BookingService bookingService;
+        private final WaitingRoomService waitingRoomService;
         private final SessionHelper sessionHelper;
 
         @PostMapping
         @Operation(summary = "Lock seats with session support", description = """
-                        Locks seats for 10 minutes. Authenticated users use JWT; guests use X-Session-Id header.
+                        Locks seats for a 2-minute lease, extended by heartbeats for up to 10 minutes. Authenticated users use JWT; guests use X-Session-Id header.
                         One active lock per session+showtime. See API-Bookings.md for details.
+                        Showtimes in hot mode require a waiting room admission ticket (403 without one).
                         """, parameters = {
-                        @Parameter(name = "X-Session-Id", description = "Guest session ID (UUID format). Required for guests, ignored if JWT present.", example = "550e8400-e29b-41d4-a716-446655440000", required = false, schema = @Schema(type = "string", format = "uuid"))
+                        @Parameter(name = "X-Session-Id", description = "Guest session ID (UUID format). Required for guests, ignored if JWT present.", example = "550e8400-e29b-41d4-a716-446655440000", required = false, schema = @Schema(type = "string", format = "uuid")),
+                        @Parameter(name = "X-Admission-Ticket", description = "Waiting room admission ticket. Required when the showtime is in hot mode.", required = false)
         })
         public ResponseEntity<LockSeatsResponse> lockSeats(
                         @Valid @RequestBody LockSeatsRequest request,
+                        @RequestHeader(name = "X-Admission-Ticket", required = false) String admissionTicket,
                         HttpServletRequest httpRequest) {
 
                 // Extract session context (userId from JWT or sessionId from header)
                 SessionContext session = sessionHelper.extractSessionContext(httpRequest);
 
+                // Hot showtimes admit sessions through the waiting room, before any database work
+                waitingRoomService.requireAdmission(request.getShowtimeId(), session, admissionTicket);
+
                 // Delegate to service
                 LockSeatsResponse response = bookingService.lockSeats(request, session);
+                waitingRoomService.completeAdmission(request.getShowtimeId(), session);
 
                 return ResponseEntity
                                 .status(HttpStatus.CREATED)
@@ -75,6 +86,40 @@ public class SeatLockController {
                 return ResponseEntity.ok().build();
         }
 
+        @PostMapping("/showtime/{showtimeId}/heartbeat")
+        @Operation(summary = "Extend the seat lock lease", description = """
+                        Extends the session's lock by one lease (booking.lock.lease.seconds), never past
+                        booking.lock.duration.minutes after locking. Call it periodically while the user is active.
+                        Returns 410 when the lock already expired. The response carries a lockToken re-signed
+                        with the new expiry.
+                        """, parameters = {
+                        @Parameter(name = "X-Session-Id", description = "Guest session ID. Required for guests, ignored if JWT present.", required = false, schema = @Schema(type = "string", format = "uuid"))
+        })
+        public ResponseEntity<LockHeartbeatResponse> heartbeat(
+                        @PathVariable UUID showtimeId,
+                        HttpServletRequest httpRequest) {
+
+                SessionContext session = sessionHelper.extractSessionContext(httpRequest);
+                return ResponseEntity.ok(bookingService.heartbeat(session.getLockOwnerId(), showtimeId));
+        }
+
+        @PostMapping("/showtime/{showtimeId}/release")
+        @Operation(summary = "Release locked seats from navigator.sendBeacon", description = """
+                        Fire-and-forget release for pagehide/unload: navigator.sendBeacon(url) sends a POST with
+                        cookies but no custom headers, so guests pass their session ID as the sessionId query
+                        parameter. Returns 204 whether or not a lock was found.
+                        """, parameters = {
+                        @Parameter(name = "sessionId", description = "Guest session ID. Required for guests, ignored if JWT present.", required = false, schema = @Schema(type = "string", format = "uuid"))
+        })
+        public ResponseEntity<Void> releaseSeatsBeacon(
+                        @PathVariable UUID showtimeId,
+                        HttpServletRequest httpRequest) {
+
+                SessionContext session = sessionHelper.extractBeaconSessionContext(httpRequest);
+                bookingService.releaseSeats(session.getLockOwnerId(), showtimeId);
+                return ResponseEntity.noContent().build();
+        }
+
         @GetMapping("/availability/showtime/{showtimeId}")
         @Operation(summary = "Check seat availability", description = """
                         READ-ONLY: Returns available, locked, and booked seats. Optional session context.
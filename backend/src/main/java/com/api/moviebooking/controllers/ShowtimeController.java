@@ -18,6 +18,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.api.moviebooking.helpers.utils.CursorUtils;
 import com.api.moviebooking.models.dtos.showtime.AddShowtimeRequest;
 import com.api.moviebooking.models.dtos.showtime.ShowtimeDataResponse;
 import com.api.moviebooking.models.dtos.showtime.UpdateShowtimeRequest;
@@ -74,10 +75,12 @@ public class ShowtimeController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all showtimes")
-    public ResponseEntity<List<ShowtimeDataResponse>> getAllShowtimes() {
-        List<ShowtimeDataResponse> showtimes = showtimeService.getAllShowtimes();
-        return ResponseEntity.ok(showtimes);
+    @Operation(summary = "Get all showtimes", description = "Ordered by start time and paginated: pass the "
+            + "X-Next-Cursor response header back as 'cursor' to fetch the next page")
+    public ResponseEntity<List<ShowtimeDataResponse>> getAllShowtimes(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return CursorUtils.okWithCursor(showtimeService.getAllShowtimes(cursor, limit));
     }
 
     @GetMapping("/movie/{movieId}")
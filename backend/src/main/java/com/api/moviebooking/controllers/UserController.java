@@ -12,8 +12,10 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.api.moviebooking.helpers.utils.CursorUtils;
 import com.api.moviebooking.models.dtos.user.UpdatePasswordRequest;
 import com.api.moviebooking.models.dtos.user.UpdateProfileRequest;
 import com.api.moviebooking.models.dtos.user.UserProfileResponse;
@@ -82,10 +84,12 @@ public class UserController {
      */
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all users", description = "Retrieve all users in the system (Admin only)")
-    public ResponseEntity<List<UserProfileResponse>> getAllUsers() {
-        List<UserProfileResponse> users = userService.getAllUsers();
-        return ResponseEntity.ok(users);
+    @Operation(summary = "Get all users", description = "Retrieve all users in the system (Admin only). "
+            + "Paginated: pass the X-Next-Cursor response header back as 'cursor' to fetch the next page")
+    public ResponseEntity<List<UserProfileResponse>> getAllUsers(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return CursorUtils.okWithCursor(userService.getAllUsers(cursor, limit));
     }
 
     /**
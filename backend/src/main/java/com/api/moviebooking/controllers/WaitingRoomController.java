@@ -0,0 +1,86 @@
+package com.api.moviebooking.controllers;
+
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.api.moviebooking.helpers.utils.SessionHelper;
+import com.api.moviebooking.models.dtos.SessionContext;
+import com.api.moviebooking.models.dtos.booking.WaitingRoomStatusResponse;
+import com.api.moviebooking.services.WaitingRoomService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/seat-locks/waiting-room")
+@RequiredArgsConstructor
+@Tag(name = "Seat Lock Operations")
+public class WaitingRoomController {
+
+        private final WaitingRoomService waitingRoomService;
+        private final SessionHelper sessionHelper;
+
+        @PostMapping("/showtime/{showtimeId}")
+        @Operation(summary = "Join the waiting room of a showtime", description = """
+                        Queues the session for a showtime in hot mode; joining again keeps the position.
+                        Returns NOT_REQUIRED when the showtime has no waiting room. Poll the GET endpoint until
+                        the status is ADMITTED, then lock seats with the admissionTicket as X-Admission-Ticket.
+                        """, parameters = {
+                        @Parameter(name = "X-Session-Id", description = "Guest session ID. Required for guests, ignored if JWT present.", required = false, schema = @Schema(type = "string", format = "uuid"))
+        })
+        public ResponseEntity<WaitingRoomStatusResponse> join(
+                        @PathVariable UUID showtimeId,
+                        HttpServletRequest httpRequest) {
+
+                SessionContext session = sessionHelper.extractSessionContext(httpRequest);
+                return ResponseEntity.ok(waitingRoomService.getStatus(showtimeId, session, true));
+        }
+
+        @GetMapping("/showtime/{showtimeId}")
+        @Operation(summary = "Get the session's place in the waiting room", description = """
+                        Returns the queue position and estimated wait while WAITING, or a signed admission
+                        ticket once ADMITTED. A ticket not used before ticketExpiresAt lapses (NOT_QUEUED):
+                        join again to get back in line.
+                        """, parameters = {
+                        @Parameter(name = "X-Session-Id", description = "Guest session ID. Required for guests, ignored if JWT present.", required = false, schema = @Schema(type = "string", format = "uuid"))
+        })
+        public ResponseEntity<WaitingRoomStatusResponse> getStatus(
+                        @PathVariable UUID showtimeId,
+                        HttpServletRequest httpRequest) {
+
+                SessionContext session = sessionHelper.extractSessionContext(httpRequest);
+                return ResponseEntity.ok(waitingRoomService.getStatus(showtimeId, session, false));
+        }
+
+        @PutMapping("/showtime/{showtimeId}")
+        @PreAuthorize("hasRole('ADMIN')")
+        @SecurityRequirement(name = "bearerToken")
+        @Operation(summary = "Put a showtime in hot mode (Admin only)", description = "Seat locks of the showtime require a waiting room admission ticket")
+        public ResponseEntity<Void> enable(@PathVariable UUID showtimeId) {
+                waitingRoomService.enable(showtimeId);
+                return ResponseEntity.noContent().build();
+        }
+
+        @DeleteMapping("/showtime/{showtimeId}")
+        @PreAuthorize("hasRole('ADMIN')")
+        @SecurityRequirement(name = "bearerToken")
+        @Operation(summary = "Take a showtime out of hot mode (Admin only)", description = "Drops the queue; seat locks no longer require a ticket")
+        public ResponseEntity<Void> disable(@PathVariable UUID showtimeId) {
+                waitingRoomService.disable(showtimeId);
+                return ResponseEntity.noContent().build();
+        }
+}
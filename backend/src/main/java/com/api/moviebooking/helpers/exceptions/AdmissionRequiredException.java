@@ -0,0 +1,17 @@
+package com.api.moviebooking.helpers.exceptions;
+
+/**
+ * Seat lock attempted on a showtime in hot mode without a valid waiting room
+ * admission ticket
+ * Mapped to 403 Forbidden
+ */
+public class AdmissionRequiredException extends RuntimeException {
+
+    public AdmissionRequiredException(String message) {
+        super(message);
+    }
+
+    public AdmissionRequiredException() {
+        super("This showtime has a waiting room. Join the queue and retry with your admission ticket.");
+    }
+}
@@ -3,6 +3,7 @@ package com.api.moviebooking.helpers.exceptions;
 import java.util.Date;
 import java.util.stream.Collectors;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -90,6 +91,18 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorDetails, HttpStatus.GONE);
         }
 
+        /**
+         * Handle seat locks without a waiting room admission ticket
+         * Returns HTTP 403 Forbidden
+         */
+        @ExceptionHandler(AdmissionRequiredException.class)
+        public ResponseEntity<CustomError> handleAdmissionRequiredException(
+                        AdmissionRequiredException exception, WebRequest webRequest) {
+                CustomError errorDetails = new CustomError(new Date(), exception.getMessage(),
+                                webRequest.getDescription(false));
+                return new ResponseEntity<>(errorDetails, HttpStatus.FORBIDDEN);
+        }
+
         /**
          * Handle access denied errors from Spring Security
          * Returns HTTP 403 Forbidden
@@ -137,6 +150,20 @@ public class GlobalExceptionHandler {
                 return new ResponseEntity<>(errorDetails, exception.getHttpStatus());
         }
 
+        /**
+         * Handle requests shed under overload
+         * Returns HTTP 503 Service Unavailable with Retry-After
+         */
+        @ExceptionHandler(ServiceOverloadedException.class)
+        public ResponseEntity<CustomError> handleServiceOverloadedException(
+                        ServiceOverloadedException exception, WebRequest webRequest) {
+                CustomError errorDetails = new CustomError(new Date(), exception.getMessage(),
+                                webRequest.getDescription(false));
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfterSeconds()))
+                                .body(errorDetails);
+        }
+
         /**
          * Handle all other exceptions
          * Returns HTTP 500 Internal Server Error
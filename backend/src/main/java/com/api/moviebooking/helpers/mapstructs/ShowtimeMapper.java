@@ -17,6 +17,7 @@ public interface ShowtimeMapper {
     @Mapping(target = "bookings", ignore = true)
     @Mapping(target = "seatLocks", ignore = true)
     @Mapping(target = "showtimeSeats", ignore = true)
+    @Mapping(target = "seatPrices", ignore = true)
     Showtime toEntity(AddShowtimeRequest request);
 
     @Mapping(target = "showtimeId", source = "id")
@@ -20,7 +20,8 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class SessionHelper {
 
-    private static final String SESSION_HEADER = "X-Session-Id";
+    public static final String SESSION_HEADER = "X-Session-Id";
+    public static final String SESSION_PARAM = "sessionId";
     private final UserService userService;
 
     /**
@@ -47,7 +48,29 @@ public class SessionHelper {
         }
 
         // Not authenticated - try guest session header
+        return guestSessionContext(request.getHeader(SESSION_HEADER));
+    }
+
+    /**
+     * Extract session context from a navigator.sendBeacon request, which
+     * carries cookies but cannot set headers: the guest session ID may come as
+     * the sessionId query parameter instead of the X-Session-Id header
+     */
+    public SessionContext extractBeaconSessionContext(HttpServletRequest request) {
         String sessionId = request.getHeader(SESSION_HEADER);
+        if (sessionId == null || sessionId.isBlank()) {
+            sessionId = request.getParameter(SESSION_PARAM);
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.isAuthenticated()
+                && !"anonymousUser".equals(authentication.getPrincipal())) {
+            return SessionContext.forUser(userService.getCurrentUser().getId());
+        }
+        return guestSessionContext(sessionId);
+    }
+
+    private SessionContext guestSessionContext(String sessionId) {
         if (sessionId != null && !sessionId.trim().isEmpty()) {
             // Validate UUID format
             try {
@@ -0,0 +1,46 @@
+package com.api.moviebooking.helpers.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * Self-contained signed tokens (seat lock tokens, admission tickets)
+ * Format: base64url(payload) + "." + hex HMAC-SHA256 of the encoded payload.
+ * What the payload means is up to the caller.
+ */
+public final class SignedTokenUtils {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private SignedTokenUtils() {
+    }
+
+    public static String sign(String secret, byte[] payload) {
+        String encoded = ENCODER.encodeToString(payload);
+        return encoded + "." + SecurityUtils.HmacSHA256sign(secret, encoded);
+    }
+
+    /**
+     * Check the signature in constant time and decode the payload
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: malformed, bad signature
+     *
+     * @throws IllegalArgumentException if the token is malformed or not signed
+     *                                  with this secret
+     */
+    public static byte[] verify(String secret, String token) {
+        int dot = token == null ? -1 : token.indexOf('.');
+        if (dot <= 0) {
+            throw new IllegalArgumentException("Malformed signed token");
+        }
+        String encoded = token.substring(0, dot);
+        byte[] expected = SecurityUtils.HmacSHA256sign(secret, encoded).getBytes(StandardCharsets.US_ASCII);
+        byte[] actual = token.substring(dot + 1).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, actual)) {
+            throw new IllegalArgumentException("Invalid token signature");
+        }
+        return DECODER.decode(encoded);
+    }
+}
@@ -0,0 +1,41 @@
+package com.api.moviebooking.models.dtos;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One page of a keyset-paginated list
+ * - items: rows of this page, in stable sort order
+ * - nextCursor: opaque cursor for the following page, null on the last page
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    private String nextCursor;
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Build a page from a result fetched with limit + 1 rows.
+     * The extra row only signals that another page exists and is dropped.
+     * Items are a mutable list so pages round-trip through the JSON cache.
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit, Function<E, String> cursorOf,
+            Function<E, T> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<E> pageRows = hasMore ? rows.subList(0, limit) : rows;
+        String nextCursor = hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
@@ -0,0 +1,49 @@
+package com.api.moviebooking.models.dtos.booking;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+
+import com.api.moviebooking.models.enums.ModifierType;
+import com.api.moviebooking.models.enums.SeatType;
+
+/**
+ * What locking seats of a showtime needs to know besides the seats themselves,
+ * built once per showtime by BookingContextService and shared from the catalog
+ * cache, so it is never modified after it is built
+ * - sparse: the showtime stores seat type prices instead of all its seat rows
+ * - ticketTypes: ticket types assigned to the showtime, by id
+ * - prices: seat price by {@link #priceKey}, showtime and ticket type modifiers
+ * applied
+ * Map keys are strings: the Redis layer stores maps with their class only, so
+ * any other key type would come back as a string.
+ */
+public record BookingContext(
+        UUID showtimeId,
+        LocalDateTime startTime,
+        String format,
+        String roomType,
+        boolean sparse,
+        Map<String, TicketTypeOption> ticketTypes,
+        Map<String, BigDecimal> prices) {
+
+    public record TicketTypeOption(UUID id, String code, String label, ModifierType modifierType,
+            BigDecimal modifierValue) {
+    }
+
+    public static String priceKey(SeatType seatType, UUID ticketTypeId) {
+        return seatType.name() + ":" + ticketTypeId;
+    }
+
+    public boolean allowsTicketType(UUID ticketTypeId) {
+        return ticketTypes.containsKey(ticketTypeId.toString());
+    }
+
+    /**
+     * Price of a seat of this type with an allowed ticket type
+     */
+    public BigDecimal price(SeatType seatType, UUID ticketTypeId) {
+        return prices.get(priceKey(seatType, ticketTypeId));
+    }
+}
@@ -19,6 +19,8 @@ public class ConfirmBookingRequest {
     @NotNull(message = "Lock ID is required")
     private UUID lockId;
 
+    private String lockToken; // Optional signed lock token, checked before the lock is read
+
     private String promotionCode; // Optional promotion code for discount
 
     // Optional snack combo selection
@@ -0,0 +1,23 @@
+package com.api.moviebooking.models.dtos.booking;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LockHeartbeatResponse {
+
+    private UUID lockId;
+    private UUID showtimeId;
+    private LocalDateTime expiresAt; // end of the current lease
+    private LocalDateTime holdUntil; // heartbeats cannot extend past this
+    private Integer leaseSeconds;
+    private String lockToken; // re-signed with the new expiry
+}
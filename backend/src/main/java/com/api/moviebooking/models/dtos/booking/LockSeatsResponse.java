@@ -23,7 +23,9 @@ public class LockSeatsResponse {
     private List<LockedSeatInfo> lockedSeats;
     private BigDecimal totalPrice;
     private LocalDateTime expiresAt;
-    private Integer lockDurationMinutes;
+    private Integer lockDurationMinutes; // longest hold, heartbeats included
+    private Integer leaseSeconds; // expiry without a heartbeat
+    private String lockToken; // signed lock terms, for price preview and checkout
     private String message;
 
     @Data
@@ -0,0 +1,11 @@
+package com.api.moviebooking.models.dtos.booking;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+/**
+ * A seat of a seat lock with the price it was locked at, read without loading
+ * the lock's seat entities
+ */
+public record LockedSeatPrice(UUID showtimeSeatId, BigDecimal price) {
+}
@@ -11,8 +11,8 @@ import lombok.NoArgsConstructor;
 
 /**
  * Request body for price preview endpoint.
- * Uses lockId to get seat/ticket information from an existing SeatLock,
- * ensuring consistency with the confirm booking flow.
+ * Uses lockId (or the signed lockToken) to get seat/ticket information from
+ * an existing SeatLock, ensuring consistency with the confirm booking flow.
  */
 @Data
 @NoArgsConstructor
@@ -23,6 +23,10 @@ public class PricePreviewRequest {
     @NotNull(message = "Lock ID is required")
     private UUID lockId;
 
+    // Signed lock token from lockSeats or the last heartbeat; when present the
+    // preview is priced from it without reading the lock
+    private String lockToken;
+
     private String promotionCode;
 
     private List<SnackItem> snacks;
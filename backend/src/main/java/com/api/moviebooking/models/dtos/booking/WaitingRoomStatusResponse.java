@@ -0,0 +1,26 @@
+package com.api.moviebooking.models.dtos.booking;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.api.moviebooking.models.enums.WaitingRoomStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class WaitingRoomStatusResponse {
+
+    private UUID showtimeId;
+    private WaitingRoomStatus status;
+    private Long position; // 1-based, while WAITING
+    private Long queueLength;
+    private Long estimatedWaitSeconds; // at the configured admission rate
+    private String admissionTicket; // X-Admission-Ticket header of POST /seat-locks, when ADMITTED
+    private LocalDateTime ticketExpiresAt;
+}
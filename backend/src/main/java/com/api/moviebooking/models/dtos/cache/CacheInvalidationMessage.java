@@ -0,0 +1,25 @@
+package com.api.moviebooking.models.dtos.cache;
+
+import java.util.UUID;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Broadcast over Redis pub/sub when a cached entity changes on one node
+ * - origin: node that made the change (it skips its own messages)
+ * - entityName: Hibernate entity name of the changed row
+ * - id: changed row, null to drop the whole region
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheInvalidationMessage {
+
+    private String origin;
+
+    private String entityName;
+
+    private UUID id;
+}
@@ -0,0 +1,23 @@
+package com.api.moviebooking.models.dtos.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Broadcast over Redis pub/sub when a catalog cache entry is evicted on one node
+ * - origin: node that evicted it (it skips its own messages)
+ * - cacheName: catalog cache the entry belongs to
+ * - key: evicted key, null to clear the whole cache
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogCacheEvictionMessage {
+
+    private String origin;
+
+    private String cacheName;
+
+    private String key;
+}
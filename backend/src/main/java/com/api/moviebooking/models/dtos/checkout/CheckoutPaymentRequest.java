@@ -28,6 +28,9 @@ public class CheckoutPaymentRequest {
     @NotNull(message = "Lock ID is required")
     private UUID lockId;
 
+    // Optional signed lock token from lockSeats or the last heartbeat
+    private String lockToken;
+
     // Optional promotion code for discount
     private String promotionCode;
 
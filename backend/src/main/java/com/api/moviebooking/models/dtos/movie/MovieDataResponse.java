@@ -2,11 +2,15 @@ package com.api.moviebooking.models.dtos.movie;
 
 import java.util.UUID;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class MovieDataResponse {
 
     private UUID movieId;
@@ -6,11 +6,15 @@ import java.util.UUID;
 import com.api.moviebooking.models.dtos.movie.MovieDataResponse;
 import com.api.moviebooking.models.dtos.room.RoomDataResponse;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 
 @Getter
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class ShowtimeDataResponse {
 
     private UUID showtimeId;
@@ -9,6 +9,7 @@ import java.util.UUID;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UuidGenerator;
 
+import com.api.moviebooking.helpers.utils.UuidV7Generator;
 import com.api.moviebooking.models.enums.BookingStatus;
 
 import jakarta.persistence.CascadeType;
@@ -36,7 +37,7 @@ import lombok.Setter;
 public class Booking {
 
     @Id
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -9,6 +9,7 @@ import java.util.UUID;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UuidGenerator;
 
+import com.api.moviebooking.helpers.utils.UuidV7Generator;
 import com.api.moviebooking.models.enums.PaymentMethod;
 import com.api.moviebooking.models.enums.PaymentStatus;
 
@@ -37,7 +38,7 @@ import lombok.Setter;
 public class Payment {
 
     @Id
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @OneToOne(fetch = FetchType.EAGER)
@@ -5,9 +5,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
-import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UuidGenerator;
 
+import com.api.moviebooking.helpers.utils.UuidV7Generator;
 import com.api.moviebooking.models.enums.LockOwnerType;
 
 import jakarta.persistence.CascadeType;
@@ -20,6 +20,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -44,18 +45,18 @@ import lombok.Setter;
 public class SeatLock {
 
     @Id
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     /**
      * The unique lock token (UUID) used as the VALUE in Redis seat locks
-     * This token is stored in Redis for each seat:
-     * "lock:seat:{showtimeId}:{seatId}" → lockKey
+     * This token is stored in Redis for each seat, as the seat's field of the
+     * showtime hash "lock:seats:{showtimeId}" (16 raw bytes) → lockKey
      * When releasing locks, we compare this token to ensure only the lock owner can
      * release
      * Format: Random UUID string (e.g., "8f4c2e9a-1b3d-4f6e-9c8b-7a5d4f3e2c1b")
      */
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String lockKey;
 
     /**
@@ -96,7 +97,10 @@ public class SeatLock {
     @OneToMany(mappedBy = "seatLock", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<SeatLockSeat> seatLockSeats = new ArrayList<>();
 
-    @CreationTimestamp
+    /**
+     * Partition key of seat_locks, copied to the lock's seats; set before the
+     * seats are persisted
+     */
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -105,4 +109,23 @@ public class SeatLock {
 
     @Column(nullable = false)
     private boolean active = true;
+
+    /**
+     * Whether a checkout claimed the lock, counted as a conversion when the lock
+     * is compacted into seat_lock_daily_stats
+     */
+    @Column(nullable = false)
+    private boolean converted = false;
+
+    /**
+     * When the lock was claimed, released or expired; null while active
+     */
+    private LocalDateTime endedAt;
+
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
 }
@@ -1,16 +1,20 @@
 package com.api.moviebooking.models.entities;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import org.hibernate.annotations.UuidGenerator;
 
+import com.api.moviebooking.helpers.utils.UuidV7Generator;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -26,7 +30,7 @@ import lombok.Setter;
 public class SeatLockSeat {
 
     @Id
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -43,4 +47,16 @@ public class SeatLockSeat {
 
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal price;
+
+    /**
+     * Creation time of the seat lock: the partition key of seat_lock_seats, so
+     * a lock and its seats share a monthly partition
+     */
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime lockCreatedAt;
+
+    @PrePersist
+    void copyLockCreatedAt() {
+        lockCreatedAt = seatLock.getCreatedAt();
+    }
 }
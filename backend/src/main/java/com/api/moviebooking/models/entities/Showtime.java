@@ -5,7 +5,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
+import org.hibernate.type.SqlTypes;
 
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
@@ -46,6 +48,15 @@ public class Showtime {
     @Column(nullable = false)
     private LocalDateTime startTime;
 
+    /**
+     * Sparse seat storage only: price breakdown per seat type, e.g.
+     * {"NORMAL": {"basePrice": ..., "modifiers": [...], "finalPrice": ...}}
+     * Null when every showtime seat row was generated at creation
+     */
+    @Column(columnDefinition = "jsonb")
+    @JdbcTypeCode(SqlTypes.JSON)
+    private String seatPrices;
+
     @OneToMany(mappedBy = "showtime", cascade = { CascadeType.PERSIST, CascadeType.MERGE })
     List<ShowtimeSeat> showtimeSeats = new ArrayList<>();
 
@@ -1,11 +1,14 @@
 package com.api.moviebooking.models.entities;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.UUID;
+
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.UuidGenerator;
 import org.hibernate.type.SqlTypes;
 
+import com.api.moviebooking.helpers.utils.UuidV7Generator;
 import com.api.moviebooking.models.enums.SeatStatus;
 
 import jakarta.persistence.Column;
@@ -16,6 +19,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -31,7 +35,7 @@ import lombok.Setter;
 public class ShowtimeSeat {
 
     @Id
-    @UuidGenerator
+    @UuidGenerator(algorithm = UuidV7Generator.class)
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -52,4 +56,19 @@ public class ShowtimeSeat {
     @Column(columnDefinition = "jsonb")
     @JdbcTypeCode(SqlTypes.JSON)
     private String priceBreakdown;
+
+    /**
+     * Start time of the showtime, the partition key of showtime_seats
+     * Only changed by ShowtimeSeatRepo.updateShowtimeStart when the showtime is
+     * rescheduled, so a stale entity cannot move its row back
+     */
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime showtimeStart;
+
+    @PrePersist
+    void copyShowtimeStart() {
+        if (showtimeStart == null) {
+            showtimeStart = showtime.getStartTime();
+        }
+    }
 }
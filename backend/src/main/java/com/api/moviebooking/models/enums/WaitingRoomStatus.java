@@ -0,0 +1,26 @@
+package com.api.moviebooking.models.enums;
+
+/**
+ * Where a session stands in the waiting room of a showtime
+ */
+public enum WaitingRoomStatus {
+    /**
+     * The showtime is not in hot mode; seats can be locked without a ticket
+     */
+    NOT_REQUIRED,
+
+    /**
+     * The session has not joined the queue (or its ticket expired unused)
+     */
+    NOT_QUEUED,
+
+    /**
+     * The session is queued; position says how many sessions are admitted first
+     */
+    WAITING,
+
+    /**
+     * The session holds an admission ticket for the lock endpoint
+     */
+    ADMITTED
+}
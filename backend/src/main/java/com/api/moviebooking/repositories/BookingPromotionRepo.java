@@ -1,6 +1,10 @@
 package com.api.moviebooking.repositories;
 
+import java.util.UUID;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.api.moviebooking.models.entities.BookingPromotion;
@@ -8,4 +12,17 @@ import com.api.moviebooking.models.entities.BookingPromotion.BookingPromotionId;
 
 @Repository
 public interface BookingPromotionRepo extends JpaRepository<BookingPromotion, BookingPromotionId> {
+
+    /**
+     * Count how many bookings used a promotion
+     */
+    @Query("SELECT COUNT(bp) FROM BookingPromotion bp WHERE bp.promotion.id = :promotionId")
+    long countByPromotionId(@Param("promotionId") UUID promotionId);
+
+    /**
+     * Count how many bookings of a user used a promotion
+     */
+    @Query("SELECT COUNT(bp) FROM BookingPromotion bp " +
+            "WHERE bp.promotion.id = :promotionId AND bp.booking.user.id = :userId")
+    long countByPromotionIdAndUserId(@Param("promotionId") UUID promotionId, @Param("userId") UUID userId);
 }
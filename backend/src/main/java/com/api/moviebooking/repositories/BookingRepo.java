@@ -15,9 +15,11 @@ import com.api.moviebooking.models.enums.BookingStatus;
 public interface BookingRepo extends JpaRepository<Booking, UUID> {
 
         /**
-         * Find bookings by user ID
+         * Find bookings by user ID, with the showtime chain used by BookingMapper
          */
-        @Query("SELECT b FROM Booking b WHERE b.user.id = :userId ORDER BY b.bookedAt DESC")
+        @Query("SELECT b FROM Booking b " +
+                        "JOIN FETCH b.showtime s JOIN FETCH s.movie JOIN FETCH s.room r JOIN FETCH r.cinema " +
+                        "WHERE b.user.id = :userId ORDER BY b.bookedAt DESC")
         List<Booking> findByUserId(@Param("userId") UUID userId);
 
         /**
@@ -27,9 +29,12 @@ public interface BookingRepo extends JpaRepository<Booking, UUID> {
         List<Booking> findByShowtimeId(@Param("showtimeId") UUID showtimeId);
 
         /**
-         * Find booking by ID and user ID (for authorization)
+         * Find booking by ID and user ID (for authorization), with the showtime
+         * chain used by BookingMapper
          */
-        @Query("SELECT b FROM Booking b WHERE b.id = :bookingId AND b.user.id = :userId")
+        @Query("SELECT b FROM Booking b " +
+                        "JOIN FETCH b.showtime s JOIN FETCH s.movie JOIN FETCH s.room r JOIN FETCH r.cinema " +
+                        "WHERE b.id = :bookingId AND b.user.id = :userId")
         Optional<Booking> findByIdAndUserId(@Param("bookingId") UUID bookingId, @Param("userId") UUID userId);
 
         /**
@@ -3,13 +3,18 @@ package com.api.moviebooking.repositories;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.api.moviebooking.models.entities.BookingSeat;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface BookingSeatRepo extends JpaRepository<BookingSeat, UUID> {
 
@@ -19,6 +24,26 @@ public interface BookingSeatRepo extends JpaRepository<BookingSeat, UUID> {
     @Query("SELECT bs FROM BookingSeat bs WHERE bs.booking.id = :bookingId")
     List<BookingSeat> findByBookingId(@Param("bookingId") UUID bookingId);
 
+    /**
+     * Find all booking seats for a booking together with their seat (row,
+     * number, type)
+     */
+    @Query("SELECT bs FROM BookingSeat bs JOIN FETCH bs.showtimeSeat ss JOIN FETCH ss.seat WHERE bs.booking.id = :bookingId")
+    List<BookingSeat> findByBookingIdWithSeat(@Param("bookingId") UUID bookingId);
+
+    /**
+     * Copy the seats of a seat lock into a booking with one INSERT ... SELECT;
+     * returns the number of booking seats written. The native spaces hint names
+     * the only table written, otherwise Hibernate treats the statement as
+     * touching every table and drops the whole second-level cache
+     */
+    @Modifying(flushAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "booking_seats"))
+    @Query(value = "INSERT INTO booking_seats (id, booking_id, showtime_seat_id, ticket_type_applied_id, price) " +
+            "SELECT uuid_generate_v7(), :bookingId, sls.showtime_seat_id, sls.ticket_type_id, sls.price " +
+            "FROM seat_lock_seats sls WHERE sls.seat_lock_id = :seatLockId", nativeQuery = true)
+    int insertFromSeatLock(@Param("bookingId") UUID bookingId, @Param("seatLockId") UUID seatLockId);
+
     /**
      * Check if a ticket type is used in any booking seat (for soft delete check)
      */
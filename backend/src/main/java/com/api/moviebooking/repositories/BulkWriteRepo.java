@@ -0,0 +1,19 @@
+package com.api.moviebooking.repositories;
+
+import java.util.List;
+
+/**
+ * Repository fragment for writing many new entities in one transaction
+ * (bulk.write.*). Add it to a repository's extends list.
+ */
+public interface BulkWriteRepo<T> {
+
+    /**
+     * Persist new entities, flushing every hibernate.jdbc.batch_size of them
+     * as batched INSERTs and detaching them once written, so the persistence
+     * context (and the dirty check of every later flush) does not grow with the
+     * number of rows. The returned entities are detached; associations they
+     * reference are left managed.
+     */
+    <S extends T> List<S> saveAllInBatches(List<S> entities);
+}
@@ -0,0 +1,47 @@
+package com.api.moviebooking.repositories;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Shared implementation of {@link BulkWriteRepo}
+ * Relies on hibernate.jdbc.batch_size and hibernate.order_inserts
+ * (application.properties) to send each flush as batched statements.
+ */
+public class BulkWriteRepoImpl<T> implements BulkWriteRepo<T> {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:100}")
+    private int batchSize;
+
+    /**
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: (loop: entities), batch full
+     */
+    @Override
+    @Transactional
+    public <S extends T> List<S> saveAllInBatches(List<S> entities) {
+        int from = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            entityManager.persist(entities.get(i));
+            if (i + 1 - from == batchSize) {
+                flushAndDetach(entities.subList(from, i + 1));
+                from = i + 1;
+            }
+        }
+        flushAndDetach(entities.subList(from, entities.size()));
+        return entities;
+    }
+
+    private void flushAndDetach(List<?> written) {
+        entityManager.flush();
+        written.forEach(entityManager::detach);
+    }
+}
@@ -4,13 +4,17 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.api.moviebooking.models.entities.MembershipTier;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface MembershipTierRepo extends JpaRepository<MembershipTier, UUID> {
 
@@ -18,6 +22,7 @@ public interface MembershipTierRepo extends JpaRepository<MembershipTier, UUID>
 
     boolean existsByNameIgnoreCase(String name);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<MembershipTier> findByIsActive(Boolean isActive);
 
     // Find appropriate tier based on loyalty points
@@ -26,5 +31,6 @@ public interface MembershipTierRepo extends JpaRepository<MembershipTier, UUID>
 
     // Get default tier (lowest minPoints)
     @Query("SELECT mt FROM MembershipTier mt WHERE mt.isActive = true ORDER BY mt.minPoints ASC LIMIT 1")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<MembershipTier> findDefaultTier();
 }
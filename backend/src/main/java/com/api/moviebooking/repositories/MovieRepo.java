@@ -3,6 +3,7 @@ package com.api.moviebooking.repositories;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -32,4 +33,9 @@ public interface MovieRepo extends JpaRepository<Movie, UUID> {
     List<Movie> searchMovies(@Param("title") String title, 
                             @Param("genre") String genre, 
                             @Param("status") MovieStatus status);
+
+    // Keyset pagination ordered by id (first page / pages after a cursor)
+    List<Movie> findAllByOrderByIdAsc(Limit limit);
+
+    List<Movie> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
 }
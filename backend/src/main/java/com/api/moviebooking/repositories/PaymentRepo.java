@@ -4,12 +4,16 @@ import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import com.api.moviebooking.models.entities.Payment;
 import com.api.moviebooking.models.enums.PaymentMethod;
 import com.api.moviebooking.models.enums.PaymentStatus;
 
-public interface PaymentRepo extends JpaRepository<Payment, UUID> {
+/**
+ * Dynamic search filters live in {@link PaymentSpecifications}
+ */
+public interface PaymentRepo extends JpaRepository<Payment, UUID>, JpaSpecificationExecutor<Payment> {
 
         Optional<Payment> findByTransactionId(String transactionId);
 
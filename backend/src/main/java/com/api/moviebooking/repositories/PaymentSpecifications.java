@@ -0,0 +1,93 @@
+package com.api.moviebooking.repositories;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.api.moviebooking.models.dtos.payment.PaymentSearchRequest;
+import com.api.moviebooking.models.entities.Booking;
+import com.api.moviebooking.models.entities.Payment;
+import com.api.moviebooking.models.entities.Showtime;
+
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Dynamic filters for payment search, evaluated by the database
+ * Results are ordered by (createdAt DESC, id DESC) so that the keyset
+ * predicate in {@link #after} gives stable pages.
+ */
+public final class PaymentSpecifications {
+
+    private PaymentSpecifications() {
+    }
+
+    public static final Sort KEYSET_SORT = Sort.by(
+            Sort.Order.desc("createdAt"),
+            Sort.Order.desc("id"));
+
+    /**
+     * Combine all non-null filters of the request into a single specification
+     */
+    public static Specification<Payment> matching(PaymentSearchRequest filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (filter.getBookingId() != null) {
+                predicates.add(cb.equal(root.get("booking").get("id"), filter.getBookingId()));
+            }
+            if (filter.getUserId() != null) {
+                predicates.add(cb.equal(root.get("booking").get("user").get("id"), filter.getUserId()));
+            }
+            if (filter.getTransactionId() != null) {
+                predicates.add(cb.equal(root.get("transactionId"), filter.getTransactionId()));
+            }
+            if (filter.getStatus() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.getStatus()));
+            }
+            if (filter.getMethod() != null) {
+                predicates.add(cb.equal(root.get("method"), filter.getMethod()));
+            }
+            if (filter.getStartDate() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), filter.getStartDate()));
+            }
+            if (filter.getEndDate() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("createdAt"), filter.getEndDate()));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Keyset predicate: rows strictly after (createdAt, id) in KEYSET_SORT order
+     */
+    public static Specification<Payment> after(LocalDateTime createdAt, UUID id) {
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), createdAt),
+                cb.and(
+                        cb.equal(root.get("createdAt"), createdAt),
+                        cb.lessThan(root.<UUID>get("id"), id)));
+    }
+
+    /**
+     * Fetch the booking and the to-one chain used by PaymentMapper in the same
+     * query, instead of one eager select per payment
+     */
+    public static Specification<Payment> fetchBookingDetails() {
+        return (root, query, cb) -> {
+            if (query != null && !Long.class.equals(query.getResultType())) {
+                Fetch<Payment, Booking> booking = root.fetch("booking", JoinType.INNER);
+                Fetch<Booking, Showtime> showtime = booking.fetch("showtime", JoinType.LEFT);
+                showtime.fetch("movie", JoinType.LEFT);
+                showtime.fetch("room", JoinType.LEFT).fetch("cinema", JoinType.LEFT);
+            }
+            return null;
+        };
+    }
+}
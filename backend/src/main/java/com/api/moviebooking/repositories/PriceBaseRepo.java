@@ -3,16 +3,21 @@ package com.api.moviebooking.repositories;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.api.moviebooking.models.entities.PriceBase;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface PriceBaseRepo extends JpaRepository<PriceBase, UUID> {
 
     @Query("SELECT pb FROM PriceBase pb WHERE pb.isActive = true ORDER BY pb.createdAt DESC LIMIT 1")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<PriceBase> findActiveBasePrice();
 
     boolean existsByNameIgnoreCase(String name);
@@ -5,6 +5,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -25,4 +26,9 @@ public interface PromotionRepo extends JpaRepository<Promotion, UUID> {
             Boolean isActive,
             LocalDateTime currentDate1,
             LocalDateTime currentDate2);
+
+    // Keyset pagination ordered by id (first page / pages after a cursor)
+    List<Promotion> findAllByOrderByIdAsc(Limit limit);
+
+    List<Promotion> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
 }
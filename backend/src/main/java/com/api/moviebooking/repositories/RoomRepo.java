@@ -1,8 +1,10 @@
 package com.api.moviebooking.repositories;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.api.moviebooking.models.entities.Room;
@@ -15,4 +17,8 @@ public interface RoomRepo extends JpaRepository<Room, UUID> {
 
     boolean existsByCinemaIdAndRoomNumberAndIdNot(UUID cinemaId, Integer roomNumber, UUID id);
 
+    // Keyset pagination ordered by id (first page / pages after a cursor)
+    List<Room> findAllByOrderByIdAsc(Limit limit);
+
+    List<Room> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
 }
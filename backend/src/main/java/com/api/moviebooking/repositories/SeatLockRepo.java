@@ -1,38 +1,99 @@
 package com.api.moviebooking.repositories;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import com.api.moviebooking.helpers.utils.UuidV7Generator;
 import com.api.moviebooking.models.entities.SeatLock;
 
 public interface SeatLockRepo extends JpaRepository<SeatLock, UUID> {
 
+        /**
+         * Find a lock by id in the seat_locks partitions of its creation; lock ids
+         * are UUIDv7 and carry that time. A day either way covers the clock and
+         * time zone of whoever wrote created_at
+         */
+        default Optional<SeatLock> findByIdInPartition(UUID lockId) {
+                LocalDateTime created = LocalDateTime.ofInstant(
+                                Instant.ofEpochMilli(UuidV7Generator.timestamp(lockId)), ZoneId.systemDefault());
+                return findByIdCreatedBetween(lockId, created.minusDays(1), created.plusDays(1));
+        }
+
+        @Query("SELECT sl FROM SeatLock sl WHERE sl.id = :lockId AND sl.createdAt BETWEEN :from AND :to")
+        Optional<SeatLock> findByIdCreatedBetween(@Param("lockId") UUID lockId,
+                        @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
         /**
          * Find active lock by lock owner ID and showtime
-         * Works for both authenticated users and guest sessions
+         * Works for both authenticated users and guest sessions. A lock is held
+         * at most the lock duration, so createdAfter (now minus the duration)
+         * prunes the seat_locks partitions of older months
          */
         @Query("SELECT sl FROM SeatLock sl WHERE sl.lockOwnerId = :lockOwnerId " +
-                        "AND sl.showtime.id = :showtimeId AND sl.active = true")
+                        "AND sl.showtime.id = :showtimeId AND sl.active = true AND sl.createdAt > :createdAfter")
         Optional<SeatLock> findActiveLockByOwnerAndShowtime(
                         @Param("lockOwnerId") String lockOwnerId,
-                        @Param("showtimeId") UUID showtimeId);
+                        @Param("showtimeId") UUID showtimeId,
+                        @Param("createdAfter") LocalDateTime createdAfter);
 
         /**
-         * Find all active locks for a lock owner (across all showtimes)
+         * Find all active locks for a lock owner (across all showtimes) created
+         * after createdAfter
          * Works for both authenticated users and guest sessions
          */
-        @Query("SELECT sl FROM SeatLock sl WHERE sl.lockOwnerId = :lockOwnerId AND sl.active = true")
-        List<SeatLock> findAllActiveLocksForOwner(@Param("lockOwnerId") String lockOwnerId);
+        @Query("SELECT sl FROM SeatLock sl WHERE sl.lockOwnerId = :lockOwnerId AND sl.active = true " +
+                        "AND sl.createdAt > :createdAfter")
+        List<SeatLock> findAllActiveLocksForOwner(@Param("lockOwnerId") String lockOwnerId,
+                        @Param("createdAfter") LocalDateTime createdAfter);
 
         /**
          * Find all expired locks
          */
         @Query("SELECT sl FROM SeatLock sl WHERE sl.expiresAt < :now AND sl.active = true")
         List<SeatLock> findExpiredLocks(@Param("now") LocalDateTime now);
-}
\ No newline at end of file
+
+        /**
+         * Find all active locks that have not expired yet, with their seats;
+         * createdAfter (now minus the lock duration) prunes older partitions
+         */
+        @Query("SELECT DISTINCT sl FROM SeatLock sl LEFT JOIN FETCH sl.seatLockSeats " +
+                        "WHERE sl.expiresAt > :now AND sl.active = true AND sl.createdAt > :createdAfter")
+        List<SeatLock> findLiveLocks(@Param("now") LocalDateTime now,
+                        @Param("createdAfter") LocalDateTime createdAfter);
+
+        /**
+         * Find the active, unexpired locks of a showtime, with their seats;
+         * createdAfter (now minus the lock duration) prunes older partitions
+         */
+        @Query("SELECT DISTINCT sl FROM SeatLock sl LEFT JOIN FETCH sl.seatLockSeats " +
+                        "WHERE sl.showtime.id = :showtimeId AND sl.expiresAt > :now AND sl.active = true " +
+                        "AND sl.createdAt > :createdAfter")
+        List<SeatLock> findLiveLocksByShowtime(@Param("showtimeId") UUID showtimeId,
+                        @Param("now") LocalDateTime now, @Param("createdAfter") LocalDateTime createdAfter);
+
+        /**
+         * Ids of the given locks that are still active
+         */
+        @Query("SELECT sl.id FROM SeatLock sl WHERE sl.id IN :lockIds AND sl.active = true")
+        List<UUID> findActiveIds(@Param("lockIds") Collection<UUID> lockIds);
+
+        /**
+         * Deactivate a lock as converted unless it is already inactive (confirmed
+         * or released); returns 0 when it was
+         */
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE SeatLock sl SET sl.active = false, sl.converted = true, sl.endedAt = :now " +
+                        "WHERE sl.id = :lockId AND sl.createdAt = :createdAt AND sl.active = true")
+        int claimIfActive(@Param("lockId") UUID lockId, @Param("createdAt") LocalDateTime createdAt,
+                        @Param("now") LocalDateTime now);
+}
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.api.moviebooking.models.dtos.booking.LockedSeatPrice;
 import com.api.moviebooking.models.entities.SeatLockSeat;
 
 @Repository
@@ -19,6 +20,13 @@ public interface SeatLockSeatRepo extends JpaRepository<SeatLockSeat, UUID> {
     @Query("SELECT sls FROM SeatLockSeat sls WHERE sls.seatLock.id = :seatLockId")
     List<SeatLockSeat> findBySeatLockId(@Param("seatLockId") UUID seatLockId);
 
+    /**
+     * Find the showtime seat ids and prices of a seat lock in one query
+     */
+    @Query("SELECT new com.api.moviebooking.models.dtos.booking.LockedSeatPrice(sls.showtimeSeat.id, sls.price) " +
+            "FROM SeatLockSeat sls WHERE sls.seatLock.id = :seatLockId")
+    List<LockedSeatPrice> findLockedSeatPrices(@Param("seatLockId") UUID seatLockId);
+
     /**
      * Check if a ticket type is used in any seat lock seat
      */
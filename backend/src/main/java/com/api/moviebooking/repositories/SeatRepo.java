@@ -1,11 +1,39 @@
 package com.api.moviebooking.repositories;
 
+import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.api.moviebooking.models.dtos.seat.SeatDataResponse;
 import com.api.moviebooking.models.entities.Seat;
+import com.api.moviebooking.models.enums.SeatType;
 
-public interface SeatRepo extends JpaRepository<Seat, UUID> {
+public interface SeatRepo extends JpaRepository<Seat, UUID>, BulkWriteRepo<Seat> {
 
+    // Keyset pagination ordered by id, projected straight into the response DTO
+    // so only the listed columns are read (no Seat/Room/Cinema entities loaded)
+    @Query("SELECT new com.api.moviebooking.models.dtos.seat.SeatDataResponse(" +
+            "s.id, r.id, CAST(r.roomNumber AS String), c.name, s.seatNumber, s.rowLabel, s.seatType) " +
+            "FROM Seat s JOIN s.room r JOIN r.cinema c ORDER BY s.id")
+    List<SeatDataResponse> findPage(Limit limit);
+
+    @Query("SELECT new com.api.moviebooking.models.dtos.seat.SeatDataResponse(" +
+            "s.id, r.id, CAST(r.roomNumber AS String), c.name, s.seatNumber, s.rowLabel, s.seatType) " +
+            "FROM Seat s JOIN s.room r JOIN r.cinema c WHERE s.id > :after ORDER BY s.id")
+    List<SeatDataResponse> findPageAfter(@Param("after") UUID after, Limit limit);
+
+    @Query("SELECT s FROM Seat s WHERE s.room.id = :roomId ORDER BY s.rowLabel, s.seatNumber")
+    List<Seat> findByRoomId(@Param("roomId") UUID roomId);
+
+    @Query("SELECT DISTINCT s.seatType FROM Seat s WHERE s.room.id = :roomId")
+    List<SeatType> findSeatTypesByRoomId(@Param("roomId") UUID roomId);
+
+    // Number of seats in the room of a showtime
+    @Query("SELECT COUNT(s) FROM Seat s WHERE s.room.id = " +
+            "(SELECT st.room.id FROM Showtime st WHERE st.id = :showtimeId)")
+    long countByShowtimeId(@Param("showtimeId") UUID showtimeId);
 }
@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -58,4 +59,28 @@ public interface ShowtimeRepo extends JpaRepository<Showtime, UUID> {
         List<Movie> findDistinctMoviesByCinemaAndStatus(
                         @Param("cinemaId") UUID cinemaId,
                         @Param("status") MovieStatus status);
+
+        // Keyset pagination ordered by (startTime, id); room and movie are fetched
+        // in the same query instead of one select each per showtime
+        @Query("SELECT s FROM Showtime s JOIN FETCH s.room JOIN FETCH s.movie ORDER BY s.startTime, s.id")
+        List<Showtime> findPage(Limit limit);
+
+        @Query("SELECT s FROM Showtime s JOIN FETCH s.room JOIN FETCH s.movie WHERE " +
+                        "s.startTime > :startTime OR (s.startTime = :startTime AND s.id > :id) " +
+                        "ORDER BY s.startTime, s.id")
+        List<Showtime> findPageAfter(@Param("startTime") LocalDateTime startTime,
+                        @Param("id") UUID id,
+                        Limit limit);
+
+        // Keyset pagination over the ids of showtimes starting in a window
+        @Query("SELECT s.id FROM Showtime s WHERE s.startTime BETWEEN :from AND :to ORDER BY s.id")
+        List<UUID> findIdsStartingBetween(@Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to,
+                        Limit limit);
+
+        @Query("SELECT s.id FROM Showtime s WHERE s.startTime BETWEEN :from AND :to AND s.id > :id ORDER BY s.id")
+        List<UUID> findIdsStartingBetweenAfter(@Param("from") LocalDateTime from,
+                        @Param("to") LocalDateTime to,
+                        @Param("id") UUID id,
+                        Limit limit);
 }
@@ -0,0 +1,24 @@
+package com.api.moviebooking.repositories;
+
+import java.util.List;
+
+import com.api.moviebooking.models.entities.ShowtimeSeat;
+
+/**
+ * PostgreSQL COPY fast path for inserting very many showtime seats
+ * (bulk.write.copy-threshold)
+ */
+public interface ShowtimeSeatCopyRepo {
+
+    /**
+     * Stream new showtime seats into showtime_seats with COPY FROM STDIN in the
+     * current transaction, after flushing pending changes (the showtimes and
+     * seats they reference). Seats without an id get a UUIDv7 and the start
+     * time of their showtime, like persisted ones. The seats are not managed
+     * afterwards: nothing else in the transaction sees them through the
+     * persistence context.
+     *
+     * @return the number of rows copied
+     */
+    long copyInsert(List<ShowtimeSeat> showtimeSeats);
+}
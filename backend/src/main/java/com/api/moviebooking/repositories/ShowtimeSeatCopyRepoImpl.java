@@ -0,0 +1,86 @@
+package com.api.moviebooking.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import com.api.moviebooking.helpers.utils.UuidV7Generator;
+import com.api.moviebooking.models.entities.ShowtimeSeat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Implementation of {@link ShowtimeSeatCopyRepo}: rows are sent as CSV in
+ * chunks of about {@value #CHUNK_CHARS} characters, so memory does not grow
+ * with the row count
+ */
+public class ShowtimeSeatCopyRepoImpl implements ShowtimeSeatCopyRepo {
+
+    private static final String COPY_SQL = "COPY showtime_seats "
+            + "(id, showtime_id, showtime_start, seat_id, status, price, price_breakdown) "
+            + "FROM STDIN WITH (FORMAT csv)";
+    private static final int CHUNK_CHARS = 64 * 1024;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * Predicate nodes (d): 5 -> V(G) = d + 1 = 6
+     * Nodes: (loop: showtimeSeats), id == null, showtimeStart == null, chunk full,
+     * catch
+     */
+    @Override
+    public long copyInsert(List<ShowtimeSeat> showtimeSeats) {
+        entityManager.flush();
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_SQL);
+            try {
+                StringBuilder chunk = new StringBuilder(CHUNK_CHARS + 512);
+                for (ShowtimeSeat showtimeSeat : showtimeSeats) {
+                    if (showtimeSeat.getId() == null) {
+                        showtimeSeat.setId(UuidV7Generator.next());
+                    }
+                    if (showtimeSeat.getShowtimeStart() == null) {
+                        showtimeSeat.setShowtimeStart(showtimeSeat.getShowtime().getStartTime());
+                    }
+                    appendRow(chunk, showtimeSeat);
+                    if (chunk.length() >= CHUNK_CHARS) {
+                        write(copyIn, chunk);
+                    }
+                }
+                write(copyIn, chunk);
+                return copyIn.endCopy();
+            } catch (SQLException | RuntimeException e) {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+                throw e;
+            }
+        });
+    }
+
+    private static void appendRow(StringBuilder csv, ShowtimeSeat showtimeSeat) {
+        csv.append(showtimeSeat.getId()).append(',')
+                .append(showtimeSeat.getShowtime().getId()).append(',')
+                .append(showtimeSeat.getShowtimeStart()).append(',')
+                .append(showtimeSeat.getSeat().getId()).append(',')
+                .append(showtimeSeat.getStatus().name()).append(',')
+                .append(showtimeSeat.getPrice().toPlainString()).append(',');
+        // Unquoted empty field is NULL; JSON is quoted with its quotes doubled
+        if (showtimeSeat.getPriceBreakdown() != null) {
+            csv.append('"').append(showtimeSeat.getPriceBreakdown().replace("\"", "\"\"")).append('"');
+        }
+        csv.append('\n');
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder chunk) throws SQLException {
+        byte[] bytes = chunk.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        chunk.setLength(0);
+    }
+}
@@ -1,36 +1,80 @@
 package com.api.moviebooking.repositories;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import com.api.moviebooking.models.entities.ShowtimeSeat;
 import com.api.moviebooking.models.enums.SeatStatus;
 
-public interface ShowtimeSeatRepo extends JpaRepository<ShowtimeSeat, UUID> {
+import jakarta.persistence.QueryHint;
+
+public interface ShowtimeSeatRepo extends JpaRepository<ShowtimeSeat, UUID>, BulkWriteRepo<ShowtimeSeat>,
+                ShowtimeSeatCopyRepo {
+
+        /**
+         * Restricts a query by :showtimeId to the showtime_seats partition of the
+         * showtime's month; the subquery's value prunes the other partitions when
+         * the query runs
+         */
+        String IN_SHOWTIME_PARTITION = " AND ss.showtimeStart = "
+                        + "(SELECT s.startTime FROM Showtime s WHERE s.id = :showtimeId)";
 
         /**
          * Find showtime seats by showtime ID
          */
-        @Query("SELECT ss FROM ShowtimeSeat ss WHERE ss.showtime.id = :showtimeId")
+        @Query("SELECT ss FROM ShowtimeSeat ss WHERE ss.showtime.id = :showtimeId" + IN_SHOWTIME_PARTITION)
         List<ShowtimeSeat> findByShowtimeId(@Param("showtimeId") UUID showtimeId);
 
         /**
-         * Find available seats for a showtime
+         * Find showtime seats by showtime ID together with their seat (row,
+         * number, type) and showtime, for callers that read the seat of every
+         * row or check whether the showtime is sparse
          */
-        @Query("SELECT ss FROM ShowtimeSeat ss WHERE ss.showtime.id = :showtimeId AND ss.status = :status")
+        @Query("SELECT ss FROM ShowtimeSeat ss JOIN FETCH ss.seat JOIN FETCH ss.showtime"
+                        + " WHERE ss.showtime.id = :showtimeId" + IN_SHOWTIME_PARTITION)
+        List<ShowtimeSeat> findByShowtimeIdWithSeat(@Param("showtimeId") UUID showtimeId);
+
+        /**
+         * Find available seats for a showtime, with their seat and showtime
+         */
+        @Query("SELECT ss FROM ShowtimeSeat ss JOIN FETCH ss.seat JOIN FETCH ss.showtime"
+                        + " WHERE ss.showtime.id = :showtimeId AND ss.status = :status" + IN_SHOWTIME_PARTITION)
         List<ShowtimeSeat> findByShowtimeIdAndStatus(
                         @Param("showtimeId") UUID showtimeId,
                         @Param("status") SeatStatus status);
 
+        /**
+         * Find the ids of a showtime's seats in a status
+         */
+        @Query("SELECT ss.id FROM ShowtimeSeat ss WHERE ss.showtime.id = :showtimeId AND ss.status = :status"
+                        + IN_SHOWTIME_PARTITION)
+        List<UUID> findIdsByShowtimeIdAndStatus(
+                        @Param("showtimeId") UUID showtimeId,
+                        @Param("status") SeatStatus status);
+
+        /**
+         * Count a showtime's seats in a status
+         */
+        @Query("SELECT COUNT(ss) FROM ShowtimeSeat ss WHERE ss.showtime.id = :showtimeId AND ss.status = :status"
+                        + IN_SHOWTIME_PARTITION)
+        long countByShowtimeIdAndStatus(
+                        @Param("showtimeId") UUID showtimeId,
+                        @Param("status") SeatStatus status);
+
         /**
          * Find seats by IDs and showtime
          */
-        @Query("SELECT ss FROM ShowtimeSeat ss WHERE ss.id IN :seatIds AND ss.showtime.id = :showtimeId")
+        @Query("SELECT ss FROM ShowtimeSeat ss WHERE ss.id IN :seatIds AND ss.showtime.id = :showtimeId"
+                        + IN_SHOWTIME_PARTITION)
         List<ShowtimeSeat> findByIdsAndShowtime(
                         @Param("seatIds") List<UUID> seatIds,
                         @Param("showtimeId") UUID showtimeId);
@@ -43,17 +87,45 @@ public interface ShowtimeSeatRepo extends JpaRepository<ShowtimeSeat, UUID> {
         void updateSeatStatus(@Param("seatId") UUID seatId, @Param("status") SeatStatus status);
 
         /**
-         * Update multiple seats status
+         * Update the status of seats of one showtime
          */
         @Modifying
-        @Query("UPDATE ShowtimeSeat ss SET ss.status = :status WHERE ss.id IN :seatIds")
-        void updateMultipleSeatsStatus(@Param("seatIds") List<UUID> seatIds, @Param("status") SeatStatus status);
+        @Query("UPDATE ShowtimeSeat ss SET ss.status = :status WHERE ss.id IN :seatIds AND ss.showtime.id = :showtimeId"
+                        + IN_SHOWTIME_PARTITION)
+        void updateMultipleSeatsStatus(@Param("showtimeId") UUID showtimeId, @Param("seatIds") List<UUID> seatIds,
+                        @Param("status") SeatStatus status);
+
+        /**
+         * Move seats from one status to another, leaving seats in any other
+         * status (e.g. BOOKED) untouched. The seats may span showtimes (the
+         * write-behind batches), so every partition is searched
+         */
+        @Modifying
+        @Query("UPDATE ShowtimeSeat ss SET ss.status = :status WHERE ss.id IN :seatIds AND ss.status = :expected")
+        int updateMultipleSeatsStatusFrom(@Param("seatIds") List<UUID> seatIds,
+                        @Param("expected") SeatStatus expected, @Param("status") SeatStatus status);
+
+        /**
+         * Book the seats of a seat lock, leaving seats that are already BOOKED
+         * untouched; returns the number of seats booked. The lock's creation time
+         * and showtime restrict both tables to one partition
+         */
+        @Modifying(flushAutomatically = true)
+        @Query("UPDATE ShowtimeSeat ss SET ss.status = com.api.moviebooking.models.enums.SeatStatus.BOOKED " +
+                        "WHERE ss.id IN (SELECT sls.showtimeSeat.id FROM SeatLockSeat sls " +
+                        "WHERE sls.seatLock.id = :seatLockId AND sls.lockCreatedAt = :lockCreatedAt) " +
+                        "AND ss.status <> com.api.moviebooking.models.enums.SeatStatus.BOOKED " +
+                        "AND ss.showtime.id = :showtimeId" + IN_SHOWTIME_PARTITION)
+        int markBookedBySeatLock(@Param("seatLockId") UUID seatLockId,
+                        @Param("lockCreatedAt") LocalDateTime lockCreatedAt,
+                        @Param("showtimeId") UUID showtimeId);
 
         /**
          * Check if all seats are available
          */
         @Query("SELECT COUNT(ss) = :count FROM ShowtimeSeat ss WHERE ss.id IN :seatIds " +
-                        "AND ss.showtime.id = :showtimeId AND ss.status = com.api.moviebooking.models.enums.SeatStatus.AVAILABLE")
+                        "AND ss.showtime.id = :showtimeId AND ss.status = com.api.moviebooking.models.enums.SeatStatus.AVAILABLE"
+                        + IN_SHOWTIME_PARTITION)
         boolean areAllSeatsAvailable(
                         @Param("seatIds") List<UUID> seatIds,
                         @Param("showtimeId") UUID showtimeId,
@@ -68,16 +140,49 @@ public interface ShowtimeSeatRepo extends JpaRepository<ShowtimeSeat, UUID> {
 
         /**
          * Check if a specific price base is referenced in any showtime seat price
-         * breakdown
+         * breakdown, or in the seat type prices of a sparse showtime
          */
-        @Query(value = "SELECT COUNT(*) > 0 FROM showtime_seats " +
-                        "WHERE price_breakdown::text LIKE '%\"basePrice\": ' || :basePrice || '%'", nativeQuery = true)
+        @Query(value = "SELECT (SELECT COUNT(*) FROM showtime_seats " +
+                        "WHERE price_breakdown::text LIKE '%\"basePrice\": ' || :basePrice || '%') + " +
+                        "(SELECT COUNT(*) FROM showtimes " +
+                        "WHERE seat_prices::text LIKE '%\"basePrice\": ' || :basePrice || '%') > 0", nativeQuery = true)
         boolean isPriceBaseReferencedInBreakdown(@Param("basePrice") String basePrice);
 
         /**
-         * Check if price breakdown contains reference to a price modifier
+         * Check if price breakdown contains reference to a price modifier (seat
+         * rows and sparse showtime seat type prices)
          */
-        @Query(value = "SELECT COUNT(*) > 0 FROM showtime_seats " +
-                        "WHERE price_breakdown::text LIKE CONCAT('%', :modifierName, '%')", nativeQuery = true)
+        @Query(value = "SELECT (SELECT COUNT(*) FROM showtime_seats " +
+                        "WHERE price_breakdown::text LIKE CONCAT('%', :modifierName, '%')) + " +
+                        "(SELECT COUNT(*) FROM showtimes " +
+                        "WHERE seat_prices::text LIKE CONCAT('%', :modifierName, '%')) > 0", nativeQuery = true)
         boolean isPriceModifierReferencedInBreakdown(@Param("modifierName") String modifierName);
+
+        /**
+         * Write the row of a sparse showtime's seat the first time it is needed;
+         * no-op when it already exists (concurrent lockers of the same seat). The
+         * native spaces hint keeps Hibernate from dropping the whole second-level
+         * cache for a statement it cannot see the tables of
+         */
+        @Modifying
+        @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "showtime_seats"))
+        @Query(value = "INSERT INTO showtime_seats (id, showtime_id, showtime_start, seat_id, status, price, " +
+                        "price_breakdown) VALUES (:id, :showtimeId, " +
+                        "(SELECT start_time FROM showtimes WHERE id = :showtimeId), " +
+                        ":seatId, 'AVAILABLE', :price, CAST(:priceBreakdown AS jsonb)) " +
+                        "ON CONFLICT DO NOTHING", nativeQuery = true)
+        int insertAvailableIfAbsent(
+                        @Param("id") UUID id,
+                        @Param("showtimeId") UUID showtimeId,
+                        @Param("seatId") UUID seatId,
+                        @Param("price") BigDecimal price,
+                        @Param("priceBreakdown") String priceBreakdown);
+
+        /**
+         * Move the seats of a rescheduled showtime to the partition of its new
+         * start time; returns the number of seats moved
+         */
+        @Modifying
+        @Query("UPDATE ShowtimeSeat ss SET ss.showtimeStart = :startTime WHERE ss.showtime.id = :showtimeId")
+        int updateShowtimeStart(@Param("showtimeId") UUID showtimeId, @Param("startTime") LocalDateTime startTime);
 }
@@ -1,8 +1,10 @@
 package com.api.moviebooking.repositories;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.api.moviebooking.models.entities.Snack;
@@ -14,4 +16,9 @@ public interface SnackRepo extends JpaRepository<Snack, UUID> {
     boolean existsByCinemaIdAndName(UUID cinemaId, String name);
 
     boolean existsByCinemaIdAndNameAndIdNot(UUID cinemaId, String name, UUID id);
+
+    // Keyset pagination ordered by id (first page / pages after a cursor)
+    List<Snack> findAllByOrderByIdAsc(Limit limit);
+
+    List<Snack> findByIdGreaterThanOrderByIdAsc(UUID id, Limit limit);
 }
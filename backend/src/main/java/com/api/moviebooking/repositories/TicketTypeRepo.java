@@ -4,12 +4,16 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.api.moviebooking.models.entities.TicketType;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TicketTypeRepo extends JpaRepository<TicketType, UUID> {
 
@@ -17,11 +21,13 @@ public interface TicketTypeRepo extends JpaRepository<TicketType, UUID> {
      * Find all active ticket types ordered by sort order
      */
     @Query("SELECT t FROM TicketType t WHERE t.active = true ORDER BY t.sortOrder ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TicketType> findAllByActiveTrue();
 
     /**
      * Find ticket type by its code (e.g., 'adult', 'student', etc.)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<TicketType> findByCode(String code);
 
     /**
@@ -33,5 +39,6 @@ public interface TicketTypeRepo extends JpaRepository<TicketType, UUID> {
      * Find all ticket types ordered by sort order (for admin)
      */
     @Query("SELECT t FROM TicketType t ORDER BY t.sortOrder ASC")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<TicketType> findAllOrderedBySortOrder();
 }
@@ -1,13 +1,25 @@
 package com.api.moviebooking.repositories;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import com.api.moviebooking.models.entities.User;
 
 public interface UserRepo extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
 
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Keyset pagination ordered by id, membership tier fetched in the same query
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.membershipTier ORDER BY u.id")
+    List<User> findPage(Limit limit);
+
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.membershipTier WHERE u.id > :after ORDER BY u.id")
+    List<User> findPageAfter(@Param("after") UUID after, Limit limit);
+}
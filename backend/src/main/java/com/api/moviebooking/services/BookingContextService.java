@@ -0,0 +1,105 @@
+package com.api.moviebooking.services;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.api.moviebooking.configs.CatalogCacheConfig;
+import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
+import com.api.moviebooking.models.dtos.booking.BookingContext;
+import com.api.moviebooking.models.dtos.booking.BookingContext.TicketTypeOption;
+import com.api.moviebooking.models.entities.Seat;
+import com.api.moviebooking.models.entities.Showtime;
+import com.api.moviebooking.models.entities.ShowtimeTicketType;
+import com.api.moviebooking.models.entities.TicketType;
+import com.api.moviebooking.models.enums.SeatType;
+import com.api.moviebooking.repositories.ShowtimeRepo;
+import com.api.moviebooking.repositories.ShowtimeTicketTypeRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Per-showtime booking context for the lock path, cached in
+ * {@link CatalogCacheConfig#BOOKING_CONTEXTS}
+ *
+ * Evicted by key when the showtime or its ticket type assignments change, and
+ * entirely when ticket types, base prices, price modifiers or room types change.
+ * Contexts are built on the primary (read-write transaction) and never served
+ * stale, since their prices are locked and charged.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingContextService {
+
+    private final ShowtimeRepo showtimeRepo;
+    private final ShowtimeTicketTypeRepo showtimeTicketTypeRepo;
+    private final PriceCalculationService priceCalculationService;
+    private final TicketTypeService ticketTypeService;
+
+    /**
+     * Booking context of a showtime, built on the first lock of the showtime
+     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
+     * Nodes: none
+     */
+    @Transactional
+    @Cacheable(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, key = "#showtimeId", sync = true)
+    public BookingContext getBookingContext(UUID showtimeId) {
+        return buildBookingContext(showtimeId);
+    }
+
+    /**
+     * Rebuild a cached context found stale (e.g. a ticket type assigned on
+     * another node within the L1 TTL)
+     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
+     * Nodes: none
+     */
+    @Transactional
+    @CachePut(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, key = "#showtimeId")
+    public BookingContext refreshBookingContext(UUID showtimeId) {
+        return buildBookingContext(showtimeId);
+    }
+
+    /**
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: showtime.isEmpty, (loop: seatTypes), (loop: ticketTypes)
+     */
+    private BookingContext buildBookingContext(UUID showtimeId) {
+        Showtime showtime = showtimeRepo.findById(showtimeId)
+                .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", showtimeId));
+
+        List<TicketType> ticketTypes = showtimeTicketTypeRepo.findActiveTicketTypesByShowtime(showtimeId).stream()
+                .map(ShowtimeTicketType::getTicketType)
+                .toList();
+        Map<String, TicketTypeOption> options = new LinkedHashMap<>();
+        for (TicketType ticketType : ticketTypes) {
+            options.put(ticketType.getId().toString(), new TicketTypeOption(ticketType.getId(), ticketType.getCode(),
+                    ticketType.getLabel(), ticketType.getModifierType(), ticketType.getModifierValue()));
+        }
+
+        // Prices depend on the seat type only, so a detached seat of that type stands in for all of them
+        Map<String, BigDecimal> prices = new LinkedHashMap<>();
+        for (SeatType seatType : SeatType.values()) {
+            Seat seat = new Seat();
+            seat.setSeatType(seatType);
+            seat.setRowLabel(seatType.name());
+            BigDecimal basePrice = priceCalculationService.calculatePrice(showtime, seat);
+            for (TicketType ticketType : ticketTypes) {
+                prices.put(BookingContext.priceKey(seatType, ticketType.getId()),
+                        ticketTypeService.applyTicketTypeModifier(basePrice, ticketType));
+            }
+        }
+
+        log.debug("Built booking context of showtime {}: {} ticket types", showtimeId, options.size());
+        return new BookingContext(showtime.getId(), showtime.getStartTime(), showtime.getFormat(),
+                showtime.getRoom().getRoomType(), showtime.getSeatPrices() != null, options, prices);
+    }
+}
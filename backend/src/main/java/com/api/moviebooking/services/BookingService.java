@@ -7,6 +7,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -15,12 +16,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.api.moviebooking.helpers.exceptions.ConcurrentBookingException;
+import com.api.moviebooking.helpers.exceptions.LockExpiredException;
 import com.api.moviebooking.helpers.exceptions.MaxSeatsExceededException;
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.exceptions.SeatLockedException;
 import com.api.moviebooking.models.dtos.SessionContext;
+import com.api.moviebooking.models.dtos.booking.BookingContext;
 import com.api.moviebooking.models.dtos.booking.BookingResponse;
 import com.api.moviebooking.models.dtos.booking.DiscountResult;
+import com.api.moviebooking.models.dtos.booking.LockHeartbeatResponse;
 import com.api.moviebooking.models.dtos.booking.LockSeatsRequest;
 import com.api.moviebooking.models.dtos.booking.LockSeatsResponse;
 import com.api.moviebooking.models.dtos.booking.PricePreviewRequest;
@@ -42,6 +46,7 @@ import com.api.moviebooking.repositories.ShowtimeSeatRepo;
 import com.api.moviebooking.repositories.SnackRepo;
 import com.api.moviebooking.repositories.TicketTypeRepo;
 import com.api.moviebooking.repositories.UserRepo;
+import com.api.moviebooking.services.SeatLockTokenService.SeatLockClaims;
 import com.api.moviebooking.helpers.mapstructs.BookingMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -63,41 +68,51 @@ public class BookingService {
         private final TicketTypeService ticketTypeService;
         private final BookingRepo bookingRepo;
         private final BookingMapper bookingMapper;
+        private final SeatMaterializationService seatMaterializationService;
+        private final SeatStateService seatStateService;
+        private final SeatStateEngine seatStateEngine;
+        private final SeatLockTokenService seatLockTokenService;
+        private final BookingContextService bookingContextService;
 
         /**
          * Calculate price preview for a booking transaction.
          * Uses the SeatLock to get seat prices (already calculated with ticket types),
          * then adds snacks and applies discounts.
          * This ensures consistency with confirmBooking which uses the same SeatLock
-         * data.
+         * data. With a lock token the seat prices come from the token and the lock
+         * is not read.
          * 
-         * Predicate nodes (d): 4 -> V(G) = d + 1 = 5
-         * Nodes: seatLock.isEmpty, lockOwnership, isActive, snacks != null, (loop:
-         * seatLockSeats), (loop: snacks)
-         * Minimum test cases: 5
+         * Predicate nodes (d): 6 -> V(G) = d + 1 = 7
+         * Nodes: lockToken != null, seatLock.isEmpty, lockOwnership, isActive,
+         * snacks != null, (loop: seatLockSeats), (loop: snacks)
+         * Minimum test cases: 7
          */
         public PricePreviewResponse calculatePricePreview(PricePreviewRequest request, SessionContext session) {
-                // 1. Find and validate lock
-                SeatLock seatLock = seatLockRepo.findById(request.getLockId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Seat lock not found"));
+                // 1. Find and validate lock, then calculate ticket subtotal from it (prices
+                // already include ticket type modifiers)
+                BigDecimal ticketSubtotal = BigDecimal.ZERO;
+                if (request.getLockToken() != null) {
+                        ticketSubtotal = verifyLockToken(request.getLockToken(), request.getLockId(), session)
+                                        .ticketSubtotal();
+                } else {
+                        SeatLock seatLock = seatLockRepo.findByIdInPartition(request.getLockId())
+                                        .orElseThrow(() -> new ResourceNotFoundException("Seat lock not found"));
 
-                // Validate lock ownership
-                if (!seatLock.getLockOwnerId().equals(session.getLockOwnerId())) {
-                        throw new IllegalArgumentException("Lock does not belong to this session");
-                }
+                        // Validate lock ownership
+                        if (!seatLock.getLockOwnerId().equals(session.getLockOwnerId())) {
+                                throw new IllegalArgumentException("Lock does not belong to this session");
+                        }
 
-                if (!seatLock.isActive()) {
-                        throw new IllegalArgumentException("Lock is no longer active");
-                }
+                        if (!seatLock.isActive()) {
+                                throw new IllegalArgumentException("Lock is no longer active");
+                        }
 
-                // 2. Calculate ticket subtotal from SeatLock (prices already include ticket
-                // type modifiers)
-                BigDecimal ticketSubtotal = BigDecimal.ZERO;
-                for (SeatLockSeat seatLockSeat : seatLock.getSeatLockSeats()) {
-                        ticketSubtotal = ticketSubtotal.add(seatLockSeat.getPrice());
+                        for (SeatLockSeat seatLockSeat : seatLock.getSeatLockSeats()) {
+                                ticketSubtotal = ticketSubtotal.add(seatLockSeat.getPrice());
+                        }
                 }
 
-                // 3. Calculate snack subtotal
+                // 2. Calculate snack subtotal (snacks are served from the second-level cache)
                 BigDecimal snackSubtotal = BigDecimal.ZERO;
                 if (request.getSnacks() != null) {
                         for (PricePreviewRequest.SnackItem snackItem : request.getSnacks()) {
@@ -112,20 +127,48 @@ public class BookingService {
 
                 BigDecimal subtotal = ticketSubtotal.add(snackSubtotal);
 
-                // 4. Calculate discounts using shared logic
+                // 3. Calculate discounts using shared logic
                 UUID userId = session.isAuthenticated() ? session.getUserId() : null;
                 DiscountResult discountResult = priceCalculationService.calculateDiscounts(
                                 subtotal, userId, request.getPromotionCode());
 
-                // 5. Calculate total
+                // 4. Calculate total
                 BigDecimal total = subtotal.subtract(discountResult.getTotalDiscount());
 
                 return new PricePreviewResponse(subtotal, discountResult.getTotalDiscount(), total);
         }
 
+        /**
+         * Verify a lock token from lockSeats or heartbeat against the request and
+         * session, without reading the lock
+         * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+         * Nodes: lockId mismatch, lockOwnership, isExpired
+         */
+        private SeatLockClaims verifyLockToken(String lockToken, UUID lockId, SessionContext session) {
+                SeatLockClaims claims = seatLockTokenService.verify(lockToken);
+
+                if (!claims.lockId().equals(lockId)) {
+                        throw new IllegalArgumentException("Lock token does not match the lock");
+                }
+
+                if (!claims.lockOwnerId().equals(session.getLockOwnerId())) {
+                        throw new IllegalArgumentException("Lock does not belong to this session");
+                }
+
+                if (claims.isExpired(LocalDateTime.now())) {
+                        throw new LockExpiredException();
+                }
+                return claims;
+        }
+
+        // Longest a lock can be held, heartbeats included
         @Value("${booking.lock.duration.minutes:10}")
         private Integer lockDurationMinutes;
 
+        // Lock lifetime without a heartbeat
+        @Value("${booking.lock.lease.seconds:120}")
+        private Integer leaseSeconds;
+
         @Value("${booking.max.seats:10}")
         private Integer maxSeatsPerBooking;
 
@@ -189,14 +232,13 @@ public class BookingService {
 
         /**
          * Lock seats for a session (authenticated user or guest)
-         * Predicate nodes (d): 12 -> V(G) = d + 1 = 13
-         * Nodes: seatsSize > maxSeats, existingLocks.isEmpty,
-         * sameShowtimeLock.isPresent,
-         * showtime.isEmpty, seats.size != requested, ticketTypeValidation (loop),
-         * unavailableSeats.isEmpty, redisLocked, session.isAuthenticated, ticketTypeId
-         * == null,
-         * ticketType.isEmpty, try-catch
-         * Minimum test cases: 13
+         * Predicate nodes (d): 14 -> V(G) = d + 1 = 15
+         * Nodes: seatsSize > maxSeats, engineConflicts.isEmpty, engine lockedBy,
+         * existingLocks.isEmpty, sameShowtimeLock.isPresent, context.sparse,
+         * seats.size != requested, ticketTypeValidation (loop), !allowsTicketType,
+         * unavailableSeats.isEmpty, redisLocked,
+         * session.isAuthenticated, ticketTypeId == null, try-catch
+         * Minimum test cases: 15
          */
         @Transactional
         public LockSeatsResponse lockSeats(LockSeatsRequest request, SessionContext session) {
@@ -214,8 +256,26 @@ public class BookingService {
                                 .map(LockSeatsRequest.SeatWithTicketType::getShowtimeSeatId)
                                 .collect(Collectors.toList());
 
+                // Node-local fast path: reject seats this node knows are taken before any query;
+                // the locks taken here are undone if this transaction rolls back
+                long ttlSeconds = Math.min(leaseSeconds, lockDurationMinutes * 60L);
+                List<UUID> engineConflicts = seatStateEngine.tryLock(
+                                request.getShowtimeId(), showtimeSeatIds, session.getLockOwnerId(), ttlSeconds);
+                if (!engineConflicts.isEmpty()) {
+                        if (seatStateEngine.lockedBy(engineConflicts, session.getLockOwnerId())) {
+                                // The seats are held by this session's own lock from another tab
+                                throw new ConcurrentBookingException(
+                                                "You have an active booking in progress for this showtime. " +
+                                                                "Please complete or cancel your current booking before starting a new one.");
+                        }
+                        throw new SeatLockedException(
+                                        "Some seats are already locked or booked by other users",
+                                        engineConflicts);
+                }
+
                 // Safety check: Handle existing locks
-                List<SeatLock> existingLocks = seatLockRepo.findAllActiveLocksForOwner(session.getLockOwnerId());
+                List<SeatLock> existingLocks = seatLockRepo.findAllActiveLocksForOwner(session.getLockOwnerId(),
+                                liveLockCreatedAfter());
                 if (!existingLocks.isEmpty()) {
                         // Check if session has lock for THIS showtime (multi-tab scenario)
                         Optional<SeatLock> sameShowtimeLock = existingLocks.stream()
@@ -237,10 +297,18 @@ public class BookingService {
                         existingLocks.forEach(lock -> releaseSeatsInternal(lock));
                 }
 
-                // Fetch entities
-                Showtime showtime = showtimeRepo.findById(request.getShowtimeId())
-                                .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id",
-                                                request.getShowtimeId()));
+                // Showtime attributes, allowed ticket types and prices, cached per showtime
+                BookingContext context = bookingContextService.getBookingContext(request.getShowtimeId());
+                Showtime showtime;
+                if (context.sparse()) {
+                        // Sparse showtimes: write the rows of requested seats that have none yet
+                        showtime = showtimeRepo.findById(request.getShowtimeId())
+                                        .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id",
+                                                        request.getShowtimeId()));
+                        seatMaterializationService.materialize(showtime, showtimeSeatIds);
+                } else {
+                        showtime = showtimeRepo.getReferenceById(request.getShowtimeId());
+                }
 
                 List<ShowtimeSeat> seats = showtimeSeatRepo.findByIdsAndShowtime(
                                 showtimeSeatIds, request.getShowtimeId());
@@ -257,16 +325,25 @@ public class BookingService {
                                 .collect(Collectors.toList());
 
                 for (UUID ticketTypeId : ticketTypeIds) {
-                        ticketTypeService.validateTicketTypeForShowtime(request.getShowtimeId(), ticketTypeId);
+                        if (!context.allowsTicketType(ticketTypeId)) {
+                                // Reports unknown or unassigned types; passes only if the context is stale
+                                ticketTypeService.validateTicketTypeForShowtime(request.getShowtimeId(), ticketTypeId);
+                                context = bookingContextService.refreshBookingContext(request.getShowtimeId());
+                        }
                 }
 
                 // Check for already locked/booked seats
+                Set<UUID> lockedInRedis = seatStateService.lockedSeatIds(request.getShowtimeId(), seats);
                 List<UUID> unavailableSeats = seats.stream()
-                                .filter(s -> s.getStatus() != SeatStatus.AVAILABLE)
+                                .filter(s -> seatStateService.effectiveStatus(s, lockedInRedis) != SeatStatus.AVAILABLE)
                                 .map(ShowtimeSeat::getId)
                                 .collect(Collectors.toList());
 
                 if (!unavailableSeats.isEmpty()) {
+                        seatStateEngine.markBooked(seats.stream()
+                                        .filter(s -> s.getStatus() == SeatStatus.BOOKED)
+                                        .map(ShowtimeSeat::getId)
+                                        .collect(Collectors.toList()));
                         throw new SeatLockedException(
                                         "Some seats are already locked or booked by other users",
                                         unavailableSeats);
@@ -274,7 +351,6 @@ public class BookingService {
 
                 // Generate unique lock token
                 String lockToken = UUID.randomUUID().toString();
-                long ttlSeconds = lockDurationMinutes * 60L;
 
                 // Attempt distributed lock with Redis
                 boolean redisLocked = redisLockService.acquireMultipleSeatsLock(
@@ -286,8 +362,10 @@ public class BookingService {
                 }
 
                 try {
-                        // Update database seat status to LOCKED
-                        showtimeSeatRepo.updateMultipleSeatsStatus(showtimeSeatIds, SeatStatus.LOCKED);
+                        // Mark the seats LOCKED: DATABASE state updates showtime_seats in this
+                        // transaction, REDIS state only queues a write-behind after commit
+                        // (Redis already holds the lock)
+                        seatStateService.markLocked(request.getShowtimeId(), showtimeSeatIds);
 
                         // Create SeatLock record
                         SeatLock seatLock = new SeatLock();
@@ -307,7 +385,7 @@ public class BookingService {
                         }
 
                         seatLock.setShowtime(showtime);
-                        seatLock.setExpiresAt(LocalDateTime.now().plusMinutes(lockDurationMinutes));
+                        seatLock.setExpiresAt(LocalDateTime.now().plusSeconds(ttlSeconds));
                         seatLock.setActive(true);
 
                         seatLockRepo.save(seatLock);
@@ -328,17 +406,12 @@ public class BookingService {
                                                         "Ticket type not specified for seat: " + showtimeSeat.getId());
                                 }
 
-                                TicketType ticketType = ticketTypeRepo.findById(ticketTypeId)
-                                                .orElseThrow(() -> new ResourceNotFoundException("TicketType", "id",
-                                                                ticketTypeId));
-
-                                // Calculate base price (seat + showtime modifiers only)
-                                BigDecimal basePrice = priceCalculationService.calculatePrice(showtime,
-                                                showtimeSeat.getSeat());
+                                // Validated above, so the reference needs no query
+                                TicketType ticketType = ticketTypeRepo.getReferenceById(ticketTypeId);
 
-                                // Apply ticket type modifier
-                                BigDecimal finalPrice = ticketTypeService.applyTicketTypeModifier(basePrice,
-                                                ticketType);
+                                // Seat and showtime modifiers, then the ticket type modifier
+                                BigDecimal finalPrice = context.price(showtimeSeat.getSeat().getSeatType(),
+                                                ticketTypeId);
 
                                 // Create SeatLockSeat entry
                                 SeatLockSeat seatLockSeat = new SeatLockSeat();
@@ -378,7 +451,8 @@ public class BookingService {
         public void releaseSeats(String lockOwnerId, UUID showtimeId) {
                 log.info("Session {} releasing seats for showtime {}", lockOwnerId, showtimeId);
 
-                Optional<SeatLock> seatLockOpt = seatLockRepo.findActiveLockByOwnerAndShowtime(lockOwnerId, showtimeId);
+                Optional<SeatLock> seatLockOpt = seatLockRepo.findActiveLockByOwnerAndShowtime(lockOwnerId, showtimeId,
+                                liveLockCreatedAfter());
 
                 if (seatLockOpt.isPresent()) {
                         releaseSeatsInternal(seatLockOpt.get());
@@ -390,6 +464,56 @@ public class BookingService {
                 }
         }
 
+        /**
+         * Extend the session's lock by one lease, up to the lock duration from
+         * its creation (API: POST /seat-locks/showtime/{id}/heartbeat)
+         * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+         * Nodes: seatLock.isEmpty, expired, !extended
+         * Minimum test cases: 4
+         */
+        @Transactional(noRollbackFor = LockExpiredException.class)
+        public LockHeartbeatResponse heartbeat(String lockOwnerId, UUID showtimeId) {
+                SeatLock seatLock = seatLockRepo.findActiveLockByOwnerAndShowtime(lockOwnerId, showtimeId,
+                                liveLockCreatedAfter())
+                                .orElseThrow(LockExpiredException::new);
+
+                LocalDateTime now = LocalDateTime.now();
+                if (!seatLock.getExpiresAt().isAfter(now)) {
+                        throw new LockExpiredException();
+                }
+
+                LocalDateTime holdUntil = seatLock.getCreatedAt().plusMinutes(lockDurationMinutes);
+                LocalDateTime expiresAt = now.plusSeconds(leaseSeconds);
+                if (expiresAt.isAfter(holdUntil)) {
+                        expiresAt = holdUntil;
+                }
+
+                List<UUID> seatIds = seatLock.getSeatLockSeats().stream()
+                                .map(sls -> sls.getShowtimeSeat().getId())
+                                .collect(Collectors.toList());
+                long ttlSeconds = Math.max(1, Duration.between(now, expiresAt).getSeconds());
+                boolean extended = redisLockService.extendSeatLocks(showtimeId, seatIds, seatLock.getLockKey(),
+                                ttlSeconds);
+                if (!extended) {
+                        // Lease ran out in Redis and another session took a seat
+                        releaseSeatsInternal(seatLock);
+                        throw new LockExpiredException();
+                }
+
+                seatStateEngine.extend(seatIds, lockOwnerId, ttlSeconds);
+                seatLock.setExpiresAt(expiresAt);
+                seatLockRepo.save(seatLock);
+
+                return LockHeartbeatResponse.builder()
+                                .lockId(seatLock.getId())
+                                .showtimeId(showtimeId)
+                                .expiresAt(expiresAt)
+                                .holdUntil(holdUntil)
+                                .leaseSeconds(leaseSeconds)
+                                .lockToken(seatLockTokenService.issue(seatLock))
+                                .build();
+        }
+
         /**
          * Check seat availability
          * 
@@ -408,14 +532,16 @@ public class BookingService {
                 }
 
                 // Get all seats for showtime
-                List<ShowtimeSeat> allSeats = showtimeSeatRepo.findByShowtimeId(showtimeId);
+                List<ShowtimeSeat> allSeats = new ArrayList<>(showtimeSeatRepo.findByShowtimeId(showtimeId));
+                allSeats.addAll(seatMaterializationService.unmaterializedSeats(showtimeId, allSeats));
+                Set<UUID> redisLocked = seatStateService.lockedSeatIds(showtimeId, allSeats);
 
                 List<UUID> available = new ArrayList<>();
                 List<UUID> locked = new ArrayList<>();
                 List<UUID> booked = new ArrayList<>();
 
                 for (ShowtimeSeat seat : allSeats) {
-                        switch (seat.getStatus()) {
+                        switch (seatStateService.effectiveStatus(seat, redisLocked)) {
                                 case AVAILABLE -> available.add(seat.getId());
                                 case LOCKED -> locked.add(seat.getId());
                                 case BOOKED -> booked.add(seat.getId());
@@ -426,7 +552,7 @@ public class BookingService {
                 SeatAvailabilityResponse.SessionLockInfo sessionLockInfo = null;
                 if (session != null) {
                         Optional<SeatLock> activeLock = seatLockRepo.findActiveLockByOwnerAndShowtime(
-                                        session.getLockOwnerId(), showtimeId);
+                                        session.getLockOwnerId(), showtimeId, liveLockCreatedAfter());
 
                         if (activeLock.isPresent()) {
                                 SeatLock lock = activeLock.get();
@@ -471,13 +597,23 @@ public class BookingService {
                                 seatLock.getShowtime().getId(), seatIds, seatLock.getLockKey());
 
                 // Update seat status to AVAILABLE
-                showtimeSeatRepo.updateMultipleSeatsStatus(seatIds, SeatStatus.AVAILABLE);
+                seatStateService.markAvailable(seatLock.getShowtime().getId(), seatIds);
+                seatStateEngine.release(seatIds, seatLock.getLockOwnerId());
 
                 // Deactivate lock
                 seatLock.setActive(false);
+                seatLock.setEndedAt(LocalDateTime.now());
                 seatLockRepo.save(seatLock);
         }
 
+        /**
+         * Locks are held at most the lock duration, so an active one created
+         * earlier has expired; bounding created_at prunes older seat_locks months
+         */
+        private LocalDateTime liveLockCreatedAfter() {
+                return LocalDateTime.now().minusMinutes(lockDurationMinutes);
+        }
+
         private LockSeatsResponse buildLockResponse(SeatLock seatLock, BigDecimal totalPrice,
                         Integer lockDuration, SessionContext session) {
 
@@ -502,15 +638,18 @@ public class BookingService {
                                 .totalPrice(totalPrice)
                                 .expiresAt(seatLock.getExpiresAt())
                                 .lockDurationMinutes(lockDuration)
+                                .leaseSeconds(leaseSeconds)
+                                .lockToken(seatLockTokenService.issue(seatLock))
                                 .message("Seats locked successfully. Complete booking before expiry.")
                                 .build();
         }
 
         /**
          * Cleanup expired seat locks (called by scheduler)
-         * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
-         * Nodes: expiredLocks.isEmpty, (nested loop: locks, seatLockSeats)
-         * Minimum test cases: 3
+         * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+         * Nodes: expiredLocks.isEmpty, isRedisAuthoritative, (nested loop: locks,
+         * seatLockSeats)
+         * Minimum test cases: 4
          */
         @Transactional
         public void cleanupExpiredLocks() {
@@ -521,11 +660,19 @@ public class BookingService {
                         log.info("Cleaning up {} expired locks", expiredLocks.size());
                         for (SeatLock lock : expiredLocks) {
                                 lock.setActive(false);
-                                // Release seats
-                                for (SeatLockSeat sls : lock.getSeatLockSeats()) {
-                                        ShowtimeSeat seat = sls.getShowtimeSeat();
-                                        seat.setStatus(SeatStatus.AVAILABLE);
-                                        showtimeSeatRepo.save(seat);
+                                lock.setEndedAt(lock.getExpiresAt());
+                                // Release seats (their Redis keys expire on their own)
+                                if (seatStateService.isRedisAuthoritative()) {
+                                        seatStateService.markAvailable(lock.getShowtime().getId(),
+                                                        lock.getSeatLockSeats().stream()
+                                                                        .map(sls -> sls.getShowtimeSeat().getId())
+                                                                        .collect(Collectors.toList()));
+                                } else {
+                                        for (SeatLockSeat sls : lock.getSeatLockSeats()) {
+                                                ShowtimeSeat seat = sls.getShowtimeSeat();
+                                                seat.setStatus(SeatStatus.AVAILABLE);
+                                                showtimeSeatRepo.save(seat);
+                                        }
                                 }
                                 seatLockRepo.save(lock);
                         }
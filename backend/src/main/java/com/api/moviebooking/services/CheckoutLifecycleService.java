@@ -4,6 +4,7 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Base64;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -34,6 +35,8 @@ public class CheckoutLifecycleService {
     private final ShowtimeSeatRepo showtimeSeatRepo;
     private final UserService userService;
     private final RefundService refundService;
+    private final SeatStateService seatStateService;
+    private final SeatStateEngine seatStateEngine;
 
     @Value("${currency.default:VND}")
     private String baseCurrency;
@@ -43,12 +46,16 @@ public class CheckoutLifecycleService {
             PaymentRepo paymentRepo,
             ShowtimeSeatRepo showtimeSeatRepo,
             UserService userService,
-            @Lazy RefundService refundService) {
+            @Lazy RefundService refundService,
+            SeatStateService seatStateService,
+            SeatStateEngine seatStateEngine) {
         this.bookingRepo = bookingRepo;
         this.paymentRepo = paymentRepo;
         this.showtimeSeatRepo = showtimeSeatRepo;
         this.userService = userService;
         this.refundService = refundService;
+        this.seatStateService = seatStateService;
+        this.seatStateEngine = seatStateEngine;
     }
 
     /**
@@ -192,13 +199,14 @@ public class CheckoutLifecycleService {
                 .collect(Collectors.toList());
 
         List<ShowtimeSeat> seats = showtimeSeatRepo.findAllById(seatIds);
+        Set<UUID> redisLocked = seatStateService.lockedSeatIds(booking.getShowtime().getId(), seats);
         boolean allAvailable = seats.stream()
-                .allMatch(seat -> seat.getStatus() == SeatStatus.AVAILABLE);
+                .allMatch(seat -> seatStateService.effectiveStatus(seat, redisLocked) == SeatStatus.AVAILABLE);
 
         if (allAvailable) {
             // Re-acquire seats and confirm booking
             log.info("Re-acquiring seats for late payment. Booking {}", booking.getId());
-            showtimeSeatRepo.updateMultipleSeatsStatus(seatIds, SeatStatus.BOOKED);
+            seatStateService.markBooked(booking.getShowtime().getId(), seatIds);
 
             booking.setStatus(BookingStatus.CONFIRMED);
             booking.setQrPayload(generateQrPayload(booking));
@@ -259,7 +267,8 @@ public class CheckoutLifecycleService {
             return;
         }
 
-        showtimeSeatRepo.updateMultipleSeatsStatus(seatIds, SeatStatus.AVAILABLE);
+        showtimeSeatRepo.updateMultipleSeatsStatus(booking.getShowtime().getId(), seatIds, SeatStatus.AVAILABLE);
+        seatStateEngine.markAvailable(seatIds);
     }
 
     /**
@@ -20,24 +20,24 @@ import com.api.moviebooking.models.dtos.SessionContext;
 import com.api.moviebooking.models.dtos.booking.BookingResponse;
 import com.api.moviebooking.models.dtos.booking.ConfirmBookingRequest;
 import com.api.moviebooking.models.dtos.booking.DiscountResult;
+import com.api.moviebooking.models.dtos.booking.LockedSeatPrice;
 import com.api.moviebooking.models.dtos.checkout.CheckoutPaymentRequest;
 import com.api.moviebooking.models.dtos.payment.InitiatePaymentRequest;
 import com.api.moviebooking.models.dtos.payment.InitiatePaymentResponse;
 import com.api.moviebooking.models.entities.Booking;
-import com.api.moviebooking.models.entities.BookingSeat;
 import com.api.moviebooking.models.entities.BookingSnack;
 import com.api.moviebooking.models.entities.SeatLock;
-import com.api.moviebooking.models.entities.SeatLockSeat;
 import com.api.moviebooking.models.entities.Snack;
 import com.api.moviebooking.models.entities.User;
 import com.api.moviebooking.models.enums.BookingStatus;
-import com.api.moviebooking.models.enums.SeatStatus;
 import com.api.moviebooking.models.enums.UserRole;
 import com.api.moviebooking.repositories.BookingRepo;
+import com.api.moviebooking.repositories.BookingSeatRepo;
 import com.api.moviebooking.repositories.SeatLockRepo;
-import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+import com.api.moviebooking.repositories.SeatLockSeatRepo;
 import com.api.moviebooking.repositories.SnackRepo;
 import com.api.moviebooking.repositories.UserRepo;
+import com.api.moviebooking.services.SeatLockTokenService.SeatLockClaims;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,14 +48,17 @@ import lombok.extern.slf4j.Slf4j;
 public class CheckoutService {
 
     private final SeatLockRepo seatLockRepo;
+    private final SeatLockSeatRepo seatLockSeatRepo;
+    private final BookingSeatRepo bookingSeatRepo;
     private final BookingRepo bookingRepo;
     private final UserRepo userRepo;
     private final SnackRepo snackRepo;
-    private final ShowtimeSeatRepo showtimeSeatRepo;
     private final BookingMapper bookingMapper;
     private final PaymentService paymentService;
     private final CheckoutLifecycleService checkoutLifecycleService;
     private final PriceCalculationService priceCalculationService;
+    private final SeatStateService seatStateService;
+    private final SeatLockTokenService seatLockTokenService;
 
     @Value("${booking.payment.timeout.minutes:15}")
     private Integer paymentTimeoutMinutes;
@@ -64,27 +67,37 @@ public class CheckoutService {
      * Confirm booking with guest support
      * 
      * Flow:
+     * 0. Verify the lock token, if sent, before touching the database
      * 1. Find and validate seat lock
      * 2. Check lock ownership matches session
      * 3. For guests: Create User record with role=GUEST
      * 4. For authenticated: Use existing User
-     * 5. Create Booking with PENDING_PAYMENT status
-     * 6. Mark seats as BOOKED
-     * 7. Link seat lock to user (if was guest)
+     * 5. Link seat lock to user (if was guest)
+     * 6. Deactivate the lock, guarded so only one confirm of a lock wins
+     * 7. Create Booking with PENDING_PAYMENT status
+     * 8. Mark seats as BOOKED and copy them from the lock with INSERT ...
+     * SELECT, driven by lock id so the statement count does not grow with
+     * the number of seats
      * 
-     * Predicate nodes (d): 9 -> V(G) = d + 1 = 10
-     * Nodes: seatLock.isEmpty, lockOwnership, !isActive, lockExpired,
-     * session.isAuthenticated,
-     * guestInfo == null, snacks.size != requested, snackCombos != null (x2)
-     * Minimum test cases: 10
+     * Predicate nodes (d): 12 -> V(G) = d + 1 = 13
+     * Nodes: lockToken != null, seatLock.isEmpty, lockOwnership, !isActive,
+     * lockExpired, session.isAuthenticated,
+     * guestInfo == null, snacks.size != requested, lock already inactive,
+     * snackCombos != null (x2), seats already booked
+     * Minimum test cases: 13
      */
     @Transactional
     public BookingResponse confirmBooking(ConfirmBookingRequest request, SessionContext session) {
         log.info("Session {} (type: {}) confirming booking for lock {}",
                 session.getLockOwnerId(), session.getLockOwnerType(), request.getLockId());
 
+        // Reject a forged, foreign or expired token without a database round trip
+        if (request.getLockToken() != null) {
+            verifyLockToken(request.getLockToken(), request.getLockId(), session);
+        }
+
         // Find and validate lock
-        SeatLock seatLock = seatLockRepo.findById(request.getLockId())
+        SeatLock seatLock = seatLockRepo.findByIdInPartition(request.getLockId())
                 .orElseThrow(() -> new ResourceNotFoundException("Seat lock not found"));
 
         // Validate lock ownership
@@ -136,13 +149,16 @@ public class CheckoutService {
             throw new ResourceNotFoundException("One or more snacks not found");
         }
 
-        // Get seat IDs from lock
-        List<UUID> seatIds = seatLock.getSeatLockSeats().stream()
-                .map(sls -> sls.getShowtimeSeat().getId())
-                .collect(Collectors.toList());
+        // Claim the lock; a concurrent confirm of the same lock finds it inactive
+        if (seatLockRepo.claimIfActive(seatLock.getId(), seatLock.getCreatedAt(), LocalDateTime.now()) == 0) {
+            throw new LockExpiredException("Lock is no longer active");
+        }
 
-        // Update seats to BOOKED
-        showtimeSeatRepo.updateMultipleSeatsStatus(seatIds, SeatStatus.BOOKED);
+        // Seat ids and prices of the lock, without loading its seat entities
+        List<LockedSeatPrice> lockedSeats = seatLockSeatRepo.findLockedSeatPrices(seatLock.getId());
+        List<UUID> seatIds = lockedSeats.stream()
+                .map(LockedSeatPrice::showtimeSeatId)
+                .collect(Collectors.toList());
 
         // Create booking
         Booking booking = new Booking();
@@ -173,18 +189,10 @@ public class CheckoutService {
             booking.getBookingSnacks().addAll(bookingSnacks);
         }
 
-        // Create booking seats from lock
-        BigDecimal totalPrice = BigDecimal.ZERO;
-        for (SeatLockSeat seatLockSeat : seatLock.getSeatLockSeats()) {
-            BookingSeat bookingSeat = new BookingSeat();
-            bookingSeat.setBooking(booking);
-            bookingSeat.setShowtimeSeat(seatLockSeat.getShowtimeSeat());
-            bookingSeat.setTicketTypeApplied(seatLockSeat.getTicketType());
-            bookingSeat.setPrice(seatLockSeat.getPrice());
-
-            booking.getBookingSeats().add(bookingSeat);
-            totalPrice = totalPrice.add(seatLockSeat.getPrice());
-        }
+        // Seat prices as locked
+        BigDecimal totalPrice = lockedSeats.stream()
+                .map(LockedSeatPrice::price)
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
 
         // Add snack prices
         if (request.getSnackCombos() != null) {
@@ -209,9 +217,13 @@ public class CheckoutService {
         // Save booking
         bookingRepo.save(booking);
 
-        // Deactivate lock (seats are now booked)
-        seatLock.setActive(false);
-        seatLockRepo.save(seatLock);
+        // Book the seats and copy them into the booking: one statement each,
+        // whatever the number of seats
+        if (seatStateService.markBookedBySeatLock(seatLock, seatIds) != seatIds.size()) {
+            throw new CustomException("One or more seats are already booked", HttpStatus.CONFLICT);
+        }
+        bookingSeatRepo.insertFromSeatLock(booking.getId(), seatLock.getId());
+        booking.getBookingSeats().addAll(bookingSeatRepo.findByBookingIdWithSeat(booking.getId()));
 
         log.info("Booking {} created for user {} with status PENDING_PAYMENT",
                 booking.getId(), user.getId());
@@ -264,6 +276,7 @@ public class CheckoutService {
         // Step 1: Confirm booking (creates booking with PENDING_PAYMENT status)
         ConfirmBookingRequest confirmRequest = new ConfirmBookingRequest();
         confirmRequest.setLockId(request.getLockId());
+        confirmRequest.setLockToken(request.getLockToken());
         confirmRequest.setPromotionCode(request.getPromotionCode());
         confirmRequest.setSnackCombos(request.getSnackCombos());
         confirmRequest.setGuestInfo(request.getGuestInfo());
@@ -299,6 +312,19 @@ public class CheckoutService {
         return paymentResponse;
     }
 
+    private void verifyLockToken(String lockToken, UUID lockId, SessionContext session) {
+        SeatLockClaims claims = seatLockTokenService.verify(lockToken);
+        if (!claims.lockId().equals(lockId)) {
+            throw new IllegalArgumentException("Lock token does not match the lock");
+        }
+        if (!claims.lockOwnerId().equals(session.getLockOwnerId())) {
+            throw new CustomException("Lock does not belong to this session", HttpStatus.FORBIDDEN);
+        }
+        if (claims.isExpired(LocalDateTime.now())) {
+            throw new LockExpiredException("Lock has expired. Please lock seats again.");
+        }
+    }
+
     /**
      * Cleanup expired pending payments (called by scheduler)
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
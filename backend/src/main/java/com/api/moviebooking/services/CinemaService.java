@@ -4,15 +4,22 @@ import java.util.UUID;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.api.moviebooking.configs.CatalogCacheConfig;
 import com.api.moviebooking.helpers.exceptions.DuplicateResourceException;
 import com.api.moviebooking.helpers.exceptions.EntityDeletionForbiddenException;
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.mapstructs.CinemaMapper;
 import com.api.moviebooking.helpers.mapstructs.RoomMapper;
 import com.api.moviebooking.helpers.mapstructs.SnackMapper;
+import com.api.moviebooking.helpers.utils.CursorUtils;
+import com.api.moviebooking.models.dtos.CursorPage;
 import com.api.moviebooking.models.dtos.cinema.AddCinemaRequest;
 import com.api.moviebooking.models.dtos.cinema.CinemaDataResponse;
 import com.api.moviebooking.models.dtos.cinema.UpdateCinemaRequest;
@@ -53,6 +60,11 @@ public class CinemaService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: existsByName
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.CINEMAS, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true)
+    })
     public CinemaDataResponse addCinema(AddCinemaRequest request) {
         // Check for duplicate cinema name
         if (cinemaRepo.existsByName(request.getName())) {
@@ -70,6 +82,11 @@ public class CinemaService {
      * Nodes: findCinemaById, name!=null, existsByNameAndIdNot, address!=null,
      * hotline!=null
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.CINEMAS, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true)
+    })
     public CinemaDataResponse updateCinema(UUID cinemaId, UpdateCinemaRequest request) {
         Cinema cinema = findCinemaById(cinemaId);
 
@@ -91,6 +108,11 @@ public class CinemaService {
     }
 
     // For testing purpose only (this is not a main method)
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.CINEMAS, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true)
+    })
     public void deleteCinema_violatesForeignKeyConstraint(UUID id) {
         Cinema cinema = findCinemaById(id);
         cinemaRepo.delete(cinema);
@@ -101,6 +123,11 @@ public class CinemaService {
      * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
      * Nodes: findCinemaById, !isEmpty(rooms), !isEmpty(snacks)
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.CINEMAS, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true)
+    })
     public void deleteCinema(UUID id) {
         Cinema cinema = findCinemaById(id);
 
@@ -118,6 +145,8 @@ public class CinemaService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findCinemaById
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.CINEMAS, key = "#cinemaId", sync = true)
     public CinemaDataResponse getCinema(UUID cinemaId) {
         Cinema cinema = findCinemaById(cinemaId);
         return cinemaMapper.toDataResponse(cinema);
@@ -155,6 +184,11 @@ public class CinemaService {
      * Nodes: findRoomById, roomType!=null, roomNumber!=null,
      * existsByCinemaIdAndRoomNumberAndIdNot
      */
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, allEntries = true)
+    })
     public RoomDataResponse updateRoom(UUID roomId, UpdateRoomRequest request) {
         Room room = findRoomById(roomId);
 
@@ -198,6 +232,7 @@ public class CinemaService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findRoomById
      */
+    @Transactional(readOnly = true)
     public RoomDataResponse getRoom(UUID roomId) {
         Room room = findRoomById(roomId);
         return roomMapper.toDataResponse(room);
@@ -213,6 +248,7 @@ public class CinemaService {
      * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
      * Nodes: findCinemaById, existsByCinemaIdAndName
      */
+    @CacheEvict(cacheNames = CatalogCacheConfig.SNACKS, allEntries = true)
     public SnackDataResponse addSnack(AddSnackRequest request) {
         Cinema cinema = findCinemaById(request.getCinemaId());
 
@@ -236,6 +272,7 @@ public class CinemaService {
      * description!=null,
      * price!=null, type!=null
      */
+    @CacheEvict(cacheNames = CatalogCacheConfig.SNACKS, allEntries = true)
     public SnackDataResponse updateSnack(UUID snackId, UpdateSnackRequest request) {
         Snack snack = findSnackById(snackId);
 
@@ -273,6 +310,7 @@ public class CinemaService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findSnackById
      */
+    @CacheEvict(cacheNames = CatalogCacheConfig.SNACKS, allEntries = true)
     public void deleteSnack(UUID id) {
         Snack snack = findSnackById(id);
         if (!snack.getBookingSnacks().isEmpty()) {
@@ -286,6 +324,8 @@ public class CinemaService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findSnackById
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.SNACKS, key = "#snackId", sync = true)
     public SnackDataResponse getSnack(UUID snackId) {
         Snack snack = findSnackById(snackId);
         return snackMapper.toDataResponse(snack);
@@ -297,6 +337,8 @@ public class CinemaService {
      * Get all cinemas
      * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.CINEMAS, key = "'all'", sync = true)
     public List<CinemaDataResponse> getAllCinemas() {
         return cinemaRepo.findAll().stream()
                 .map(cinemaMapper::toDataResponse)
@@ -304,22 +346,33 @@ public class CinemaService {
     }
 
     /**
-     * Get all rooms
-     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
+     * Get all rooms, keyset-paginated by id
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: cursor==null
      */
-    public List<RoomDataResponse> getAllRooms() {
-        return roomRepo.findAll().stream()
-                .map(roomMapper::toDataResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<RoomDataResponse> getAllRooms(String cursor, Integer limit) {
+        int pageSize = CursorUtils.normalizeLimit(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Room> rows = cursor == null
+                ? roomRepo.findAllByOrderByIdAsc(fetch)
+                : roomRepo.findByIdGreaterThanOrderByIdAsc(CursorUtils.decodeId(cursor), fetch);
+        return CursorPage.of(rows, pageSize, r -> CursorUtils.encode(r.getId()), roomMapper::toDataResponse);
     }
 
     /**
-     * Get all snacks
-     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
+     * Get all snacks, keyset-paginated by id
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: cursor==null
      */
-    public List<SnackDataResponse> getAllSnacks() {
-        return snackRepo.findAll().stream()
-                .map(snackMapper::toDataResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.SNACKS, key = "'all:' + #cursor + ':' + #limit", sync = true)
+    public CursorPage<SnackDataResponse> getAllSnacks(String cursor, Integer limit) {
+        int pageSize = CursorUtils.normalizeLimit(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Snack> rows = cursor == null
+                ? snackRepo.findAllByOrderByIdAsc(fetch)
+                : snackRepo.findByIdGreaterThanOrderByIdAsc(CursorUtils.decodeId(cursor), fetch);
+        return CursorPage.of(rows, pageSize, s -> CursorUtils.encode(s.getId()), snackMapper::toDataResponse);
     }
 }
@@ -0,0 +1,181 @@
+package com.api.moviebooking.services;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.api.moviebooking.helpers.exceptions.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Adaptive limit on the booking requests (seat locks, confirm, checkout) a
+ * node works on at once; requests over the limit are shed with 503 and
+ * Retry-After instead of queueing until clients time out and retry.
+ *
+ * The limit follows latency (gradient): a short and a long moving average of
+ * seat lock latency are kept, and each completed lock moves the limit
+ * towards limit * tolerance * long / short (at most limit, at least half of
+ * it) plus sqrt(limit) of headroom. While latency is at its usual level the
+ * limit grows; when it rises the limit shrinks until latency recovers. The
+ * limit only moves while at least half of it is in use, otherwise latency
+ * says nothing about it. Only seat locks are sampled: checkout waits on the
+ * payment gateway, so a shift towards checkouts would read as overload.
+ *
+ * New seat locks may only use lock-share of the limit, so confirm and
+ * checkout of seats already held still get through when locks are shed.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ConcurrencyLimitService {
+
+    // Samples averaged by the short and the long latency averages
+    private static final int SHORT_WINDOW = 10;
+    private static final int LONG_WINDOW = 600;
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booking.concurrency.initial-limit:50}")
+    private int initialLimit;
+
+    @Value("${booking.concurrency.min-limit:10}")
+    private int minLimit;
+
+    @Value("${booking.concurrency.max-limit:500}")
+    private int maxLimit;
+
+    @Value("${booking.concurrency.lock-share:0.8}")
+    private double lockShare;
+
+    @Value("${booking.concurrency.tolerance:1.5}")
+    private double tolerance;
+
+    @Value("${booking.concurrency.smoothing:0.2}")
+    private double smoothing;
+
+    @Value("${booking.concurrency.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    private volatile double limit;
+    // Moving averages of the latency in nanos, guarded by this
+    private double shortLatency;
+    private double longLatency;
+
+    /**
+     * Who gets the limit first: completing a purchase over starting one
+     */
+    public enum Priority {
+        // Confirm and checkout: may use the whole limit
+        HIGH,
+        // New seat locks: may use lock-share of the limit
+        LOW
+    }
+
+    @PostConstruct
+    void init() {
+        limit = initialLimit;
+        for (Priority priority : Priority.values()) {
+            rejected.put(priority, Counter.builder("booking.concurrency.rejected")
+                    .description("Booking requests shed by the concurrency limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("booking.concurrency.limit", this, ConcurrencyLimitService::getLimit)
+                .description("Booking requests this node works on at once before shedding")
+                .register(meterRegistry);
+        Gauge.builder("booking.concurrency.inflight", inflight, AtomicInteger::get)
+                .description("Booking requests in progress")
+                .register(meterRegistry);
+        Gauge.builder("booking.concurrency.latency.baseline", this, service -> service.longLatency / 1_000_000)
+                .description("Long moving average of seat lock latency in milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take a slot for a booking request, or shed it
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: priority == HIGH, (loop: CAS), current >= allowed
+     *
+     * @return the start time to hand back to {@link #release(long, Priority)}
+     * @throws ServiceOverloadedException when the limit is reached
+     */
+    public long acquire(Priority priority) {
+        int allowed = priority == Priority.HIGH ? (int) limit : Math.max(1, (int) (limit * lockShare));
+        for (;;) {
+            int current = inflight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                throw new ServiceOverloadedException("Too many booking requests in progress, please retry",
+                        retryAfterSeconds);
+            }
+            if (inflight.compareAndSet(current, current + 1)) {
+                return System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Give back the slot of a finished request; a seat lock also adapts the
+     * limit to its latency
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: priority == LOW
+     */
+    public void release(long startNanos, Priority priority) {
+        int current = inflight.getAndDecrement();
+        if (priority == Priority.LOW) {
+            onSample(System.nanoTime() - startNanos, current);
+        }
+    }
+
+    /**
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: first sample, baseline above twice the recent latency,
+     * app-limited
+     */
+    synchronized void onSample(long latencyNanos, int inflightAtEnd) {
+        if (longLatency == 0) {
+            shortLatency = latencyNanos;
+            longLatency = latencyNanos;
+        }
+        shortLatency += (latencyNanos - shortLatency) / SHORT_WINDOW;
+        longLatency += (latencyNanos - longLatency) / LONG_WINDOW;
+        // After a long slow period the baseline has crept up; pull it back
+        // down faster once latency recovers
+        if (longLatency > 2 * shortLatency) {
+            longLatency *= 0.95;
+        }
+        if (inflightAtEnd < limit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longLatency / shortLatency));
+        double target = limit * gradient + Math.sqrt(limit);
+        double next = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+        if ((int) next != (int) limit) {
+            log.debug("Booking concurrency limit {} -> {} (latency {} ms, baseline {} ms)", (int) limit,
+                    (int) next, (long) (shortLatency / 1_000_000), (long) (longLatency / 1_000_000));
+        }
+        limit = next;
+    }
+
+    public double getLimit() {
+        return limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
@@ -0,0 +1,171 @@
+package com.api.moviebooking.services;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Off-heap hash table of seat state words for {@link SeatStateEngine}
+ *
+ * Open addressing with linear probing over 32-byte slots in a memory-mapped
+ * file: showtime seat id (two longs), state word, padding. A slot is claimed
+ * with a CAS on its state word and keeps its key for the life of the table, so
+ * lookups never see a key move; the engine drops the whole table instead of
+ * single slots. Word 0 marks an empty slot.
+ */
+final class MappedSeatTable implements AutoCloseable {
+
+    static final long EMPTY = 0L;
+
+    // Slot being claimed: its key is not written yet
+    private static final long CLAIMING = -1L;
+
+    private static final int SLOT_BYTES = 32;
+    private static final int MSB = 0;
+    private static final int LSB = 8;
+    private static final int WORD = 16;
+
+    // 2^25 slots = 1 GiB, the most a single mapping can address
+    static final int MAX_CAPACITY = 1 << 25;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer region;
+    private final int mask;
+    private final AtomicInteger size = new AtomicInteger();
+
+    /**
+     * Map a new, empty table of at least the given number of slots (rounded up
+     * to a power of two); an existing file is overwritten
+     */
+    MappedSeatTable(Path file, int capacity) throws IOException {
+        int slots = Math.min(MAX_CAPACITY, Integer.highestOneBit(Math.max(2, capacity) - 1) << 1);
+        this.file = file;
+        this.mask = slots - 1;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        // Mapping past the end grows the (sparse) file with zeros
+        this.region = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) slots * SLOT_BYTES);
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Current word of a seat, EMPTY when the table does not know it
+     */
+    long get(UUID id) {
+        int base = find(id.getMostSignificantBits(), id.getLeastSignificantBits(), EMPTY);
+        return base < 0 ? EMPTY : (long) LONGS.getAcquire(region, base + WORD);
+    }
+
+    /**
+     * Current word of a seat, inserting it with the given word when absent;
+     * EMPTY when the table is full
+     */
+    long getOrInsert(UUID id, long initial) {
+        int base = find(id.getMostSignificantBits(), id.getLeastSignificantBits(), initial);
+        return base < 0 ? EMPTY : (long) LONGS.getAcquire(region, base + WORD);
+    }
+
+    /**
+     * CAS the word of a known seat
+     */
+    boolean compareAndSet(UUID id, long expected, long update) {
+        int base = find(id.getMostSignificantBits(), id.getLeastSignificantBits(), EMPTY);
+        return base >= 0 && LONGS.compareAndSet(region, base + WORD, expected, update);
+    }
+
+    /**
+     * Set the word of a seat, inserting it when absent; false when the table
+     * is full
+     */
+    boolean put(long msb, long lsb, long word) {
+        int base = find(msb, lsb, word);
+        if (base < 0) {
+            return false;
+        }
+        LONGS.setRelease(region, base + WORD, word);
+        return true;
+    }
+
+    /**
+     * Visit every claimed slot
+     */
+    void forEach(SlotVisitor visitor) {
+        for (int index = 0; index <= mask; index++) {
+            int base = index * SLOT_BYTES;
+            long word = (long) LONGS.getAcquire(region, base + WORD);
+            if (word != EMPTY && word != CLAIMING) {
+                visitor.visit((long) LONGS.get(region, base + MSB), (long) LONGS.get(region, base + LSB), word);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Byte offset of the key's slot, or -1 when absent and not inserted
+     * (initial == EMPTY) or when the table is full
+     */
+    private int find(long msb, long lsb, long initial) {
+        int index = (int) mix(msb ^ Long.rotateLeft(lsb, 32)) & mask;
+        for (int probes = 0; probes <= mask; probes++, index = (index + 1) & mask) {
+            int base = index * SLOT_BYTES;
+            long word = (long) LONGS.getAcquire(region, base + WORD);
+            if (word == EMPTY) {
+                if (initial == EMPTY) {
+                    return -1;
+                }
+                if (LONGS.compareAndSet(region, base + WORD, EMPTY, CLAIMING)) {
+                    LONGS.set(region, base + MSB, msb);
+                    LONGS.set(region, base + LSB, lsb);
+                    LONGS.setRelease(region, base + WORD, initial);
+                    size.incrementAndGet();
+                    return base;
+                }
+                word = (long) LONGS.getAcquire(region, base + WORD);
+            }
+            while (word == CLAIMING) {
+                Thread.onSpinWait();
+                word = (long) LONGS.getAcquire(region, base + WORD);
+            }
+            if ((long) LONGS.get(region, base + MSB) == msb && (long) LONGS.get(region, base + LSB) == lsb) {
+                return base;
+            }
+        }
+        return -1;
+    }
+
+    // SplitMix64 finalizer: spreads the low entropy of time-based ids over the table
+    static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+        value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+        return value ^ (value >>> 31);
+    }
+
+    @FunctionalInterface
+    interface SlotVisitor {
+        void visit(long msb, long lsb, long word);
+    }
+}
@@ -10,11 +10,20 @@ import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.api.moviebooking.configs.CatalogCacheConfig;
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.mapstructs.MovieMapper;
+import com.api.moviebooking.helpers.utils.CursorUtils;
+import com.api.moviebooking.models.dtos.CursorPage;
 import com.api.moviebooking.models.dtos.movie.AddMovieRequest;
 import com.api.moviebooking.models.dtos.movie.CinemaShowtimesResponse;
 import com.api.moviebooking.models.dtos.movie.MovieDataResponse;
@@ -36,6 +45,7 @@ public class MovieService {
     private final ShowtimeRepo showtimeRepo;
     private final MovieMapper movieMapper;
     private final CinemaRepo cinemaRepo;
+    private final CacheManager cacheManager;
 
     /**
      * Predicate nodes (d): 0 -> V(G)=d+1=1
@@ -54,6 +64,7 @@ public class MovieService {
      * Minimum test cases: 2
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true)
     public MovieDataResponse addMovie(AddMovieRequest request) {
         // Validate no duplicate title
         if (movieRepo.existsByTitleIgnoreCase(request.getTitle())) {
@@ -72,6 +83,11 @@ public class MovieService {
      * Minimum test cases: 14
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIES, key = "#movieId"),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.SHOWTIMES, allEntries = true)
+    })
     public MovieDataResponse updateMovie(UUID movieId, UpdateMovieRequest request) {
         Movie movie = findMovieById(movieId);
 
@@ -128,6 +144,10 @@ public class MovieService {
      * Minimum test cases: 2
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIES, key = "#movieId"),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true)
+    })
     public void deleteMovie(UUID movieId) {
         Movie movie = findMovieById(movieId);
 
@@ -144,20 +164,27 @@ public class MovieService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findMovieById
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.MOVIES, key = "#movieId", sync = true)
     public MovieDataResponse getMovie(UUID movieId) {
         Movie movie = findMovieById(movieId);
         return movieMapper.toDataResponse(movie);
     }
 
     /**
-     * Get all movies (API: GET /movies)
-     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
-     * Nodes: none
+     * Get all movies (API: GET /movies), keyset-paginated by id
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: cursor==null
      */
-    public List<MovieDataResponse> getAllMovies() {
-        return movieRepo.findAll().stream()
-                .map(movieMapper::toDataResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.MOVIE_LISTS, key = "'all:' + #cursor + ':' + #limit", sync = true)
+    public CursorPage<MovieDataResponse> getAllMovies(String cursor, Integer limit) {
+        int pageSize = CursorUtils.normalizeLimit(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Movie> rows = cursor == null
+                ? movieRepo.findAllByOrderByIdAsc(fetch)
+                : movieRepo.findByIdGreaterThanOrderByIdAsc(CursorUtils.decodeId(cursor), fetch);
+        return CursorPage.of(rows, pageSize, m -> CursorUtils.encode(m.getId()), movieMapper::toDataResponse);
     }
 
     /**
@@ -165,6 +192,7 @@ public class MovieService {
      * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
      * Nodes: none
      */
+    @Transactional(readOnly = true)
     public List<MovieDataResponse> searchMoviesByTitle(String title) {
         return movieRepo.findByTitleContainingIgnoreCase(title).stream()
                 .map(movieMapper::toDataResponse)
@@ -176,6 +204,8 @@ public class MovieService {
      * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
      * Nodes: none
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.MOVIE_LISTS, key = "'status:' + #status", sync = true)
     public List<MovieDataResponse> getMoviesByStatus(String status) {
         MovieStatus movieStatus = MovieStatus.valueOf(status);
         return movieRepo.findByStatus(movieStatus).stream()
@@ -188,6 +218,7 @@ public class MovieService {
      * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
      * Nodes: none
      */
+    @Transactional(readOnly = true)
     public List<MovieDataResponse> getMoviesByGenre(String genre) {
         return movieRepo.findByGenreContainingIgnoreCase(genre).stream()
                 .map(movieMapper::toDataResponse)
@@ -200,6 +231,7 @@ public class MovieService {
      * Nodes:
      * - status != null && !status.isEmpty()
      */
+    @Transactional(readOnly = true)
     public List<MovieDataResponse> searchMovies(String title, String genre, String status) {
         MovieStatus movieStatus = (status != null && !status.isEmpty()) ? MovieStatus.valueOf(status) : null;
         return movieRepo.searchMovies(title, genre, movieStatus).stream()
@@ -211,23 +243,43 @@ public class MovieService {
      * Get showtimes for a movie grouped by cinema on a specific date
      * API: GET /movies/{id}/showtimes?date=YYYY-MM-DD
      * If date is today, only return showtimes from current time onwards
+     *
+     * The whole day is cached per movie and date; the "from now on" filter for
+     * today runs on the cached copy so one entry serves the entire day.
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: loader exception, isToday
      */
+    @Transactional(readOnly = true)
     public List<CinemaShowtimesResponse> getMovieShowtimesByDate(UUID movieId, LocalDate date) {
-        Movie movie = findMovieById(movieId);
+        Cache cache = cacheManager.getCache(CatalogCacheConfig.MOVIE_SHOWTIMES);
+        List<CinemaShowtimesResponse> dayShowtimes;
+        try {
+            dayShowtimes = cache.get(movieId + ":" + date, () -> loadMovieShowtimesForDay(movieId, date));
+        } catch (Cache.ValueRetrievalException e) {
+            // Surface the loader's own exception (e.g. movie not found)
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
 
         // Check if querying for today
-        LocalDate today = LocalDate.now();
-        boolean isToday = date.isEqual(today);
-
-        // Define start and end time
-        LocalDateTime startOfDay;
-        if (isToday) {
-            // If today, start from current time
-            startOfDay = LocalDateTime.now();
-        } else {
-            // If other date, start from beginning of day
-            startOfDay = date.atStartOfDay();
+        boolean isToday = date.isEqual(LocalDate.now());
+        if (!isToday) {
+            return dayShowtimes;
         }
+        return filterStartingFrom(dayShowtimes, LocalDateTime.now());
+    }
+
+    /**
+     * All showtimes of a movie on a date, grouped by cinema
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: new cinema entry
+     */
+    private List<CinemaShowtimesResponse> loadMovieShowtimesForDay(UUID movieId, LocalDate date) {
+        Movie movie = findMovieById(movieId);
+
+        LocalDateTime startOfDay = date.atStartOfDay();
         LocalDateTime endOfDay = date.atTime(LocalTime.MAX);
 
         // Get all showtimes for this movie on the specified date
@@ -262,11 +314,35 @@ public class MovieService {
         return new ArrayList<>(cinemaMap.values());
     }
 
+    /**
+     * Copy of the cached day without showtimes that already started; cinemas
+     * left without showtimes are dropped. The cached entries are shared, so they
+     * are never modified in place.
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: cinema has remaining showtimes
+     */
+    private List<CinemaShowtimesResponse> filterStartingFrom(List<CinemaShowtimesResponse> dayShowtimes,
+            LocalDateTime from) {
+        List<CinemaShowtimesResponse> result = new ArrayList<>();
+        for (CinemaShowtimesResponse cinema : dayShowtimes) {
+            List<CinemaShowtimesResponse.ShowtimeInfo> upcoming = cinema.getShowtimes().stream()
+                    .filter(info -> !LocalDateTime.parse(info.getStartTime()).isBefore(from))
+                    .collect(Collectors.toList());
+            if (!upcoming.isEmpty()) {
+                result.add(new CinemaShowtimesResponse(cinema.getCinemaId(), cinema.getCinemaName(),
+                        cinema.getAddress(), upcoming));
+            }
+        }
+        return result;
+    }
+
     /**
      * Get movies by cinema and status
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findCinemaById
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.MOVIE_LISTS, key = "'cinema:' + #cinemaId + ':' + #status", sync = true)
     public List<MovieDataResponse> getMoviesByCinemaAndStatus(UUID cinemaId, MovieStatus status) {
         // Validate cinema exists
         if (!cinemaRepo.existsById(cinemaId)) {
@@ -0,0 +1,159 @@
+package com.api.moviebooking.services;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the monthly partitions of showtime_seats (by showtime start) and
+ * seat_locks / seat_lock_seats (by lock creation), see the V5 and V7
+ * migrations
+ *
+ * Once at startup and then nightly (storage.partitions.cron):
+ * 1. Creates the partitions of the next months-ahead months. Seats of
+ * showtimes scheduled further ahead wait in showtime_seats_default and move
+ * to their month's partition when it is created.
+ * 2. Compacts the showtime_seats months that ended archive-after-months ago
+ * into showtime_seats_archive, oldest first: booked seats stay readable for
+ * booking history, the unbooked ones are dropped with the partition. The
+ * unbooked seats are deleted first, in a transaction of their own, so
+ * showtime_seats is only locked while the booked ones move.
+ * 3. Drops the seat lock months that ended retention-months ago.
+ * Each step runs in its own transaction; the database functions take one
+ * advisory lock, so nodes running the job at once wait for each other.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceService {
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${storage.partitions.months-ahead:12}")
+    private int monthsAhead;
+
+    @Value("${storage.partitions.showtime-seats.archive-after-months:3}")
+    private int archiveAfterMonths;
+
+    @Value("${storage.partitions.seat-locks.retention-months:2}")
+    private int seatLockRetentionMonths;
+
+    /**
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: catch
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${storage.partitions.cron:0 30 3 * * *}")
+    public void maintainPartitions() {
+        LocalDate month = LocalDate.now().withDayOfMonth(1);
+        try {
+            createPartitions(month, month.plusMonths(monthsAhead));
+            archiveShowtimeSeats(month.minusMonths(archiveAfterMonths));
+            dropSeatLocks(month.minusMonths(seatLockRetentionMonths));
+        } catch (RuntimeException e) {
+            log.error("Error maintaining time partitions", e);
+        }
+    }
+
+    /**
+     * Create the missing monthly partitions from firstMonth to lastMonth
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: created > 0
+     */
+    public int createPartitions(LocalDate firstMonth, LocalDate lastMonth) {
+        int created = inTransaction(() -> createMonthPartitions("showtime_seats", "showtime_start",
+                firstMonth, lastMonth)
+                + createMonthPartitions("seat_locks", "created_at", firstMonth, lastMonth)
+                + createMonthPartitions("seat_lock_seats", "created_at", firstMonth, lastMonth));
+        if (created > 0) {
+            log.info("Created {} partitions up to {}", created, lastMonth);
+        }
+        return created;
+    }
+
+    /**
+     * Compact every showtime_seats month before the given one into the archive
+     * partition, one month at a time: the unbooked seats are deleted in one
+     * transaction, the rest moves in the next
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: (loop: months)
+     */
+    public int archiveShowtimeSeats(LocalDate before) {
+        List<LocalDate> months = inTransaction(() -> monthPartitions("showtime_seats", before));
+        for (LocalDate month : months) {
+            Number dropped = inTransaction(() -> archiveStep("prepare_showtime_seats_archive", month));
+            Number kept = inTransaction(() -> archiveStep("archive_showtime_seats_month", month));
+            log.info("Archived showtime seats of {}: kept {} seats of bookings, dropped {}", month, kept,
+                    dropped);
+        }
+        return months.size();
+    }
+
+    /**
+     * Drop the seat lock months before the given one, seats first since they
+     * reference their lock
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: dropped > 0
+     */
+    public int dropSeatLocks(LocalDate before) {
+        int dropped = inTransaction(() -> dropMonthPartitions("seat_lock_seats", before)
+                + dropMonthPartitions("seat_locks", before));
+        if (dropped > 0) {
+            log.info("Dropped {} seat lock partitions before {}", dropped, before);
+        }
+        return dropped;
+    }
+
+    private int createMonthPartitions(String table, String keyColumn, LocalDate firstMonth, LocalDate lastMonth) {
+        return ((Number) entityManager
+                .createNativeQuery("SELECT create_month_partitions(:parent, :keyColumn, :firstMonth, :lastMonth)")
+                .setParameter("parent", table)
+                .setParameter("keyColumn", keyColumn)
+                .setParameter("firstMonth", firstMonth)
+                .setParameter("lastMonth", lastMonth)
+                .getSingleResult()).intValue();
+    }
+
+    private Number archiveStep(String function, LocalDate month) {
+        return (Number) entityManager
+                .createNativeQuery("SELECT " + function + "(:month)")
+                .setParameter("month", month)
+                .getSingleResult();
+    }
+
+    private int dropMonthPartitions(String table, LocalDate before) {
+        return ((Number) entityManager
+                .createNativeQuery("SELECT drop_month_partitions(:parent, :before)")
+                .setParameter("parent", table)
+                .setParameter("before", before)
+                .getSingleResult()).intValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<LocalDate> monthPartitions(String table, LocalDate before) {
+        List<String> months = entityManager
+                .createNativeQuery("SELECT to_char(month, 'YYYY-MM-DD') FROM month_partitions(:parent) " +
+                        "WHERE month < :before")
+                .setParameter("parent", table)
+                .setParameter("before", before)
+                .getResultList();
+        return months.stream().map(LocalDate::parse).toList();
+    }
+
+    private <T> T inTransaction(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(tx -> work.get());
+    }
+}
@@ -1,23 +1,36 @@
 package com.api.moviebooking.services;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.api.moviebooking.helpers.exceptions.CustomException;
 import com.api.moviebooking.helpers.mapstructs.PaymentMapper;
+import com.api.moviebooking.helpers.utils.CursorUtils;
+import com.api.moviebooking.models.dtos.CursorPage;
 import com.api.moviebooking.models.dtos.payment.ConfirmPaymentRequest;
 import com.api.moviebooking.models.dtos.payment.InitiatePaymentRequest;
 import com.api.moviebooking.models.dtos.payment.InitiatePaymentResponse;
 import com.api.moviebooking.models.dtos.payment.IpnResponse;
 import com.api.moviebooking.models.dtos.payment.PaymentResponse;
+import com.api.moviebooking.models.dtos.payment.PaymentSearchRequest;
 import com.api.moviebooking.models.entities.Payment;
+import com.api.moviebooking.models.enums.PaymentMethod;
+import com.api.moviebooking.models.enums.PaymentStatus;
 import com.api.moviebooking.repositories.PaymentRepo;
+import com.api.moviebooking.repositories.PaymentSpecifications;
+
+import jakarta.persistence.EntityManager;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
@@ -30,6 +43,11 @@ public class PaymentService {
     private final PaymentRepo paymentRepo;
     private final PaymentMapper paymentMapper;
     private final RefundService refundService;
+    private final EntityManager entityManager;
+
+    private static final int EXPORT_BATCH_SIZE = 500;
+    private static final String EXPORT_HEADER = "paymentId,bookingId,transactionId,method,status,amount,currency,"
+            + "gatewayAmount,gatewayCurrency,createdAt,completedAt\n";
 
     /**
      * Create payment order (API: POST /payments/order)
@@ -87,31 +105,120 @@ public class PaymentService {
 
     /**
      * Search payments with filters (API: GET /payments/search)
-     * Predicate nodes (d): 6 -> V(G) = d + 1 = 7
-     * Nodes: bookingId==null||equals, userId==null||equals,
-     * status==null||equalsIgnoreCase, method==null||equalsIgnoreCase,
-     * startDate==null||!isBefore, endDate==null||!isAfter
+     * Filters are evaluated by the database and results are keyset-paginated
+     * on (createdAt DESC, id DESC)
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: cursor!=null
      */
-    public List<PaymentResponse> searchPayments(UUID bookingId,
-            UUID userId,
-            String status,
-            String method,
-            LocalDateTime startDate,
-            LocalDateTime endDate) {
-
-        List<Payment> payments = paymentRepo.findAll();
-        List<Payment> filteredPayments = payments.stream()
-                .filter(p -> bookingId == null || p.getBooking().getId().equals(bookingId))
-                .filter(p -> userId == null || p.getBooking().getUser().getId().equals(userId))
-                .filter(p -> status == null || p.getStatus().name().equalsIgnoreCase(status))
-                .filter(p -> method == null || p.getMethod().name().equalsIgnoreCase(method))
-                .filter(p -> startDate == null || !p.getCreatedAt().isBefore(startDate))
-                .filter(p -> endDate == null || !p.getCreatedAt().isAfter(endDate))
-                .toList();
-
-        return filteredPayments.stream()
-                .map(paymentMapper::toPaymentResponse)
-                .toList();
+    @Transactional(readOnly = true)
+    public CursorPage<PaymentResponse> searchPayments(PaymentSearchRequest filter, String cursor, Integer limit) {
+        int pageSize = CursorUtils.normalizeLimit(limit);
+
+        Specification<Payment> spec = PaymentSpecifications.matching(filter)
+                .and(PaymentSpecifications.fetchBookingDetails());
+        if (cursor != null) {
+            spec = spec.and(afterCursor(cursor));
+        }
+
+        List<Payment> rows = fetchPage(spec, pageSize + 1);
+        return CursorPage.of(rows, pageSize, this::cursorOf, paymentMapper::toPaymentResponse);
+    }
+
+    /**
+     * Stream every payment matching the filters as CSV (API: GET /payments/export)
+     * Rows are read in keyset batches and detached after each batch so memory
+     * stays flat regardless of the result size
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: while(batch not empty), for loop, batch.size()<EXPORT_BATCH_SIZE
+     */
+    @Transactional(readOnly = true)
+    public void exportPayments(PaymentSearchRequest filter, Writer writer) throws IOException {
+        writer.write(EXPORT_HEADER);
+
+        Specification<Payment> base = PaymentSpecifications.matching(filter)
+                .and(PaymentSpecifications.fetchBookingDetails());
+        List<Payment> batch = fetchPage(base, EXPORT_BATCH_SIZE);
+
+        while (!batch.isEmpty()) {
+            for (Payment payment : batch) {
+                writer.write(toCsvRow(payment));
+            }
+            writer.flush();
+
+            Payment last = batch.get(batch.size() - 1);
+            entityManager.clear();
+            batch = batch.size() < EXPORT_BATCH_SIZE
+                    ? List.of()
+                    : fetchPage(base.and(PaymentSpecifications.after(last.getCreatedAt(), last.getId())),
+                            EXPORT_BATCH_SIZE);
+        }
+    }
+
+    /**
+     * Build search filters from raw request parameters
+     * Status and method are matched case-insensitively against the enums
+     */
+    public PaymentSearchRequest buildSearchRequest(UUID bookingId, UUID userId, String status, String method,
+            LocalDateTime startDate, LocalDateTime endDate) {
+        return PaymentSearchRequest.builder()
+                .bookingId(bookingId)
+                .userId(userId)
+                .status(status == null ? null : parseEnum(PaymentStatus.class, status, "payment status"))
+                .method(method == null ? null : parseEnum(PaymentMethod.class, method, "payment method"))
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+
+    private List<Payment> fetchPage(Specification<Payment> spec, int size) {
+        return paymentRepo.findBy(spec, q -> q.sortBy(PaymentSpecifications.KEYSET_SORT).limit(size).all());
+    }
+
+    private String cursorOf(Payment payment) {
+        return CursorUtils.encode(payment.getCreatedAt(), payment.getId());
+    }
+
+    private Specification<Payment> afterCursor(String cursor) {
+        String[] parts = CursorUtils.decode(cursor, 2);
+        try {
+            return PaymentSpecifications.after(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    private <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new CustomException("Invalid " + label + ": " + value, HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    private String toCsvRow(Payment payment) {
+        return String.join(",",
+                String.valueOf(payment.getId()),
+                String.valueOf(payment.getBooking().getId()),
+                csv(payment.getTransactionId()),
+                String.valueOf(payment.getMethod()),
+                String.valueOf(payment.getStatus()),
+                csv(payment.getAmount()),
+                csv(payment.getCurrency()),
+                csv(payment.getGatewayAmount()),
+                csv(payment.getGatewayCurrency()),
+                csv(payment.getCreatedAt()),
+                csv(payment.getCompletedAt())) + "\n";
+    }
+
+    private String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.contains(",") || text.contains("\"") || text.contains("\n")) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
     }
 
     /**
@@ -4,9 +4,11 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.api.moviebooking.configs.CatalogCacheConfig;
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.mapstructs.PriceBaseMapper;
 import com.api.moviebooking.models.dtos.priceBase.AddPriceBaseRequest;
@@ -41,6 +43,7 @@ public class PriceBaseService {
      * Nodes: existsByNameIgnoreCase
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, allEntries = true)
     public PriceBaseDataResponse addPriceBase(AddPriceBaseRequest request) {
         if (priceBaseRepo.existsByNameIgnoreCase(request.getName())) {
             throw new IllegalArgumentException("Price base with this name already exists: " + request.getName());
@@ -60,6 +63,7 @@ public class PriceBaseService {
      * isActive!=null
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, allEntries = true)
     public PriceBaseDataResponse updatePriceBase(UUID id, UpdatePriceBaseRequest request) {
         PriceBase priceBase = findPriceBaseById(id);
 
@@ -87,6 +91,7 @@ public class PriceBaseService {
      * Nodes: findPriceBaseById, isPriceBaseReferencedInBreakdown
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, allEntries = true)
     public void deletePriceBase(UUID id) {
         PriceBase priceBase = findPriceBaseById(id);
 
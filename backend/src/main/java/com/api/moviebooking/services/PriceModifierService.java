@@ -4,9 +4,11 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.api.moviebooking.configs.CatalogCacheConfig;
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.mapstructs.PriceModifierMapper;
 import com.api.moviebooking.models.dtos.priceModifier.AddPriceModifierRequest;
@@ -43,6 +45,7 @@ public class PriceModifierService {
      * Nodes: try-catch
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, allEntries = true)
     public PriceModifierDataResponse addPriceModifier(AddPriceModifierRequest request) {
         PriceModifier priceModifier = priceModifierMapper.toEntity(request);
 
@@ -71,6 +74,7 @@ public class PriceModifierService {
      * Nodes: findPriceModifierById, name!=null, isActive!=null
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, allEntries = true)
     public PriceModifierDataResponse updatePriceModifier(UUID id, UpdatePriceModifierRequest request) {
         PriceModifier priceModifier = findPriceModifierById(id);
 
@@ -94,6 +98,7 @@ public class PriceModifierService {
      * Nodes: findPriceModifierById, isPriceModifierReferencedInBreakdown
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, allEntries = true)
     public void deletePriceModifier(UUID id) {
         PriceModifier priceModifier = findPriceModifierById(id);
 
@@ -6,16 +6,20 @@ import java.util.UUID;
 import java.util.stream.Collectors;
 import java.math.BigDecimal;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.mapstructs.PromotionMapper;
+import com.api.moviebooking.helpers.utils.CursorUtils;
+import com.api.moviebooking.models.dtos.CursorPage;
 import com.api.moviebooking.models.dtos.promotion.AddPromotionRequest;
 import com.api.moviebooking.models.dtos.promotion.PromotionDataResponse;
 import com.api.moviebooking.models.dtos.promotion.UpdatePromotionRequest;
 import com.api.moviebooking.models.entities.Promotion;
 import com.api.moviebooking.models.enums.DiscountType;
+import com.api.moviebooking.repositories.BookingPromotionRepo;
 import com.api.moviebooking.repositories.PromotionRepo;
 
 import jakarta.persistence.EntityManager;
@@ -26,6 +30,7 @@ import lombok.RequiredArgsConstructor;
 public class PromotionService {
 
     private final PromotionRepo promotionRepo;
+    private final BookingPromotionRepo bookingPromotionRepo;
     private final PromotionMapper promotionMapper;
     private final EntityManager entityManager;
 
@@ -241,16 +246,20 @@ public class PromotionService {
     }
 
     /**
-     * Get all promotions (API: GET /promotions)
-     * Predicate nodes (d): 0 -> V(G)=d+1=1
-     * Nodes: None (linear execution)
-     * Minimum test cases: 1
-     * 1. Return all promotions (success path)
+     * Get all promotions (API: GET /promotions), keyset-paginated by id
+     * Predicate nodes (d): 1 -> V(G)=d+1=2
+     * Nodes: cursor==null
+     * Minimum test cases: 2
+     * 1. First page (no cursor)
+     * 2. Page after a cursor
      */
-    public List<PromotionDataResponse> getAllPromotions() {
-        return promotionRepo.findAll().stream()
-                .map(promotionMapper::toDataResponse)
-                .collect(Collectors.toList());
+    public CursorPage<PromotionDataResponse> getAllPromotions(String cursor, Integer limit) {
+        int pageSize = CursorUtils.normalizeLimit(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Promotion> rows = cursor == null
+                ? promotionRepo.findAllByOrderByIdAsc(fetch)
+                : promotionRepo.findByIdGreaterThanOrderByIdAsc(CursorUtils.decodeId(cursor), fetch);
+        return CursorPage.of(rows, pageSize, p -> CursorUtils.encode(p.getId()), promotionMapper::toDataResponse);
     }
 
     /**
@@ -310,9 +319,9 @@ public class PromotionService {
             throw new IllegalArgumentException("Promotion has expired");
         }
 
-        // Check usage limit (if set)
+        // Check usage limit (if set), counted in the database instead of loading every usage
         if (promotion.getUsageLimit() != null) {
-            long totalUsageCount = promotion.getBookingPromotions().size();
+            long totalUsageCount = bookingPromotionRepo.countByPromotionId(promotion.getId());
             if (totalUsageCount >= promotion.getUsageLimit()) {
                 throw new IllegalArgumentException("Promotion usage limit has been reached");
             }
@@ -320,9 +329,7 @@ public class PromotionService {
 
         // Check per user limit (if set)
         if (promotion.getPerUserLimit() != null && userId != null) {
-            long userUsageCount = promotion.getBookingPromotions().stream()
-                    .filter(b -> b.getBooking().getUser().getId().equals(userId))
-                    .count();
+            long userUsageCount = bookingPromotionRepo.countByPromotionIdAndUserId(promotion.getId(), userId);
             if (userUsageCount >= promotion.getPerUserLimit()) {
                 throw new IllegalArgumentException("You have reached the usage limit for this promotion");
             }
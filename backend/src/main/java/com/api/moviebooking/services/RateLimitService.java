@@ -0,0 +1,195 @@
+package com.api.moviebooking.services;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token bucket rate limiting shared by all nodes through Redis (see
+ * {@link com.api.moviebooking.configs.RateLimitFilter} for the endpoints)
+ *
+ * A request of an endpoint policy takes one token from the caller's bucket
+ * (user or guest session) and one from its IP's bucket, which is larger since
+ * an IP can be shared. Both buckets are refilled and checked by one Lua
+ * script: the request passes only if both have a token, and then both pay.
+ *
+ * A caller the script turns away cannot get a token before its bucket
+ * refills, so the bucket is remembered as blocked until then in a node-local
+ * near cache: further requests are rejected without a Redis round trip. When
+ * Redis is unreachable requests pass (fail open) and get no RateLimit headers.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitService {
+
+    private static final String RATE_LIMIT_PREFIX = "ratelimit:";
+    // Expired near cache entries are swept once it holds this many buckets
+    private static final int NEAR_CACHE_SWEEP_SIZE = 10_000;
+
+    private static final RedisSerializer<String> STRING = RedisSerializer.string();
+    // Multi-bulk script replies are deserialized element by element
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final RedisSerializer<List<String>> STRING_LIST = (RedisSerializer) RedisSerializer.string();
+
+    // KEYS: buckets; ARGV: cost, then capacity and refill per millisecond of each bucket
+    // Returns allowed (1/0), then the tokens left and the millis until the cost is
+    // available of each bucket. Buckets are only written when the request passes.
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final RedisScript<List<String>> TAKE = (RedisScript) RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local cost = tonumber(ARGV[1])
+            local tokens = {}
+            local allowed = 1
+            for i, key in ipairs(KEYS) do
+                local capacity = tonumber(ARGV[i * 2])
+                local rate = tonumber(ARGV[i * 2 + 1])
+                local bucket = redis.call('HMGET', key, 'tokens', 'at')
+                local last = tonumber(bucket[1]) or capacity
+                local at = tonumber(bucket[2]) or now
+                tokens[i] = math.min(capacity, last + math.max(0, now - at) * rate)
+                if tokens[i] < cost then
+                    allowed = 0
+                end
+            end
+            local reply = {tostring(allowed)}
+            for i, key in ipairs(KEYS) do
+                local capacity = tonumber(ARGV[i * 2])
+                local rate = tonumber(ARGV[i * 2 + 1])
+                local left = tokens[i]
+                if allowed == 1 then
+                    left = left - cost
+                    redis.call('HSET', key, 'tokens', tostring(left), 'at', string.format('%d', now))
+                    redis.call('PEXPIRE', key, math.ceil((capacity - left) / rate) + 1000)
+                end
+                reply[#reply + 1] = tostring(math.floor(left))
+                reply[#reply + 1] = tostring(math.max(0, math.ceil((cost - left) / rate)))
+            end
+            return reply
+            """, List.class);
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    // Bucket key -> epoch millis before which it has no token
+    private final Map<String, Long> blockedUntil = new ConcurrentHashMap<>();
+
+    /**
+     * Limits of an endpoint policy: bucket size and refill rate per caller and
+     * per IP
+     */
+    public record Policy(int capacity, double perMinute, int ipCapacity, double ipPerMinute) {
+    }
+
+    /**
+     * Outcome of a request, with the bucket closest to empty for the
+     * RateLimit headers
+     */
+    public record Decision(boolean allowed, long limit, long remaining, long resetSeconds,
+            long retryAfterSeconds, long windowSeconds) {
+    }
+
+    /**
+     * Take a token for the request from the caller's and the IP's buckets
+     * Predicate nodes (d): 5 -> V(G) = d + 1 = 6
+     * Nodes: subject != null, blocked in near cache, catch, (loop: buckets),
+     * wait > 0
+     *
+     * @param subject caller ("user:..." or "session:..."), null when anonymous
+     * @return the decision, or null when Redis could not be reached
+     */
+    public Decision tryAcquire(String policyName, Policy policy, String subject, String ip) {
+        List<Bucket> buckets = new ArrayList<>(2);
+        if (subject != null) {
+            buckets.add(new Bucket(bucketKey(policyName, subject), policy.capacity(), policy.perMinute()));
+        }
+        buckets.add(new Bucket(bucketKey(policyName, "ip:" + ip), policy.ipCapacity(), policy.ipPerMinute()));
+
+        long now = System.currentTimeMillis();
+        for (Bucket bucket : buckets) {
+            Long until = blockedUntil.get(bucket.key());
+            if (until != null && until > now) {
+                return denied(bucket, until - now);
+            }
+        }
+
+        List<String> reply;
+        try {
+            List<String> keys = new ArrayList<>(buckets.size());
+            List<String> args = new ArrayList<>(1 + buckets.size() * 2);
+            args.add("1");
+            for (Bucket bucket : buckets) {
+                keys.add(bucket.key());
+                args.add(Integer.toString(bucket.capacity()));
+                args.add(Double.toString(bucket.perMinute() / 60_000));
+            }
+            reply = redisTemplate.execute(TAKE, STRING, STRING_LIST, keys, args.toArray());
+        } catch (Exception e) {
+            log.warn("Rate limiting unavailable, letting {} request through: {}", policyName, e.getMessage());
+            return null;
+        }
+
+        boolean allowed = "1".equals(reply.get(0));
+        Bucket tightest = null;
+        long tightestRemaining = Long.MAX_VALUE;
+        long retryAfterMillis = 0;
+        for (int i = 0; i < buckets.size(); i++) {
+            Bucket bucket = buckets.get(i);
+            long remaining = Math.max(0, Long.parseLong(reply.get(1 + i * 2)));
+            long waitMillis = Long.parseLong(reply.get(2 + i * 2));
+            if (!allowed && waitMillis > 0) {
+                remember(bucket.key(), now + waitMillis);
+                retryAfterMillis = Math.max(retryAfterMillis, waitMillis);
+            }
+            if (remaining < tightestRemaining) {
+                tightest = bucket;
+                tightestRemaining = remaining;
+            }
+        }
+        if (!allowed) {
+            return denied(tightest, retryAfterMillis);
+        }
+        return new Decision(true, tightest.capacity(), tightestRemaining,
+                tightest.secondsToRefill(tightest.capacity() - tightestRemaining), 0, tightest.windowSeconds());
+    }
+
+    private Decision denied(Bucket bucket, long waitMillis) {
+        long retryAfter = Math.max(1, (waitMillis + 999) / 1000);
+        return new Decision(false, bucket.capacity(), 0, bucket.secondsToRefill(bucket.capacity()), retryAfter,
+                bucket.windowSeconds());
+    }
+
+    private void remember(String key, long until) {
+        if (blockedUntil.size() >= NEAR_CACHE_SWEEP_SIZE) {
+            long now = System.currentTimeMillis();
+            blockedUntil.values().removeIf(expiry -> expiry <= now);
+        }
+        blockedUntil.put(key, until);
+    }
+
+    // The policy name as hash tag spreads the policies over cluster slots while
+    // keeping the two buckets of a request on one
+    private static String bucketKey(String policyName, String subject) {
+        return RATE_LIMIT_PREFIX + "{" + policyName + "}:" + subject;
+    }
+
+    private record Bucket(String key, int capacity, double perMinute) {
+
+        long secondsToRefill(long tokens) {
+            return (long) Math.ceil(tokens * 60 / perMinute);
+        }
+
+        long windowSeconds() {
+            return secondsToRefill(capacity);
+        }
+    }
+}
@@ -1,10 +1,21 @@
 package com.api.moviebooking.services;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
@@ -19,6 +30,11 @@ import lombok.extern.slf4j.Slf4j;
  * 2. TTL (Time To Live) - Auto-expire locks after timeout
  * 3. Unique token per lock - Prevent accidental release by another user
  * 4. Single Redis instance coordinates all servers
+ *
+ * Seat locks of a showtime share one hash (seat id -> lock token, both as raw
+ * 16-byte UUIDs) and a sorted set of their expiries, updated together by Lua
+ * scripts: locking N seats is one round trip and listing a showtime's locked
+ * seats is one ZRANGE.
  */
 @Service
 @RequiredArgsConstructor
@@ -27,8 +43,131 @@ public class RedisLockService {
 
     private final RedisTemplate<String, Object> redisTemplate;
 
-    // Lock prefix for seat locks
-    private static final String SEAT_LOCK_PREFIX = "lock:seat:";
+    // Seat locks: one hash and one expiry sorted set per showtime
+    private static final String SEAT_LOCKS_PREFIX = "lock:seats:";
+
+    private static final RedisSerializer<byte[]> BYTES = RedisSerializer.byteArray();
+    private static final RedisSerializer<Long> LONG = new GenericToStringSerializer<>(Long.class);
+    // Multi-bulk script replies are deserialized element by element
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final RedisSerializer<List<byte[]>> BYTES_LIST = (RedisSerializer) RedisSerializer.byteArray();
+
+    // Seats whose expiry passed are dropped before deciding; both keys expire
+    // with the last lock of the showtime
+    private static final String PURGE_EXPIRED = """
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local expired = redis.call('ZRANGE', KEYS[2], '-inf', now, 'BYSCORE')
+            for _, seat in ipairs(expired) do
+                redis.call('HDEL', KEYS[1], seat)
+            end
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+            """;
+
+    private static final String EXPIRE_WITH_LAST_LOCK = """
+            local last = redis.call('ZRANGE', KEYS[2], -1, -1, 'WITHSCORES')
+            if last[2] then
+                redis.call('PEXPIREAT', KEYS[1], last[2])
+                redis.call('PEXPIREAT', KEYS[2], last[2])
+            end
+            """;
+
+    // KEYS: seat hash, expiry zset; ARGV: token, ttl millis, seat ids...
+    private static final RedisScript<Long> ACQUIRE_SEATS = RedisScript.of(PURGE_EXPIRED + """
+            for i = 3, #ARGV do
+                if redis.call('HEXISTS', KEYS[1], ARGV[i]) == 1 then
+                    return 0
+                end
+            end
+            for i = 3, #ARGV do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[1])
+                redis.call('ZADD', KEYS[2], now + ARGV[2], ARGV[i])
+            end
+            """ + EXPIRE_WITH_LAST_LOCK + "return 1", Long.class);
+
+    // KEYS: seat hash, expiry zset; ARGV: token, ttl millis, seat ids...
+    private static final RedisScript<Long> RESTORE_SEATS = RedisScript.of(PURGE_EXPIRED + """
+            local restored = 0
+            for i = 3, #ARGV do
+                if redis.call('HSETNX', KEYS[1], ARGV[i], ARGV[1]) == 1 then
+                    redis.call('ZADD', KEYS[2], now + ARGV[2], ARGV[i])
+                    restored = restored + 1
+                end
+            end
+            """ + EXPIRE_WITH_LAST_LOCK + "return restored", Long.class);
+
+    // KEYS: seat hash, expiry zset; ARGV: token, ttl millis, seat ids...
+    // Seats whose lock expired and was not taken meanwhile are taken back
+    private static final RedisScript<Long> EXTEND_SEATS = RedisScript.of(PURGE_EXPIRED + """
+            for i = 3, #ARGV do
+                local holder = redis.call('HGET', KEYS[1], ARGV[i])
+                if holder and holder ~= ARGV[1] then
+                    return 0
+                end
+            end
+            for i = 3, #ARGV do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[1])
+                redis.call('ZADD', KEYS[2], now + ARGV[2], ARGV[i])
+            end
+            """ + EXPIRE_WITH_LAST_LOCK + "return 1", Long.class);
+
+    // KEYS: seat hash, expiry zset; ARGV: token, seat ids...
+    private static final RedisScript<Long> RELEASE_SEATS = RedisScript.of("""
+            local released = 0
+            for i = 2, #ARGV do
+                if redis.call('HGET', KEYS[1], ARGV[i]) == ARGV[1] then
+                    redis.call('HDEL', KEYS[1], ARGV[i])
+                    redis.call('ZREM', KEYS[2], ARGV[i])
+                    released = released + 1
+                end
+            end
+            return released
+            """, Long.class);
+
+    // KEYS: seat hash, expiry zset; returns seat, token, expiry triples of live locks
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final RedisScript<List<byte[]>> SEAT_LOCK_ENTRIES = (RedisScript) RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local live = redis.call('ZRANGE', KEYS[2], string.format('(%d', now), '+inf', 'BYSCORE', 'WITHSCORES')
+            local entries = {}
+            for i = 1, #live, 2 do
+                local token = redis.call('HGET', KEYS[1], live[i])
+                if token then
+                    entries[#entries + 1] = live[i]
+                    entries[#entries + 1] = token
+                    entries[#entries + 1] = live[i + 1]
+                end
+            end
+            return entries
+            """, List.class);
+
+    // KEYS: seat hash, expiry zset; drops entries whose other half was lost
+    // (e.g. one of the two keys evicted)
+    private static final RedisScript<Long> DROP_DANGLING = RedisScript.of("""
+            local dropped = 0
+            for _, seat in ipairs(redis.call('ZRANGE', KEYS[2], 0, -1)) do
+                if redis.call('HEXISTS', KEYS[1], seat) == 0 then
+                    redis.call('ZREM', KEYS[2], seat)
+                    dropped = dropped + 1
+                end
+            end
+            for _, seat in ipairs(redis.call('HKEYS', KEYS[1])) do
+                if not redis.call('ZSCORE', KEYS[2], seat) then
+                    redis.call('HDEL', KEYS[1], seat)
+                    dropped = dropped + 1
+                end
+            end
+            return dropped
+            """, Long.class);
+
+    // KEYS: expiry zset
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final RedisScript<List<byte[]>> LOCKED_SEATS = (RedisScript) RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            return redis.call('ZRANGE', KEYS[1], string.format('(%d', now), '+inf', 'BYSCORE')
+            """, List.class);
 
     /**
      * Attempt to acquire a distributed lock
@@ -143,61 +282,211 @@ public class RedisLockService {
     }
 
     /**
-     * Generate lock key for a specific seat in a showtime
+     * Hash of a showtime's seat locks: 16-byte seat id -> compact lock token
+     * The {showtimeId} hash tag keeps both keys of a showtime on one cluster slot
+     */
+    public String seatLocksKey(UUID showtimeId) {
+        return SEAT_LOCKS_PREFIX + "{" + showtimeId + "}";
+    }
+
+    /**
+     * Sorted set of a showtime's locked seats scored by expiry (epoch millis)
      */
-    public String generateSeatLockKey(UUID showtimeId, UUID seatId) {
-        return SEAT_LOCK_PREFIX + showtimeId + ":" + seatId;
+    public String seatLockExpiryKey(UUID showtimeId) {
+        return seatLocksKey(showtimeId) + ":expiry";
     }
 
     /**
      * Lock multiple seats atomically for a user
-     * Returns true only if ALL seats can be locked
-     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
-     * Nodes: for loop (isLocked check), for loop (acquire), !acquireLock
+     * Returns true only if ALL seats can be locked. One script per call:
+     * drops expired seats, checks every seat, then writes them all.
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: !iterator.hasNext, catch
      */
     public boolean acquireMultipleSeatsLock(UUID showtimeId, Iterable<UUID> seatIds,
             String lockToken, long ttlSeconds) {
-        // First, check if any seat is already locked
-        for (UUID seatId : seatIds) {
-            String seatKey = generateSeatLockKey(showtimeId, seatId);
-            if (isLocked(seatKey)) {
-                log.warn("Seat already locked: {} for showtime: {}", seatId, showtimeId);
-                return false;
+        if (!seatIds.iterator().hasNext()) {
+            return true;
+        }
+        try {
+            Long acquired = redisTemplate.execute(ACQUIRE_SEATS, BYTES, LONG,
+                    List.of(seatLocksKey(showtimeId), seatLockExpiryKey(showtimeId)),
+                    seatArgs(seatIds, encodeToken(lockToken), number(ttlSeconds * 1000)));
+            if (Long.valueOf(1).equals(acquired)) {
+                return true;
             }
+            log.warn("Seats already locked for showtime: {}", showtimeId);
+            return false;
+        } catch (Exception e) {
+            log.error("Error acquiring seat locks for showtime: {}", showtimeId, e);
+            return false;
         }
+    }
 
-        // If all available, lock them all
-        boolean allLocked = true;
-        for (UUID seatId : seatIds) {
-            String seatKey = generateSeatLockKey(showtimeId, seatId);
-            if (!acquireLock(seatKey, lockToken, ttlSeconds)) {
-                // Rollback: release all previously locked seats
-                rollbackSeatLocks(showtimeId, seatIds, lockToken);
-                allLocked = false;
-                break;
-            }
+    /**
+     * Release multiple seat locks (only the seats still holding the token)
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: !iterator.hasNext, catch
+     */
+    public void releaseMultipleSeatsLock(UUID showtimeId, Iterable<UUID> seatIds, String lockToken) {
+        if (!seatIds.iterator().hasNext()) {
+            return;
         }
+        try {
+            redisTemplate.execute(RELEASE_SEATS, BYTES, LONG,
+                    List.of(seatLocksKey(showtimeId), seatLockExpiryKey(showtimeId)),
+                    seatArgs(seatIds, encodeToken(lockToken)));
+        } catch (Exception e) {
+            log.error("Error releasing seat locks for showtime: {}", showtimeId, e);
+        }
+    }
 
-        return allLocked;
+    /**
+     * Set the lock of the seats to expire ttlSeconds from now, in one round trip
+     * Fails if another token holds any of the seats
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: catch
+     */
+    public boolean extendSeatLocks(UUID showtimeId, Iterable<UUID> seatIds, String lockToken, long ttlSeconds) {
+        try {
+            Long extended = redisTemplate.execute(EXTEND_SEATS, BYTES, LONG,
+                    List.of(seatLocksKey(showtimeId), seatLockExpiryKey(showtimeId)),
+                    seatArgs(seatIds, encodeToken(lockToken), number(ttlSeconds * 1000)));
+            return Long.valueOf(1).equals(extended);
+        } catch (Exception e) {
+            log.error("Error extending seat locks for showtime: {}", showtimeId, e);
+            return false;
+        }
     }
 
     /**
-     * Release multiple seat locks
+     * Lock the seats that hold no live lock, leaving the others alone (used to
+     * rebuild locks Redis lost)
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: restored == null, catch
+     *
+     * @return number of seats locked
+     */
+    public int restoreSeatLocks(UUID showtimeId, Iterable<UUID> seatIds, String lockToken, long ttlSeconds) {
+        try {
+            Long restored = redisTemplate.execute(RESTORE_SEATS, BYTES, LONG,
+                    List.of(seatLocksKey(showtimeId), seatLockExpiryKey(showtimeId)),
+                    seatArgs(seatIds, encodeToken(lockToken), number(ttlSeconds * 1000)));
+            return restored == null ? 0 : restored.intValue();
+        } catch (Exception e) {
+            log.error("Error restoring seat locks for showtime: {}", showtimeId, e);
+            return 0;
+        }
+    }
+
+    /**
+     * All seats of a showtime holding a live lock, in one command
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: for loop, catch
+     */
+    public Set<UUID> findLockedSeats(UUID showtimeId) {
+        try {
+            List<byte[]> seats = redisTemplate.execute(LOCKED_SEATS, BYTES, BYTES_LIST,
+                    List.of(seatLockExpiryKey(showtimeId)));
+            Set<UUID> locked = new HashSet<>();
+            for (byte[] seat : seats) {
+                locked.add(decodeUuid(seat));
+            }
+            return locked;
+        } catch (Exception e) {
+            log.error("Error checking seat locks for showtime: {}", showtimeId, e);
+            return Set.of();
+        }
+    }
+
+    /**
+     * The given seats of a showtime that currently hold a lock
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
-     * Nodes: for loop
+     * Nodes: seatIds.isEmpty
      */
-    public void releaseMultipleSeatsLock(UUID showtimeId, Iterable<UUID> seatIds, String lockToken) {
-        for (UUID seatId : seatIds) {
-            String seatKey = generateSeatLockKey(showtimeId, seatId);
-            releaseLock(seatKey, lockToken);
+    public Set<UUID> findLockedSeats(UUID showtimeId, List<UUID> seatIds) {
+        if (seatIds.isEmpty()) {
+            return Set.of();
         }
+        Set<UUID> locked = new HashSet<>(findLockedSeats(showtimeId));
+        locked.retainAll(seatIds);
+        return locked;
     }
 
     /**
-     * Rollback seat locks in case of partial failure
+     * Live seat locks of a showtime with their token and expiry
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: for loop, catch
      */
-    private void rollbackSeatLocks(UUID showtimeId, Iterable<UUID> seatIds, String lockToken) {
-        log.warn("Rolling back seat locks for showtime: {}", showtimeId);
-        releaseMultipleSeatsLock(showtimeId, seatIds, lockToken);
+    public Map<UUID, SeatLockEntry> findSeatLocks(UUID showtimeId) {
+        try {
+            List<byte[]> entries = redisTemplate.execute(SEAT_LOCK_ENTRIES, BYTES, BYTES_LIST,
+                    List.of(seatLocksKey(showtimeId), seatLockExpiryKey(showtimeId)));
+            Map<UUID, SeatLockEntry> locks = new HashMap<>();
+            for (int i = 0; i + 2 < entries.size(); i += 3) {
+                locks.put(decodeUuid(entries.get(i)), new SeatLockEntry(decodeToken(entries.get(i + 1)),
+                        Long.parseLong(new String(entries.get(i + 2), StandardCharsets.US_ASCII))));
+            }
+            return locks;
+        } catch (Exception e) {
+            log.error("Error reading seat locks for showtime: {}", showtimeId, e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * Remove seat lock entries missing from one of the showtime's two keys
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: dropped == null, catch
+     *
+     * @return number of entries removed
+     */
+    public int dropDanglingSeatLocks(UUID showtimeId) {
+        try {
+            Long dropped = redisTemplate.execute(DROP_DANGLING, BYTES, LONG,
+                    List.of(seatLocksKey(showtimeId), seatLockExpiryKey(showtimeId)));
+            return dropped == null ? 0 : dropped.intValue();
+        } catch (Exception e) {
+            log.error("Error checking seat lock keys for showtime: {}", showtimeId, e);
+            return 0;
+        }
+    }
+
+    public record SeatLockEntry(String lockToken, long expiresAtMillis) {
+    }
+
+    private static Object[] seatArgs(Iterable<UUID> seatIds, byte[]... leading) {
+        List<byte[]> args = new ArrayList<>(List.of(leading));
+        seatIds.forEach(seatId -> args.add(encodeUuid(seatId)));
+        return args.toArray();
+    }
+
+    private static byte[] number(long value) {
+        return Long.toString(value).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    // Lock tokens are UUIDs: 16 raw bytes instead of a 38-byte JSON string
+    static byte[] encodeToken(String lockToken) {
+        try {
+            return encodeUuid(UUID.fromString(lockToken));
+        } catch (IllegalArgumentException e) {
+            return lockToken.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    static String decodeToken(byte[] bytes) {
+        return bytes.length == 16 ? decodeUuid(bytes).toString() : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static byte[] encodeUuid(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+
+    static UUID decodeUuid(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong());
     }
 }
@@ -0,0 +1,91 @@
+package com.api.moviebooking.services;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compacts inactive seat locks (converted, released or expired) created more
+ * than retention-days ago into seat_lock_daily_stats: lock, seat and conversion
+ * counts and hold durations per day and owner type, see the V6 migration.
+ *
+ * The detail rows are deleted in batches of batch-size locks, each in its own
+ * short transaction, with a pause of batch-pause-ms between batches so the job
+ * does not compete with the lock path during an on-sale. A run stops after
+ * max-batches; the rest is picked up by the next run. Retention must stay
+ * below storage.partitions.seat-locks.retention-months, whose partition drop
+ * removes whatever was not compacted.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatLockCompactionService {
+
+    private final EntityManager entityManager;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${storage.seat-locks.compaction.retention-days:7}")
+    private int retentionDays;
+
+    @Value("${storage.seat-locks.compaction.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${storage.seat-locks.compaction.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    @Value("${storage.seat-locks.compaction.max-batches:500}")
+    private int maxBatches;
+
+    /**
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: catch
+     */
+    @Scheduled(cron = "${storage.seat-locks.compaction.cron:0 15 * * * *}")
+    public void compactInactiveLocks() {
+        try {
+            compactLocksBefore(LocalDate.now().minusDays(retentionDays).atStartOfDay());
+        } catch (RuntimeException e) {
+            log.error("Error compacting seat locks", e);
+        }
+    }
+
+    /**
+     * Compact the inactive locks created before the given time, batch by batch
+     * Predicate nodes (d): 4 -> V(G) = d + 1 = 5
+     * Nodes: (loop: batches < maxBatches), compacted < batchSize, catch,
+     * total > 0
+     */
+    public int compactLocksBefore(LocalDateTime before) {
+        int total = 0;
+        for (int batches = 0; batches < maxBatches; batches++) {
+            int compacted = new TransactionTemplate(transactionManager).execute(tx -> ((Number) entityManager
+                    .createNativeQuery("SELECT compact_seat_locks(:before, :batchSize)")
+                    .setParameter("before", before)
+                    .setParameter("batchSize", batchSize)
+                    .getSingleResult()).intValue());
+            total += compacted;
+            if (compacted < batchSize) {
+                break;
+            }
+            try {
+                Thread.sleep(batchPauseMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Compacted {} inactive seat locks created before {}", total, before);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,118 @@
+package com.api.moviebooking.services;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.api.moviebooking.helpers.utils.SignedTokenUtils;
+import com.api.moviebooking.models.entities.SeatLock;
+import com.api.moviebooking.models.entities.SeatLockSeat;
+
+/**
+ * Issues and verifies signed seat lock tokens (booking.lock.token)
+ *
+ * A token carries what price preview and checkout need to know about a lock:
+ * lock id, owner, showtime, expiry and each seat with its ticket type and
+ * price, signed with {@link SignedTokenUtils}.
+ * A token says the lock was granted on these terms until its expiry; it is
+ * not revoked when the lock is released, so checkout still reads the lock.
+ */
+@Service
+public class SeatLockTokenService {
+
+    private static final byte VERSION = 1;
+
+    @Value("${booking.lock.token.secret:${jwt.secret}}")
+    private String secret;
+
+    public record SeatClaim(UUID showtimeSeatId, UUID ticketTypeId, BigDecimal price) {
+    }
+
+    public record SeatLockClaims(UUID lockId, String lockOwnerId, UUID showtimeId, LocalDateTime expiresAt,
+            List<SeatClaim> seats) {
+
+        public boolean isExpired(LocalDateTime now) {
+            return !expiresAt.isAfter(now);
+        }
+
+        public BigDecimal ticketSubtotal() {
+            return seats.stream().map(SeatClaim::price).reduce(BigDecimal.ZERO, BigDecimal::add);
+        }
+    }
+
+    /**
+     * Sign the lock's current terms
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: (loop: seatLockSeats)
+     */
+    public String issue(SeatLock seatLock) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + 48 * seatLock.getSeatLockSeats().size());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeUuid(out, seatLock.getId());
+            out.writeUTF(seatLock.getLockOwnerId());
+            writeUuid(out, seatLock.getShowtime().getId());
+            out.writeLong(seatLock.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            out.writeShort(seatLock.getSeatLockSeats().size());
+            for (SeatLockSeat seatLockSeat : seatLock.getSeatLockSeats()) {
+                writeUuid(out, seatLockSeat.getShowtimeSeat().getId());
+                writeUuid(out, seatLockSeat.getTicketType().getId());
+                out.writeUTF(seatLockSeat.getPrice().toPlainString());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode seat lock token", e);
+        }
+        return SignedTokenUtils.sign(secret, bytes.toByteArray());
+    }
+
+    /**
+     * Check the signature and decode the claims, without checking expiry
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: wrong version, (loop: seats), catch
+     *
+     * @throws IllegalArgumentException if the token is malformed or not signed
+     *                                  by this service
+     */
+    public SeatLockClaims verify(String token) {
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(SignedTokenUtils.verify(secret, token)))) {
+            if (in.readByte() != VERSION) {
+                throw new IllegalArgumentException("Invalid lock token");
+            }
+            UUID lockId = readUuid(in);
+            String lockOwnerId = in.readUTF();
+            UUID showtimeId = readUuid(in);
+            LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()),
+                    ZoneId.systemDefault());
+            int count = in.readUnsignedShort();
+            List<SeatClaim> seats = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                seats.add(new SeatClaim(readUuid(in), readUuid(in), new BigDecimal(in.readUTF())));
+            }
+            return new SeatLockClaims(lockId, lockOwnerId, showtimeId, expiresAt, List.copyOf(seats));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid lock token");
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
@@ -0,0 +1,221 @@
+package com.api.moviebooking.services;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.api.moviebooking.models.entities.Seat;
+import com.api.moviebooking.models.entities.Showtime;
+import com.api.moviebooking.models.entities.ShowtimeSeat;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.models.enums.SeatType;
+import com.api.moviebooking.repositories.SeatRepo;
+import com.api.moviebooking.repositories.ShowtimeRepo;
+import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sparse storage of showtime seats (showtime.seats.storage=SPARSE)
+ *
+ * A sparse showtime stores one price breakdown per seat type of its room
+ * (Showtime.seatPrices) instead of one showtime_seats row per seat. Seats
+ * without a row are AVAILABLE at their seat type price; a row is written the
+ * first time a seat gets locked and then follows the usual LOCKED / BOOKED /
+ * AVAILABLE transitions.
+ *
+ * Seats without a row are listed under a derived id, showtimeId XOR seatId, and
+ * materialized under that same id, so clients keep using one showtime seat id
+ * per seat whether or not its row exists yet. The single-seat endpoints by id
+ * (GET/PUT /showtime-seats/{id}) only know materialized seats.
+ *
+ * Showtimes created in EAGER storage have no seat prices and all their rows,
+ * so every method here is a no-op for them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatMaterializationService {
+
+    private final ShowtimeRepo showtimeRepo;
+    private final SeatRepo seatRepo;
+    private final ShowtimeSeatRepo showtimeSeatRepo;
+    private final PriceCalculationService priceCalculationService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${showtime.seats.storage:EAGER}")
+    private String storage;
+
+    /**
+     * Whether new showtimes skip generating their seat rows
+     */
+    public boolean isSparseStorage() {
+        return "SPARSE".equalsIgnoreCase(storage);
+    }
+
+    /**
+     * Snapshot the price of every seat type in the showtime's room
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: seatTypes.isEmpty, (loop: seatTypes)
+     */
+    public void snapshotPrices(Showtime showtime) {
+        List<SeatType> seatTypes = seatRepo.findSeatTypesByRoomId(showtime.getRoom().getId());
+        if (seatTypes.isEmpty()) {
+            throw new IllegalStateException("Room has no seats. Please add seats to the room first.");
+        }
+
+        ObjectNode seatPrices = objectMapper.createObjectNode();
+        for (SeatType seatType : seatTypes) {
+            seatPrices.set(seatType.name(), priceBreakdown(showtime, seatType));
+        }
+        showtime.setSeatPrices(seatPrices.toString());
+
+        log.info("Snapshot seat prices of sparse showtime {} for {} seat types", showtime.getId(), seatTypes.size());
+    }
+
+    /**
+     * Whether the showtime was created in sparse storage
+     */
+    public boolean isSparse(Showtime showtime) {
+        return showtime != null && showtime.getSeatPrices() != null;
+    }
+
+    /**
+     * The showtime of the given rows, loaded only when there are none; rows
+     * fetched with their showtime answer {@link #isSparse(Showtime)} without
+     * another query
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: rows.isEmpty
+     */
+    public Showtime showtimeOf(UUID showtimeId, List<ShowtimeSeat> rows) {
+        if (rows.isEmpty()) {
+            return showtimeRepo.findById(showtimeId).orElse(null);
+        }
+        return rows.get(0).getShowtime();
+    }
+
+    /**
+     * AVAILABLE seats of a sparse showtime that have no row yet, given its
+     * materialized rows
+     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
+     * Nodes: none
+     */
+    public List<ShowtimeSeat> unmaterializedSeats(UUID showtimeId, List<ShowtimeSeat> materialized) {
+        return unmaterializedSeats(showtimeOf(showtimeId, materialized), materialized);
+    }
+
+    /**
+     * AVAILABLE seats of a sparse showtime that have no row yet, not persisted
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: showtime is not sparse
+     */
+    public List<ShowtimeSeat> unmaterializedSeats(Showtime showtime, Collection<ShowtimeSeat> materialized) {
+        if (!isSparse(showtime)) {
+            return List.of();
+        }
+
+        UUID showtimeId = showtime.getId();
+        Set<UUID> materializedSeatIds = materialized.stream()
+                .map(showtimeSeat -> showtimeSeat.getSeat().getId())
+                .collect(Collectors.toSet());
+        JsonNode seatPrices = readSeatPrices(showtime);
+
+        List<ShowtimeSeat> seats = new ArrayList<>();
+        for (Seat seat : seatRepo.findByRoomId(showtime.getRoom().getId())) {
+            if (!materializedSeatIds.contains(seat.getId())) {
+                JsonNode breakdown = seatTypePrice(showtime, seatPrices, seat.getSeatType());
+                seats.add(new ShowtimeSeat(showtimeSeatId(showtimeId, seat.getId()), showtime, seat,
+                        SeatStatus.AVAILABLE, breakdown.get("finalPrice").decimalValue(), breakdown.toString(),
+                        showtime.getStartTime()));
+            }
+        }
+        return seats;
+    }
+
+    /**
+     * Write the rows of the requested seats of a sparse showtime that do not
+     * have one yet (before locking them)
+     * Ids that are not derived seat ids of this showtime are left to the
+     * caller's not-found handling.
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: showtime is not sparse, (loop: seats)
+     */
+    public void materialize(Showtime showtime, Collection<UUID> showtimeSeatIds) {
+        if (showtime.getSeatPrices() == null) {
+            return;
+        }
+
+        List<UUID> seatIds = showtimeSeatIds.stream()
+                .map(showtimeSeatId -> seatId(showtime.getId(), showtimeSeatId))
+                .collect(Collectors.toList());
+        JsonNode seatPrices = readSeatPrices(showtime);
+        UUID roomId = showtime.getRoom().getId();
+
+        int written = 0;
+        for (Seat seat : seatRepo.findAllById(seatIds)) {
+            if (!seat.getRoom().getId().equals(roomId)) {
+                continue;
+            }
+            JsonNode breakdown = seatTypePrice(showtime, seatPrices, seat.getSeatType());
+            BigDecimal price = breakdown.get("finalPrice").decimalValue();
+            written += showtimeSeatRepo.insertAvailableIfAbsent(showtimeSeatId(showtime.getId(), seat.getId()),
+                    showtime.getId(), seat.getId(), price, breakdown.toString());
+        }
+        log.debug("Materialized {} seats of showtime {}", written, showtime.getId());
+    }
+
+    /**
+     * Id of a showtime seat that was created without a row
+     */
+    public static UUID showtimeSeatId(UUID showtimeId, UUID seatId) {
+        return new UUID(showtimeId.getMostSignificantBits() ^ seatId.getMostSignificantBits(),
+                showtimeId.getLeastSignificantBits() ^ seatId.getLeastSignificantBits());
+    }
+
+    private static UUID seatId(UUID showtimeId, UUID showtimeSeatId) {
+        // XOR is its own inverse
+        return showtimeSeatId(showtimeId, showtimeSeatId);
+    }
+
+    /**
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: seat type added to the room after the snapshot
+     */
+    private JsonNode seatTypePrice(Showtime showtime, JsonNode seatPrices, SeatType seatType) {
+        JsonNode breakdown = seatPrices.get(seatType.name());
+        return breakdown != null ? breakdown : priceBreakdown(showtime, seatType);
+    }
+
+    private JsonNode priceBreakdown(Showtime showtime, SeatType seatType) {
+        // Prices depend on the seat type only, so a detached seat of that type stands in for all of them
+        Seat seat = new Seat();
+        seat.setSeatType(seatType);
+        seat.setRowLabel(seatType.name());
+        Object[] priceData = priceCalculationService.calculatePriceWithBreakdown(showtime, seat);
+        return readJson((String) priceData[1]);
+    }
+
+    private JsonNode readSeatPrices(Showtime showtime) {
+        return readJson(showtime.getSeatPrices());
+    }
+
+    private JsonNode readJson(String json) {
+        try {
+            return objectMapper.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid seat price JSON", e);
+        }
+    }
+}
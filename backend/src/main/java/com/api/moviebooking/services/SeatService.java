@@ -2,14 +2,19 @@ package com.api.moviebooking.services;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.mapstructs.SeatMapper;
+import com.api.moviebooking.helpers.utils.CursorUtils;
+import com.api.moviebooking.models.dtos.CursorPage;
 import com.api.moviebooking.models.dtos.seat.AddSeatRequest;
 import com.api.moviebooking.models.dtos.seat.BulkSeatResponse;
 import com.api.moviebooking.models.dtos.seat.GenerateSeatsRequest;
@@ -37,6 +42,8 @@ public class SeatService {
     private final ShowtimeRepo showtimeRepo;
     private final ShowtimeSeatRepo showtimeSeatRepo;
     private final SeatMapper seatMapper;
+    private final SeatMaterializationService seatMaterializationService;
+    private final SeatStateService seatStateService;
 
     private Seat findSeatById(UUID seatId) {
         return seatRepo.findById(seatId)
@@ -126,14 +133,18 @@ public class SeatService {
     }
 
     /**
-     * Get all seats (API: GET /seats)
-     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
-     * Nodes: none
+     * Get all seats (API: GET /seats), keyset-paginated by id
+     * Rows are projected directly into SeatDataResponse by the query
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: cursor==null
      */
-    public List<SeatDataResponse> getAllSeats() {
-        return seatRepo.findAll().stream()
-                .map(seatMapper::toDataResponse)
-                .collect(Collectors.toList());
+    public CursorPage<SeatDataResponse> getAllSeats(String cursor, Integer limit) {
+        int pageSize = CursorUtils.normalizeLimit(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<SeatDataResponse> rows = cursor == null
+                ? seatRepo.findPage(fetch)
+                : seatRepo.findPageAfter(CursorUtils.decodeId(cursor), fetch);
+        return CursorPage.of(rows, pageSize, s -> CursorUtils.encode(s.getSeatId()), Function.identity());
     }
 
     /**
@@ -233,8 +244,8 @@ public class SeatService {
             }
         }
 
-        // Save all seats
-        List<Seat> savedSeats = seatRepo.saveAll(generatedSeats);
+        // Save all seats as batched INSERTs
+        List<Seat> savedSeats = seatRepo.saveAllInBatches(generatedSeats);
 
         // Convert to response
         List<SeatDataResponse> seatResponses = savedSeats.stream()
@@ -333,7 +344,9 @@ public class SeatService {
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", showtimeId));
 
         // Get all showtime seats for this showtime
-        List<ShowtimeSeat> showtimeSeats = showtimeSeatRepo.findByShowtimeId(showtimeId);
+        List<ShowtimeSeat> showtimeSeats = new ArrayList<>(showtimeSeatRepo.findByShowtimeIdWithSeat(showtimeId));
+        showtimeSeats.addAll(seatMaterializationService.unmaterializedSeats(showtimeId, showtimeSeats));
+        Set<UUID> redisLocked = seatStateService.lockedSeatIds(showtimeId, showtimeSeats);
 
         // Build response by mapping ShowtimeSeat data
         return showtimeSeats.stream()
@@ -344,7 +357,7 @@ public class SeatService {
                             .row(seat.getRowLabel())
                             .number(seat.getSeatNumber())
                             .type(seat.getSeatType())
-                            .status(showtimeSeat.getStatus())
+                            .status(seatStateService.effectiveStatus(showtimeSeat, redisLocked))
                             .build();
                 })
                 .collect(Collectors.toList());
@@ -0,0 +1,470 @@
+package com.api.moviebooking.services;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Node-local seat arbitration in front of Redis and Postgres
+ * (seat.engine.enabled)
+ *
+ * Seat states live as packed words (status, lock expiry, owner tag) in an
+ * off-heap, memory-mapped {@link MappedSeatTable}; AVAILABLE -> LOCKED ->
+ * BOOKED transitions are CAS on those words, so a lock decision takes no lock
+ * and allocates nothing per seat. lockSeats asks the engine before any
+ * query and rejects seats it knows to be taken; seats the engine grants
+ * still go through the owner's existing locks and the Redis and database
+ * checks, which stay the source of truth.
+ * The engine is a cache of that truth: forgetting a seat only costs the fast
+ * rejection, never a double booking.
+ *
+ * Showtimes are spread over seat.engine.nodes by consistent hashing; a node
+ * only arbitrates the showtimes it owns, so the load balancer should route a
+ * showtime's seat lock requests to its owner (same ring). Other showtimes skip
+ * the engine.
+ *
+ * Every transition is appended to a journal, replayed into a fresh table at
+ * startup and compacted to the live entries. When the table fills up it is
+ * replaced by a new one that keeps only the unexpired locks; booked seats are
+ * learned again from the database checks.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStateEngine {
+
+    static final int AVAILABLE = 1;
+    static final int LOCKED = 2;
+    static final int BOOKED = 3;
+
+    private static final long AVAILABLE_WORD = AVAILABLE;
+    private static final int VIRTUAL_NODES = 128;
+    private static final int JOURNAL_RECORD_BYTES = 24;
+    private static final int JOURNAL_BUFFER_BYTES = JOURNAL_RECORD_BYTES * 4096;
+    private static final double MAX_LOAD_FACTOR = 0.75;
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${seat.engine.enabled:false}")
+    private boolean enabled;
+
+    @Value("${seat.engine.directory:${java.io.tmpdir}/moviebooking-seat-engine}")
+    private String directory;
+
+    @Value("${seat.engine.capacity:1048576}")
+    private int capacity;
+
+    @Value("${seat.engine.node-id:node-1}")
+    private String nodeId;
+
+    @Value("${seat.engine.nodes:}")
+    private List<String> nodes;
+
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile MappedSeatTable table;
+    private FileChannel journal;
+    private final ByteBuffer journalBuffer = ByteBuffer.allocateDirect(JOURNAL_BUFFER_BYTES);
+
+    private Timer decisions;
+    private Counter rejectedSeats;
+
+    @PostConstruct
+    void init() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        for (String node : nodes) {
+            if (!node.isBlank()) {
+                for (int i = 0; i < VIRTUAL_NODES; i++) {
+                    ring.put(MappedSeatTable.mix(((long) node.trim().hashCode() << 32) | i), node.trim());
+                }
+            }
+        }
+
+        Path dir = Path.of(directory);
+        Files.createDirectories(dir);
+        table = new MappedSeatTable(regionFile(), capacity);
+        Path journalFile = dir.resolve("seats.journal");
+        int replayed = replay(journalFile);
+        journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        compactJournal(table);
+
+        decisions = Timer.builder("seat.engine.decisions")
+                .description("Time to decide a seat lock request in the seat state engine")
+                .register(meterRegistry);
+        rejectedSeats = Counter.builder("seat.engine.rejected")
+                .description("Seats rejected by the seat state engine without reaching Redis or the database")
+                .register(meterRegistry);
+        Gauge.builder("seat.engine.slots.used", this, engine -> engine.table.size())
+                .description("Seats known to the seat state engine")
+                .register(meterRegistry);
+
+        log.info("Seat state engine started on {} with {} slots, {} journal records replayed, {}",
+                nodeId, table.capacity(), replayed, ring.isEmpty() ? "owning every showtime" : "ring " + nodes);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Whether this node arbitrates the showtime
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: !enabled, ring.isEmpty
+     */
+    public boolean owns(UUID showtimeId) {
+        if (!enabled) {
+            return false;
+        }
+        if (ring.isEmpty()) {
+            return true;
+        }
+        long hash = MappedSeatTable.mix(showtimeId.getMostSignificantBits() ^ showtimeId.getLeastSignificantBits());
+        Map.Entry<Long, String> owner = ring.ceilingEntry(hash);
+        return nodeId.equals((owner != null ? owner : ring.firstEntry()).getValue());
+    }
+
+    /**
+     * Lock the seats for the owner, all or none
+     * Returns the seats already locked or booked (nothing is locked then); an
+     * empty list also when the engine does not arbitrate the showtime. Inside
+     * a transaction, the locks are undone if it rolls back.
+     * Predicate nodes (d): 4 -> V(G) = d + 1 = 5
+     * Nodes: !owns, (loop: seats), conflicts.isEmpty, synchronization active
+     */
+    public List<UUID> tryLock(UUID showtimeId, List<UUID> showtimeSeatIds, String lockOwnerId, long ttlSeconds) {
+        if (!owns(showtimeId)) {
+            return List.of();
+        }
+        long start = System.nanoTime();
+        MappedSeatTable current = table;
+        long now = Instant.now().getEpochSecond();
+        long lockedWord = word(LOCKED, now + ttlSeconds, ownerTag(lockOwnerId));
+
+        List<UUID> acquired = new ArrayList<>(showtimeSeatIds.size());
+        List<UUID> conflicts = new ArrayList<>();
+        for (UUID seatId : showtimeSeatIds) {
+            (lockSeat(current, seatId, lockedWord, now) ? acquired : conflicts).add(seatId);
+        }
+
+        if (conflicts.isEmpty()) {
+            journal(acquired, lockedWord);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        if (status != STATUS_COMMITTED) {
+                            release(acquired, lockOwnerId);
+                        }
+                    }
+                });
+            }
+        } else {
+            acquired.forEach(seatId -> current.compareAndSet(seatId, lockedWord, AVAILABLE_WORD));
+            rejectedSeats.increment(conflicts.size());
+        }
+        decisions.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        resizeIfFull(current);
+        return conflicts;
+    }
+
+    /**
+     * Release the owner's locks; locks of other owners and booked seats stay
+     */
+    public void release(Collection<UUID> showtimeSeatIds, String lockOwnerId) {
+        if (!enabled) {
+            return;
+        }
+        int owner = ownerTag(lockOwnerId);
+        MappedSeatTable current = table;
+        for (UUID seatId : showtimeSeatIds) {
+            long word = current.get(seatId);
+            if (status(word) == LOCKED && ownerTag(word) == owner
+                    && current.compareAndSet(seatId, word, AVAILABLE_WORD)) {
+                journal(seatId, AVAILABLE_WORD);
+            }
+        }
+    }
+
+    /**
+     * Move the expiry of the owner's locks (lease heartbeat); seats the owner
+     * no longer holds here are left alone
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: !enabled, (loop: seats), locked by owner and CAS won
+     */
+    public void extend(Collection<UUID> showtimeSeatIds, String lockOwnerId, long ttlSeconds) {
+        if (!enabled) {
+            return;
+        }
+        int owner = ownerTag(lockOwnerId);
+        long extendedWord = word(LOCKED, Instant.now().getEpochSecond() + ttlSeconds, owner);
+        MappedSeatTable current = table;
+        for (UUID seatId : showtimeSeatIds) {
+            long word = current.get(seatId);
+            if (status(word) == LOCKED && ownerTag(word) == owner
+                    && current.compareAndSet(seatId, word, extendedWord)) {
+                journal(seatId, extendedWord);
+            }
+        }
+    }
+
+    /**
+     * Whether one of the seats holds an unexpired lock of the owner (another
+     * tab of the same session)
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: !enabled, (loop: seats) locked by owner
+     */
+    public boolean lockedBy(Collection<UUID> showtimeSeatIds, String lockOwnerId) {
+        if (!enabled) {
+            return false;
+        }
+        int owner = ownerTag(lockOwnerId);
+        long now = Instant.now().getEpochSecond();
+        MappedSeatTable current = table;
+        for (UUID seatId : showtimeSeatIds) {
+            long word = current.get(seatId);
+            if (status(word) == LOCKED && ownerTag(word) == owner && expiresAt(word) > now) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void markBooked(Collection<UUID> showtimeSeatIds) {
+        set(showtimeSeatIds, word(BOOKED, 0, 0));
+    }
+
+    /**
+     * Forget what the engine knows about the seats (released bookings, admin
+     * changes); the next lock request asks Redis and the database again
+     */
+    public void markAvailable(Collection<UUID> showtimeSeatIds) {
+        set(showtimeSeatIds, AVAILABLE_WORD);
+    }
+
+    /**
+     * Write buffered journal records to disk
+     */
+    @Scheduled(fixedDelayString = "${seat.engine.journal-flush-interval-ms:100}")
+    public void flushJournal() {
+        if (!enabled) {
+            return;
+        }
+        synchronized (journalBuffer) {
+            writeJournalBuffer();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flushJournal();
+        journal.force(false);
+        journal.close();
+        table.close();
+    }
+
+    /**
+     * Predicate nodes (d): 4 -> V(G) = d + 1 = 5
+     * Nodes: table full, taken, expired lock, CAS lost
+     */
+    private static boolean lockSeat(MappedSeatTable current, UUID seatId, long lockedWord, long now) {
+        while (true) {
+            long word = current.getOrInsert(seatId, AVAILABLE_WORD);
+            if (word == MappedSeatTable.EMPTY) {
+                // Table full: no opinion, Redis decides
+                return true;
+            }
+            boolean free = status(word) == AVAILABLE || (status(word) == LOCKED && expiresAt(word) <= now);
+            if (!free) {
+                return false;
+            }
+            if (current.compareAndSet(seatId, word, lockedWord)) {
+                return true;
+            }
+        }
+    }
+
+    private void set(Collection<UUID> showtimeSeatIds, long word) {
+        if (!enabled) {
+            return;
+        }
+        MappedSeatTable current = table;
+        for (UUID seatId : showtimeSeatIds) {
+            if (current.put(seatId.getMostSignificantBits(), seatId.getLeastSignificantBits(), word)) {
+                journal(seatId, word);
+            }
+        }
+        resizeIfFull(current);
+    }
+
+    /**
+     * Replace a table past its load factor by one holding only the live locks
+     */
+    private void resizeIfFull(MappedSeatTable current) {
+        if (current.size() < current.capacity() * MAX_LOAD_FACTOR) {
+            return;
+        }
+        synchronized (this) {
+            if (table != current) {
+                return;
+            }
+            try {
+                MappedSeatTable next = new MappedSeatTable(regionFile(), capacity);
+                long now = Instant.now().getEpochSecond();
+                current.forEach((msb, lsb, word) -> {
+                    if (status(word) == LOCKED && expiresAt(word) > now) {
+                        next.put(msb, lsb, word);
+                    }
+                });
+                table = next;
+                compactJournal(next);
+                current.close();
+                log.warn("Seat state engine table full, kept {} live locks in a new table", next.size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not replace the seat state table", e);
+            }
+        }
+    }
+
+    /**
+     * Load the journal into the table, later records winning
+     */
+    private int replay(Path journalFile) throws IOException {
+        if (!Files.exists(journalFile)) {
+            return 0;
+        }
+        int records = 0;
+        ByteBuffer buffer = ByteBuffer.allocate(JOURNAL_BUFFER_BYTES);
+        try (FileChannel channel = FileChannel.open(journalFile, StandardOpenOption.READ)) {
+            while (channel.read(buffer) > 0 || buffer.position() > 0) {
+                buffer.flip();
+                while (buffer.remaining() >= JOURNAL_RECORD_BYTES) {
+                    table.put(buffer.getLong(), buffer.getLong(), buffer.getLong());
+                    records++;
+                }
+                if (buffer.hasRemaining() && channel.position() == channel.size()) {
+                    // Torn last record from a crash
+                    break;
+                }
+                buffer.compact();
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Rewrite the journal as the live entries of the table
+     */
+    private void compactJournal(MappedSeatTable current) throws IOException {
+        long now = Instant.now().getEpochSecond();
+        synchronized (journalBuffer) {
+            journalBuffer.clear();
+            journal.truncate(0);
+            journal.position(0);
+            current.forEach((msb, lsb, word) -> {
+                boolean live = status(word) == BOOKED || (status(word) == LOCKED && expiresAt(word) > now);
+                if (live) {
+                    appendRecord(msb, lsb, word);
+                }
+            });
+            writeJournalBuffer();
+            journal.force(false);
+        }
+    }
+
+    private void journal(List<UUID> showtimeSeatIds, long word) {
+        synchronized (journalBuffer) {
+            showtimeSeatIds.forEach(seatId -> appendRecord(seatId.getMostSignificantBits(),
+                    seatId.getLeastSignificantBits(), word));
+        }
+    }
+
+    private void journal(UUID seatId, long word) {
+        synchronized (journalBuffer) {
+            appendRecord(seatId.getMostSignificantBits(), seatId.getLeastSignificantBits(), word);
+        }
+    }
+
+    // Callers hold the journalBuffer monitor
+    private void appendRecord(long msb, long lsb, long word) {
+        if (journalBuffer.remaining() < JOURNAL_RECORD_BYTES) {
+            writeJournalBuffer();
+        }
+        journalBuffer.putLong(msb).putLong(lsb).putLong(word);
+    }
+
+    // Callers hold the journalBuffer monitor
+    private void writeJournalBuffer() {
+        journalBuffer.flip();
+        try {
+            while (journalBuffer.hasRemaining()) {
+                journal.write(journalBuffer);
+            }
+        } catch (IOException e) {
+            // The journal only speeds up recovery, the engine keeps running without it
+            log.error("Could not write the seat state journal", e);
+        } finally {
+            journalBuffer.clear();
+        }
+    }
+
+    private Path regionFile() {
+        return Path.of(directory).resolve("seats-" + generation.incrementAndGet() + ".region");
+    }
+
+    // Word layout: bits 0-7 status, 8-39 lock expiry (epoch seconds), 40-63 owner tag
+    static long word(int status, long expiresAtEpochSecond, int ownerTag) {
+        return status | (expiresAtEpochSecond & 0xFFFFFFFFL) << 8 | (long) ownerTag << 40;
+    }
+
+    static int status(long word) {
+        return (int) (word & 0xFF);
+    }
+
+    static long expiresAt(long word) {
+        return (word >>> 8) & 0xFFFFFFFFL;
+    }
+
+    private static int ownerTag(long word) {
+        return (int) (word >>> 40);
+    }
+
+    private static int ownerTag(String lockOwnerId) {
+        return lockOwnerId.hashCode() & 0xFFFFFF;
+    }
+}
@@ -0,0 +1,290 @@
+package com.api.moviebooking.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.moviebooking.models.entities.SeatLock;
+import com.api.moviebooking.models.entities.SeatLockSeat;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.repositories.SeatLockRepo;
+import com.api.moviebooking.repositories.ShowtimeRepo;
+import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+import com.api.moviebooking.services.RedisLockService.SeatLockEntry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finds and repairs drift between the Redis seat locks and the database
+ * (booking.reconciler)
+ *
+ * Each run checks the next booking.reconciler.batch-size showtimes starting in
+ * the sales window, wrapping around when it reaches the end. A Redis lock held
+ * for one interval lets a single node run per interval, so the cluster does
+ * not repeat the work, nor count the same drift, once per node. Precedence,
+ * from strongest:
+ * 1. BOOKED in showtime_seats: Redis locks on booked seats are released.
+ * 2. Live SeatLock rows: a Redis lock without a live row holding the seat with
+ * the same token is released, once older than the grace period (lockSeats
+ * writes Redis before its row commits); a row seat without a Redis lock
+ * (evicted, or lost in a crash) gets it back.
+ * 3. In DATABASE state, showtime_seats.status follows the live rows: LOCKED
+ * without one becomes AVAILABLE and AVAILABLE with one becomes LOCKED. In
+ * REDIS state the column is written behind and not checked.
+ * Every repair counts in seat.reconciler.drift, tagged by type.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStateReconciler {
+
+    private static final String RUN_LOCK_KEY = "lock:seat-reconciler";
+
+    enum Drift {
+        REDIS_LOCK_ON_BOOKED,
+        REDIS_ORPHAN_LOCK,
+        REDIS_LOCK_MISSING,
+        REDIS_DANGLING_ENTRY,
+        DB_PHANTOM_LOCK,
+        DB_LOCK_MISSING
+    }
+
+    private final ShowtimeRepo showtimeRepo;
+    private final ShowtimeSeatRepo showtimeSeatRepo;
+    private final SeatLockRepo seatLockRepo;
+    private final RedisLockService redisLockService;
+    private final SeatStateService seatStateService;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booking.reconciler.enabled:true}")
+    private boolean enabled;
+
+    @Value("${booking.reconciler.interval-ms:30000}")
+    private long intervalMs;
+
+    @Value("${booking.reconciler.window-hours:336}")
+    private long windowHours;
+
+    @Value("${booking.reconciler.batch-size:50}")
+    private int batchSize;
+
+    @Value("${booking.reconciler.grace-seconds:30}")
+    private long graceSeconds;
+
+    @Value("${booking.lock.duration.minutes:10}")
+    private long lockDurationMinutes;
+
+    @Value("${booking.lock.lease.seconds:120}")
+    private long leaseSeconds;
+
+    // Run lock value of this node
+    private final String nodeToken = UUID.randomUUID().toString();
+
+    // Last showtime of the previous batch, null to start over
+    private volatile UUID cursor;
+
+    private final Map<Drift, Counter> drift = new EnumMap<>(Drift.class);
+    private Counter checkedShowtimes;
+
+    @PostConstruct
+    void init() {
+        for (Drift type : Drift.values()) {
+            drift.put(type, Counter.builder("seat.reconciler.drift")
+                    .description("Seat state drift between Redis and the database found and repaired")
+                    .tag("type", type.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        checkedShowtimes = Counter.builder("seat.reconciler.showtimes")
+                .description("Showtimes checked by the seat state reconciler")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Check the next batch of showtimes in the sales window, unless another
+     * node already ran this interval
+     * Predicate nodes (d): 5 -> V(G) = d + 1 = 6
+     * Nodes: !enabled, !runLock, cursor == null, (loop: showtimeIds), catch
+     */
+    @Scheduled(fixedDelayString = "${booking.reconciler.interval-ms:30000}")
+    public void reconcileNextBatch() {
+        if (!enabled) {
+            return;
+        }
+        // Not released: it expires with the interval, the next run on any node takes it
+        if (!redisLockService.acquireLock(RUN_LOCK_KEY, nodeToken, Math.max(1, intervalMs / 1000))) {
+            log.debug("Seat state reconciler already ran on another node this interval");
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowEnd = now.plusHours(windowHours);
+        UUID after = cursor;
+        List<UUID> showtimeIds = readOnly().execute(tx -> after == null
+                ? showtimeRepo.findIdsStartingBetween(now, windowEnd, Limit.of(batchSize))
+                : showtimeRepo.findIdsStartingBetweenAfter(now, windowEnd, after, Limit.of(batchSize)));
+
+        int repaired = 0;
+        for (UUID showtimeId : showtimeIds) {
+            try {
+                repaired += reconcile(showtimeId);
+            } catch (Exception e) {
+                log.error("Error reconciling seat state of showtime {}", showtimeId, e);
+            }
+        }
+        cursor = showtimeIds.size() < batchSize ? null : showtimeIds.get(showtimeIds.size() - 1);
+        if (repaired > 0) {
+            log.warn("Repaired {} seat state drifts in {} showtimes", repaired, showtimeIds.size());
+        }
+    }
+
+    /**
+     * Diff and repair one showtime
+     * Predicate nodes (d): 9 -> V(G) = d + 1 = 10
+     * Nodes: (loop: redisLocks), booked || orphan, (loop: liveSeats), missing,
+     * !restoreByLock.isEmpty, !stillActive, !isRedisAuthoritative,
+     * phantom/unmarked found, !found.isEmpty
+     *
+     * @return number of repaired drifts
+     */
+    public int reconcile(UUID showtimeId) {
+        Map<Drift, Integer> found = new EnumMap<>(Drift.class);
+        count(found, Drift.REDIS_DANGLING_ENTRY, redisLockService.dropDanglingSeatLocks(showtimeId));
+
+        // Redis before the database, and the database on the primary: a lock
+        // released after the Redis read shows up below as an inactive row, not as a
+        // live row whose Redis lock went missing
+        Map<UUID, SeatLockEntry> redisLocks = redisLockService.findSeatLocks(showtimeId);
+
+        // Statuses before locks: a LOCKED seat read here has its lock row committed
+        LocalDateTime now = LocalDateTime.now();
+        DatabaseState db = primary().execute(tx -> new DatabaseState(
+                new HashSet<>(showtimeSeatRepo.findIdsByShowtimeIdAndStatus(showtimeId, SeatStatus.LOCKED)),
+                new HashSet<>(showtimeSeatRepo.findIdsByShowtimeIdAndStatus(showtimeId, SeatStatus.BOOKED)),
+                liveLocksBySeat(seatLockRepo.findLiveLocksByShowtime(showtimeId, now,
+                        now.minusMinutes(lockDurationMinutes)))));
+
+        // Rules 1 and 2: Redis locks the database does not back. A lock expires one
+        // lease after it was taken or last extended, so this estimate is never early.
+        long acquiredBefore = System.currentTimeMillis() - graceSeconds * 1000;
+        long lockDurationMillis = Math.min(leaseSeconds * 1000, lockDurationMinutes * 60_000);
+        Map<String, List<UUID>> releaseByToken = new HashMap<>();
+        for (Map.Entry<UUID, SeatLockEntry> entry : redisLocks.entrySet()) {
+            UUID seatId = entry.getKey();
+            String token = entry.getValue().lockToken();
+            SeatLock row = db.liveLocks().get(seatId);
+            boolean booked = db.booked().contains(seatId);
+            boolean orphan = (row == null || !row.getLockKey().equals(token))
+                    && entry.getValue().expiresAtMillis() - lockDurationMillis < acquiredBefore;
+            if (booked || orphan) {
+                count(found, booked ? Drift.REDIS_LOCK_ON_BOOKED : Drift.REDIS_ORPHAN_LOCK, 1);
+                releaseByToken.computeIfAbsent(token, t -> new ArrayList<>()).add(seatId);
+            }
+        }
+        releaseByToken.forEach((token, seatIds) -> redisLockService.releaseMultipleSeatsLock(showtimeId, seatIds,
+                token));
+
+        // Rule 2: live rows whose Redis lock is gone
+        Map<UUID, SeatLock> locksById = new HashMap<>();
+        Map<UUID, List<UUID>> restoreByLock = new HashMap<>();
+        for (Map.Entry<UUID, SeatLock> entry : db.liveLocks().entrySet()) {
+            SeatLock lock = entry.getValue();
+            SeatLockEntry redisLock = redisLocks.get(entry.getKey());
+            boolean missing = redisLock == null || !redisLock.lockToken().equals(lock.getLockKey());
+            if (missing && !db.booked().contains(entry.getKey())) {
+                locksById.put(lock.getId(), lock);
+                restoreByLock.computeIfAbsent(lock.getId(), id -> new ArrayList<>()).add(entry.getKey());
+            }
+        }
+        // Restoring writes unconditionally, so re-check the rows right before: a lock
+        // released since it was read has already dropped its Redis entry
+        Set<UUID> stillActive = restoreByLock.isEmpty() ? Set.of()
+                : new HashSet<>(primary().execute(tx -> seatLockRepo.findActiveIds(restoreByLock.keySet())));
+        restoreByLock.forEach((lockId, seatIds) -> {
+            if (!stillActive.contains(lockId)) {
+                return;
+            }
+            SeatLock lock = locksById.get(lockId);
+            long ttlSeconds = Math.max(1, Duration.between(now, lock.getExpiresAt()).getSeconds());
+            count(found, Drift.REDIS_LOCK_MISSING,
+                    redisLockService.restoreSeatLocks(showtimeId, seatIds, lock.getLockKey(), ttlSeconds));
+        });
+
+        // Rule 3: the status column, when it is authoritative
+        if (!seatStateService.isRedisAuthoritative()) {
+            List<UUID> phantom = db.locked().stream()
+                    .filter(seatId -> !db.liveLocks().containsKey(seatId))
+                    .toList();
+            List<UUID> unmarked = db.liveLocks().keySet().stream()
+                    .filter(seatId -> !db.locked().contains(seatId) && !db.booked().contains(seatId))
+                    .toList();
+            if (!phantom.isEmpty() || !unmarked.isEmpty()) {
+                primary().executeWithoutResult(tx -> {
+                    count(found, Drift.DB_PHANTOM_LOCK, phantom.isEmpty() ? 0
+                            : showtimeSeatRepo.updateMultipleSeatsStatusFrom(phantom, SeatStatus.LOCKED,
+                                    SeatStatus.AVAILABLE));
+                    count(found, Drift.DB_LOCK_MISSING, unmarked.isEmpty() ? 0
+                            : showtimeSeatRepo.updateMultipleSeatsStatusFrom(unmarked, SeatStatus.AVAILABLE,
+                                    SeatStatus.LOCKED));
+                });
+            }
+        }
+
+        checkedShowtimes.increment();
+        if (!found.isEmpty()) {
+            log.warn("Seat state drift in showtime {}: {}", showtimeId, found);
+        }
+        return found.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    private void count(Map<Drift, Integer> found, Drift type, int seats) {
+        if (seats > 0) {
+            found.merge(type, seats, Integer::sum);
+            drift.get(type).increment(seats);
+        }
+    }
+
+    /**
+     * Read-write transactions are never routed to a replica
+     */
+    private TransactionTemplate primary() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private static Map<UUID, SeatLock> liveLocksBySeat(List<SeatLock> locks) {
+        Map<UUID, SeatLock> bySeat = new HashMap<>();
+        for (SeatLock lock : locks) {
+            for (SeatLockSeat seatLockSeat : lock.getSeatLockSeats()) {
+                bySeat.put(seatLockSeat.getShowtimeSeat().getId(), lock);
+            }
+        }
+        return bySeat;
+    }
+
+    private record DatabaseState(Set<UUID> locked, Set<UUID> booked, Map<UUID, SeatLock> liveLocks) {
+    }
+}
@@ -0,0 +1,272 @@
+package com.api.moviebooking.services;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.api.moviebooking.models.entities.SeatLock;
+import com.api.moviebooking.models.entities.ShowtimeSeat;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.repositories.SeatLockRepo;
+import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Where the transient LOCKED state of showtime seats lives
+ * (booking.lock.state)
+ *
+ * DATABASE (default): every lock and release updates showtime_seats.status in
+ * the request's transaction.
+ *
+ * REDIS: the seat lock keys of {@link RedisLockService} are the source of
+ * truth for LOCKED. Lock and release only queue the status change; the queue
+ * is flushed to showtime_seats every booking.lock.write-behind.flush-interval-ms
+ * with one UPDATE per status and batch, keeping only the latest change of each
+ * seat. The column is then an audit trail: readers go through
+ * {@link #effectiveStatus}, where a DB status of BOOKED always wins and
+ * otherwise a seat is LOCKED exactly while its Redis key exists. BOOKED is
+ * still written synchronously.
+ *
+ * The SeatLock rows stay durable, so the Redis keys of live locks are rebuilt
+ * from them at startup (e.g. after a Redis restart without persistence).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatStateService {
+
+    private final ShowtimeSeatRepo showtimeSeatRepo;
+    private final SeatLockRepo seatLockRepo;
+    private final RedisLockService redisLockService;
+    private final SeatStateEngine seatStateEngine;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${booking.lock.state:DATABASE}")
+    private String state;
+
+    @Value("${booking.lock.write-behind.batch-size:500}")
+    private int batchSize;
+
+    @Value("${booking.lock.duration.minutes:10}")
+    private long lockDurationMinutes;
+
+    private static final List<SeatStatus> FLUSH_ORDER = List.of(SeatStatus.LOCKED, SeatStatus.AVAILABLE);
+
+    // Latest unflushed status per showtime seat id
+    private final Map<UUID, SeatStatus> pending = new ConcurrentHashMap<>();
+
+    private Counter flushedSeats;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("seat.state.write.behind.pending", pending, Map::size)
+                .description("Seat status changes waiting to be written to the database")
+                .register(meterRegistry);
+        flushedSeats = Counter.builder("seat.state.write.behind.flushed")
+                .description("Seat status changes written to the database by the write-behind")
+                .register(meterRegistry);
+    }
+
+    public boolean isRedisAuthoritative() {
+        return "REDIS".equalsIgnoreCase(state);
+    }
+
+    /**
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: isRedisAuthoritative
+     */
+    public void markLocked(UUID showtimeId, List<UUID> showtimeSeatIds) {
+        if (isRedisAuthoritative()) {
+            queueAfterCommit(showtimeSeatIds, SeatStatus.LOCKED);
+        } else {
+            showtimeSeatRepo.updateMultipleSeatsStatus(showtimeId, showtimeSeatIds, SeatStatus.LOCKED);
+        }
+    }
+
+    /**
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: isRedisAuthoritative
+     */
+    public void markAvailable(UUID showtimeId, List<UUID> showtimeSeatIds) {
+        if (isRedisAuthoritative()) {
+            queueAfterCommit(showtimeSeatIds, SeatStatus.AVAILABLE);
+        } else {
+            showtimeSeatRepo.updateMultipleSeatsStatus(showtimeId, showtimeSeatIds, SeatStatus.AVAILABLE);
+        }
+    }
+
+    /**
+     * Always synchronous; drops queued changes the booking supersedes
+     */
+    public void markBooked(UUID showtimeId, List<UUID> showtimeSeatIds) {
+        showtimeSeatIds.forEach(pending::remove);
+        showtimeSeatRepo.updateMultipleSeatsStatus(showtimeId, showtimeSeatIds, SeatStatus.BOOKED);
+        seatStateEngine.markBooked(showtimeSeatIds);
+    }
+
+    /**
+     * Book the seats of a seat lock with one guarded UPDATE, whatever the seat
+     * count; returns the number of seats booked, fewer than showtimeSeatIds
+     * when some were already booked (the node-local engine is then left as is)
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: booked == showtimeSeatIds.size
+     */
+    public int markBookedBySeatLock(SeatLock seatLock, List<UUID> showtimeSeatIds) {
+        showtimeSeatIds.forEach(pending::remove);
+        int booked = showtimeSeatRepo.markBookedBySeatLock(seatLock.getId(), seatLock.getCreatedAt(),
+                seatLock.getShowtime().getId());
+        if (booked == showtimeSeatIds.size()) {
+            seatStateEngine.markBooked(showtimeSeatIds);
+        }
+        return booked;
+    }
+
+    /**
+     * Seats of the showtime locked in Redis; always empty in DATABASE state
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: !isRedisAuthoritative
+     */
+    public Set<UUID> lockedSeatIds(UUID showtimeId, Collection<ShowtimeSeat> seats) {
+        if (!isRedisAuthoritative()) {
+            return Set.of();
+        }
+        return redisLockService.findLockedSeats(showtimeId, seats.stream().map(ShowtimeSeat::getId).toList());
+    }
+
+    /**
+     * Status to show and enforce for a seat, given the Redis locks of its
+     * showtime ({@link #lockedSeatIds})
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: BOOKED, locked in Redis, isRedisAuthoritative
+     */
+    public SeatStatus effectiveStatus(ShowtimeSeat seat, Set<UUID> lockedSeatIds) {
+        if (seat.getStatus() == SeatStatus.BOOKED) {
+            return SeatStatus.BOOKED;
+        }
+        if (lockedSeatIds.contains(seat.getId())) {
+            return SeatStatus.LOCKED;
+        }
+        return isRedisAuthoritative() ? SeatStatus.AVAILABLE : seat.getStatus();
+    }
+
+    /**
+     * Write queued status changes, one UPDATE per status and batch
+     * A seat only moves between AVAILABLE and LOCKED here, so a late flush
+     * never overwrites a booking. Each seat is written once with its latest
+     * status: the walk over the queue is weakly consistent, so a seat locked
+     * and released meanwhile is drained twice. LOCKED batches run before
+     * AVAILABLE ones, so a release is never undone by its own lock. Failed
+     * batches are queued again unless the seat changed meanwhile.
+     * Predicate nodes (d): 4 -> V(G) = d + 1 = 5
+     * Nodes: pending.isEmpty, (loop: pending), (loop: statuses), catch
+     */
+    @Scheduled(fixedDelayString = "${booking.lock.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // A later sighting of a seat carries its newer status
+        Map<UUID, SeatStatus> drained = new HashMap<>();
+        for (Map.Entry<UUID, SeatStatus> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                drained.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Map<SeatStatus, List<UUID>> byStatus = new EnumMap<>(SeatStatus.class);
+        drained.forEach((seatId, status) -> byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(seatId));
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        for (SeatStatus status : FLUSH_ORDER) {
+            SeatStatus expected = status == SeatStatus.LOCKED ? SeatStatus.AVAILABLE : SeatStatus.LOCKED;
+            List<UUID> seatIds = byStatus.getOrDefault(status, List.of());
+            for (int from = 0; from < seatIds.size(); from += batchSize) {
+                List<UUID> batch = seatIds.subList(from, Math.min(from + batchSize, seatIds.size()));
+                try {
+                    transaction.executeWithoutResult(
+                            tx -> showtimeSeatRepo.updateMultipleSeatsStatusFrom(batch, expected, status));
+                    flushedSeats.increment(batch.size());
+                } catch (Exception e) {
+                    log.error("Error writing {} seats as {}, retrying on the next flush", batch.size(), status, e);
+                    batch.forEach(seatId -> pending.putIfAbsent(seatId, status));
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        if (isRedisAuthoritative()) {
+            flush();
+        }
+    }
+
+    /**
+     * Recreate the Redis seat locks of live locks that Redis lost
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: !isRedisAuthoritative, (loop: locks)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildLocks() {
+        if (!isRedisAuthoritative()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        List<SeatLock> liveLocks = readOnly.execute(tx -> seatLockRepo.findLiveLocks(now,
+                now.minusMinutes(lockDurationMinutes)));
+
+        int restored = 0;
+        for (SeatLock lock : liveLocks) {
+            long ttlSeconds = Math.max(1, Duration.between(now, lock.getExpiresAt()).getSeconds());
+            UUID showtimeId = lock.getShowtime().getId();
+            List<UUID> seatIds = lock.getSeatLockSeats().stream()
+                    .map(seatLockSeat -> seatLockSeat.getShowtimeSeat().getId())
+                    .toList();
+            // Only seats without a live lock in Redis are written
+            restored += redisLockService.restoreSeatLocks(showtimeId, seatIds, lock.getLockKey(), ttlSeconds);
+        }
+        log.info("Checked {} live seat locks at startup, restored {} Redis seat locks", liveLocks.size(), restored);
+    }
+
+    private void queueAfterCommit(List<UUID> showtimeSeatIds, SeatStatus status) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            showtimeSeatIds.forEach(seatId -> pending.put(seatId, status));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                showtimeSeatIds.forEach(seatId -> pending.put(seatId, status));
+            }
+        });
+    }
+}
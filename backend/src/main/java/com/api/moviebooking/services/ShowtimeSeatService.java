@@ -1,11 +1,16 @@
 package com.api.moviebooking.services;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -18,6 +23,7 @@ import com.api.moviebooking.models.entities.Seat;
 import com.api.moviebooking.models.entities.Showtime;
 import com.api.moviebooking.models.entities.ShowtimeSeat;
 import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.models.enums.SeatType;
 import com.api.moviebooking.repositories.ShowtimeRepo;
 import com.api.moviebooking.repositories.ShowtimeSeatRepo;
 
@@ -33,6 +39,12 @@ public class ShowtimeSeatService {
     private final ShowtimeRepo showtimeRepo;
     private final ShowtimeSeatMapper showtimeSeatMapper;
     private final PriceCalculationService priceCalculationService;
+    private final SeatMaterializationService seatMaterializationService;
+    private final SeatStateService seatStateService;
+    private final SeatStateEngine seatStateEngine;
+
+    @Value("${bulk.write.copy-threshold:2000}")
+    private int copyThreshold;
 
     private ShowtimeSeat findShowtimeSeatById(UUID id) {
         return showtimeSeatRepo.findById(id)
@@ -42,12 +54,23 @@ public class ShowtimeSeatService {
     /**
      * Auto-generate showtime seats when a new showtime is created
      * This should be called by ShowtimeService after creating a showtime
+     * In sparse storage only the seat type prices are stored and no seat is
+     * returned (see {@link SeatMaterializationService})
+     * Predicate nodes (d): 5 -> V(G) = d + 1 = 6
+     * Nodes: showtime.isEmpty, isSparseStorage, roomSeats.isEmpty,
+     * (loop: roomSeats), size >= copyThreshold
      */
     @Transactional
     public List<ShowtimeSeatDataResponse> generateShowtimeSeats(UUID showtimeId) {
         Showtime showtime = showtimeRepo.findById(showtimeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", showtimeId));
 
+        if (seatMaterializationService.isSparseStorage()) {
+            seatMaterializationService.snapshotPrices(showtime);
+            showtimeRepo.save(showtime);
+            return List.of();
+        }
+
         Room room = showtime.getRoom();
         List<Seat> roomSeats = room.getSeats();
 
@@ -56,10 +79,13 @@ public class ShowtimeSeatService {
         }
 
         List<ShowtimeSeat> showtimeSeats = new ArrayList<>();
+        // Prices depend on the seat type only, so each type is priced once
+        Map<SeatType, Object[]> pricesBySeatType = new EnumMap<>(SeatType.class);
 
         for (Seat seat : roomSeats) {
             // Calculate price and get breakdown
-            Object[] priceData = priceCalculationService.calculatePriceWithBreakdown(showtime, seat);
+            Object[] priceData = pricesBySeatType.computeIfAbsent(seat.getSeatType(),
+                    seatType -> priceCalculationService.calculatePriceWithBreakdown(showtime, seat));
             BigDecimal calculatedPrice = (BigDecimal) priceData[0];
             String priceBreakdown = (String) priceData[1];
 
@@ -73,7 +99,14 @@ public class ShowtimeSeatService {
             showtimeSeats.add(showtimeSeat);
         }
 
-        List<ShowtimeSeat> savedSeats = showtimeSeatRepo.saveAll(showtimeSeats);
+        // Batched INSERTs, or COPY for very large rooms
+        List<ShowtimeSeat> savedSeats;
+        if (showtimeSeats.size() >= copyThreshold) {
+            showtimeSeatRepo.copyInsert(showtimeSeats);
+            savedSeats = showtimeSeats;
+        } else {
+            savedSeats = showtimeSeatRepo.saveAllInBatches(showtimeSeats);
+        }
 
         log.info("Generated {} showtime seats for showtime {}", savedSeats.size(), showtimeId);
 
@@ -105,6 +138,8 @@ public class ShowtimeSeatService {
         }
 
         showtimeSeatRepo.save(showtimeSeat);
+        // The database decides again on the next lock request
+        seatStateEngine.markAvailable(List.of(id));
         return showtimeSeatMapper.toDataResponse(showtimeSeat);
     }
 
@@ -119,6 +154,7 @@ public class ShowtimeSeatService {
 
         showtimeSeat.setStatus(SeatStatus.AVAILABLE);
         showtimeSeatRepo.save(showtimeSeat);
+        seatStateEngine.markAvailable(List.of(id));
 
         log.info("Reset showtime seat {} to AVAILABLE", id);
 
@@ -141,37 +177,63 @@ public class ShowtimeSeatService {
      * Nodes: none
      */
     public List<ShowtimeSeatDataResponse> getShowtimeSeatsByShowtime(UUID showtimeId) {
-        List<ShowtimeSeat> seats = showtimeSeatRepo.findByShowtimeId(showtimeId);
+        List<ShowtimeSeat> seats = new ArrayList<>(showtimeSeatRepo.findByShowtimeIdWithSeat(showtimeId));
+        seats.addAll(seatMaterializationService.unmaterializedSeats(showtimeId, seats));
+        Set<UUID> redisLocked = seatStateService.lockedSeatIds(showtimeId, seats);
         return seats.stream()
-                .map(showtimeSeatMapper::toDataResponse)
+                .map(seat -> toDataResponse(seat, redisLocked))
                 .collect(Collectors.toList());
     }
 
     /**
      * Get available seats for a showtime (API: GET
      * /showtime-seats/showtime/{showtimeId}/available)
-     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
-     * Nodes: none
+     * With Redis-authoritative seat state the status column may lag, so every
+     * seat is loaded and filtered on its effective status. All rows are only
+     * needed to tell the seats without a row of a sparse showtime, so they are
+     * read for sparse showtimes only
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: isRedisAuthoritative, isSparse
      */
     public List<ShowtimeSeatDataResponse> getAvailableShowtimeSeats(UUID showtimeId) {
-        List<ShowtimeSeat> seats = showtimeSeatRepo.findByShowtimeIdAndStatus(showtimeId, SeatStatus.AVAILABLE);
+        if (seatStateService.isRedisAuthoritative()) {
+            return getShowtimeSeatsByShowtime(showtimeId).stream()
+                    .filter(seat -> seat.getStatus() == SeatStatus.AVAILABLE)
+                    .collect(Collectors.toList());
+        }
+
+        List<ShowtimeSeat> seats = new ArrayList<>(
+                showtimeSeatRepo.findByShowtimeIdAndStatus(showtimeId, SeatStatus.AVAILABLE));
+        Showtime showtime = seatMaterializationService.showtimeOf(showtimeId, seats);
+        if (seatMaterializationService.isSparse(showtime)) {
+            seats.addAll(seatMaterializationService.unmaterializedSeats(showtime,
+                    showtimeSeatRepo.findByShowtimeIdWithSeat(showtimeId)));
+        }
         return seats.stream()
                 .map(showtimeSeatMapper::toDataResponse)
                 .collect(Collectors.toList());
     }
 
+    private ShowtimeSeatDataResponse toDataResponse(ShowtimeSeat seat, Set<UUID> redisLocked) {
+        ShowtimeSeatDataResponse response = showtimeSeatMapper.toDataResponse(seat);
+        response.setStatus(seatStateService.effectiveStatus(seat, redisLocked));
+        return response;
+    }
+
     /**
      * Recalculate prices for all seats in a showtime (API: POST
      * /showtime-seats/showtime/{showtimeId}/recalculate-prices)
-     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
-     * Nodes: findById (for showtime)
+     * Seats of a sparse showtime without a row are repriced through its seat
+     * type prices
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: findById (for showtime), sparse showtime
      */
     @Transactional
     public List<ShowtimeSeatDataResponse> recalculatePrices(UUID showtimeId) {
         Showtime showtime = showtimeRepo.findById(showtimeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", showtimeId));
 
-        List<ShowtimeSeat> showtimeSeats = showtimeSeatRepo.findByShowtimeId(showtimeId);
+        List<ShowtimeSeat> showtimeSeats = showtimeSeatRepo.findByShowtimeIdWithSeat(showtimeId);
 
         for (ShowtimeSeat showtimeSeat : showtimeSeats) {
             Object[] priceData = priceCalculationService.calculatePriceWithBreakdown(showtime, showtimeSeat.getSeat());
@@ -182,7 +244,13 @@ public class ShowtimeSeatService {
             showtimeSeat.setPriceBreakdown(priceBreakdown);
         }
 
-        List<ShowtimeSeat> updatedSeats = showtimeSeatRepo.saveAll(showtimeSeats);
+        List<ShowtimeSeat> updatedSeats = new ArrayList<>(showtimeSeatRepo.saveAll(showtimeSeats));
+
+        if (showtime.getSeatPrices() != null) {
+            seatMaterializationService.snapshotPrices(showtime);
+            showtimeRepo.save(showtime);
+            updatedSeats.addAll(seatMaterializationService.unmaterializedSeats(showtime, updatedSeats));
+        }
 
         log.info("Recalculated prices for {} seats in showtime {}", updatedSeats.size(), showtimeId);
 
@@ -203,4 +271,17 @@ public class ShowtimeSeatService {
         showtimeSeatRepo.deleteAll(showtimeSeats);
         log.info("Deleted {} showtime seats for showtime {}", showtimeSeats.size(), showtimeId);
     }
+
+    /**
+     * Move the seats of a rescheduled showtime to the showtime_seats partition
+     * of its new start time
+     * Used internally when a showtime's start time changes
+     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
+     * Nodes: none
+     */
+    @Transactional
+    public void rescheduleShowtimeSeats(UUID showtimeId, LocalDateTime startTime) {
+        int moved = showtimeSeatRepo.updateShowtimeStart(showtimeId, startTime);
+        log.info("Moved {} showtime seats of showtime {} to start time {}", moved, showtimeId, startTime);
+    }
 }
@@ -1,16 +1,24 @@
 package com.api.moviebooking.services;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.api.moviebooking.configs.CatalogCacheConfig;
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.exceptions.EntityDeletionForbiddenException;
 import com.api.moviebooking.helpers.mapstructs.ShowtimeMapper;
+import com.api.moviebooking.helpers.utils.CursorUtils;
+import com.api.moviebooking.models.dtos.CursorPage;
 import com.api.moviebooking.models.dtos.showtime.AddShowtimeRequest;
 import com.api.moviebooking.models.dtos.showtime.ShowtimeDataResponse;
 import com.api.moviebooking.models.dtos.showtime.UpdateShowtimeRequest;
@@ -95,6 +103,11 @@ public class ShowtimeService {
      * Minimum test cases: 1
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.SHOWTIMES, allEntries = true)
+    })
     public ShowtimeDataResponse addShowtime(AddShowtimeRequest request) {
         Room room = findRoomById(request.getRoomId());
         Movie movie = findMovieById(request.getMovieId());
@@ -113,7 +126,7 @@ public class ShowtimeService {
 
     /**
      * Update showtime details (API: PUT /showtimes/{showtimeId})
-     * Predicate nodes (d): 9 -> V(G)=d+1=10
+     * Predicate nodes (d): 10 -> V(G)=d+1=11
      * Nodes:
      * - request.getRoomId() != null (ternary)
      * - request.getMovieId() != null (ternary)
@@ -123,9 +136,16 @@ public class ShowtimeService {
      * - request.getRoomId() != null
      * - request.getMovieId() != null
      * - request.getFormat() != null
+     * - !newStartTime.equals (seats follow to the new month's partition)
      * - request.getStartTime() != null
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, key = "#showtimeId")
+    })
     public ShowtimeDataResponse updateShowtime(UUID showtimeId, UpdateShowtimeRequest request) {
         Showtime showtime = findShowtimeById(showtimeId);
 
@@ -154,6 +174,9 @@ public class ShowtimeService {
         if (request.getFormat() != null) {
             showtime.setFormat(request.getFormat());
         }
+        if (!newStartTime.equals(showtime.getStartTime())) {
+            showtimeSeatService.rescheduleShowtimeSeats(showtimeId, newStartTime);
+        }
         if (request.getStartTime() != null) {
             showtime.setStartTime(request.getStartTime());
         }
@@ -169,6 +192,12 @@ public class ShowtimeService {
      * anyMatch(seat -> seat.getStatus() != AVAILABLE)
      */
     @Transactional
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.MOVIE_LISTS, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.SHOWTIMES, allEntries = true),
+            @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, key = "#showtimeId")
+    })
     public void deleteShowtime(UUID showtimeId) {
         Showtime showtime = findShowtimeById(showtimeId);
 
@@ -202,20 +231,35 @@ public class ShowtimeService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findShowtimeById
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.SHOWTIMES, key = "#showtimeId", sync = true)
     public ShowtimeDataResponse getShowtime(UUID showtimeId) {
         Showtime showtime = findShowtimeById(showtimeId);
         return showtimeMapper.toDataResponse(showtime);
     }
 
     /**
-     * Get all showtimes (API: GET /showtimes)
-     * Predicate nodes (d): 0 -> V(G) = d + 1 = 1
-     * Nodes: none
+     * Get all showtimes (API: GET /showtimes), keyset-paginated by (startTime, id)
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: cursor==null
      */
-    public List<ShowtimeDataResponse> getAllShowtimes() {
-        return showtimeRepo.findAll().stream()
-                .map(showtimeMapper::toDataResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPage<ShowtimeDataResponse> getAllShowtimes(String cursor, Integer limit) {
+        int pageSize = CursorUtils.normalizeLimit(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<Showtime> rows;
+        if (cursor == null) {
+            rows = showtimeRepo.findPage(fetch);
+        } else {
+            String[] parts = CursorUtils.decode(cursor, 2);
+            try {
+                rows = showtimeRepo.findPageAfter(LocalDateTime.parse(parts[0]), UUID.fromString(parts[1]), fetch);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        return CursorPage.of(rows, pageSize, s -> CursorUtils.encode(s.getStartTime(), s.getId()),
+                showtimeMapper::toDataResponse);
     }
 
     /**
@@ -223,6 +267,8 @@ public class ShowtimeService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findMovieById
      */
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CatalogCacheConfig.SHOWTIMES, key = "'movie:' + #movieId", sync = true)
     public List<ShowtimeDataResponse> getShowtimesByMovie(UUID movieId) {
         // Verify movie exists
         findMovieById(movieId);
@@ -238,6 +284,7 @@ public class ShowtimeService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findMovieById
      */
+    @Transactional(readOnly = true)
     public List<ShowtimeDataResponse> getUpcomingShowtimesByMovie(UUID movieId) {
         // Verify movie exists
         findMovieById(movieId);
@@ -252,6 +299,7 @@ public class ShowtimeService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findRoomById
      */
+    @Transactional(readOnly = true)
     public List<ShowtimeDataResponse> getShowtimesByRoom(UUID roomId) {
         // Verify room exists
         findRoomById(roomId);
@@ -267,6 +315,7 @@ public class ShowtimeService {
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
      * Nodes: findMovieById
      */
+    @Transactional(readOnly = true)
     public List<ShowtimeDataResponse> getShowtimesByMovieAndDateRange(UUID movieId, LocalDateTime startDate,
             LocalDateTime endDate) {
         // Verify movie exists
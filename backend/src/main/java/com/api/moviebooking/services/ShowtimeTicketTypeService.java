@@ -4,9 +4,11 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.api.moviebooking.configs.CatalogCacheConfig;
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.models.entities.Showtime;
 import com.api.moviebooking.models.entities.ShowtimeTicketType;
@@ -31,6 +33,7 @@ public class ShowtimeTicketTypeService {
      * Assign a ticket type to a showtime
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, key = "#showtimeId")
     public void assignTicketTypeToShowtime(UUID showtimeId, UUID ticketTypeId) {
         Showtime showtime = showtimeRepo.findById(showtimeId)
                 .orElseThrow(() -> new ResourceNotFoundException("Showtime", "id", showtimeId));
@@ -57,6 +60,7 @@ public class ShowtimeTicketTypeService {
      * Assign multiple ticket types to a showtime
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, key = "#showtimeId")
     public void assignTicketTypesToShowtime(UUID showtimeId, List<UUID> ticketTypeIds) {
         for (UUID ticketTypeId : ticketTypeIds) {
             assignTicketTypeToShowtime(showtimeId, ticketTypeId);
@@ -67,6 +71,7 @@ public class ShowtimeTicketTypeService {
      * Remove a ticket type assignment from a showtime
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, key = "#showtimeId")
     public void removeTicketTypeFromShowtime(UUID showtimeId, UUID ticketTypeId) {
         List<ShowtimeTicketType> assignments = showtimeTicketTypeRepo.findActiveTicketTypesByShowtime(showtimeId)
                 .stream()
@@ -104,6 +109,7 @@ public class ShowtimeTicketTypeService {
      * Replace all ticket type assignments for a showtime
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, key = "#showtimeId")
     public void replaceTicketTypesForShowtime(UUID showtimeId, List<UUID> ticketTypeIds) {
         // Verify showtime exists
         showtimeRepo.findById(showtimeId)
@@ -5,9 +5,11 @@ import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.api.moviebooking.configs.CatalogCacheConfig;
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.mapstructs.TicketTypeMapper;
 import com.api.moviebooking.models.dtos.ticketType.CreateTicketTypeRequest;
@@ -210,6 +212,7 @@ public class TicketTypeService {
      * Minimum test cases: 7
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, allEntries = true)
     public TicketTypeResponse updateTicketType(UUID id, UpdateTicketTypeRequest request) {
         TicketType ticketType = ticketTypeRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TicketType", "id", id));
@@ -250,6 +253,7 @@ public class TicketTypeService {
      * Minimum test cases: 4
      */
     @Transactional
+    @CacheEvict(cacheNames = CatalogCacheConfig.BOOKING_CONTEXTS, allEntries = true)
     public void deleteTicketType(UUID id) {
         TicketType ticketType = ticketTypeRepo.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("TicketType", "id", id));
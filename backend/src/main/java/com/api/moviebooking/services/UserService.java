@@ -6,8 +6,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -18,6 +18,8 @@ import org.springframework.stereotype.Service;
 
 import com.api.moviebooking.helpers.exceptions.EntityDeletionForbiddenException;
 import com.api.moviebooking.helpers.mapstructs.UserMapper;
+import com.api.moviebooking.helpers.utils.CursorUtils;
+import com.api.moviebooking.models.dtos.CursorPage;
 import com.api.moviebooking.models.dtos.auth.LoginRequest;
 import com.api.moviebooking.models.dtos.auth.LoginResponse;
 import com.api.moviebooking.models.dtos.auth.RegisterRequest;
@@ -306,14 +308,17 @@ public class UserService {
     }
 
     /**
-     * Get all users (Admin)
+     * Get all users (Admin), keyset-paginated by id
      * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
-     * Nodes: for-each loop (stream)
+     * Nodes: cursor==null
      */
-    public List<UserProfileResponse> getAllUsers() {
-        return userRepo.findAll().stream()
-                .map(userMapper::toUserProfileResponse)
-                .collect(Collectors.toList());
+    public CursorPage<UserProfileResponse> getAllUsers(String cursor, Integer limit) {
+        int pageSize = CursorUtils.normalizeLimit(limit);
+        Limit fetch = Limit.of(pageSize + 1);
+        List<User> rows = cursor == null
+                ? userRepo.findPage(fetch)
+                : userRepo.findPageAfter(CursorUtils.decodeId(cursor), fetch);
+        return CursorPage.of(rows, pageSize, u -> CursorUtils.encode(u.getId()), userMapper::toUserProfileResponse);
     }
 
     /**
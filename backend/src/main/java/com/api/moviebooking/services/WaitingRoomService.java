@@ -0,0 +1,409 @@
+package com.api.moviebooking.services;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.api.moviebooking.helpers.exceptions.AdmissionRequiredException;
+import com.api.moviebooking.helpers.exceptions.ServiceOverloadedException;
+import com.api.moviebooking.helpers.utils.SignedTokenUtils;
+import com.api.moviebooking.models.dtos.SessionContext;
+import com.api.moviebooking.models.dtos.booking.WaitingRoomStatusResponse;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.models.enums.WaitingRoomStatus;
+import com.api.moviebooking.repositories.SeatRepo;
+import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Virtual waiting room in front of POST /seat-locks for hot showtimes
+ *
+ * An admin puts a showtime in hot mode before it goes on sale. Sessions then
+ * join its queue (a Redis sorted set scored by arrival number) and poll their
+ * position; every admit-interval-ms each node runs one Lua script that moves
+ * the head of the queue to the admitted set. Admissions accrue at
+ * admit-per-second across all nodes (the script keeps the clock in Redis),
+ * and the admitted sessions never outnumber the seats still available times
+ * seat-factor, so no more users reach the database than can still get a
+ * seat.
+ *
+ * An admitted session polls once more to get a signed admission ticket
+ * (showtime, owner, expiry; signed like the seat lock token) and sends it as
+ * X-Admission-Ticket with its lock request. Hot mode is read from a node-local
+ * copy refreshed on every admission tick. A successful lock frees the
+ * admission slot and so uses up the ticket: a lock request is only let through
+ * while the session still holds its slot, one ZSCORE besides the signature
+ * check. A ticket not used within ticket-ttl-seconds lapses and the session
+ * has to join again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class WaitingRoomService {
+
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final RedisLockService redisLockService;
+    private final SeatRepo seatRepo;
+    private final ShowtimeSeatRepo showtimeSeatRepo;
+
+    private static final String HOT_SHOWTIMES_KEY = "waitroom:hot";
+    private static final String WAITING_ROOM_PREFIX = "waitroom:";
+    private static final long KEY_TTL_MILLIS = 24 * 60 * 60 * 1000L;
+
+    private static final RedisSerializer<String> STRING = RedisSerializer.string();
+    private static final RedisSerializer<Long> LONG = new GenericToStringSerializer<>(Long.class);
+    // Multi-bulk script replies are deserialized element by element
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final RedisSerializer<List<String>> STRING_LIST = (RedisSerializer) RedisSerializer.string();
+
+    // KEYS: queue, admitted, arrival counter; ARGV: owner, join (1/0), key ttl millis
+    // Returns ADMITTED + ticket expiry, or WAITING / NOT_QUEUED + position + queue length.
+    // Sessions are scored by arrival number, so arrivals in the same millisecond keep their order
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static final RedisScript<List<String>> STATUS = (RedisScript) RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local expiry = redis.call('ZSCORE', KEYS[2], ARGV[1])
+            if expiry and tonumber(expiry) > now then
+                return {'ADMITTED', expiry}
+            end
+            if ARGV[2] == '1' and not redis.call('ZSCORE', KEYS[1], ARGV[1]) then
+                redis.call('ZADD', KEYS[1], redis.call('INCR', KEYS[3]), ARGV[1])
+                redis.call('PEXPIRE', KEYS[1], ARGV[3])
+                redis.call('PEXPIRE', KEYS[3], ARGV[3])
+            end
+            local rank = redis.call('ZRANK', KEYS[1], ARGV[1])
+            local size = redis.call('ZCARD', KEYS[1])
+            if not rank then
+                return {'NOT_QUEUED', '0', tostring(size)}
+            end
+            return {'WAITING', tostring(rank + 1), tostring(size)}
+            """, List.class);
+
+    // KEYS: queue, admitted, admission clock; ARGV: admissions per second,
+    // capacity, ticket ttl millis, key ttl millis
+    // Admissions accrue from the clock at the rate, at most one second's worth
+    // (or one admission at rates below one per second); returns how many were admitted
+    private static final RedisScript<Long> ADMIT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', now)
+            local rate = tonumber(ARGV[1])
+            local window = math.max(1000, 1000 / rate)
+            local last = tonumber(redis.call('GET', KEYS[3]) or 0)
+            if last < now - window then
+                last = now - window
+            end
+            local accrued = math.floor((now - last) * rate / 1000)
+            if accrued < 1 then
+                return 0
+            end
+            local slots = math.min(accrued, tonumber(ARGV[2]) - redis.call('ZCARD', KEYS[2]))
+            local popped = {}
+            if slots > 0 then
+                popped = redis.call('ZPOPMIN', KEYS[1], slots)
+            end
+            for i = 1, #popped, 2 do
+                redis.call('ZADD', KEYS[2], now + tonumber(ARGV[3]), popped[i])
+            end
+            local admitted = #popped / 2
+            if admitted == accrued then
+                last = last + admitted * 1000 / rate
+            else
+                last = now
+            end
+            redis.call('SET', KEYS[3], string.format('%d', last), 'PX', ARGV[4])
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            return admitted
+            """, Long.class);
+
+    // KEYS: admitted; ARGV: owner
+    // Returns 1 while the session holds an unexpired admission slot
+    private static final RedisScript<Long> HOLDS_SLOT = RedisScript.of("""
+            local time = redis.call('TIME')
+            local now = time[1] * 1000 + math.floor(time[2] / 1000)
+            local expiry = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if expiry and tonumber(expiry) > now then
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    // KEYS: admitted; ARGV: owner
+    private static final RedisScript<Long> LEAVE = RedisScript.of("return redis.call('ZREM', KEYS[1], ARGV[1])",
+            Long.class);
+
+    @Value("${booking.waiting-room.admit-per-second:50}")
+    private double admitPerSecond;
+
+    @Value("${booking.waiting-room.seat-factor:1.5}")
+    private double seatFactor;
+
+    @Value("${booking.waiting-room.ticket-ttl-seconds:120}")
+    private long ticketTtlSeconds;
+
+    @Value("${booking.waiting-room.ticket.secret:${jwt.secret}}")
+    private String secret;
+
+    // Node-local copy of the hot showtimes, refreshed on every admission tick
+    private volatile Set<UUID> hotShowtimes = Set.of();
+
+    public record AdmissionTicket(UUID showtimeId, String lockOwnerId, LocalDateTime expiresAt) {
+    }
+
+    /**
+     * Whether lock requests for the showtime need an admission ticket
+     */
+    public boolean isHot(UUID showtimeId) {
+        return hotShowtimes.contains(showtimeId);
+    }
+
+    /**
+     * Put a showtime in hot mode
+     */
+    public void enable(UUID showtimeId) {
+        redisTemplate.opsForSet().add(HOT_SHOWTIMES_KEY, showtimeId.toString());
+        Set<UUID> hot = new HashSet<>(hotShowtimes);
+        hot.add(showtimeId);
+        hotShowtimes = Set.copyOf(hot);
+        log.info("Waiting room enabled for showtime {}", showtimeId);
+    }
+
+    /**
+     * Take a showtime out of hot mode and drop its queue
+     */
+    public void disable(UUID showtimeId) {
+        redisTemplate.opsForSet().remove(HOT_SHOWTIMES_KEY, showtimeId.toString());
+        redisTemplate.delete(List.of(queueKey(showtimeId), admittedKey(showtimeId), clockKey(showtimeId),
+                arrivalsKey(showtimeId)));
+        Set<UUID> hot = new HashSet<>(hotShowtimes);
+        hot.remove(showtimeId);
+        hotShowtimes = Set.copyOf(hot);
+        log.info("Waiting room disabled for showtime {}", showtimeId);
+    }
+
+    /**
+     * Queue position of the session, joining the queue when asked; carries a
+     * fresh admission ticket once the session is admitted
+     * Predicate nodes (d): 4 -> V(G) = d + 1 = 5
+     * Nodes: !isHot, catch, ADMITTED, WAITING
+     */
+    public WaitingRoomStatusResponse getStatus(UUID showtimeId, SessionContext session, boolean join) {
+        if (!isHot(showtimeId)) {
+            return WaitingRoomStatusResponse.builder()
+                    .showtimeId(showtimeId)
+                    .status(WaitingRoomStatus.NOT_REQUIRED)
+                    .build();
+        }
+
+        List<String> reply;
+        try {
+            reply = redisTemplate.execute(STATUS, STRING, STRING_LIST,
+                    List.of(queueKey(showtimeId), admittedKey(showtimeId), arrivalsKey(showtimeId)),
+                    session.getLockOwnerId(), join ? "1" : "0", Long.toString(KEY_TTL_MILLIS));
+        } catch (Exception e) {
+            log.error("Error reading waiting room of showtime: {}", showtimeId, e);
+            throw new ServiceOverloadedException("Waiting room is temporarily unavailable, please retry", 1);
+        }
+
+        WaitingRoomStatus status = WaitingRoomStatus.valueOf(reply.get(0));
+        if (status == WaitingRoomStatus.ADMITTED) {
+            LocalDateTime expiresAt = toLocalDateTime(Double.valueOf(reply.get(1)).longValue());
+            return WaitingRoomStatusResponse.builder()
+                    .showtimeId(showtimeId)
+                    .status(status)
+                    .admissionTicket(issueTicket(new AdmissionTicket(showtimeId, session.getLockOwnerId(), expiresAt)))
+                    .ticketExpiresAt(expiresAt)
+                    .build();
+        }
+
+        long position = Long.parseLong(reply.get(1));
+        WaitingRoomStatusResponse.WaitingRoomStatusResponseBuilder response = WaitingRoomStatusResponse.builder()
+                .showtimeId(showtimeId)
+                .status(status)
+                .queueLength(Long.parseLong(reply.get(2)));
+        if (status == WaitingRoomStatus.WAITING) {
+            response.position(position)
+                    .estimatedWaitSeconds((long) Math.ceil(position / admitPerSecond));
+        }
+        return response.build();
+    }
+
+    /**
+     * Check the admission ticket of a lock request; a no-op unless the
+     * showtime is hot
+     * Predicate nodes (d): 6 -> V(G) = d + 1 = 7
+     * Nodes: !isHot, catch, showtime/owner mismatch, expired, catch (Redis),
+     * slot freed
+     *
+     * @throws AdmissionRequiredException if the ticket is missing, invalid,
+     *                                    issued to another session or showtime,
+     *                                    expired or already used by a lock
+     */
+    public void requireAdmission(UUID showtimeId, SessionContext session, String ticket) {
+        if (!isHot(showtimeId)) {
+            return;
+        }
+        AdmissionTicket admission;
+        try {
+            admission = verifyTicket(ticket);
+        } catch (IllegalArgumentException e) {
+            throw new AdmissionRequiredException();
+        }
+        if (!admission.showtimeId().equals(showtimeId)
+                || !admission.lockOwnerId().equals(session.getLockOwnerId())) {
+            throw new AdmissionRequiredException("Admission ticket was issued for another showtime or session");
+        }
+        if (!admission.expiresAt().isAfter(LocalDateTime.now())) {
+            throw new AdmissionRequiredException("Admission ticket expired, please join the queue again");
+        }
+
+        Long holdsSlot;
+        try {
+            holdsSlot = redisTemplate.execute(HOLDS_SLOT, STRING, LONG, List.of(admittedKey(showtimeId)),
+                    session.getLockOwnerId());
+        } catch (Exception e) {
+            log.error("Error checking admission slot of showtime: {}", showtimeId, e);
+            throw new ServiceOverloadedException("Waiting room is temporarily unavailable, please retry", 1);
+        }
+        // completeAdmission frees the slot once the seats are locked
+        if (holdsSlot == null || holdsSlot == 0) {
+            throw new AdmissionRequiredException("Admission ticket was already used, please join the queue again");
+        }
+    }
+
+    /**
+     * Free the admission slot of a session whose seats are now locked, which
+     * uses up its ticket
+     * Predicate nodes (d): 2 -> V(G) = d + 1 = 3
+     * Nodes: !isHot, catch
+     */
+    public void completeAdmission(UUID showtimeId, SessionContext session) {
+        if (!isHot(showtimeId)) {
+            return;
+        }
+        try {
+            redisTemplate.execute(LEAVE, STRING, LONG, List.of(admittedKey(showtimeId)), session.getLockOwnerId());
+        } catch (Exception e) {
+            // The slot frees itself when the ticket expires
+            log.warn("Error freeing admission slot of showtime: {}", showtimeId, e);
+        }
+    }
+
+    /**
+     * Refresh the hot showtimes and admit the next sessions of each
+     * Predicate nodes (d): 3 -> V(G) = d + 1 = 4
+     * Nodes: catch (refresh), (loop: hotShowtimes), catch (admit)
+     */
+    @Scheduled(fixedDelayString = "${booking.waiting-room.admit-interval-ms:1000}")
+    public void admitNext() {
+        try {
+            Set<Object> members = redisTemplate.opsForSet().members(HOT_SHOWTIMES_KEY);
+            Set<UUID> hot = new HashSet<>();
+            if (members != null) {
+                members.forEach(member -> hot.add(UUID.fromString(member.toString())));
+            }
+            hotShowtimes = Set.copyOf(hot);
+        } catch (Exception e) {
+            log.error("Error refreshing hot showtimes, keeping the last known ones", e);
+        }
+
+        for (UUID showtimeId : hotShowtimes) {
+            try {
+                admit(showtimeId);
+            } catch (Exception e) {
+                log.error("Error admitting from the waiting room of showtime: {}", showtimeId, e);
+            }
+        }
+    }
+
+    /**
+     * Admit the sessions at the head of the showtime's queue, as many as the
+     * rate and the seats still available allow
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: admitted > 0
+     */
+    public long admit(UUID showtimeId) {
+        long capacity = (long) Math.floor(availableSeats(showtimeId) * seatFactor);
+        Long admitted = redisTemplate.execute(ADMIT, STRING, LONG,
+                List.of(queueKey(showtimeId), admittedKey(showtimeId), clockKey(showtimeId)),
+                Double.toString(admitPerSecond), Long.toString(capacity),
+                Long.toString(ticketTtlSeconds * 1000), Long.toString(KEY_TTL_MILLIS));
+        long count = admitted == null ? 0 : admitted;
+        if (count > 0) {
+            log.debug("Admitted {} sessions to showtime {}", count, showtimeId);
+        }
+        return count;
+    }
+
+    /**
+     * Seats of the showtime neither booked nor holding a live lock
+     */
+    long availableSeats(UUID showtimeId) {
+        long taken = showtimeSeatRepo.countByShowtimeIdAndStatus(showtimeId, SeatStatus.BOOKED)
+                + redisLockService.findLockedSeats(showtimeId).size();
+        return Math.max(0, seatRepo.countByShowtimeId(showtimeId) - taken);
+    }
+
+    /**
+     * Sign an admission ticket with payload showtime:owner:expiry
+     */
+    public String issueTicket(AdmissionTicket admission) {
+        String claims = admission.showtimeId() + ":" + admission.lockOwnerId() + ":"
+                + admission.expiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return SignedTokenUtils.sign(secret, claims.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Check the signature and decode the ticket, without checking expiry
+     * Predicate nodes (d): 1 -> V(G) = d + 1 = 2
+     * Nodes: wrong field count
+     *
+     * @throws IllegalArgumentException if the ticket is malformed or not signed
+     *                                  by this service
+     */
+    public AdmissionTicket verifyTicket(String ticket) {
+        String[] claims = new String(SignedTokenUtils.verify(secret, ticket), StandardCharsets.UTF_8).split(":");
+        if (claims.length != 3) {
+            throw new IllegalArgumentException("Invalid admission ticket");
+        }
+        return new AdmissionTicket(UUID.fromString(claims[0]), claims[1],
+                toLocalDateTime(Long.parseLong(claims[2])));
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    // The {showtimeId} hash tag keeps the keys of a showtime on one cluster slot
+    private static String queueKey(UUID showtimeId) {
+        return WAITING_ROOM_PREFIX + "{" + showtimeId + "}:queue";
+    }
+
+    private static String admittedKey(UUID showtimeId) {
+        return WAITING_ROOM_PREFIX + "{" + showtimeId + "}:admitted";
+    }
+
+    private static String clockKey(UUID showtimeId) {
+        return WAITING_ROOM_PREFIX + "{" + showtimeId + "}:clock";
+    }
+
+    private static String arrivalsKey(UUID showtimeId) {
+        return WAITING_ROOM_PREFIX + "{" + showtimeId + "}:arrivals";
+    }
+}
@@ -0,0 +1,409 @@
+-- Baseline schema, equivalent to what Hibernate generated from the entities
+-- before migrations were introduced. Databases created by ddl-auto are
+-- baselined at this version (spring.flyway.baseline-on-migrate) and only
+-- apply later migrations.
+
+create table booking_promotions (
+    applied_at timestamp(6) not null,
+    booking_id uuid not null,
+    promotion_id uuid not null,
+    primary key (booking_id, promotion_id)
+);
+
+create table booking_seats (
+    price numeric(10,2) not null,
+    booking_id uuid not null,
+    id uuid not null,
+    showtime_seat_id uuid not null,
+    ticket_type_applied_id uuid not null,
+    primary key (id)
+);
+
+create table booking_snacks (
+    quantity integer not null,
+    booking_id uuid not null,
+    id uuid not null,
+    snack_id uuid not null,
+    primary key (id)
+);
+
+create table bookings (
+    discount_value numeric(10,2),
+    final_price numeric(10,2) not null,
+    loyalty_points_awarded boolean not null,
+    refunded boolean not null,
+    total_price numeric(10,2) not null,
+    booked_at timestamp(6) not null,
+    payment_expires_at timestamp(6),
+    refunded_at timestamp(6),
+    id uuid not null,
+    showtime_id uuid not null,
+    user_id uuid not null,
+    discount_reason varchar(255),
+    qr_code varchar(255),
+    qr_payload TEXT,
+    refund_reason varchar(255),
+    status varchar(255) not null check (status in ('PENDING_PAYMENT','CONFIRMED','CANCELLED','EXPIRED','REFUND_PENDING','REFUNDED')),
+    primary key (id)
+);
+
+create table cinemas (
+    id uuid not null,
+    address varchar(255) not null,
+    hotline varchar(255),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table membership_tiers (
+    discount_value numeric(10,2),
+    is_active boolean not null,
+    min_points integer not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    description TEXT,
+    discount_type varchar(255) check (discount_type in ('PERCENTAGE','FIXED_AMOUNT')),
+    name varchar(255) not null unique,
+    primary key (id)
+);
+
+create table movies (
+    duration integer not null,
+    minimum_age integer not null,
+    id uuid not null,
+    actors TEXT,
+    description TEXT,
+    director varchar(255),
+    genre varchar(255),
+    language varchar(255),
+    poster_cloudinary_id varchar(255),
+    poster_url TEXT,
+    status varchar(255) not null check (status in ('SHOWING','UPCOMING')),
+    title varchar(255) not null,
+    trailer_url TEXT,
+    primary key (id)
+);
+
+create table payments (
+    amount numeric(10,2) not null,
+    exchange_rate numeric(19,8),
+    gateway_amount numeric(10,2),
+    completed_at timestamp(6),
+    created_at timestamp(6) not null,
+    booking_id uuid not null unique,
+    id uuid not null,
+    currency varchar(255) not null,
+    error_message TEXT,
+    gateway_currency varchar(255),
+    method varchar(255) not null check (method in ('PAYPAL','MOMO')),
+    status varchar(255) not null check (status in ('PENDING','SUCCESS','FAILED','REFUND_PENDING','REFUNDED','REFUND_FAILED')),
+    transaction_id varchar(255),
+    primary key (id)
+);
+
+create table price_base (
+    base_price numeric(10,2) not null,
+    is_active boolean not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table price_modifiers (
+    is_active boolean not null,
+    modifier_value numeric(10,2) not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    condition_type varchar(255) not null check (condition_type in ('DAY_TYPE','TIME_RANGE','FORMAT','ROOM_TYPE','SEAT_TYPE','TICKET_TYPE')),
+    condition_value varchar(255) not null,
+    modifier_type varchar(255) not null check (modifier_type in ('PERCENTAGE','FIXED_AMOUNT')),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table promotions (
+    discount_value numeric(10,2) not null,
+    is_active boolean not null,
+    per_user_limit integer,
+    usage_limit integer,
+    created_at timestamp(6) not null,
+    end_date timestamp(6) not null,
+    start_date timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    code varchar(255) not null unique,
+    description TEXT,
+    discount_type varchar(255) not null check (discount_type in ('PERCENTAGE','FIXED_AMOUNT')),
+    name varchar(255) not null,
+    primary key (id)
+);
+
+create table refresh_tokens (
+    created_at timestamp(6) not null,
+    revoked_at timestamp(6),
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    user_id uuid not null,
+    token varchar(255) not null unique,
+    primary key (id)
+);
+
+create table refunds (
+    amount numeric(10,2) not null,
+    created_at timestamp(6) not null,
+    refunded_at timestamp(6),
+    id uuid not null,
+    payment_id uuid not null,
+    reason TEXT,
+    refund_gateway_txn_id varchar(255),
+    refund_method varchar(255),
+    primary key (id)
+);
+
+create table rooms (
+    room_number integer not null,
+    cinema_id uuid not null,
+    id uuid not null,
+    room_type varchar(255),
+    primary key (id)
+);
+
+create table seat_lock_seats (
+    price numeric(10,2) not null,
+    id uuid not null,
+    seat_lock_id uuid not null,
+    showtime_seat_id uuid not null,
+    ticket_type_id uuid not null,
+    primary key (id)
+);
+
+create table seat_locks (
+    active boolean not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    id uuid not null,
+    showtime_id uuid not null,
+    user_id uuid,
+    lock_key varchar(255) not null unique,
+    lock_owner_id varchar(255) not null,
+    lock_owner_type varchar(255) not null check (lock_owner_type in ('USER','GUEST_SESSION')),
+    primary key (id)
+);
+
+create table seats (
+    seat_number integer not null,
+    id uuid not null,
+    room_id uuid not null,
+    row_label varchar(255) not null,
+    seat_type varchar(255) not null check (seat_type in ('NORMAL','VIP','COUPLE')),
+    primary key (id)
+);
+
+create table showtime_seats (
+    price numeric(10,2) not null,
+    id uuid not null,
+    seat_id uuid not null,
+    showtime_id uuid not null,
+    status varchar(255) not null check (status in ('AVAILABLE','LOCKED','BOOKED')),
+    price_breakdown jsonb,
+    primary key (id)
+);
+
+create table showtime_ticket_types (
+    active boolean not null,
+    created_at timestamp(6) not null,
+    id uuid not null,
+    showtime_id uuid not null,
+    ticket_type_id uuid not null,
+    primary key (id)
+);
+
+create table showtimes (
+    start_time timestamp(6) not null,
+    id uuid not null,
+    movie_id uuid not null,
+    room_id uuid not null,
+    format varchar(255),
+    primary key (id)
+);
+
+create table snacks (
+    price numeric(10,2) not null,
+    cinema_id uuid not null,
+    id uuid not null,
+    description TEXT,
+    image_cloudinary_id varchar(255),
+    image_url TEXT,
+    name varchar(255) not null,
+    type varchar(255),
+    primary key (id)
+);
+
+create table ticket_types (
+    active boolean not null,
+    modifier_value numeric(10,2) not null,
+    sort_order integer not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    modifier_type varchar(20) not null check (modifier_type in ('PERCENTAGE','FIXED_AMOUNT')),
+    code varchar(50) not null unique,
+    label varchar(100) not null,
+    primary key (id)
+);
+
+create table users (
+    loyalty_points integer not null,
+    created_at timestamp(6) not null,
+    updated_at timestamp(6) not null,
+    id uuid not null,
+    membership_tier_id uuid,
+    avatar_cloudinary_id varchar(255),
+    avatar_url TEXT,
+    email varchar(255) not null unique,
+    password varchar(255),
+    phone_number varchar(255),
+    provider varchar(255),
+    role varchar(255) not null check (role in ('GUEST','USER','ADMIN')),
+    username varchar(255),
+    primary key (id)
+);
+
+alter table if exists booking_promotions
+   add constraint FKkbk18851fr0cvuyjhxamxrwtu
+   foreign key (booking_id)
+   references bookings;
+
+alter table if exists booking_promotions
+   add constraint FK6ad7p0xekh937qe72cfb7dg5w
+   foreign key (promotion_id)
+   references promotions;
+
+alter table if exists booking_seats
+   add constraint FKmbi9ciapn0nvat63t0a8tv478
+   foreign key (booking_id)
+   references bookings;
+
+alter table if exists booking_seats
+   add constraint FKk8weh4kajgv9jujbigfp8o0yn
+   foreign key (showtime_seat_id)
+   references showtime_seats;
+
+alter table if exists booking_seats
+   add constraint FKhyklrt3qc684xeal73yuobor4
+   foreign key (ticket_type_applied_id)
+   references ticket_types;
+
+alter table if exists booking_snacks
+   add constraint FKs870vxb7s5fe72ubyumhl5asd
+   foreign key (booking_id)
+   references bookings;
+
+alter table if exists booking_snacks
+   add constraint FKicwdut304b6n03fschitljb7q
+   foreign key (snack_id)
+   references snacks;
+
+alter table if exists bookings
+   add constraint FKc7q4u7vleq90vlvy8c7lmwtyl
+   foreign key (showtime_id)
+   references showtimes;
+
+alter table if exists bookings
+   add constraint FKeyog2oic85xg7hsu2je2lx3s6
+   foreign key (user_id)
+   references users;
+
+alter table if exists payments
+   add constraint FKc52o2b1jkxttngufqp3t7jr3h
+   foreign key (booking_id)
+   references bookings;
+
+alter table if exists refresh_tokens
+   add constraint FK1lih5y2npsf8u5o3vhdb9y0os
+   foreign key (user_id)
+   references users;
+
+alter table if exists refunds
+   add constraint FKpt9ic0j1y6xwlej99wnynvnpy
+   foreign key (payment_id)
+   references payments;
+
+alter table if exists rooms
+   add constraint FKjp9bjtvlojbw581bpq23cpw4j
+   foreign key (cinema_id)
+   references cinemas;
+
+alter table if exists seat_lock_seats
+   add constraint FKbgfmd1lareo53bment9x06mpw
+   foreign key (seat_lock_id)
+   references seat_locks;
+
+alter table if exists seat_lock_seats
+   add constraint FKl2e8x2qlt4a12iwxohqs9stfr
+   foreign key (showtime_seat_id)
+   references showtime_seats;
+
+alter table if exists seat_lock_seats
+   add constraint FK5hpbnclbhw40v6c5tgpvrkp5j
+   foreign key (ticket_type_id)
+   references ticket_types;
+
+alter table if exists seat_locks
+   add constraint FK4jfh3avegrbauq9j8tf2kgox7
+   foreign key (showtime_id)
+   references showtimes;
+
+alter table if exists seat_locks
+   add constraint FKg26rue6hksgxylg4eh2lnoyvc
+   foreign key (user_id)
+   references users;
+
+alter table if exists seats
+   add constraint FKg993pi7ucgy616icmddq8u335
+   foreign key (room_id)
+   references rooms;
+
+alter table if exists showtime_seats
+   add constraint FK89iq58er7mpv0dubsii5o48na
+   foreign key (seat_id)
+   references seats;
+
+alter table if exists showtime_seats
+   add constraint FKdcy3vgv0vf44n12fq5vouan3b
+   foreign key (showtime_id)
+   references showtimes;
+
+alter table if exists showtime_ticket_types
+   add constraint FK3l5qrubvuj24m9kv9d74dwcnb
+   foreign key (showtime_id)
+   references showtimes;
+
+alter table if exists showtime_ticket_types
+   add constraint FKgk9iipgcyu8y1blvsxxqxlhce
+   foreign key (ticket_type_id)
+   references ticket_types;
+
+alter table if exists showtimes
+   add constraint FKeltpyuei1d5g3n6ikpsjwwil6
+   foreign key (movie_id)
+   references movies;
+
+alter table if exists showtimes
+   add constraint FKrumrrbei9jppryk4teoyoetit
+   foreign key (room_id)
+   references rooms;
+
+alter table if exists snacks
+   add constraint FK6a5abcl4vs754cx0kxpil2hkf
+   foreign key (cinema_id)
+   references cinemas;
+
+alter table if exists users
+   add constraint FKhtea5mammd5ipt88p43sebogo
+   foreign key (membership_tier_id)
+   references membership_tiers;
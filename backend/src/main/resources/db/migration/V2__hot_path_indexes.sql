@@ -0,0 +1,60 @@
+-- Indexes for the predicates used on the booking / payment hot paths.
+-- IF NOT EXISTS keeps this safe on databases where some were created by hand.
+
+-- Seat map and availability checks: WHERE showtime_id = ? [AND status = ?]
+create index if not exists idx_showtime_seats_showtime_status
+    on showtime_seats (showtime_id, status);
+
+-- Seat locks: only active locks are ever looked up, so index just those rows
+create index if not exists idx_seat_locks_owner_active
+    on seat_locks (lock_owner_id) where active;
+
+create index if not exists idx_seat_locks_expires_active
+    on seat_locks (expires_at) where active;
+
+create index if not exists idx_seat_lock_seats_seat_lock
+    on seat_lock_seats (seat_lock_id);
+
+-- Bookings: pending-payment expiry sweep and per-user history
+create index if not exists idx_bookings_status_payment_expires
+    on bookings (status, payment_expires_at);
+
+create index if not exists idx_bookings_user_booked_at
+    on bookings (user_id, booked_at);
+
+create index if not exists idx_bookings_showtime
+    on bookings (showtime_id);
+
+create index if not exists idx_booking_seats_booking
+    on booking_seats (booking_id);
+
+-- Payments: gateway callbacks by transaction id, keyset search ordering
+create index if not exists idx_payments_transaction_id
+    on payments (transaction_id);
+
+create index if not exists idx_payments_created_at_id
+    on payments (created_at, id);
+
+create index if not exists idx_payments_status_created_at
+    on payments (status, created_at);
+
+create index if not exists idx_payments_method_created_at
+    on payments (method, created_at);
+
+-- Promotions: exact code lookups use the unique constraint from V1;
+-- existsByCodeIgnoreCase compares upper(code)
+create index if not exists idx_promotions_code_upper
+    on promotions (upper(code));
+
+-- Showtimes by movie / room within a time window
+create index if not exists idx_showtimes_movie_start
+    on showtimes (movie_id, start_time);
+
+create index if not exists idx_showtimes_room_start
+    on showtimes (room_id, start_time);
+
+create index if not exists idx_showtime_ticket_types_showtime
+    on showtime_ticket_types (showtime_id, ticket_type_id);
+
+create index if not exists idx_seats_room
+    on seats (room_id);
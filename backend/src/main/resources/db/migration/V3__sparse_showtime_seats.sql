@@ -0,0 +1,5 @@
+-- Sparse showtime seats (SeatMaterializationService): showtimes created in SPARSE
+-- storage keep one price snapshot per seat type instead of one showtime_seats row
+-- per seat. Rows are only written for seats that get locked or booked.
+-- NULL for showtimes whose seats were all generated up front.
+alter table showtimes add column if not exists seat_prices jsonb;
@@ -0,0 +1,15 @@
+-- Time-ordered UUIDv7 ids (RFC 9562) for rows written in SQL, matching the ids
+-- UuidV7Generator gives the write-heavy entities: 48-bit epoch milliseconds in
+-- front of a random v4, with the version nibble turned from 4 (0100) into 7 (0111).
+-- PostgreSQL 18 ships uuidv7(); this covers older servers.
+create or replace function uuid_generate_v7() returns uuid as $$
+    select encode(
+        set_bit(
+            set_bit(
+                overlay(uuid_send(gen_random_uuid())
+                        placing substring(int8send(floor(extract(epoch from clock_timestamp()) * 1000)::bigint) from 3)
+                        from 1 for 6),
+                52, 1),
+            53, 1),
+        'hex')::uuid;
+$$ language sql volatile;
@@ -0,0 +1,244 @@
+-- Range partitioning of the tables that grow with history, one partition per month:
+--   showtime_seats  by showtime_start (copy of showtimes.start_time)
+--   seat_locks      by created_at
+--   seat_lock_seats by created_at (copy of its lock's created_at)
+-- Partitions are named <table>_pYYYY_MM and created ahead by PartitionMaintenanceService.
+-- Past showtime_seats months are compacted into showtime_seats_archive (booked seats
+-- only), past seat lock months are dropped.
+--
+-- A partitioned table only enforces keys that contain the partition key, so:
+-- - primary keys become (id, <partition key>); ids stay unique as generated ids
+-- - seat_lock_seats references its lock by (seat_lock_id, created_at)
+-- - booking_seats / seat_lock_seats no longer have a foreign key to showtime_seats
+-- - seat_locks.lock_key is no longer unique (random UUID, never looked up)
+
+-- Monthly partition of a table partitioned by a timestamp column; rows of that month
+-- already in <table>_default are moved into it. Returns false when it already exists.
+create or replace function create_month_partition(parent text, key_column text, month date)
+returns boolean as $$
+declare
+    part text := parent || '_p' || to_char(month, 'YYYY_MM');
+    default_part text := parent || '_default';
+    lower_bound timestamp := date_trunc('month', month);
+    upper_bound timestamp := date_trunc('month', month) + interval '1 month';
+    misplaced boolean := false;
+begin
+    perform pg_advisory_xact_lock(hashtext('time_partitions'));
+    if to_regclass(part) is not null then
+        return false;
+    end if;
+    if to_regclass(default_part) is not null then
+        execute format('select exists (select 1 from %I where %I >= $1 and %I < $2)',
+                default_part, key_column, key_column)
+            into misplaced using lower_bound, upper_bound;
+    end if;
+    if misplaced then
+        execute format('create table %I (like %I including defaults)', part, parent);
+        execute format('with moved as (delete from %I where %I >= $1 and %I < $2 returning *) '
+                || 'insert into %I select * from moved', default_part, key_column, key_column, part)
+            using lower_bound, upper_bound;
+        execute format('alter table %I attach partition %I for values from (%L) to (%L)',
+                parent, part, lower_bound, upper_bound);
+    else
+        execute format('create table %I partition of %I for values from (%L) to (%L)',
+                parent, part, lower_bound, upper_bound);
+    end if;
+    return true;
+end;
+$$ language plpgsql;
+
+-- Monthly partitions of every month from first_month to last_month; returns how many were created
+create or replace function create_month_partitions(parent text, key_column text, first_month date, last_month date)
+returns integer as $$
+declare
+    month date;
+    created integer := 0;
+begin
+    for month in select generate_series(date_trunc('month', first_month), last_month, interval '1 month')::date loop
+        if create_month_partition(parent, key_column, month) then
+            created := created + 1;
+        end if;
+    end loop;
+    return created;
+end;
+$$ language plpgsql;
+
+-- Months of the attached monthly partitions of a table, oldest first
+create or replace function month_partitions(parent text)
+returns table (month date) as $$
+    select to_date(substring(c.relname from '_p(\d{4}_\d{2})$'), 'YYYY_MM')
+    from pg_inherits i
+    join pg_class c on c.oid = i.inhrelid
+    where i.inhparent = parent::regclass
+      and c.relname ~ ('^' || parent || '_p\d{4}_\d{2}$')
+    order by 1;
+$$ language sql stable;
+
+-- Detach and drop the monthly partitions that end on or before a date; returns how many
+create or replace function drop_month_partitions(parent text, before date)
+returns integer as $$
+declare
+    month date;
+    dropped integer := 0;
+begin
+    perform pg_advisory_xact_lock(hashtext('time_partitions'));
+    for month in select m.month from month_partitions(parent) m
+            where m.month + interval '1 month' <= before loop
+        execute format('alter table %I detach partition %I', parent, parent || '_p' || to_char(month, 'YYYY_MM'));
+        execute format('drop table %I', parent || '_p' || to_char(month, 'YYYY_MM'));
+        dropped := dropped + 1;
+    end loop;
+    return dropped;
+end;
+$$ language plpgsql;
+
+-- Compact the oldest month of showtime_seats into showtime_seats_archive, which covers
+-- everything before the oldest monthly partition: booked seats and seats still
+-- referenced by a booking are kept, the rest of the month is dropped. Months must be
+-- archived oldest first. Returns the number of rows kept.
+create or replace function archive_showtime_seats_month(month date)
+returns bigint as $$
+declare
+    part text := 'showtime_seats_p' || to_char(month, 'YYYY_MM');
+    upper_bound timestamp := date_trunc('month', month) + interval '1 month';
+    kept bigint := 0;
+    misplaced bigint;
+begin
+    perform pg_advisory_xact_lock(hashtext('time_partitions'));
+    alter table showtime_seats detach partition showtime_seats_archive;
+    if to_regclass(part) is not null then
+        execute format('alter table showtime_seats detach partition %I', part);
+        execute format('insert into showtime_seats_archive select * from %I ss '
+                || 'where ss.status = ''BOOKED'' '
+                || 'or exists (select 1 from booking_seats bs where bs.showtime_seat_id = ss.id)', part);
+        get diagnostics kept = row_count;
+        execute format('drop table %I', part);
+    end if;
+    with moved as (
+        delete from showtime_seats_default ss where ss.showtime_start < upper_bound returning *
+    )
+    insert into showtime_seats_archive
+    select * from moved m
+    where m.status = 'BOOKED'
+       or exists (select 1 from booking_seats bs where bs.showtime_seat_id = m.id);
+    get diagnostics misplaced = row_count;
+    execute format('alter table showtime_seats attach partition showtime_seats_archive '
+            || 'for values from (minvalue) to (%L)', upper_bound);
+    return kept + misplaced;
+end;
+$$ language plpgsql;
+
+-- Foreign keys into the tables being replaced
+alter table booking_seats drop constraint if exists FKk8weh4kajgv9jujbigfp8o0yn;
+alter table seat_lock_seats drop constraint if exists FKl2e8x2qlt4a12iwxohqs9stfr;
+alter table seat_lock_seats drop constraint if exists FKbgfmd1lareo53bment9x06mpw;
+
+drop index if exists idx_showtime_seats_showtime_status;
+drop index if exists idx_seat_locks_owner_active;
+drop index if exists idx_seat_locks_expires_active;
+drop index if exists idx_seat_lock_seats_seat_lock;
+
+alter table showtime_seats rename to showtime_seats_unpartitioned;
+alter index showtime_seats_pkey rename to showtime_seats_unpartitioned_pkey;
+alter table seat_locks rename to seat_locks_unpartitioned;
+alter index seat_locks_pkey rename to seat_locks_unpartitioned_pkey;
+alter table seat_lock_seats rename to seat_lock_seats_unpartitioned;
+alter index seat_lock_seats_pkey rename to seat_lock_seats_unpartitioned_pkey;
+
+create table showtime_seats (
+    price numeric(10,2) not null,
+    id uuid not null,
+    seat_id uuid not null references seats,
+    showtime_id uuid not null references showtimes,
+    showtime_start timestamp(6) not null,
+    status varchar(255) not null check (status in ('AVAILABLE','LOCKED','BOOKED')),
+    price_breakdown jsonb,
+    primary key (id, showtime_start)
+) partition by range (showtime_start);
+
+create table seat_locks (
+    active boolean not null,
+    created_at timestamp(6) not null,
+    expires_at timestamp(6) not null,
+    id uuid not null,
+    showtime_id uuid not null references showtimes,
+    user_id uuid references users,
+    lock_key varchar(255) not null,
+    lock_owner_id varchar(255) not null,
+    lock_owner_type varchar(255) not null check (lock_owner_type in ('USER','GUEST_SESSION')),
+    primary key (id, created_at)
+) partition by range (created_at);
+
+create table seat_lock_seats (
+    price numeric(10,2) not null,
+    created_at timestamp(6) not null,
+    id uuid not null,
+    seat_lock_id uuid not null,
+    showtime_seat_id uuid not null,
+    ticket_type_id uuid not null references ticket_types,
+    primary key (id, created_at),
+    foreign key (seat_lock_id, created_at) references seat_locks (id, created_at)
+) partition by range (created_at);
+
+-- Showtimes can be scheduled past the partitions created ahead: their seats wait in
+-- the default partition until the month's partition is created
+create table showtime_seats_default partition of showtime_seats default;
+
+-- Partitions for the existing rows and the next 12 months
+do $$
+declare
+    first_showtime_month date;
+    first_lock_month date;
+    last_month date := date_trunc('month', now()) + interval '12 months';
+begin
+    select least(date_trunc('month', min(s.start_time)), date_trunc('month', now()))
+    into first_showtime_month
+    from showtime_seats_unpartitioned ss
+    join showtimes s on s.id = ss.showtime_id;
+    first_showtime_month := coalesce(first_showtime_month, date_trunc('month', now()));
+
+    select least(date_trunc('month', min(created_at)), date_trunc('month', now()))
+    into first_lock_month
+    from seat_locks_unpartitioned;
+    first_lock_month := coalesce(first_lock_month, date_trunc('month', now()));
+
+    execute format('create table showtime_seats_archive partition of showtime_seats '
+            || 'for values from (minvalue) to (%L)', first_showtime_month::timestamp);
+    perform create_month_partitions('showtime_seats', 'showtime_start', first_showtime_month,
+            greatest(last_month, (select date_trunc('month', max(start_time)) from showtimes)::date));
+    perform create_month_partitions('seat_locks', 'created_at', first_lock_month, last_month);
+    perform create_month_partitions('seat_lock_seats', 'created_at', first_lock_month, last_month);
+end;
+$$;
+
+insert into showtime_seats (price, id, seat_id, showtime_id, showtime_start, status, price_breakdown)
+select ss.price, ss.id, ss.seat_id, ss.showtime_id, s.start_time, ss.status, ss.price_breakdown
+from showtime_seats_unpartitioned ss
+join showtimes s on s.id = ss.showtime_id;
+
+insert into seat_locks (active, created_at, expires_at, id, showtime_id, user_id, lock_key, lock_owner_id,
+        lock_owner_type)
+select active, created_at, expires_at, id, showtime_id, user_id, lock_key, lock_owner_id, lock_owner_type
+from seat_locks_unpartitioned;
+
+insert into seat_lock_seats (price, created_at, id, seat_lock_id, showtime_seat_id, ticket_type_id)
+select sls.price, sl.created_at, sls.id, sls.seat_lock_id, sls.showtime_seat_id, sls.ticket_type_id
+from seat_lock_seats_unpartitioned sls
+join seat_locks_unpartitioned sl on sl.id = sls.seat_lock_id;
+
+drop table seat_lock_seats_unpartitioned;
+drop table seat_locks_unpartitioned;
+drop table showtime_seats_unpartitioned;
+
+-- Indexes from V2, now created on every partition
+create index idx_showtime_seats_showtime_status
+    on showtime_seats (showtime_id, status);
+
+create index idx_seat_locks_owner_active
+    on seat_locks (lock_owner_id) where active;
+
+create index idx_seat_locks_expires_active
+    on seat_locks (expires_at) where active;
+
+create index idx_seat_lock_seats_seat_lock
+    on seat_lock_seats (seat_lock_id);
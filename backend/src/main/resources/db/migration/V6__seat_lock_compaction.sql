@@ -0,0 +1,97 @@
+-- Inactive seat locks are compacted into one summary row per day and lock owner type,
+-- see SeatLockCompactionService. A lock ends when it is claimed by a checkout (converted),
+-- released by its owner or cleaned up after expiry.
+alter table seat_locks add column converted boolean not null default false;
+alter table seat_locks add column ended_at timestamp(6);
+
+-- Locks that ended before this migration: converted when a booking of the same user
+-- took one of the lock's seats while it was held, ended at expiry otherwise
+update seat_locks sl
+set converted = true
+where not sl.active
+  and exists (
+      select 1
+      from seat_lock_seats sls
+      join booking_seats bs on bs.showtime_seat_id = sls.showtime_seat_id
+      join bookings b on b.id = bs.booking_id
+      where sls.seat_lock_id = sl.id
+        and sls.created_at = sl.created_at
+        and b.user_id = sl.user_id
+        and b.booked_at between sl.created_at and sl.expires_at
+  );
+
+-- One row per lock creation day and owner type; hold seconds run from creation to the
+-- end of the lock, so average hold time is hold_seconds / locks
+create table seat_lock_daily_stats (
+    day date not null,
+    lock_owner_type varchar(255) not null check (lock_owner_type in ('USER','GUEST_SESSION')),
+    locks bigint not null,
+    seats bigint not null,
+    converted_locks bigint not null,
+    converted_seats bigint not null,
+    expired_locks bigint not null,
+    hold_seconds numeric(20,3) not null,
+    converted_hold_seconds numeric(20,3) not null,
+    max_hold_seconds numeric(20,3) not null,
+    primary key (day, lock_owner_type)
+);
+
+-- Summarize and delete up to batch_size inactive locks created before a timestamp, with
+-- their seats; returns the number of locks compacted. Locks being compacted by another
+-- call are skipped. Seats and locks are deleted in one statement, so the seat foreign key
+-- is checked once both are gone.
+create or replace function compact_seat_locks(before timestamp, batch_size integer)
+returns integer as $$
+    with batch as (
+        select sl.id, sl.created_at
+        from seat_locks sl
+        where not sl.active and sl.created_at < before
+        limit batch_size
+        for update skip locked
+    ), deleted_seats as (
+        delete from seat_lock_seats sls
+        using batch b
+        where sls.seat_lock_id = b.id and sls.created_at = b.created_at
+        returning sls.seat_lock_id
+    ), seat_counts as (
+        select seat_lock_id, count(*) as seats
+        from deleted_seats
+        group by seat_lock_id
+    ), deleted_locks as (
+        delete from seat_locks sl
+        using batch b
+        where sl.id = b.id and sl.created_at = b.created_at
+        returning sl.id, sl.created_at, sl.lock_owner_type, sl.converted,
+            coalesce(sl.ended_at, sl.expires_at) as ended_at,
+            not sl.converted and (sl.ended_at is null or sl.ended_at >= sl.expires_at) as expired
+    ), hold as (
+        select l.*, coalesce(sc.seats, 0) as seats,
+            greatest(extract(epoch from l.ended_at - l.created_at), 0) as seconds
+        from deleted_locks l
+        left join seat_counts sc on sc.seat_lock_id = l.id
+    ), summary as (
+        insert into seat_lock_daily_stats as s (day, lock_owner_type, locks, seats, converted_locks,
+                converted_seats, expired_locks, hold_seconds, converted_hold_seconds, max_hold_seconds)
+        select h.created_at::date, h.lock_owner_type,
+            count(*),
+            sum(h.seats),
+            count(*) filter (where h.converted),
+            coalesce(sum(h.seats) filter (where h.converted), 0),
+            count(*) filter (where h.expired),
+            sum(h.seconds),
+            coalesce(sum(h.seconds) filter (where h.converted), 0),
+            max(h.seconds)
+        from hold h
+        group by h.created_at::date, h.lock_owner_type
+        on conflict (day, lock_owner_type) do update set
+            locks = s.locks + excluded.locks,
+            seats = s.seats + excluded.seats,
+            converted_locks = s.converted_locks + excluded.converted_locks,
+            converted_seats = s.converted_seats + excluded.converted_seats,
+            expired_locks = s.expired_locks + excluded.expired_locks,
+            hold_seconds = s.hold_seconds + excluded.hold_seconds,
+            converted_hold_seconds = s.converted_hold_seconds + excluded.converted_hold_seconds,
+            max_hold_seconds = greatest(s.max_hold_seconds, excluded.max_hold_seconds)
+    )
+    select count(*)::integer from deleted_locks;
+$$ language sql;
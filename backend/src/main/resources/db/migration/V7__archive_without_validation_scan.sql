@@ -0,0 +1,78 @@
+-- Archiving a showtime_seats month in two transactions, so showtime_seats is only held
+-- ACCESS EXCLUSIVE for the detach, the copy of the kept seats and the attach (replaces
+-- the V5 archive_showtime_seats_month):
+-- 1. prepare_showtime_seats_archive deletes the seats that are not kept with row locks
+--    only, and gives showtime_seats_archive a NOT VALID check matching its next bound.
+-- 2. archive_showtime_seats_month validates that check before taking the lock, which
+--    lets the attach skip its scan of the archive.
+-- DETACH ... CONCURRENTLY is not an option: it is refused while showtime_seats_default
+-- exists.
+
+-- Step 1: drop what the archive will not keep from the month and from the default
+-- partition, and set the archive check for the month's upper bound. Returns the number
+-- of rows deleted.
+create or replace function prepare_showtime_seats_archive(month date)
+returns bigint as $$
+declare
+    part text := 'showtime_seats_p' || to_char(month, 'YYYY_MM');
+    upper_bound timestamp := date_trunc('month', month) + interval '1 month';
+    deleted bigint := 0;
+    misplaced bigint;
+begin
+    perform pg_advisory_xact_lock(hashtext('time_partitions'));
+    if to_regclass(part) is not null then
+        execute format('delete from %I ss where ss.status <> ''BOOKED'' '
+                || 'and not exists (select 1 from booking_seats bs where bs.showtime_seat_id = ss.id)', part);
+        get diagnostics deleted = row_count;
+    end if;
+    delete from showtime_seats_default ss
+    where ss.showtime_start < upper_bound
+      and ss.status <> 'BOOKED'
+      and not exists (select 1 from booking_seats bs where bs.showtime_seat_id = ss.id);
+    get diagnostics misplaced = row_count;
+    -- Last, so the archive is only locked for the catalog change
+    alter table showtime_seats_archive drop constraint if exists showtime_seats_archive_bound;
+    execute format('alter table showtime_seats_archive add constraint showtime_seats_archive_bound '
+            || 'check (showtime_start < %L) not valid', upper_bound);
+    return deleted + misplaced;
+end;
+$$ language plpgsql;
+
+-- Step 2: move the month and the default partition's rows before its end into
+-- showtime_seats_archive and widen the archive up to the end of the month. Months must
+-- be archived oldest first, each after its prepare_showtime_seats_archive. Returns the
+-- number of rows kept.
+create or replace function archive_showtime_seats_month(month date)
+returns bigint as $$
+declare
+    part text := 'showtime_seats_p' || to_char(month, 'YYYY_MM');
+    upper_bound timestamp := date_trunc('month', month) + interval '1 month';
+    kept bigint := 0;
+    misplaced bigint;
+begin
+    perform pg_advisory_xact_lock(hashtext('time_partitions'));
+    -- Scans the archive under SHARE UPDATE EXCLUSIVE, before showtime_seats is locked
+    alter table showtime_seats_archive validate constraint showtime_seats_archive_bound;
+    alter table showtime_seats detach partition showtime_seats_archive;
+    if to_regclass(part) is not null then
+        execute format('alter table showtime_seats detach partition %I', part);
+        execute format('insert into showtime_seats_archive select * from %I ss '
+                || 'where ss.status = ''BOOKED'' '
+                || 'or exists (select 1 from booking_seats bs where bs.showtime_seat_id = ss.id)', part);
+        get diagnostics kept = row_count;
+        execute format('drop table %I', part);
+    end if;
+    with moved as (
+        delete from showtime_seats_default ss where ss.showtime_start < upper_bound returning *
+    )
+    insert into showtime_seats_archive
+    select * from moved m
+    where m.status = 'BOOKED'
+       or exists (select 1 from booking_seats bs where bs.showtime_seat_id = m.id);
+    get diagnostics misplaced = row_count;
+    -- showtime_seats_archive_bound implies the bound, so only the default partition is scanned
+    execute format('alter table showtime_seats attach partition showtime_seats_archive '
+            || 'for values from (minvalue) to (%L)', upper_bound);
+    return kept + misplaced;
+end;
+$$ language plpgsql;
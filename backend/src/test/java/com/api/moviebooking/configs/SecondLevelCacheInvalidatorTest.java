@@ -0,0 +1,208 @@
+package com.api.moviebooking.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.moviebooking.models.dtos.cache.CacheInvalidationMessage;
+import com.api.moviebooking.models.entities.TicketType;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Unit tests for SecondLevelCacheInvalidator.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SecondLevelCacheInvalidator Unit Tests")
+class SecondLevelCacheInvalidatorTest {
+
+    private static final String ENTITY_NAME = TicketType.class.getName();
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private RedisSerializer<Object> valueSerializer;
+
+    @Mock
+    private SessionFactoryImplementor sessionFactory;
+
+    @Mock
+    private CacheImplementor cache;
+
+    @Mock
+    private Message message;
+
+    @Mock
+    private TableChangeTimestampsCacheFactory timestampsCacheFactory;
+
+    @InjectMocks
+    private SecondLevelCacheInvalidator invalidator;
+
+    private final UUID id = UUID.randomUUID();
+    private final byte[] body = new byte[] { 1 };
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(invalidator, "sessionFactory", sessionFactory);
+    }
+
+    @Test
+    @SmokeTest
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should evict the entity and the query region on a change from another node")
+    void testOnMessage_OtherNode() {
+        receive(new CacheInvalidationMessage("other-node", ENTITY_NAME, id));
+
+        invalidator.onMessage(message, null);
+
+        verify(cache).evictEntityData(ENTITY_NAME, id);
+        verify(cache).evictDefaultQueryRegion();
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should drop the whole entity region when no id is given")
+    void testOnMessage_WholeRegion() {
+        receive(new CacheInvalidationMessage("other-node", ENTITY_NAME, null));
+
+        invalidator.onMessage(message, null);
+
+        verify(cache).evictEntityData(ENTITY_NAME);
+        verify(cache).evictDefaultQueryRegion();
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should ignore its own messages")
+    void testOnMessage_OwnNode() {
+        receive(new CacheInvalidationMessage(nodeId(), ENTITY_NAME, id));
+
+        invalidator.onMessage(message, null);
+
+        verifyNoInteractions(sessionFactory);
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should ignore messages that are not invalidations")
+    void testOnMessage_UnknownBody() {
+        when(message.getBody()).thenReturn(body);
+        doReturn(valueSerializer).when(redisTemplate).getValueSerializer();
+        when(valueSerializer.deserialize(body)).thenReturn("not an invalidation");
+
+        invalidator.onMessage(message, null);
+
+        verifyNoInteractions(sessionFactory);
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should publish a committed change with this node as origin")
+    void testOnPostUpdate_Publishes() {
+        PostUpdateEvent event = updateEvent();
+
+        invalidator.onPostUpdate(event);
+
+        ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(SecondLevelCacheInvalidator.CHANNEL), published.capture());
+        CacheInvalidationMessage invalidation = (CacheInvalidationMessage) published.getValue();
+        assertEquals(nodeId(), invalidation.getOrigin());
+        assertEquals(ENTITY_NAME, invalidation.getEntityName());
+        assertEquals(id, invalidation.getId());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should not fail the committed transaction when Redis is unreachable")
+    void testOnPostUpdate_RedisDown() {
+        PostUpdateEvent event = updateEvent();
+        when(redisTemplate.convertAndSend(anyString(), any()))
+                .thenThrow(new RuntimeException("Redis connection failed"));
+
+        assertDoesNotThrow(() -> invalidator.onPostUpdate(event));
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should publish a region eviction when a transaction wrote the table of a cached entity")
+    void testPublishTables_CachedTable() {
+        cacheEntityStoredIn("ticket_types");
+
+        invalidator.publishTables(new String[] { "bookings", "ticket_types" });
+
+        ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).convertAndSend(eq(SecondLevelCacheInvalidator.CHANNEL), published.capture());
+        CacheInvalidationMessage invalidation = (CacheInvalidationMessage) published.getValue();
+        assertEquals(nodeId(), invalidation.getOrigin());
+        assertEquals(ENTITY_NAME, invalidation.getEntityName());
+        assertNull(invalidation.getId());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should publish nothing when only tables of uncached entities were written")
+    void testPublishTables_UncachedTables() {
+        cacheEntityStoredIn("ticket_types");
+
+        invalidator.publishTables(new String[] { "showtime_seats", "seat_locks" });
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    private void cacheEntityStoredIn(String table) {
+        EntityPersister persister = mock(EntityPersister.class);
+        lenient().when(persister.getEntityName()).thenReturn(ENTITY_NAME);
+        when(persister.getPropertySpaces()).thenReturn(new String[] { table });
+        ReflectionTestUtils.setField(invalidator, "cachedPersisters", List.of(persister));
+    }
+
+    private void receive(CacheInvalidationMessage invalidation) {
+        when(message.getBody()).thenReturn(body);
+        doReturn(valueSerializer).when(redisTemplate).getValueSerializer();
+        when(valueSerializer.deserialize(body)).thenReturn(invalidation);
+        lenient().when(sessionFactory.getCache()).thenReturn(cache);
+    }
+
+    private PostUpdateEvent updateEvent() {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getEntityName()).thenReturn(ENTITY_NAME);
+        PostUpdateEvent event = mock(PostUpdateEvent.class);
+        when(event.getPersister()).thenReturn(persister);
+        when(event.getId()).thenReturn(id);
+        return event;
+    }
+
+    private static String nodeId() {
+        return (String) ReflectionTestUtils.getField(SecondLevelCacheInvalidator.class, "NODE_ID");
+    }
+}
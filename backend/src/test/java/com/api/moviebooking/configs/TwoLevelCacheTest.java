@@ -0,0 +1,107 @@
+package com.api.moviebooking.configs;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Unit tests for TwoLevelCache.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoLevelCache Unit Tests")
+class TwoLevelCacheTest {
+
+    @Mock
+    private Cache remote;
+
+    @Mock
+    private DatabaseLoadMonitor loadMonitor;
+
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> local = Caffeine.newBuilder().build();
+    private final CountDownLatch loadStarted = new CountDownLatch(1);
+    private final CountDownLatch releaseLoad = new CountDownLatch(1);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private TwoLevelCache cache;
+
+    @BeforeEach
+    void setUp() {
+        when(loadMonitor.tryAcquireLoad()).thenReturn(DatabaseLoadMonitor.LoadPermit.NONE);
+        cache = new TwoLevelCache("movies", local, remote, null, (name, key) -> {
+        }, loadMonitor, Runnable::run, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseLoad.countDown();
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should load another key while a slow load is running")
+    void testGet_SlowLoadDoesNotBlockOtherKeys() throws Exception {
+        CompletableFuture<String> slow = CompletableFuture.supplyAsync(() -> cache.get("slow", this::slowLoad));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        String other = assertTimeoutPreemptively(Duration.ofSeconds(2), () -> cache.get("other", () -> "fast"));
+
+        assertEquals("fast", other);
+        releaseLoad.countDown();
+        assertEquals("loaded", slow.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should share one load between concurrent callers of a key")
+    void testGet_ConcurrentCallersShareOneLoad() throws Exception {
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get("movie", this::slowLoad));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get("movie", this::slowLoad));
+
+        releaseLoad.countDown();
+
+        assertEquals("loaded", first.get(5, TimeUnit.SECONDS));
+        assertEquals("loaded", second.get(5, TimeUnit.SECONDS));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should not put back a value loaded before an eviction of its key")
+    void testGet_EvictedWhileLoading() throws Exception {
+        CompletableFuture<String> loading = CompletableFuture.supplyAsync(() -> cache.get("movie", this::slowLoad));
+        assertTrue(loadStarted.await(5, TimeUnit.SECONDS));
+
+        cache.evict("movie");
+        releaseLoad.countDown();
+
+        assertEquals("loaded", loading.get(5, TimeUnit.SECONDS));
+        assertNull(local.getIfPresent("movie"));
+    }
+
+    private String slowLoad() throws InterruptedException {
+        loads.incrementAndGet();
+        loadStarted.countDown();
+        assertTrue(releaseLoad.await(5, TimeUnit.SECONDS));
+        return "loaded";
+    }
+}
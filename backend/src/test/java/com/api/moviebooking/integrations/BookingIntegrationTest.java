@@ -230,7 +230,7 @@ class BookingIntegrationTest {
                 testBooking = bookingRepo.save(testBooking);
         }
 
-        // ==================== Price Preview Tests (V(G)=5) ====================
+        // ==================== Price Preview Tests (V(G)=7) ====================
 
         @Nested
         @DisplayName("Price Preview Tests")
@@ -241,7 +241,7 @@ class BookingIntegrationTest {
                 @SanityTest
                 @RegressionTest
                 @WithMockUser(username = "test@booking.com", roles = "USER")
-                @DisplayName("Test 1/5: Should calculate price preview for authenticated user with valid seat lock")
+                @DisplayName("Test 1/6: Should calculate price preview for authenticated user with valid seat lock")
                 void testPricePreview_AuthenticatedUser_ValidLock() {
                         PricePreviewRequest request = PricePreviewRequest.builder()
                                         .lockId(testSeatLock.getId())
@@ -260,7 +260,7 @@ class BookingIntegrationTest {
 
                 @Test
                 @RegressionTest
-                @DisplayName("Test 2/5: Should fail price preview when seat lock not found")
+                @DisplayName("Test 2/6: Should fail price preview when seat lock not found")
                 void testPricePreview_LockNotFound() {
                         PricePreviewRequest request = PricePreviewRequest.builder()
                                         .lockId(UUID.randomUUID())
@@ -278,7 +278,7 @@ class BookingIntegrationTest {
 
                 @Test
                 @RegressionTest
-                @DisplayName("Test 3/5: Should fail price preview when lock is inactive/expired")
+                @DisplayName("Test 3/6: Should fail price preview when lock is inactive/expired")
                 void testPricePreview_InactiveLock() {
                         testSeatLock.setActive(false);
                         seatLockRepo.save(testSeatLock);
@@ -301,7 +301,7 @@ class BookingIntegrationTest {
                 @Test
                 @SanityTest
                 @RegressionTest
-                @DisplayName("Test 4/5: Should calculate price preview with snacks included")
+                @DisplayName("Test 4/6: Should calculate price preview with snacks included")
                 void testPricePreview_WithSnacks() {
                         PricePreviewRequest request = PricePreviewRequest.builder()
                                         .lockId(testSeatLock.getId())
@@ -326,7 +326,7 @@ class BookingIntegrationTest {
 
                 @Test
                 @RegressionTest
-                @DisplayName("Test 5/5: Should calculate price preview for guest user with session ID")
+                @DisplayName("Test 5/6: Should calculate price preview for guest user with session ID")
                 void testPricePreview_GuestUser() {
                         String guestSessionId = "guest-session-456";
                         SeatLock guestLock = new SeatLock();
@@ -353,6 +353,25 @@ class BookingIntegrationTest {
                                                         equalTo(HttpStatus.NOT_FOUND.value()),
                                                         equalTo(HttpStatus.BAD_REQUEST.value())));
                 }
+
+                @Test
+                @RegressionTest
+                @DisplayName("Test 6/6: Should reject a lock token that was not signed by the server")
+                void testPricePreview_ForgedLockToken() {
+                        PricePreviewRequest request = PricePreviewRequest.builder()
+                                        .lockId(testSeatLock.getId())
+                                        .lockToken("AQ.0000")
+                                        .build();
+
+                        given()
+                                        .contentType(ContentType.JSON)
+                                        .body(request)
+                                        .header("X-Session-Id", "guest-session-123")
+                                        .when()
+                                        .post("/bookings/price-preview")
+                                        .then()
+                                        .statusCode(HttpStatus.BAD_REQUEST.value());
+                }
         }
 
         // ==================== Get User Bookings Tests (V(G)=1) ====================
@@ -0,0 +1,236 @@
+package com.api.moviebooking.integrations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.models.dtos.seat.GenerateSeatsRequest;
+import com.api.moviebooking.models.entities.*;
+import com.api.moviebooking.models.enums.MovieStatus;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.repositories.*;
+import com.api.moviebooking.services.SeatService;
+import com.api.moviebooking.services.ShowtimeSeatService;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.utils.QueryBudgetAssertions;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Insert-rate benchmarks for the bulk write paths (BulkWriteRepo batched
+ * INSERTs and the ShowtimeSeatCopyRepo COPY fast path).
+ *
+ * Rates are logged; the assertions only guard the order of magnitude (a
+ * week of showtime seats across a multiplex in seconds) and the statement
+ * count of batched generation.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Bulk Write Integration Tests")
+@Slf4j
+class BulkWriteIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        private static final int ROOMS = 6;
+        private static final int ROWS = 20;
+        private static final int SEATS_PER_ROW = 15;
+        private static final int DAYS = 7;
+        private static final int SHOWTIMES_PER_DAY = 4;
+        private static final Duration WEEK_BUDGET = Duration.ofSeconds(30);
+        // showtime, room, room seats + base price and modifiers (one seat type)
+        // + one INSERT per batch of 100 seats
+        private static final int GENERATE_BUDGET = 3 + 2 + (ROWS * SEATS_PER_ROW) / 100;
+
+        @Autowired
+        private SeatService seatService;
+
+        @Autowired
+        private ShowtimeSeatService showtimeSeatService;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private ShowtimeSeatRepo showtimeSeatRepo;
+
+        @Autowired
+        private ShowtimeRepo showtimeRepo;
+
+        @Autowired
+        private SeatRepo seatRepo;
+
+        @Autowired
+        private RoomRepo roomRepo;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        @Autowired
+        private CinemaRepo cinemaRepo;
+
+        @Autowired
+        private PriceBaseRepo priceBaseRepo;
+
+        private List<Room> rooms;
+        private Movie movie;
+
+        @BeforeEach
+        void setUp() {
+                showtimeSeatRepo.deleteAllInBatch();
+                showtimeRepo.deleteAllInBatch();
+                seatRepo.deleteAllInBatch();
+                roomRepo.deleteAllInBatch();
+                movieRepo.deleteAll();
+                cinemaRepo.deleteAll();
+                priceBaseRepo.deleteAll();
+
+                PriceBase priceBase = new PriceBase();
+                priceBase.setName("Standard Base Price");
+                priceBase.setBasePrice(new BigDecimal("50000"));
+                priceBase.setIsActive(true);
+                priceBaseRepo.save(priceBase);
+
+                Cinema cinema = new Cinema();
+                cinema.setName("Multiplex");
+                cinema.setAddress("1 Bulk St");
+                cinema.setHotline("1234567");
+                cinema = cinemaRepo.save(cinema);
+
+                rooms = new ArrayList<>();
+                for (int i = 1; i <= ROOMS; i++) {
+                        Room room = new Room();
+                        room.setCinema(cinema);
+                        room.setRoomNumber(i);
+                        room.setRoomType("Standard");
+                        room = roomRepo.save(room);
+
+                        GenerateSeatsRequest request = new GenerateSeatsRequest();
+                        request.setRoomId(room.getId());
+                        request.setRows(ROWS);
+                        request.setSeatsPerRow(SEATS_PER_ROW);
+                        seatService.generateSeats(request);
+                        rooms.add(room);
+                }
+
+                movie = new Movie();
+                movie.setTitle("Bulk Movie");
+                movie.setDuration(120);
+                movie.setGenre("Action");
+                movie.setStatus(MovieStatus.SHOWING);
+                movie = movieRepo.save(movie);
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should generate a week of showtime seats across a multiplex in seconds")
+        void testGenerateWeekOfShowtimeSeats() {
+                LocalDateTime firstDay = LocalDate.now().plusDays(1).atTime(10, 0);
+
+                long start = System.nanoTime();
+                for (Room room : rooms) {
+                        for (int day = 0; day < DAYS; day++) {
+                                for (int show = 0; show < SHOWTIMES_PER_DAY; show++) {
+                                        Showtime showtime = showtime(room,
+                                                        firstDay.plusDays(day).plusHours(show * 3L));
+                                        showtimeSeatService.generateShowtimeSeats(showtime.getId());
+                                }
+                        }
+                }
+                Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+                long rows = showtimeSeatRepo.count();
+                assertEquals((long) ROOMS * DAYS * SHOWTIMES_PER_DAY * ROWS * SEATS_PER_ROW, rows);
+                log.info("Generated {} showtime seats in {} ms ({} rows/s)", rows, elapsed.toMillis(),
+                                rows * 1000 / Math.max(1, elapsed.toMillis()));
+                assertTrue(elapsed.compareTo(WEEK_BUDGET) < 0,
+                                "Week of showtime seats took " + elapsed.toMillis() + " ms");
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should write the seats of a showtime as batched INSERTs")
+        void testGenerateShowtimeSeats_StatementBudget() {
+                Showtime showtime = showtime(rooms.get(0), LocalDateTime.now().plusDays(1));
+
+                QueryBudgetAssertions.assertWithinBudget(GENERATE_BUDGET,
+                                () -> showtimeSeatService.generateShowtimeSeats(showtime.getId()));
+
+                assertEquals(ROWS * SEATS_PER_ROW, showtimeSeatRepo.findByShowtimeId(showtime.getId()).size());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should insert the same rows with batched INSERTs and with COPY")
+        void testInsertRate_BatchedVersusCopy() {
+                TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+                Room room = rooms.get(0);
+                List<Seat> seats = seatRepo.findByRoomId(room.getId());
+                int showtimes = DAYS * SHOWTIMES_PER_DAY;
+
+                List<ShowtimeSeat> batched = showtimeSeats(room, seats, showtimes, 0);
+                long batchedMillis = timed(() -> transaction.executeWithoutResult(
+                                tx -> showtimeSeatRepo.saveAllInBatches(batched)));
+
+                List<ShowtimeSeat> copied = showtimeSeats(room, seats, showtimes, showtimes);
+                long copiedMillis = timed(() -> transaction.executeWithoutResult(
+                                tx -> assertEquals(copied.size(), showtimeSeatRepo.copyInsert(copied))));
+
+                assertEquals(batched.size() + copied.size(), showtimeSeatRepo.count());
+                assertTrue(copied.stream().allMatch(showtimeSeat -> showtimeSeat.getId() != null));
+                log.info("Inserted {} showtime seats: batched INSERT {} ms ({} rows/s), COPY {} ms ({} rows/s)",
+                                batched.size(),
+                                batchedMillis, batched.size() * 1000L / Math.max(1, batchedMillis),
+                                copiedMillis, copied.size() * 1000L / Math.max(1, copiedMillis));
+        }
+
+        private Showtime showtime(Room room, LocalDateTime startTime) {
+                Showtime showtime = new Showtime();
+                showtime.setRoom(room);
+                showtime.setMovie(movie);
+                showtime.setStartTime(startTime);
+                showtime.setFormat("2D");
+                return showtimeRepo.save(showtime);
+        }
+
+        private List<ShowtimeSeat> showtimeSeats(Room room, List<Seat> seats, int showtimes, int offsetHours) {
+                List<ShowtimeSeat> showtimeSeats = new ArrayList<>();
+                for (int i = 0; i < showtimes; i++) {
+                        Showtime showtime = showtime(room, LocalDateTime.now().plusDays(1).plusHours(offsetHours + i));
+                        for (Seat seat : seats) {
+                                showtimeSeats.add(new ShowtimeSeat(null, showtime, seat, SeatStatus.AVAILABLE,
+                                                new BigDecimal("50000.00"), "{\"basePrice\": 50000}", null));
+                        }
+                }
+                return showtimeSeats;
+        }
+
+        private static long timed(Runnable action) {
+                long start = System.nanoTime();
+                action.run();
+                return Duration.ofNanos(System.nanoTime() - start).toMillis();
+        }
+}
@@ -0,0 +1,343 @@
+package com.api.moviebooking.integrations;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.configs.CatalogCacheConfig;
+import com.api.moviebooking.configs.DatabaseLoadMonitor;
+import com.api.moviebooking.configs.QueryCountFilter;
+import com.api.moviebooking.configs.StaleResponseAdvice;
+import com.api.moviebooking.configs.TwoLevelCache;
+import com.api.moviebooking.models.dtos.cinema.UpdateCinemaRequest;
+import com.api.moviebooking.models.dtos.movie.UpdateMovieRequest;
+import com.api.moviebooking.models.entities.*;
+import com.api.moviebooking.models.enums.*;
+import com.api.moviebooking.repositories.*;
+import com.api.moviebooking.services.BookingContextService;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.utils.QueryBudgetAssertions;
+
+import io.restassured.http.ContentType;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import io.restassured.module.mockmvc.response.MockMvcResponse;
+
+/**
+ * Two-level catalog cache: repeated reads are served without SQL, admin
+ * writes evict the affected entries, and degraded mode serves last-known
+ * entries. The load monitor is mocked so tests choose the mode.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "cache.catalog.enabled=true")
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Catalog Cache Integration Tests")
+class CatalogCacheIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        @Container
+        @SuppressWarnings("resource")
+        static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                        .withExposedPorts(6379);
+
+        @DynamicPropertySource
+        static void configureProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.data.redis.host", redis::getHost);
+                registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+        }
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        private CacheManager cacheManager;
+
+        @MockitoBean
+        private DatabaseLoadMonitor loadMonitor;
+
+        @Autowired
+        private ShowtimeRepo showtimeRepo;
+
+        @Autowired
+        private RoomRepo roomRepo;
+
+        @Autowired
+        private CinemaRepo cinemaRepo;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        @Autowired
+        private BookingContextService bookingContextService;
+
+        @Autowired
+        private PriceBaseRepo priceBaseRepo;
+
+        private Movie testMovie;
+        private Cinema testCinema;
+        private Showtime testShowtime;
+        private LocalDate showDate;
+
+        @BeforeEach
+        void setUp() {
+                RestAssuredMockMvc.mockMvc(QueryBudgetAssertions.mockMvc(webApplicationContext));
+                when(loadMonitor.isDegraded()).thenReturn(false);
+                when(loadMonitor.tryAcquireLoad()).thenReturn(DatabaseLoadMonitor.LoadPermit.NONE);
+                when(loadMonitor.retryAfterSeconds()).thenReturn(1L);
+
+                // Clean up in reverse dependency order
+                showtimeRepo.deleteAll();
+                roomRepo.deleteAll();
+                cinemaRepo.deleteAll();
+                movieRepo.deleteAll();
+                CatalogCacheConfig.CACHE_NAMES.forEach(name -> cacheManager.getCache(name).clear());
+
+                testCinema = new Cinema();
+                testCinema.setName("Cache Cinema");
+                testCinema.setAddress("1 Cache St");
+                testCinema.setHotline("123-456-7890");
+                testCinema = cinemaRepo.save(testCinema);
+
+                Room room = new Room();
+                room.setCinema(testCinema);
+                room.setRoomNumber(1);
+                room.setRoomType("STANDARD");
+                room = roomRepo.save(room);
+
+                testMovie = new Movie();
+                testMovie.setTitle("Cached Movie");
+                testMovie.setDuration(120);
+                testMovie.setStatus(MovieStatus.SHOWING);
+                testMovie = movieRepo.save(testMovie);
+
+                showDate = LocalDate.now().plusDays(1);
+                Showtime showtime = new Showtime();
+                showtime.setMovie(testMovie);
+                showtime.setRoom(room);
+                showtime.setStartTime(showDate.atTime(19, 30));
+                showtime.setFormat("2D");
+                testShowtime = showtimeRepo.save(showtime);
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should serve a repeated movie read without SQL")
+        @WithMockUser(roles = "USER")
+        void testGetMovie_SecondReadFromCache() {
+                given().when().get("/movies/" + testMovie.getId())
+                                .then().statusCode(HttpStatus.OK.value());
+
+                MockMvcResponse cached = given().when().get("/movies/" + testMovie.getId());
+
+                cached.then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("title", equalTo("Cached Movie"));
+                assertEquals("0", cached.getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should fall back to Redis when the local level is empty")
+        @WithMockUser(roles = "USER")
+        void testGetMovie_ReadFromRedisAfterLocalEviction() {
+                given().when().get("/movies/" + testMovie.getId())
+                                .then().statusCode(HttpStatus.OK.value());
+
+                TwoLevelCache cache = (TwoLevelCache) ((TransactionAwareCacheDecorator) cacheManager
+                                .getCache(CatalogCacheConfig.MOVIES)).getTargetCache();
+                cache.evictLocal(null);
+                long remoteHits = cache.getRemoteHits();
+
+                MockMvcResponse cached = given().when().get("/movies/" + testMovie.getId());
+
+                cached.then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("title", equalTo("Cached Movie"));
+                assertEquals("0", cached.getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+                assertEquals(remoteHits + 1, cache.getRemoteHits());
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should evict the cached movie when it is updated")
+        @WithMockUser(roles = "ADMIN")
+        void testUpdateMovie_EvictsCachedMovie() {
+                given().when().get("/movies/" + testMovie.getId())
+                                .then().body("title", equalTo("Cached Movie"));
+
+                UpdateMovieRequest request = UpdateMovieRequest.builder()
+                                .title("Renamed Movie")
+                                .build();
+                given()
+                                .contentType(ContentType.JSON)
+                                .body(request)
+                                .when()
+                                .put("/movies/" + testMovie.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value());
+
+                given().when().get("/movies/" + testMovie.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("title", equalTo("Renamed Movie"));
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should serve repeated showtimes by date without SQL")
+        @WithMockUser(roles = "USER")
+        void testGetMovieShowtimes_SecondReadFromCache() {
+                given().when().get("/movies/" + testMovie.getId() + "/showtimes?date=" + showDate)
+                                .then().statusCode(HttpStatus.OK.value());
+
+                MockMvcResponse cached = given().when()
+                                .get("/movies/" + testMovie.getId() + "/showtimes?date=" + showDate);
+
+                cached.then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("size()", equalTo(1))
+                                .body("[0].showtimes.size()", equalTo(1));
+                assertEquals("0", cached.getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should hide today's showtimes that already started")
+        @WithMockUser(roles = "USER")
+        void testGetMovieShowtimes_TodayFiltersStartedShowtimes() {
+                Room room = roomRepo.findAll().get(0);
+                Showtime started = new Showtime();
+                started.setMovie(testMovie);
+                started.setRoom(room);
+                started.setStartTime(LocalDateTime.now().minusMinutes(1));
+                showtimeRepo.save(started);
+
+                given().when().get("/movies/" + testMovie.getId() + "/showtimes?date=" + LocalDate.now())
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("size()", equalTo(0));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should evict showtimes by date when a cinema is renamed")
+        @WithMockUser(roles = "ADMIN")
+        void testUpdateCinema_EvictsMovieShowtimes() {
+                given().when().get("/movies/" + testMovie.getId() + "/showtimes?date=" + showDate)
+                                .then().body("[0].cinemaName", equalTo("Cache Cinema"));
+
+                UpdateCinemaRequest request = UpdateCinemaRequest.builder()
+                                .name("Renamed Cinema")
+                                .build();
+                given()
+                                .contentType(ContentType.JSON)
+                                .body(request)
+                                .when()
+                                .put("/cinemas/" + testCinema.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value());
+
+                given().when().get("/movies/" + testMovie.getId() + "/showtimes?date=" + showDate)
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("[0].cinemaName", equalTo("Renamed Cinema"));
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should serve the last-known movie with a staleness header while degraded")
+        @WithMockUser(roles = "USER")
+        void testDegraded_ServesLastKnownAndRefreshes() throws InterruptedException {
+                given().when().get("/movies/" + testMovie.getId())
+                                .then().body("title", equalTo("Cached Movie"));
+
+                testMovie.setTitle("Renamed Movie");
+                movieRepo.save(testMovie);
+                cacheManager.getCache(CatalogCacheConfig.MOVIES).evict(testMovie.getId());
+                when(loadMonitor.isDegraded()).thenReturn(true);
+
+                given().when().get("/movies/" + testMovie.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .header(StaleResponseAdvice.STALE_HEADER, equalTo("true"))
+                                .header("Age", notNullValue())
+                                .body("title", equalTo("Cached Movie"));
+
+                // The background refresh replaces the stale entry
+                String title = null;
+                for (int attempt = 0; attempt < 50 && !"Renamed Movie".equals(title); attempt++) {
+                        Thread.sleep(100);
+                        title = given().when().get("/movies/" + testMovie.getId()).then().extract().path("title");
+                }
+                assertEquals("Renamed Movie", title);
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should shed a degraded read with no last-known copy when load permits run out")
+        @WithMockUser(roles = "USER")
+        void testDegraded_ShedsWithoutLastKnown() {
+                when(loadMonitor.isDegraded()).thenReturn(true);
+                when(loadMonitor.tryAcquireLoad()).thenReturn(null);
+
+                given().when().get("/cinemas/" + testCinema.getId())
+                                .then()
+                                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                                .header("Retry-After", equalTo("1"));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should rebuild an evicted booking context while degraded instead of serving it stale")
+        void testDegraded_BookingContextNeverStale() {
+                if (priceBaseRepo.findActiveBasePrice().isEmpty()) {
+                        PriceBase priceBase = new PriceBase();
+                        priceBase.setName("Cache Price");
+                        priceBase.setBasePrice(new BigDecimal("90000"));
+                        priceBase.setIsActive(true);
+                        priceBaseRepo.save(priceBase);
+                }
+                assertEquals("2D", bookingContextService.getBookingContext(testShowtime.getId()).format());
+
+                testShowtime.setFormat("3D");
+                showtimeRepo.save(testShowtime);
+                cacheManager.getCache(CatalogCacheConfig.BOOKING_CONTEXTS).evict(testShowtime.getId());
+                when(loadMonitor.isDegraded()).thenReturn(true);
+
+                assertEquals("3D", bookingContextService.getBookingContext(testShowtime.getId()).format());
+        }
+}
@@ -2,8 +2,14 @@ package com.api.moviebooking.integrations;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,6 +19,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
 import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -36,8 +43,11 @@ import com.api.moviebooking.tags.SmokeTest;
 
 import io.restassured.http.ContentType;
 import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import io.restassured.module.mockmvc.response.ValidatableMockMvcResponse;
 
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.junit.jupiter.api.Assertions.*;
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
 import static org.hamcrest.Matchers.*;
 
@@ -48,6 +58,8 @@ import static org.hamcrest.Matchers.*;
  * Test counts match V(G) cyclomatic complexity:
  * - Confirm Booking: 10 tests (V(G)=10)
  * - Atomic Checkout: 2 tests (V(G)=2)
+ * - Confirm Booking Outcomes: double confirm, seat booked meanwhile, booking
+ * seats copied from the lock
  */
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Testcontainers
@@ -113,6 +125,12 @@ class CheckoutIntegrationTest {
     @Autowired
     private ShowtimeTicketTypeRepo showtimeTicketTypeRepo;
 
+    @Autowired
+    private BookingSeatRepo bookingSeatRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private User testUser;
     private Showtime testShowtime;
     private Seat testSeat;
@@ -493,6 +511,94 @@ class CheckoutIntegrationTest {
         }
     }
 
+    // ==================== Confirm Booking Outcomes ====================
+
+    @Nested
+    @DisplayName("Confirm Booking Outcome Tests")
+    class ConfirmBookingOutcomeTests {
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should confirm a lock once when it is confirmed twice at the same time")
+        void testConfirmBooking_DoubleConfirm() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            CountDownLatch start = new CountDownLatch(1);
+            try {
+                List<Future<Integer>> confirms = new ArrayList<>();
+                for (int i = 0; i < 2; i++) {
+                    confirms.add(executor.submit(() -> {
+                        start.await();
+                        return confirm().extract().statusCode();
+                    }));
+                }
+                start.countDown();
+
+                List<Integer> statuses = new ArrayList<>();
+                for (Future<Integer> confirm : confirms) {
+                    statuses.add(confirm.get());
+                }
+                statuses.sort(null);
+                assertEquals(List.of(HttpStatus.OK.value(), HttpStatus.GONE.value()), statuses);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertEquals(1, bookingRepo.count());
+            assertEquals(1, bookingSeatRepo.count());
+            assertEquals(SeatStatus.BOOKED, showtimeSeatRepo.findById(testShowtimeSeat.getId()).orElseThrow()
+                    .getStatus());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should reject with 409 and write nothing when a seat was booked meanwhile")
+        void testConfirmBooking_SeatBookedMeanwhile() {
+            testShowtimeSeat.setStatus(SeatStatus.BOOKED);
+            showtimeSeatRepo.save(testShowtimeSeat);
+
+            confirm().statusCode(HttpStatus.CONFLICT.value());
+
+            assertEquals(0, bookingRepo.count());
+            assertEquals(0, bookingSeatRepo.count());
+            // The claim rolled back with the booking
+            assertTrue(seatLockRepo.findById(testSeatLock.getId()).orElseThrow().isActive());
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should copy the ticket type and locked price of every seat into the booking")
+        void testConfirmBooking_BookingSeatsFromLock() {
+            // Priced differently from the showtime seat: the booking keeps the locked price
+            seatLockSeat.setPrice(new BigDecimal("85000"));
+            seatLockSeatRepo.save(seatLockSeat);
+
+            confirm().statusCode(HttpStatus.OK.value());
+
+            List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                    "SELECT showtime_seat_id, ticket_type_applied_id, price FROM booking_seats");
+            assertEquals(1, rows.size());
+            Map<String, Object> row = rows.get(0);
+            assertEquals(testShowtimeSeat.getId(), row.get("showtime_seat_id"));
+            assertEquals(testTicketType.getId(), row.get("ticket_type_applied_id"));
+            assertEquals(0, new BigDecimal("85000").compareTo((BigDecimal) row.get("price")));
+            assertEquals(0, new BigDecimal("85000").compareTo(bookingRepo.findAll().get(0).getTotalPrice()));
+        }
+
+        private ValidatableMockMvcResponse confirm() {
+            ConfirmBookingRequest request = new ConfirmBookingRequest();
+            request.setLockId(testSeatLock.getId());
+            return given()
+                    .auth().with(user(testUser.getEmail()).roles("USER"))
+                    .contentType(ContentType.JSON)
+                    .body(request)
+                    .when()
+                    .post("/bookings/confirm")
+                    .then();
+        }
+    }
+
     // ==================== Atomic Checkout Tests (V(G)=2) ====================
 
     @Nested
@@ -0,0 +1,157 @@
+package com.api.moviebooking.integrations;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.models.dtos.booking.ConfirmBookingRequest;
+import com.api.moviebooking.models.dtos.booking.LockSeatsRequest;
+import com.api.moviebooking.services.ConcurrencyLimitService;
+import com.api.moviebooking.services.ConcurrencyLimitService.Priority;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import io.restassured.http.ContentType;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import io.restassured.module.mockmvc.response.ValidatableMockMvcResponse;
+
+/**
+ * Load shedding of the booking endpoints (ConcurrencyLimitService,
+ * ConcurrencyLimitInterceptor): 503 with Retry-After once the concurrency
+ * limit is in use, new seat locks shed before confirm and checkout.
+ *
+ * The limit is pinned to 5 (3 for new locks) and the slots are taken
+ * directly from the service, standing in for requests in progress.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Concurrency Limit Integration Tests")
+class ConcurrencyLimitIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        @DynamicPropertySource
+        static void configureProperties(DynamicPropertyRegistry registry) {
+                registry.add("booking.concurrency.initial-limit", () -> "5");
+                registry.add("booking.concurrency.min-limit", () -> "5");
+                registry.add("booking.concurrency.max-limit", () -> "5");
+                registry.add("booking.concurrency.lock-share", () -> "0.6");
+        }
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        private ConcurrencyLimitService concurrencyLimitService;
+
+        private final List<Long> held = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+                RestAssuredMockMvc.mockMvc(MockMvcBuilders
+                                .webAppContextSetup(webApplicationContext)
+                                .apply(springSecurity())
+                                .build());
+        }
+
+        @AfterEach
+        void tearDown() {
+                held.forEach(start -> concurrencyLimitService.release(start, Priority.HIGH));
+                held.clear();
+        }
+
+        @Test
+        @SmokeTest
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should let booking requests through and free their slots while under the limit")
+        void testUnderLimit() {
+                for (int i = 0; i < 10; i++) {
+                        lockSeats().statusCode(not(HttpStatus.SERVICE_UNAVAILABLE.value()));
+                }
+
+                assertEquals(0, concurrencyLimitService.getInflight());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should shed new locks first and keep confirming held seats")
+        void testLocksShedBeforeConfirm() {
+                hold(3);
+
+                lockSeats()
+                                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                                .header("Retry-After", "1");
+                confirm().statusCode(not(HttpStatus.SERVICE_UNAVAILABLE.value()));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should shed confirm once the whole limit is in use")
+        void testConfirmShedAtLimit() {
+                hold(5);
+
+                confirm()
+                                .statusCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+                                .header("Retry-After", "1");
+        }
+
+        private void hold(int slots) {
+                for (int i = 0; i < slots; i++) {
+                        held.add(concurrencyLimitService.acquire(Priority.HIGH));
+                }
+        }
+
+        private ValidatableMockMvcResponse lockSeats() {
+                LockSeatsRequest request = new LockSeatsRequest();
+                request.setShowtimeId(UUID.randomUUID());
+                request.setSeats(List.of());
+                return given()
+                                .contentType(ContentType.JSON)
+                                .header("X-Session-Id", UUID.randomUUID().toString())
+                                .body(request)
+                                .when()
+                                .post("/seat-locks")
+                                .then();
+        }
+
+        private ValidatableMockMvcResponse confirm() {
+                ConfirmBookingRequest request = new ConfirmBookingRequest();
+                request.setLockId(UUID.randomUUID());
+                return given()
+                                .contentType(ContentType.JSON)
+                                .header("X-Session-Id", UUID.randomUUID().toString())
+                                .body(request)
+                                .when()
+                                .post("/bookings/confirm")
+                                .then();
+        }
+}
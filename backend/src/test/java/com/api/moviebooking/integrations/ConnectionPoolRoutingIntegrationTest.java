@@ -0,0 +1,149 @@
+package com.api.moviebooking.integrations;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.configs.DataSourceConfig;
+import com.api.moviebooking.models.entities.Movie;
+import com.api.moviebooking.models.enums.MovieStatus;
+import com.api.moviebooking.repositories.MovieRepo;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.utils.QueryBudgetAssertions;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+
+/**
+ * Read/write pool bulkheads: read-only transactions run on the read pool,
+ * read-write transactions on the write pool, and browsing keeps working
+ * while the write pool is exhausted.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "spring.datasource.write.hikari.maximum-pool-size=2",
+                "spring.datasource.write.hikari.connection-timeout=1000" })
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Connection Pool Routing Integration Tests")
+class ConnectionPoolRoutingIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        @Qualifier("writeDataSource")
+        private HikariDataSource writeDataSource;
+
+        @Autowired
+        @Qualifier("readDataSource")
+        private HikariDataSource readDataSource;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        private Movie testMovie;
+
+        @BeforeEach
+        void setUp() {
+                RestAssuredMockMvc.mockMvc(QueryBudgetAssertions.mockMvc(webApplicationContext));
+
+                movieRepo.deleteAll();
+
+                testMovie = new Movie();
+                testMovie.setTitle("Routed Movie");
+                testMovie.setDuration(120);
+                testMovie.setStatus(MovieStatus.SHOWING);
+                testMovie = movieRepo.save(testMovie);
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should run read-only transactions on the read pool")
+        void testReadOnlyTransaction_UsesReadPool() {
+                TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+                readOnly.setReadOnly(true);
+
+                readOnly.executeWithoutResult(status -> {
+                        movieRepo.count();
+                        assertEquals(1, readDataSource.getHikariPoolMXBean().getActiveConnections());
+                        assertEquals(0, writeDataSource.getHikariPoolMXBean().getActiveConnections());
+                });
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should run read-write transactions on the write pool")
+        void testReadWriteTransaction_UsesWritePool() {
+                TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+                readWrite.executeWithoutResult(status -> {
+                        movieRepo.count();
+                        assertEquals(1, writeDataSource.getHikariPoolMXBean().getActiveConnections());
+                        assertEquals(0, readDataSource.getHikariPoolMXBean().getActiveConnections());
+                });
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should keep serving catalog reads while the write pool is exhausted")
+        @WithMockUser(roles = "USER")
+        void testCatalogRead_WritePoolExhausted() throws Exception {
+                List<Connection> held = new ArrayList<>();
+                try {
+                        for (int i = 0; i < writeDataSource.getMaximumPoolSize(); i++) {
+                                held.add(writeDataSource.getConnection());
+                        }
+
+                        given().when().get("/movies/" + testMovie.getId())
+                                        .then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .body("title", equalTo("Routed Movie"));
+                } finally {
+                        for (Connection connection : held) {
+                                connection.close();
+                        }
+                }
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should name the pools so their metrics are reported separately")
+        void testPools_Named() {
+                assertEquals(DataSourceConfig.WRITE_POOL, writeDataSource.getPoolName());
+                assertEquals(DataSourceConfig.READ_POOL, readDataSource.getPoolName());
+                assertNotSame(writeDataSource, readDataSource);
+        }
+}
@@ -0,0 +1,317 @@
+package com.api.moviebooking.integrations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.models.entities.*;
+import com.api.moviebooking.models.enums.LockOwnerType;
+import com.api.moviebooking.models.enums.ModifierType;
+import com.api.moviebooking.models.enums.MovieStatus;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.models.enums.SeatType;
+import com.api.moviebooking.repositories.*;
+import com.api.moviebooking.services.PartitionMaintenanceService;
+import com.api.moviebooking.services.ShowtimeSeatService;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+/**
+ * Monthly partitions of showtime_seats, seat_locks and seat_lock_seats (V5
+ * migration, PartitionMaintenanceService): routing, partition pruning of the
+ * showtime seat queries, rescheduling, and archival.
+ *
+ * The migration ran on an empty database, so showtime_seats_archive covers
+ * everything before the current month and partitions exist for the current
+ * month and the 12 after it.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Partitioning Integration Tests")
+class PartitioningIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'_p'yyyy_MM");
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private PartitionMaintenanceService partitionMaintenanceService;
+
+        @Autowired
+        private ShowtimeSeatService showtimeSeatService;
+
+        @Autowired
+        private SeatLockSeatRepo seatLockSeatRepo;
+
+        @Autowired
+        private SeatLockRepo seatLockRepo;
+
+        @Autowired
+        private ShowtimeSeatRepo showtimeSeatRepo;
+
+        @Autowired
+        private ShowtimeRepo showtimeRepo;
+
+        @Autowired
+        private SeatRepo seatRepo;
+
+        @Autowired
+        private RoomRepo roomRepo;
+
+        @Autowired
+        private CinemaRepo cinemaRepo;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        @Autowired
+        private TicketTypeRepo ticketTypeRepo;
+
+        private final LocalDate month = LocalDate.now().withDayOfMonth(1);
+        private Room room;
+        private Movie movie;
+        private List<Seat> seats;
+        private TicketType ticketType;
+
+        @BeforeEach
+        void setUp() {
+                seatLockSeatRepo.deleteAllInBatch();
+                seatLockRepo.deleteAllInBatch();
+                showtimeSeatRepo.deleteAllInBatch();
+                showtimeRepo.deleteAllInBatch();
+                seatRepo.deleteAllInBatch();
+                roomRepo.deleteAllInBatch();
+                cinemaRepo.deleteAll();
+                movieRepo.deleteAll();
+                ticketTypeRepo.deleteAll();
+
+                Cinema cinema = new Cinema();
+                cinema.setName("Partition Cinema");
+                cinema.setAddress("1 Range St");
+                cinema.setHotline("1234567");
+                cinema = cinemaRepo.save(cinema);
+
+                room = new Room();
+                room.setCinema(cinema);
+                room.setRoomNumber(1);
+                room.setRoomType("Standard");
+                room = roomRepo.save(room);
+
+                seats = new ArrayList<>();
+                for (int number = 1; number <= 3; number++) {
+                        Seat seat = new Seat();
+                        seat.setRoom(room);
+                        seat.setRowLabel("A");
+                        seat.setSeatNumber(number);
+                        seat.setSeatType(SeatType.NORMAL);
+                        seats.add(seatRepo.save(seat));
+                }
+
+                movie = new Movie();
+                movie.setTitle("Partition Movie");
+                movie.setDuration(120);
+                movie.setGenre("Drama");
+                movie.setStatus(MovieStatus.SHOWING);
+                movie = movieRepo.save(movie);
+
+                ticketType = new TicketType();
+                ticketType.setCode("ADULT");
+                ticketType.setLabel("Adult Ticket");
+                ticketType.setModifierType(ModifierType.PERCENTAGE);
+                ticketType.setModifierValue(BigDecimal.ZERO);
+                ticketType = ticketTypeRepo.save(ticketType);
+        }
+
+        @Test
+        @SmokeTest
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should store showtime seats in the partition of the showtime's month")
+        void testShowtimeSeatRouting() {
+                Showtime showtime = showtimeWithSeats(month.plusMonths(2).atTime(20, 0));
+
+                assertEquals(List.of("showtime_seats" + month.plusMonths(2).format(PARTITION_SUFFIX)),
+                                partitionsOf("showtime_seats", showtime.getId()));
+                assertEquals(3, showtimeSeatRepo.findByShowtimeId(showtime.getId()).size());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should scan only the showtime's partition for queries by showtime")
+        void testShowtimeSeatQueriesArePruned() {
+                Showtime showtime = showtimeWithSeats(month.plusMonths(1).atTime(20, 0));
+                showtimeWithSeats(month.plusMonths(2).atTime(20, 0));
+                String partition = "showtime_seats" + month.plusMonths(1).format(PARTITION_SUFFIX);
+
+                // Same predicate as ShowtimeSeatRepo.IN_SHOWTIME_PARTITION
+                List<String> plan = jdbcTemplate.queryForList("EXPLAIN (ANALYZE, COSTS OFF) "
+                                + "SELECT * FROM showtime_seats ss WHERE ss.showtime_id = ? AND ss.showtime_start = "
+                                + "(SELECT s.start_time FROM showtimes s WHERE s.id = ?)", String.class,
+                                showtime.getId(), showtime.getId());
+
+                List<String> scanned = plan.stream()
+                                .filter(line -> line.contains(" on showtime_seats"))
+                                .filter(line -> !line.contains("never executed"))
+                                .toList();
+                assertFalse(scanned.isEmpty(), String.join("\n", plan));
+                assertTrue(scanned.stream().allMatch(line -> line.contains(" on " + partition)),
+                                String.join("\n", plan));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should move the seats of a rescheduled showtime to its new month")
+        void testRescheduleMovesSeats() {
+                Showtime showtime = showtimeWithSeats(month.plusMonths(1).atTime(20, 0));
+                LocalDateTime newStart = month.plusMonths(3).atTime(18, 0);
+
+                new TransactionTemplate(transactionManager).executeWithoutResult(tx -> {
+                        Showtime managed = showtimeRepo.findById(showtime.getId()).orElseThrow();
+                        showtimeSeatService.rescheduleShowtimeSeats(showtime.getId(), newStart);
+                        managed.setStartTime(newStart);
+                });
+
+                assertEquals(List.of("showtime_seats" + month.plusMonths(3).format(PARTITION_SUFFIX)),
+                                partitionsOf("showtime_seats", showtime.getId()));
+                assertEquals(3, showtimeSeatRepo.findByShowtimeId(showtime.getId()).size());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should move seats from the default partition when their month's partition is created")
+        void testDefaultPartitionDrainedOnCreate() {
+                LocalDate farMonth = month.plusMonths(20);
+                Showtime showtime = showtimeWithSeats(farMonth.atTime(20, 0));
+                assertEquals(List.of("showtime_seats_default"), partitionsOf("showtime_seats", showtime.getId()));
+
+                assertEquals(3, partitionMaintenanceService.createPartitions(farMonth, farMonth));
+
+                assertEquals(List.of("showtime_seats" + farMonth.format(PARTITION_SUFFIX)),
+                                partitionsOf("showtime_seats", showtime.getId()));
+                assertEquals(3, showtimeSeatRepo.findByShowtimeId(showtime.getId()).size());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should keep only booked seats when a month is archived")
+        void testArchiveKeepsBookedSeats() {
+                Showtime showtime = showtimeWithSeats(month.atTime(10, 0));
+                List<ShowtimeSeat> showtimeSeats = showtimeSeatRepo.findByShowtimeId(showtime.getId());
+                jdbcTemplate.update("UPDATE showtime_seats SET status = 'BOOKED' WHERE id = ?",
+                                showtimeSeats.get(0).getId());
+
+                assertEquals(1, partitionMaintenanceService.archiveShowtimeSeats(month.plusMonths(1)));
+
+                List<ShowtimeSeat> kept = showtimeSeatRepo.findByShowtimeId(showtime.getId());
+                assertEquals(1, kept.size());
+                assertEquals(showtimeSeats.get(0).getId(), kept.get(0).getId());
+                assertEquals(List.of("showtime_seats_archive"), partitionsOf("showtime_seats", showtime.getId()));
+                assertNull(jdbcTemplate.queryForObject("SELECT to_regclass(?)::text", String.class,
+                                "showtime_seats" + month.format(PARTITION_SUFFIX)));
+                // The validated check the attach relied on to skip scanning the archive
+                assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+                                "SELECT convalidated FROM pg_constraint WHERE conname = 'showtime_seats_archive_bound'",
+                                Boolean.class));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should store a lock and its seats in one month and drop them together")
+        void testSeatLockPartitions() {
+                Showtime showtime = showtimeWithSeats(month.plusMonths(1).atTime(20, 0));
+                LocalDate oldMonth = month.minusMonths(3);
+                jdbcTemplate.queryForObject("SELECT create_month_partitions('seat_locks', 'created_at', ?, ?)"
+                                + " + create_month_partitions('seat_lock_seats', 'created_at', ?, ?)",
+                                Integer.class, oldMonth, oldMonth, oldMonth, oldMonth);
+
+                SeatLock current = seatLock(showtime, null);
+                SeatLock old = seatLock(showtime, oldMonth.atTime(12, 0));
+
+                assertEquals(List.of("seat_locks" + month.format(PARTITION_SUFFIX)),
+                                partitionsOf("seat_locks", current.getId()));
+                assertEquals(List.of("seat_lock_seats" + oldMonth.format(PARTITION_SUFFIX)),
+                                jdbcTemplate.queryForList("SELECT tableoid::regclass::text FROM seat_lock_seats "
+                                                + "WHERE seat_lock_id = ?", String.class, old.getId()));
+
+                assertEquals(2, partitionMaintenanceService.dropSeatLocks(month.minusMonths(2)));
+
+                assertTrue(seatLockRepo.findById(old.getId()).isEmpty());
+                assertTrue(seatLockRepo.findById(current.getId()).isPresent());
+                assertEquals(1, seatLockSeatRepo.findBySeatLockId(current.getId()).size());
+        }
+
+        private Showtime showtimeWithSeats(LocalDateTime startTime) {
+                Showtime showtime = new Showtime();
+                showtime.setRoom(room);
+                showtime.setMovie(movie);
+                showtime.setStartTime(startTime);
+                showtime.setFormat("2D");
+                Showtime saved = showtimeRepo.save(showtime);
+
+                List<ShowtimeSeat> showtimeSeats = new ArrayList<>();
+                for (Seat seat : seats) {
+                        showtimeSeats.add(new ShowtimeSeat(null, saved, seat, SeatStatus.AVAILABLE,
+                                        new BigDecimal("50000.00"), null, null));
+                }
+                showtimeSeatRepo.saveAll(showtimeSeats);
+                return saved;
+        }
+
+        private SeatLock seatLock(Showtime showtime, LocalDateTime createdAt) {
+                ShowtimeSeat showtimeSeat = showtimeSeatRepo.findByShowtimeId(showtime.getId()).get(0);
+
+                SeatLock seatLock = new SeatLock();
+                seatLock.setLockKey(UUID.randomUUID().toString());
+                seatLock.setLockOwnerId(UUID.randomUUID().toString());
+                seatLock.setLockOwnerType(LockOwnerType.GUEST_SESSION);
+                seatLock.setShowtime(showtime);
+                seatLock.setExpiresAt(LocalDateTime.now().plusMinutes(2));
+                seatLock.setCreatedAt(createdAt);
+
+                SeatLockSeat seatLockSeat = new SeatLockSeat();
+                seatLockSeat.setSeatLock(seatLock);
+                seatLockSeat.setShowtimeSeat(showtimeSeat);
+                seatLockSeat.setTicketType(ticketType);
+                seatLockSeat.setPrice(new BigDecimal("50000.00"));
+                seatLock.getSeatLockSeats().add(seatLockSeat);
+                return seatLockRepo.save(seatLock);
+        }
+
+        private List<String> partitionsOf(String table, UUID id) {
+                String column = table.equals("showtime_seats") ? "showtime_id" : "id";
+                return jdbcTemplate.queryForList("SELECT DISTINCT tableoid::regclass::text FROM " + table
+                                + " WHERE " + column + " = ?", String.class, id);
+        }
+}
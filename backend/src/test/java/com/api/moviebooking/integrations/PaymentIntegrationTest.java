@@ -7,6 +7,11 @@ import static org.springframework.security.test.web.servlet.setup.SecurityMockMv
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -444,6 +449,133 @@ class PaymentIntegrationTest {
                                         .then()
                                         .statusCode(HttpStatus.OK.value());
                 }
+
+                @Test
+                @RegressionTest
+                @DisplayName("Should omit next cursor on the last page")
+                void testSearchPaymentsLastPageHasNoCursor() {
+                        Payment payment = new Payment();
+                        payment.setBooking(testBooking);
+                        payment.setMethod(PaymentMethod.PAYPAL);
+                        payment.setStatus(PaymentStatus.SUCCESS);
+                        payment.setAmount(new BigDecimal("100.00"));
+                        payment.setCurrency("VND");
+                        paymentRepo.save(payment);
+
+                        given()
+                                        .queryParam("bookingId", testBooking.getId().toString())
+                                        .queryParam("limit", 1)
+                                        .when()
+                                        .get("/payments/search")
+                                        .then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .header("X-Next-Cursor", nullValue())
+                                        .body("size()", equalTo(1));
+                }
+
+                @Test
+                @SanityTest
+                @RegressionTest
+                @WithMockUser(username = "test@payment.com", roles = "ADMIN")
+                @DisplayName("Should continue the keyset on every next page without gaps or duplicates")
+                void testSearchPaymentsFollowsNextCursor() {
+                        // Saved in one batch so several payments share a creation time and the id breaks the tie
+                        Set<String> saved = savePayments(7).stream()
+                                        .map(payment -> payment.getId().toString())
+                                        .collect(Collectors.toSet());
+
+                        List<String> fetched = new ArrayList<>();
+                        String cursor = null;
+                        int pages = 0;
+                        do {
+                                var request = given()
+                                                .queryParam("bookingId", testBooking.getId().toString())
+                                                .queryParam("limit", 3);
+                                if (cursor != null) {
+                                        request = request.queryParam("cursor", cursor);
+                                }
+                                var response = request.when()
+                                                .get("/payments/search")
+                                                .then()
+                                                .statusCode(HttpStatus.OK.value())
+                                                .extract();
+                                fetched.addAll(response.path("paymentId"));
+                                cursor = response.header("X-Next-Cursor");
+                                pages++;
+                        } while (cursor != null && pages < 10);
+
+                        assertEquals(3, pages);
+                        assertEquals(saved.size(), fetched.size(), "no payment may be returned twice");
+                        assertEquals(saved, new HashSet<>(fetched), "every payment must be returned");
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("Should reject malformed cursor")
+                void testSearchPaymentsInvalidCursor() {
+                        given()
+                                        .queryParam("cursor", "not-a-cursor")
+                                        .when()
+                                        .get("/payments/search")
+                                        .then()
+                                        .statusCode(HttpStatus.BAD_REQUEST.value());
+                }
+        }
+
+        @Nested
+        @DisplayName("Payment Export Tests")
+        class PaymentExportTests {
+
+                @Test
+                @SanityTest
+                @RegressionTest
+                @WithMockUser(username = "test@payment.com", roles = "ADMIN")
+                @DisplayName("Should stream every matching payment as CSV across export batches")
+                void testExportPaymentsCsv() {
+                        // One more than the export batch size, so the export has to fetch a second batch
+                        Set<String> saved = savePayments(501).stream()
+                                        .map(payment -> payment.getId().toString())
+                                        .collect(Collectors.toSet());
+
+                        String csv = given()
+                                        .queryParam("bookingId", testBooking.getId().toString())
+                                        .when()
+                                        .async()
+                                        .get("/payments/export")
+                                        .then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .contentType(containsString("text/csv"))
+                                        .header("Content-Disposition", containsString("payments.csv"))
+                                        .extract()
+                                        .asString();
+
+                        List<String> lines = csv.lines().toList();
+                        assertTrue(lines.get(0).startsWith("paymentId,bookingId,"));
+                        List<String> exported = lines.stream()
+                                        .skip(1)
+                                        .map(line -> line.substring(0, line.indexOf(',')))
+                                        .toList();
+                        assertEquals(saved.size(), exported.size(), "no payment may be exported twice");
+                        assertEquals(saved, new HashSet<>(exported), "every payment must be exported");
+                }
+
+                @Test
+                @RegressionTest
+                @WithMockUser(username = "test@payment.com", roles = "ADMIN")
+                @DisplayName("Should export only the header when no payment matches")
+                void testExportPaymentsEmpty() {
+                        String csv = given()
+                                        .queryParam("status", "REFUNDED")
+                                        .when()
+                                        .async()
+                                        .get("/payments/export")
+                                        .then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .extract()
+                                        .asString();
+
+                        assertEquals(1, csv.lines().count());
+                }
         }
 
         @Nested
@@ -520,4 +652,19 @@ class PaymentIntegrationTest {
                         assertEquals(BookingStatus.CANCELLED, updatedBooking.getStatus());
                 }
         }
+
+        private List<Payment> savePayments(int count) {
+                List<Payment> payments = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                        Payment payment = new Payment();
+                        payment.setBooking(testBooking);
+                        payment.setMethod(PaymentMethod.MOMO);
+                        payment.setStatus(PaymentStatus.SUCCESS);
+                        payment.setAmount(new BigDecimal("100.00"));
+                        payment.setCurrency("VND");
+                        payment.setTransactionId("TXN_PAGE_" + i);
+                        payments.add(payment);
+                }
+                return paymentRepo.saveAll(payments);
+        }
 }
@@ -0,0 +1,410 @@
+package com.api.moviebooking.integrations;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.models.entities.*;
+import com.api.moviebooking.models.entities.BookingPromotion.BookingPromotionId;
+import com.api.moviebooking.models.enums.*;
+import com.api.moviebooking.repositories.*;
+import com.api.moviebooking.services.PromotionService;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+import com.api.moviebooking.utils.QueryBudgetAssertions;
+
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import io.restassured.module.mockmvc.response.MockMvcResponse;
+
+/**
+ * Per-endpoint SQL statement budgets.
+ *
+ * Every endpoint reads a collection (seats, bookings, payments) seeded with
+ * several rows, so a lazy association loaded once per row pushes the count
+ * over budget. Budgets are the statement counts of the current queries; raise
+ * one only together with the change that needs the extra statement.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Query Budget Integration Tests")
+class QueryBudgetIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        private static final int SEAT_COUNT = 10;
+        private static final int BOOKING_COUNT = 5;
+
+        // showtime existence check + showtime seats joined with their seat
+        private static final int SEAT_LAYOUT_BUDGET = 2;
+        // showtime seats joined with their seat
+        private static final int SHOWTIME_SEATS_BUDGET = 1;
+        // current user + bookings with showtime chain + batched booking seats,
+        // showtime seats and seats
+        private static final int MY_BOOKINGS_BUDGET = 5;
+        private static final int BOOKING_DETAIL_BUDGET = 5;
+        // payments with booking/showtime chain + batched booking seats,
+        // showtime seats and seats
+        private static final int PAYMENT_SEARCH_BUDGET = 4;
+        // one keyset page query each
+        private static final int SHOWTIME_LIST_BUDGET = 1;
+        private static final int MOVIE_LIST_BUDGET = 1;
+        // promotion by code + total usage count + per-user usage count
+        private static final int PROMOTION_VALIDATION_BUDGET = 3;
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        private PromotionService promotionService;
+
+        @Autowired
+        private PaymentRepo paymentRepo;
+
+        @Autowired
+        private BookingPromotionRepo bookingPromotionRepo;
+
+        @Autowired
+        private PromotionRepo promotionRepo;
+
+        @Autowired
+        private BookingRepo bookingRepo;
+
+        @Autowired
+        private SeatLockRepo seatLockRepo;
+
+        @Autowired
+        private ShowtimeSeatRepo showtimeSeatRepo;
+
+        @Autowired
+        private ShowtimeRepo showtimeRepo;
+
+        @Autowired
+        private SeatRepo seatRepo;
+
+        @Autowired
+        private RoomRepo roomRepo;
+
+        @Autowired
+        private SnackRepo snackRepo;
+
+        @Autowired
+        private CinemaRepo cinemaRepo;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        @Autowired
+        private TicketTypeRepo ticketTypeRepo;
+
+        @Autowired
+        private UserRepo userRepo;
+
+        private User testUser;
+        private Showtime testShowtime;
+        private Promotion testPromotion;
+        private List<Booking> testBookings;
+
+        @BeforeEach
+        void setUp() {
+                RestAssuredMockMvc.mockMvc(QueryBudgetAssertions.mockMvc(webApplicationContext));
+
+                // Clean up in reverse dependency order
+                paymentRepo.deleteAll();
+                bookingPromotionRepo.deleteAll();
+                promotionRepo.deleteAll();
+                bookingRepo.deleteAll();
+                seatLockRepo.deleteAll();
+                showtimeSeatRepo.deleteAll();
+                showtimeRepo.deleteAll();
+                seatRepo.deleteAll();
+                roomRepo.deleteAll();
+                snackRepo.deleteAll();
+                cinemaRepo.deleteAll();
+                movieRepo.deleteAll();
+                ticketTypeRepo.deleteAll();
+                userRepo.deleteAll();
+
+                testUser = new User();
+                testUser.setEmail("budget@booking.com");
+                testUser.setUsername("budgetuser");
+                testUser.setPassword("password");
+                testUser.setRole(UserRole.USER);
+                testUser = userRepo.save(testUser);
+
+                TicketType ticketType = new TicketType();
+                ticketType.setCode("ADULT");
+                ticketType.setLabel("Adult Ticket");
+                ticketType.setModifierType(ModifierType.PERCENTAGE);
+                ticketType.setModifierValue(BigDecimal.ZERO);
+                ticketType.setActive(true);
+                ticketType.setSortOrder(1);
+                ticketType = ticketTypeRepo.save(ticketType);
+
+                Cinema cinema = new Cinema();
+                cinema.setName("Budget Cinema");
+                cinema.setAddress("1 Budget St");
+                cinema.setHotline("123-456-7890");
+                cinema = cinemaRepo.save(cinema);
+
+                Room room = new Room();
+                room.setCinema(cinema);
+                room.setRoomNumber(1);
+                room.setRoomType("STANDARD");
+                room = roomRepo.save(room);
+
+                Movie movie = new Movie();
+                movie.setTitle("Budget Movie");
+                movie.setDuration(120);
+                movie.setStatus(MovieStatus.SHOWING);
+                movie = movieRepo.save(movie);
+
+                testShowtime = new Showtime();
+                testShowtime.setMovie(movie);
+                testShowtime.setRoom(room);
+                testShowtime.setStartTime(LocalDateTime.now().plusDays(1));
+                testShowtime = showtimeRepo.save(testShowtime);
+
+                List<ShowtimeSeat> showtimeSeats = new ArrayList<>();
+                for (int i = 1; i <= SEAT_COUNT; i++) {
+                        Seat seat = new Seat();
+                        seat.setRoom(room);
+                        seat.setRowLabel("A");
+                        seat.setSeatNumber(i);
+                        seat.setSeatType(SeatType.NORMAL);
+                        seat = seatRepo.save(seat);
+
+                        ShowtimeSeat showtimeSeat = new ShowtimeSeat();
+                        showtimeSeat.setShowtime(testShowtime);
+                        showtimeSeat.setSeat(seat);
+                        showtimeSeat.setStatus(i <= BOOKING_COUNT * 2 ? SeatStatus.BOOKED : SeatStatus.AVAILABLE);
+                        showtimeSeat.setPrice(new BigDecimal("100000"));
+                        showtimeSeats.add(showtimeSeatRepo.save(showtimeSeat));
+                }
+
+                // Two seats per booking, each booking paid
+                testBookings = new ArrayList<>();
+                for (int i = 0; i < BOOKING_COUNT; i++) {
+                        Booking booking = new Booking();
+                        booking.setUser(testUser);
+                        booking.setShowtime(testShowtime);
+                        booking.setStatus(BookingStatus.CONFIRMED);
+                        booking.setTotalPrice(new BigDecimal("200000"));
+                        booking.setFinalPrice(new BigDecimal("200000"));
+                        for (int j = 0; j < 2; j++) {
+                                BookingSeat bookingSeat = new BookingSeat();
+                                bookingSeat.setBooking(booking);
+                                bookingSeat.setShowtimeSeat(showtimeSeats.get(i * 2 + j));
+                                bookingSeat.setTicketTypeApplied(ticketType);
+                                bookingSeat.setPrice(new BigDecimal("100000"));
+                                booking.getBookingSeats().add(bookingSeat);
+                        }
+                        booking = bookingRepo.save(booking);
+                        testBookings.add(booking);
+
+                        Payment payment = new Payment();
+                        payment.setBooking(booking);
+                        payment.setMethod(PaymentMethod.MOMO);
+                        payment.setStatus(PaymentStatus.SUCCESS);
+                        payment.setAmount(new BigDecimal("200000"));
+                        payment.setCurrency("VND");
+                        payment.setTransactionId("TXN_BUDGET_" + i);
+                        paymentRepo.save(payment);
+                }
+
+                testPromotion = new Promotion();
+                testPromotion.setCode("BUDGET");
+                testPromotion.setName("Budget Promotion");
+                testPromotion.setDiscountType(DiscountType.PERCENTAGE);
+                testPromotion.setDiscountValue(new BigDecimal("10"));
+                testPromotion.setStartDate(LocalDateTime.now().minusDays(1));
+                testPromotion.setEndDate(LocalDateTime.now().plusDays(30));
+                testPromotion.setUsageLimit(100);
+                testPromotion.setPerUserLimit(BOOKING_COUNT + 1);
+                testPromotion.setIsActive(true);
+                testPromotion = promotionRepo.save(testPromotion);
+
+                for (Booking booking : testBookings) {
+                        BookingPromotion usage = new BookingPromotion();
+                        usage.setId(new BookingPromotionId(booking.getId(), testPromotion.getId()));
+                        usage.setBooking(booking);
+                        usage.setPromotion(testPromotion);
+                        bookingPromotionRepo.save(usage);
+                }
+        }
+
+        @Nested
+        @DisplayName("Seat Endpoints")
+        class SeatEndpointTests {
+
+                @Test
+                @SmokeTest
+                @SanityTest
+                @RegressionTest
+                @DisplayName("GET /seats/layout stays within budget")
+                void testSeatLayoutBudget() {
+                        MockMvcResponse response = given()
+                                        .queryParam("showtime_id", testShowtime.getId().toString())
+                                        .when()
+                                        .get("/seats/layout");
+
+                        response.then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .body("size()", equalTo(SEAT_COUNT));
+                        QueryBudgetAssertions.assertWithinBudget(response, SEAT_LAYOUT_BUDGET);
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("GET /showtime-seats/showtime/{id} stays within budget")
+                void testShowtimeSeatsBudget() {
+                        MockMvcResponse response = given()
+                                        .when()
+                                        .get("/showtime-seats/showtime/{showtimeId}", testShowtime.getId());
+
+                        response.then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .body("size()", equalTo(SEAT_COUNT));
+                        QueryBudgetAssertions.assertWithinBudget(response, SHOWTIME_SEATS_BUDGET);
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("GET /showtime-seats/showtime/{id}/available stays within budget")
+                void testAvailableShowtimeSeatsBudget() {
+                        MockMvcResponse response = given()
+                                        .when()
+                                        .get("/showtime-seats/showtime/{showtimeId}/available", testShowtime.getId());
+
+                        response.then().statusCode(HttpStatus.OK.value());
+                        QueryBudgetAssertions.assertWithinBudget(response, SHOWTIME_SEATS_BUDGET);
+                }
+        }
+
+        @Nested
+        @DisplayName("Booking Endpoints")
+        class BookingEndpointTests {
+
+                @Test
+                @SanityTest
+                @RegressionTest
+                @WithMockUser(username = "budget@booking.com", roles = "USER")
+                @DisplayName("GET /bookings/my-bookings stays within budget")
+                void testMyBookingsBudget() {
+                        MockMvcResponse response = given()
+                                        .when()
+                                        .get("/bookings/my-bookings");
+
+                        response.then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .body("size()", equalTo(BOOKING_COUNT))
+                                        .body("[0].seats.size()", equalTo(2));
+                        QueryBudgetAssertions.assertWithinBudget(response, MY_BOOKINGS_BUDGET);
+                }
+
+                @Test
+                @RegressionTest
+                @WithMockUser(username = "budget@booking.com", roles = "USER")
+                @DisplayName("GET /bookings/{id} stays within budget")
+                void testBookingDetailBudget() {
+                        MockMvcResponse response = given()
+                                        .when()
+                                        .get("/bookings/{bookingId}", testBookings.get(0).getId());
+
+                        response.then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .body("seats.size()", equalTo(2));
+                        QueryBudgetAssertions.assertWithinBudget(response, BOOKING_DETAIL_BUDGET);
+                }
+        }
+
+        @Nested
+        @DisplayName("Payment Endpoints")
+        class PaymentEndpointTests {
+
+                @Test
+                @RegressionTest
+                @WithMockUser(username = "admin@booking.com", roles = "ADMIN")
+                @DisplayName("GET /payments/search stays within budget")
+                void testPaymentSearchBudget() {
+                        MockMvcResponse response = given()
+                                        .queryParam("status", "SUCCESS")
+                                        .when()
+                                        .get("/payments/search");
+
+                        response.then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .body("size()", equalTo(BOOKING_COUNT));
+                        QueryBudgetAssertions.assertWithinBudget(response, PAYMENT_SEARCH_BUDGET);
+                }
+        }
+
+        @Nested
+        @DisplayName("Catalog Endpoints")
+        class CatalogEndpointTests {
+
+                @Test
+                @RegressionTest
+                @DisplayName("GET /showtimes stays within budget")
+                void testShowtimeListBudget() {
+                        MockMvcResponse response = given()
+                                        .when()
+                                        .get("/showtimes");
+
+                        response.then().statusCode(HttpStatus.OK.value());
+                        QueryBudgetAssertions.assertWithinBudget(response, SHOWTIME_LIST_BUDGET);
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("GET /movies stays within budget")
+                void testMovieListBudget() {
+                        MockMvcResponse response = given()
+                                        .when()
+                                        .get("/movies");
+
+                        response.then().statusCode(HttpStatus.OK.value());
+                        QueryBudgetAssertions.assertWithinBudget(response, MOVIE_LIST_BUDGET);
+                }
+        }
+
+        @Nested
+        @DisplayName("Promotion Validation")
+        class PromotionValidationTests {
+
+                @Test
+                @RegressionTest
+                @DisplayName("validateAndGetPromotion counts usages instead of loading them")
+                void testPromotionValidationBudget() {
+                        Promotion promotion = QueryBudgetAssertions.assertWithinBudget(PROMOTION_VALIDATION_BUDGET,
+                                        () -> promotionService.validateAndGetPromotion("BUDGET", testUser.getId()));
+
+                        assertEquals(testPromotion.getId(), promotion.getId());
+                }
+        }
+}
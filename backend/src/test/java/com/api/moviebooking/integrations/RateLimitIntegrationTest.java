@@ -0,0 +1,190 @@
+package com.api.moviebooking.integrations;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.hamcrest.Matchers.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.configs.RateLimitFilter;
+import com.api.moviebooking.models.dtos.booking.LockSeatsRequest;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import io.restassured.http.ContentType;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import io.restassured.module.mockmvc.response.ValidatableMockMvcResponse;
+
+/**
+ * Rate limiting of the booking endpoints (RateLimitFilter, RateLimitService):
+ * per-session and per-IP token buckets in Redis, RateLimit headers and 429
+ * with Retry-After, and the near cache answering rejected callers.
+ *
+ * Every test uses its own client IP so the buckets of one test do not leak
+ * into the next. The requests target an unknown showtime: what matters is
+ * whether they got past the filter, not what the controller answers.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Rate Limit Integration Tests")
+class RateLimitIntegrationTest {
+
+        private static final String ALLOWLISTED_IP = "10.1.0.1";
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        @Container
+        @SuppressWarnings("resource")
+        static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                        .withExposedPorts(6379);
+
+        @DynamicPropertySource
+        static void configureProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.data.redis.host", redis::getHost);
+                registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+                registry.add("rate-limit.enabled", () -> "true");
+                registry.add("rate-limit.policies.lock.capacity", () -> "2");
+                registry.add("rate-limit.policies.lock.per-minute", () -> "1");
+                registry.add("rate-limit.policies.lock.ip-capacity", () -> "3");
+                registry.add("rate-limit.policies.lock.ip-per-minute", () -> "1");
+                registry.add("rate-limit.allowlist", () -> ALLOWLISTED_IP);
+        }
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        private FilterRegistrationBean<RateLimitFilter> rateLimitFilter;
+
+        @Autowired
+        private RedisTemplate<String, Object> redisTemplate;
+
+        private String clientIp;
+
+        @BeforeEach
+        void setUp() {
+                // MockMvc does not pick up servlet filter beans by itself
+                RestAssuredMockMvc.mockMvc(MockMvcBuilders
+                                .webAppContextSetup(webApplicationContext)
+                                .addFilters(rateLimitFilter.getFilter())
+                                .apply(springSecurity())
+                                .build());
+                clientIp = "10.0." + ThreadLocalRandom.current().nextInt(256) + "."
+                                + ThreadLocalRandom.current().nextInt(1, 255);
+        }
+
+        @Test
+        @SmokeTest
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should count down the session bucket and reject with 429 once it is empty")
+        void testSessionLimit() {
+                String sessionId = UUID.randomUUID().toString();
+
+                lockSeats(sessionId)
+                                .statusCode(not(HttpStatus.TOO_MANY_REQUESTS.value()))
+                                .header(RateLimitFilter.LIMIT_HEADER, "2")
+                                .header(RateLimitFilter.REMAINING_HEADER, "1")
+                                .header(RateLimitFilter.POLICY_HEADER, "2;w=120");
+                lockSeats(sessionId)
+                                .statusCode(not(HttpStatus.TOO_MANY_REQUESTS.value()))
+                                .header(RateLimitFilter.REMAINING_HEADER, "0");
+                lockSeats(sessionId)
+                                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                                .header("Retry-After", notNullValue())
+                                .header(RateLimitFilter.REMAINING_HEADER, "0")
+                                .body("message", containsString("Too many requests"));
+
+                // Another session on the same IP still has tokens
+                lockSeats(UUID.randomUUID().toString())
+                                .statusCode(not(HttpStatus.TOO_MANY_REQUESTS.value()));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should limit an IP across sessions")
+        void testIpLimit() {
+                for (int i = 0; i < 3; i++) {
+                        lockSeats(UUID.randomUUID().toString())
+                                        .statusCode(not(HttpStatus.TOO_MANY_REQUESTS.value()));
+                }
+
+                lockSeats(UUID.randomUUID().toString())
+                                .statusCode(HttpStatus.TOO_MANY_REQUESTS.value())
+                                .header(RateLimitFilter.LIMIT_HEADER, "3");
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should keep rejecting a blocked caller from the near cache without Redis")
+        void testNearCache() {
+                String sessionId = UUID.randomUUID().toString();
+                for (int i = 0; i < 2; i++) {
+                        lockSeats(sessionId);
+                }
+                lockSeats(sessionId).statusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+
+                // Refilled in Redis, but the node remembers the bucket as empty
+                redisTemplate.delete(redisTemplate.keys("ratelimit:*"));
+
+                lockSeats(sessionId).statusCode(HttpStatus.TOO_MANY_REQUESTS.value());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should not limit an allowlisted IP")
+        void testAllowlistedIp() {
+                clientIp = ALLOWLISTED_IP;
+                String sessionId = UUID.randomUUID().toString();
+
+                for (int i = 0; i < 5; i++) {
+                        lockSeats(sessionId)
+                                        .statusCode(not(HttpStatus.TOO_MANY_REQUESTS.value()))
+                                        .header(RateLimitFilter.LIMIT_HEADER, nullValue());
+                }
+        }
+
+        private ValidatableMockMvcResponse lockSeats(String sessionId) {
+                LockSeatsRequest request = new LockSeatsRequest();
+                request.setShowtimeId(UUID.randomUUID());
+                request.setSeats(List.of());
+                return given()
+                                .contentType(ContentType.JSON)
+                                .header("X-Session-Id", sessionId)
+                                .postProcessors(mockRequest -> {
+                                        mockRequest.setRemoteAddr(clientIp);
+                                        return mockRequest;
+                                })
+                                .body(request)
+                                .when()
+                                .post("/seat-locks")
+                                .then();
+        }
+}
@@ -0,0 +1,260 @@
+package com.api.moviebooking.integrations;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import org.testcontainers.utility.MountableFile;
+
+import com.api.moviebooking.configs.ReplicaRoutingDataSource;
+import com.api.moviebooking.models.dtos.movie.AddMovieRequest;
+import com.api.moviebooking.models.entities.Movie;
+import com.api.moviebooking.models.enums.MovieStatus;
+import com.api.moviebooking.repositories.MovieRepo;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.utils.QueryBudgetAssertions;
+
+import io.restassured.http.ContentType;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Read-only transactions on a streaming replica, read-your-writes pinning and
+ * fallback to the primary when the replica lags or stops streaming. Replica lag
+ * is produced by pausing WAL replay on the replica, a cut-off replica by
+ * clearing its primary_conninfo.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "spring.datasource.replicas.max-lag-ms=500",
+                // Lag checks are triggered by the tests
+                "spring.datasource.replicas.lag-check-interval-ms=3600000" })
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Replica Routing Integration Tests")
+class ReplicaRoutingIntegrationTest {
+
+        static Network network = Network.newNetwork();
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"))
+                        .withNetwork(network)
+                        .withNetworkAliases("primary")
+                        .withCopyFileToContainer(MountableFile.forClasspathResource("replication/primary-init.sh"),
+                                        "/docker-entrypoint-initdb.d/replication.sh");
+
+        @Container
+        @SuppressWarnings("resource")
+        static GenericContainer<?> replica = new GenericContainer<>(DockerImageName.parse("postgres:15-alpine"))
+                        .withNetwork(network)
+                        .withEnv("PGPASSWORD", "replicator")
+                        .withExposedPorts(5432)
+                        .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres").withEntrypoint("sh", "-c",
+                                        "until rm -rf /tmp/replica && pg_basebackup -h primary -U replicator"
+                                                        + " -D /tmp/replica -R -X stream; do sleep 1; done;"
+                                                        + " exec postgres -D /tmp/replica"))
+                        .dependsOn(postgres)
+                        .waitingFor(Wait.forLogMessage(".*ready to accept read-only connections.*\\s", 1));
+
+        @DynamicPropertySource
+        static void configureProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.datasource.replicas.urls", ReplicaRoutingIntegrationTest::replicaUrl);
+        }
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        private ReplicaRoutingDataSource readRoutingDataSource;
+
+        @Autowired
+        private PlatformTransactionManager transactionManager;
+
+        @Autowired
+        private EntityManager entityManager;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        private TransactionTemplate readOnly;
+        private String primaryConninfo;
+
+        @BeforeEach
+        void setUp() throws InterruptedException {
+                RestAssuredMockMvc.mockMvc(QueryBudgetAssertions.mockMvc(webApplicationContext));
+                readOnly = new TransactionTemplate(transactionManager);
+                readOnly.setReadOnly(true);
+
+                movieRepo.deleteAll();
+                awaitReplicaInRotation();
+        }
+
+        @AfterEach
+        void tearDown() throws SQLException, InterruptedException {
+                executeOnReplica("SELECT pg_wal_replay_resume()");
+                if (primaryConninfo != null) {
+                        executeOnReplica("ALTER SYSTEM SET primary_conninfo = '" + primaryConninfo.replace("'", "''")
+                                        + "'");
+                        executeOnReplica("SELECT pg_reload_conf()");
+                        primaryConninfo = null;
+                }
+                awaitReplicaInRotation();
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should run read-only transactions on the replica and writes on the primary")
+        void testReadOnlyTransaction_RoutedToReplica() {
+                assertEquals(Boolean.TRUE, readOnly.execute(status -> inRecovery()));
+                TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+                assertEquals(Boolean.FALSE, readWrite.execute(status -> inRecovery()));
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should read from the primary right after the session wrote")
+        @WithMockUser(username = "admin@example.com", roles = "ADMIN")
+        void testReadYourWrites_PinnedAfterWrite() throws SQLException {
+                executeOnReplica("SELECT pg_wal_replay_pause()");
+
+                AddMovieRequest request = AddMovieRequest.builder()
+                                .title("Fresh Movie")
+                                .genre("Drama")
+                                .description("Written just now")
+                                .duration(110)
+                                .minimumAge(13)
+                                .director("Director")
+                                .actors("Actors")
+                                .posterUrl("http://example.com/fresh.jpg")
+                                .trailerUrl("http://example.com/fresh.mp4")
+                                .status("SHOWING")
+                                .language("English")
+                                .build();
+                String movieId = given()
+                                .contentType(ContentType.JSON)
+                                .body(request)
+                                .when()
+                                .post("/movies")
+                                .then()
+                                .statusCode(HttpStatus.CREATED.value())
+                                .extract().path("movieId");
+
+                given().when().get("/movies/" + movieId)
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("title", equalTo("Fresh Movie"));
+
+                // Other sessions still read the (paused) replica
+                UUID id = UUID.fromString(movieId);
+                assertEquals(Boolean.TRUE, readOnly.execute(status -> movieRepo.findById(id).isEmpty()));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should fall back to the primary while the replica lags")
+        void testLaggingReplica_FallsBackToPrimary() throws SQLException, InterruptedException {
+                executeOnReplica("SELECT pg_wal_replay_pause()");
+
+                Movie movie = new Movie();
+                movie.setTitle("Lagging Movie");
+                movie.setDuration(100);
+                movie.setStatus(MovieStatus.SHOWING);
+                UUID movieId = movieRepo.save(movie).getId();
+
+                Thread.sleep(600);
+                readRoutingDataSource.checkLag();
+
+                assertEquals(Boolean.FALSE, readOnly.execute(status -> inRecovery()));
+                assertEquals(Boolean.TRUE, readOnly.execute(status -> movieRepo.findById(movieId).isPresent()));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should fall back to the primary while the replica is cut off from it")
+        void testDisconnectedReplica_FallsBackToPrimary() throws SQLException, InterruptedException {
+                primaryConninfo = queryReplica("SHOW primary_conninfo");
+                executeOnReplica("ALTER SYSTEM SET primary_conninfo = ''");
+                executeOnReplica("SELECT pg_reload_conf()");
+                for (int attempt = 0; attempt < 100
+                                && queryReplica("SELECT count(*) FROM pg_stat_wal_receiver").equals("1"); attempt++) {
+                        Thread.sleep(100);
+                }
+
+                // Everything received is replayed, yet the replica no longer sees new writes
+                readRoutingDataSource.checkLag();
+
+                assertEquals(Boolean.FALSE, readOnly.execute(status -> inRecovery()));
+        }
+
+        private boolean inRecovery() {
+                return (Boolean) entityManager.createNativeQuery("SELECT pg_is_in_recovery()").getSingleResult();
+        }
+
+        private void awaitReplicaInRotation() throws InterruptedException {
+                boolean onReplica = false;
+                for (int attempt = 0; attempt < 100 && !onReplica; attempt++) {
+                        readRoutingDataSource.checkLag();
+                        onReplica = readOnly.execute(status -> inRecovery());
+                        if (!onReplica) {
+                                Thread.sleep(100);
+                        }
+                }
+                assertTrue(onReplica, "replica did not catch up");
+        }
+
+        private static void executeOnReplica(String sql) throws SQLException {
+                try (Connection connection = DriverManager.getConnection(replicaUrl(), postgres.getUsername(),
+                                postgres.getPassword());
+                                Statement statement = connection.createStatement()) {
+                        statement.execute(sql);
+                }
+        }
+
+        private static String queryReplica(String sql) throws SQLException {
+                try (Connection connection = DriverManager.getConnection(replicaUrl(), postgres.getUsername(),
+                                postgres.getPassword());
+                                Statement statement = connection.createStatement();
+                                ResultSet resultSet = statement.executeQuery(sql)) {
+                        resultSet.next();
+                        return resultSet.getString(1);
+                }
+        }
+
+        private static String replicaUrl() {
+                return "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(5432) + "/"
+                                + postgres.getDatabaseName();
+        }
+}
@@ -0,0 +1,304 @@
+package com.api.moviebooking.integrations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.configs.QueryCountInspector;
+import com.api.moviebooking.models.dtos.payment.PaymentSearchRequest;
+import com.api.moviebooking.models.enums.BookingStatus;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.repositories.BookingRepo;
+import com.api.moviebooking.repositories.BookingSeatRepo;
+import com.api.moviebooking.repositories.PaymentRepo;
+import com.api.moviebooking.repositories.PromotionRepo;
+import com.api.moviebooking.repositories.SeatLockRepo;
+import com.api.moviebooking.repositories.SeatLockSeatRepo;
+import com.api.moviebooking.repositories.ShowtimeRepo;
+import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+import com.api.moviebooking.services.PaymentService;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+/**
+ * Verifies that Flyway owns the schema (Hibernate only validates it) and that
+ * the keyed repository queries on the hot paths are served by their index.
+ *
+ * Each case runs the repository method, captures the SQL Hibernate generated
+ * for it (QueryCountInspector, enabled in the test profile) and EXPLAINs it,
+ * so a query that drifts away from its index fails here. Tables are empty, so
+ * sequential scans are disabled for the EXPLAIN session: the planner then
+ * picks an index whenever one can answer the predicate.
+ * Substring searches (LIKE '%..%') and full-table lists are not covered.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Schema Migration Integration Tests")
+class SchemaMigrationIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        private static final UUID ID = UUID.fromString("00000000-0000-0000-0000-000000000000");
+        private static final Pattern INDEX_SCAN = Pattern.compile("Index (?:Only )?Scan (?:Backward )?(?:using|on) (\\S+)");
+
+        @Autowired
+        private Flyway flyway;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private SeatLockRepo seatLockRepo;
+
+        @Autowired
+        private SeatLockSeatRepo seatLockSeatRepo;
+
+        @Autowired
+        private ShowtimeSeatRepo showtimeSeatRepo;
+
+        @Autowired
+        private ShowtimeRepo showtimeRepo;
+
+        @Autowired
+        private BookingRepo bookingRepo;
+
+        @Autowired
+        private BookingSeatRepo bookingSeatRepo;
+
+        @Autowired
+        private PaymentRepo paymentRepo;
+
+        @Autowired
+        private PromotionRepo promotionRepo;
+
+        @Autowired
+        private PaymentService paymentService;
+
+        @Test
+        @SmokeTest
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should apply all migrations on startup")
+        void testMigrationsApplied() {
+                assertEquals(0, flyway.info().pending().length);
+                assertNotNull(flyway.info().current());
+                assertTrue(flyway.info().current().getVersion().isAtLeast("2"));
+        }
+
+        @Nested
+        @DisplayName("Seat Lock Query Plans")
+        class SeatLockQueryPlanTests {
+
+                @Test
+                @RegressionTest
+                @DisplayName("findActiveLockByOwnerAndShowtime / findAllActiveLocksForOwner use partial owner index")
+                void testActiveLocksByOwner() {
+                        assertUsesIndex("idx_seat_locks_owner_active", "seat_locks",
+                                        () -> seatLockRepo.findActiveLockByOwnerAndShowtime("owner", ID,
+                                                        LocalDateTime.now().minusMinutes(10)));
+                        assertUsesIndex("idx_seat_locks_owner_active", "seat_locks",
+                                        () -> seatLockRepo.findAllActiveLocksForOwner("owner",
+                                                        LocalDateTime.now().minusMinutes(10)));
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("findExpiredLocks uses partial expiry index")
+                void testExpiredLocks() {
+                        assertUsesIndex("idx_seat_locks_expires_active", "seat_locks",
+                                        () -> seatLockRepo.findExpiredLocks(LocalDateTime.now()));
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("findBySeatLockId uses seat lock index")
+                void testSeatLockSeatsByLock() {
+                        assertUsesIndex("idx_seat_lock_seats_seat_lock", "seat_lock_seats",
+                                        () -> seatLockSeatRepo.findBySeatLockId(ID));
+                }
+        }
+
+        @Nested
+        @DisplayName("Showtime Seat Query Plans")
+        class ShowtimeSeatQueryPlanTests {
+
+                @Test
+                @RegressionTest
+                @DisplayName("findByShowtimeId uses showtime/status index")
+                void testSeatsByShowtime() {
+                        assertUsesIndex("idx_showtime_seats_showtime_status", "showtime_seats",
+                                        () -> showtimeSeatRepo.findByShowtimeId(ID));
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("findByShowtimeIdAndStatus uses showtime/status index")
+                void testSeatsByShowtimeAndStatus() {
+                        assertUsesIndex("idx_showtime_seats_showtime_status", "showtime_seats",
+                                        () -> showtimeSeatRepo.findByShowtimeIdAndStatus(ID, SeatStatus.AVAILABLE));
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("findUpcomingShowtimesByMovie uses movie/start index")
+                void testUpcomingShowtimesByMovie() {
+                        assertUsesIndex("idx_showtimes_movie_start", "showtimes",
+                                        () -> showtimeRepo.findUpcomingShowtimesByMovie(ID, LocalDateTime.now()));
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("existsOverlappingShowtime uses room/start index")
+                void testShowtimesByRoom() {
+                        assertUsesIndex("idx_showtimes_room_start", "showtimes",
+                                        () -> showtimeRepo.existsOverlappingShowtime(ID, ID, LocalDateTime.now(),
+                                                        LocalDateTime.now().plusHours(2)));
+                }
+        }
+
+        @Nested
+        @DisplayName("Booking Query Plans")
+        class BookingQueryPlanTests {
+
+                @Test
+                @RegressionTest
+                @DisplayName("findByStatusAndPaymentExpiresAtBefore uses status/expiry index")
+                void testExpiredPendingBookings() {
+                        assertUsesIndex("idx_bookings_status_payment_expires", "bookings",
+                                        () -> bookingRepo.findByStatusAndPaymentExpiresAtBefore(
+                                                        BookingStatus.PENDING_PAYMENT, LocalDateTime.now()));
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("findByUserId uses user/booked_at index")
+                void testBookingsByUser() {
+                        assertUsesIndex("idx_bookings_user_booked_at", "bookings",
+                                        () -> bookingRepo.findByUserId(ID));
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("findByBookingId uses booking index")
+                void testBookingSeatsByBooking() {
+                        assertUsesIndex("idx_booking_seats_booking", "booking_seats",
+                                        () -> bookingSeatRepo.findByBookingId(ID));
+                }
+        }
+
+        @Nested
+        @DisplayName("Payment And Promotion Query Plans")
+        class PaymentQueryPlanTests {
+
+                @Test
+                @RegressionTest
+                @DisplayName("findByTransactionId uses transaction index")
+                void testPaymentByTransactionId() {
+                        assertUsesIndex("idx_payments_transaction_id", "payments",
+                                        () -> paymentRepo.findByTransactionId("TXN"));
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("Payment search keyset order uses created_at/id index")
+                void testPaymentSearchKeyset() {
+                        assertUsesIndex("idx_payments_created_at_id", "payments",
+                                        () -> paymentService.searchPayments(PaymentSearchRequest.builder().build(),
+                                                        null, 50));
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("findByCode / existsByCodeIgnoreCase use code indexes")
+                void testPromotionByCode() {
+                        assertUsesIndex("promotions_code_key", "promotions",
+                                        () -> promotionRepo.findByCode("SUMMER"));
+                        assertUsesIndex("idx_promotions_code_upper", "promotions",
+                                        () -> promotionRepo.existsByCodeIgnoreCase("summer"));
+                }
+        }
+
+        /**
+         * Capture the SQL Hibernate generates for the repository call, EXPLAIN
+         * its generic plan (parameters unbound, as the prepared statement runs)
+         * and assert the expected index serves the table. Indexes of partitions
+         * are resolved to the index declared on the partitioned table.
+         */
+        private void assertUsesIndex(String index, String table, Runnable repositoryCall) {
+                Pattern fromTable = Pattern.compile("(?is)\\bfrom\\s+" + table + "\\s");
+                String sql = QueryCountInspector.capture(repositoryCall).stream()
+                                .filter(statement -> fromTable.matcher(statement).find())
+                                .findFirst()
+                                .orElseThrow(() -> new AssertionError("No query on " + table + " was run"));
+
+                int parameters = 0;
+                StringBuilder prepared = new StringBuilder();
+                for (char c : sql.toCharArray()) {
+                        if (c == '?') {
+                                prepared.append('$').append(++parameters);
+                        } else {
+                                prepared.append(c);
+                        }
+                }
+                String arguments = parameters == 0 ? ""
+                                : "(" + String.join(", ", Collections.nCopies(parameters, "NULL")) + ")";
+
+                String plan = jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+                        try (Statement statement = connection.createStatement()) {
+                                statement.execute("SET enable_seqscan = off");
+                                statement.execute("SET plan_cache_mode = force_generic_plan");
+                                statement.execute("PREPARE plan_check AS " + prepared);
+                                StringBuilder text = new StringBuilder();
+                                try (ResultSet rs = statement.executeQuery("EXPLAIN EXECUTE plan_check" + arguments)) {
+                                        while (rs.next()) {
+                                                text.append(rs.getString(1)).append('\n');
+                                        }
+                                } finally {
+                                        statement.execute("DEALLOCATE plan_check");
+                                        statement.execute("RESET plan_cache_mode");
+                                        statement.execute("RESET enable_seqscan");
+                                }
+                                return text.toString();
+                        }
+                });
+
+                Set<String> indexes = new HashSet<>();
+                Matcher scan = INDEX_SCAN.matcher(plan);
+                while (scan.find()) {
+                        indexes.add(jdbcTemplate.queryForObject(
+                                        "SELECT coalesce(pg_partition_root(c.oid), c.oid)::regclass::text"
+                                                        + " FROM pg_class c WHERE c.relname = ?",
+                                        String.class, scan.group(1)));
+                }
+
+                assertTrue(indexes.contains(index), "Expected " + index + " for: " + sql + "\n" + plan);
+        }
+}
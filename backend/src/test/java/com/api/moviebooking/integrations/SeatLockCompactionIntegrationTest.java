@@ -0,0 +1,253 @@
+package com.api.moviebooking.integrations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.models.entities.*;
+import com.api.moviebooking.models.enums.LockOwnerType;
+import com.api.moviebooking.models.enums.ModifierType;
+import com.api.moviebooking.models.enums.MovieStatus;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.models.enums.SeatType;
+import com.api.moviebooking.repositories.*;
+import com.api.moviebooking.services.SeatLockCompactionService;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+/**
+ * Compaction of inactive seat locks into seat_lock_daily_stats (V6 migration,
+ * SeatLockCompactionService): summary counts and durations, active locks left
+ * alone, batching.
+ */
+@SpringBootTest
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Seat Lock Compaction Integration Tests")
+class SeatLockCompactionIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Autowired
+        private SeatLockCompactionService seatLockCompactionService;
+
+        @Autowired
+        private SeatLockSeatRepo seatLockSeatRepo;
+
+        @Autowired
+        private SeatLockRepo seatLockRepo;
+
+        @Autowired
+        private ShowtimeSeatRepo showtimeSeatRepo;
+
+        @Autowired
+        private ShowtimeRepo showtimeRepo;
+
+        @Autowired
+        private SeatRepo seatRepo;
+
+        @Autowired
+        private RoomRepo roomRepo;
+
+        @Autowired
+        private CinemaRepo cinemaRepo;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        @Autowired
+        private TicketTypeRepo ticketTypeRepo;
+
+        private final LocalDateTime created = LocalDateTime.now().withNano(0);
+        private Room room;
+        private Movie movie;
+        private List<Seat> seats;
+        private TicketType ticketType;
+        private Showtime showtime;
+
+        @BeforeEach
+        void setUp() {
+                jdbcTemplate.update("DELETE FROM seat_lock_daily_stats");
+                ReflectionTestUtils.setField(seatLockCompactionService, "batchPauseMs", 0L);
+                seatLockSeatRepo.deleteAllInBatch();
+                seatLockRepo.deleteAllInBatch();
+                showtimeSeatRepo.deleteAllInBatch();
+                showtimeRepo.deleteAllInBatch();
+                seatRepo.deleteAllInBatch();
+                roomRepo.deleteAllInBatch();
+                cinemaRepo.deleteAll();
+                movieRepo.deleteAll();
+                ticketTypeRepo.deleteAll();
+
+                Cinema cinema = new Cinema();
+                cinema.setName("Compaction Cinema");
+                cinema.setAddress("1 Summary St");
+                cinema.setHotline("1234567");
+                cinema = cinemaRepo.save(cinema);
+
+                room = new Room();
+                room.setCinema(cinema);
+                room.setRoomNumber(1);
+                room.setRoomType("Standard");
+                room = roomRepo.save(room);
+
+                seats = new ArrayList<>();
+                for (int number = 1; number <= 3; number++) {
+                        Seat seat = new Seat();
+                        seat.setRoom(room);
+                        seat.setRowLabel("A");
+                        seat.setSeatNumber(number);
+                        seat.setSeatType(SeatType.NORMAL);
+                        seats.add(seatRepo.save(seat));
+                }
+
+                movie = new Movie();
+                movie.setTitle("Compaction Movie");
+                movie.setDuration(120);
+                movie.setGenre("Drama");
+                movie.setStatus(MovieStatus.SHOWING);
+                movie = movieRepo.save(movie);
+
+                ticketType = new TicketType();
+                ticketType.setCode("ADULT");
+                ticketType.setLabel("Adult Ticket");
+                ticketType.setModifierType(ModifierType.PERCENTAGE);
+                ticketType.setModifierValue(BigDecimal.ZERO);
+                ticketType = ticketTypeRepo.save(ticketType);
+
+                showtime = showtimeWithSeats(LocalDateTime.now().plusDays(3).withNano(0));
+        }
+
+        @Test
+        @SmokeTest
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should roll inactive locks into the daily summary and delete them with their seats")
+        void testCompactInactiveLocks() {
+                SeatLock converted = seatLock(2, false, true, created.plusMinutes(3));
+                SeatLock released = seatLock(1, false, false, created.plusMinutes(1));
+                SeatLock expired = seatLock(3, false, false, created.plusMinutes(10));
+                SeatLock active = seatLock(1, true, false, null);
+
+                assertEquals(3, seatLockCompactionService.compactLocksBefore(created.plusMinutes(1)));
+
+                assertTrue(seatLockRepo.findById(converted.getId()).isEmpty());
+                assertTrue(seatLockRepo.findById(released.getId()).isEmpty());
+                assertTrue(seatLockRepo.findById(expired.getId()).isEmpty());
+                assertTrue(seatLockSeatRepo.findBySeatLockId(expired.getId()).isEmpty());
+                assertEquals(1, seatLockRepo.findAllActiveLocksForOwner(active.getLockOwnerId(),
+                                created.minusMinutes(1)).size());
+                assertEquals(1, seatLockSeatRepo.findBySeatLockId(active.getId()).size());
+
+                Map<String, Object> stats = jdbcTemplate.queryForMap(
+                                "SELECT * FROM seat_lock_daily_stats WHERE day = ? AND lock_owner_type = 'GUEST_SESSION'",
+                                created.toLocalDate());
+                assertEquals(3L, ((Number) stats.get("locks")).longValue());
+                assertEquals(6L, ((Number) stats.get("seats")).longValue());
+                assertEquals(1L, ((Number) stats.get("converted_locks")).longValue());
+                assertEquals(2L, ((Number) stats.get("converted_seats")).longValue());
+                assertEquals(1L, ((Number) stats.get("expired_locks")).longValue());
+                assertEquals(0, new BigDecimal("840").compareTo((BigDecimal) stats.get("hold_seconds")));
+                assertEquals(0, new BigDecimal("180").compareTo((BigDecimal) stats.get("converted_hold_seconds")));
+                assertEquals(0, new BigDecimal("600").compareTo((BigDecimal) stats.get("max_hold_seconds")));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should compact in batches and add each batch to the same summary row")
+        void testCompactInBatches() {
+                ReflectionTestUtils.setField(seatLockCompactionService, "batchSize", 2);
+                for (int i = 0; i < 5; i++) {
+                        seatLock(1, false, false, created.plusMinutes(1));
+                }
+
+                assertEquals(5, seatLockCompactionService.compactLocksBefore(created.plusMinutes(1)));
+                ReflectionTestUtils.setField(seatLockCompactionService, "batchSize", 1000);
+
+                assertEquals(0, seatLockRepo.count());
+                assertEquals(5L, jdbcTemplate.queryForObject(
+                                "SELECT locks FROM seat_lock_daily_stats WHERE day = ?", Long.class,
+                                created.toLocalDate()));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should keep inactive locks created within the retention window")
+        void testKeepRecentLocks() {
+                SeatLock recent = seatLock(1, false, false, created.plusMinutes(1));
+
+                assertEquals(0, seatLockCompactionService.compactLocksBefore(created.minusMinutes(1)));
+
+                assertTrue(seatLockRepo.findById(recent.getId()).isPresent());
+                assertEquals(0, jdbcTemplate.queryForObject("SELECT count(*) FROM seat_lock_daily_stats",
+                                Integer.class));
+        }
+
+        private Showtime showtimeWithSeats(LocalDateTime startTime) {
+                Showtime showtime = new Showtime();
+                showtime.setRoom(room);
+                showtime.setMovie(movie);
+                showtime.setStartTime(startTime);
+                showtime.setFormat("2D");
+                Showtime saved = showtimeRepo.save(showtime);
+
+                List<ShowtimeSeat> showtimeSeats = new ArrayList<>();
+                for (Seat seat : seats) {
+                        showtimeSeats.add(new ShowtimeSeat(null, saved, seat, SeatStatus.AVAILABLE,
+                                        new BigDecimal("50000.00"), null, null));
+                }
+                showtimeSeatRepo.saveAll(showtimeSeats);
+                return saved;
+        }
+
+        private SeatLock seatLock(int seatCount, boolean active, boolean converted, LocalDateTime endedAt) {
+                List<ShowtimeSeat> showtimeSeats = showtimeSeatRepo.findByShowtimeId(showtime.getId());
+
+                SeatLock seatLock = new SeatLock();
+                seatLock.setLockKey(UUID.randomUUID().toString());
+                seatLock.setLockOwnerId(UUID.randomUUID().toString());
+                seatLock.setLockOwnerType(LockOwnerType.GUEST_SESSION);
+                seatLock.setShowtime(showtime);
+                seatLock.setCreatedAt(created);
+                seatLock.setExpiresAt(created.plusMinutes(10));
+                seatLock.setActive(active);
+                seatLock.setConverted(converted);
+                seatLock.setEndedAt(endedAt);
+
+                for (ShowtimeSeat showtimeSeat : showtimeSeats.subList(0, seatCount)) {
+                        SeatLockSeat seatLockSeat = new SeatLockSeat();
+                        seatLockSeat.setSeatLock(seatLock);
+                        seatLockSeat.setShowtimeSeat(showtimeSeat);
+                        seatLockSeat.setTicketType(ticketType);
+                        seatLockSeat.setPrice(new BigDecimal("50000.00"));
+                        seatLock.getSeatLockSeats().add(seatLockSeat);
+                }
+                return seatLockRepo.save(seatLock);
+        }
+}
@@ -656,6 +656,87 @@ class SeatLockIntegrationTest {
                 }
         }
 
+        // ==================== Heartbeat / Beacon Release Tests (V(G)=4) ====================
+
+        @Nested
+        @DisplayName("Heartbeat and Beacon Release Tests")
+        class HeartbeatTests {
+
+                private String lockAsGuest(String sessionId) {
+                        LockSeatsRequest request = LockSeatsRequest.builder()
+                                        .showtimeId(testShowtime.getId())
+                                        .seats(List.of(
+                                                        LockSeatsRequest.SeatWithTicketType.builder()
+                                                                        .showtimeSeatId(testShowtimeSeat1.getId())
+                                                                        .ticketTypeId(testTicketType.getId())
+                                                                        .build()))
+                                        .build();
+
+                        given()
+                                        .contentType(ContentType.JSON)
+                                        .body(request)
+                                        .header("X-Session-Id", sessionId)
+                                        .when()
+                                        .post("/seat-locks")
+                                        .then()
+                                        .statusCode(HttpStatus.CREATED.value())
+                                        .body("leaseSeconds", notNullValue());
+                        return sessionId;
+                }
+
+                @Test
+                @SmokeTest
+                @SanityTest
+                @RegressionTest
+                @DisplayName("Test 1/3: Should extend an active lock")
+                void testHeartbeat_Success() {
+                        String sessionId = lockAsGuest(UUID.randomUUID().toString());
+
+                        given()
+                                        .header("X-Session-Id", sessionId)
+                                        .when()
+                                        .post("/seat-locks/showtime/" + testShowtime.getId() + "/heartbeat")
+                                        .then()
+                                        .statusCode(HttpStatus.OK.value())
+                                        .body("expiresAt", notNullValue())
+                                        .body("holdUntil", notNullValue());
+                }
+
+                @Test
+                @RegressionTest
+                @DisplayName("Test 2/3: Should return GONE when there is no lock to extend")
+                void testHeartbeat_NoLock() {
+                        given()
+                                        .header("X-Session-Id", UUID.randomUUID().toString())
+                                        .when()
+                                        .post("/seat-locks/showtime/" + testShowtime.getId() + "/heartbeat")
+                                        .then()
+                                        .statusCode(HttpStatus.GONE.value());
+                }
+
+                @Test
+                @SanityTest
+                @RegressionTest
+                @DisplayName("Test 3/3: Should release the lock from a beacon carrying the session ID as a query parameter")
+                void testBeaconRelease() {
+                        String sessionId = lockAsGuest(UUID.randomUUID().toString());
+
+                        given()
+                                        .queryParam("sessionId", sessionId)
+                                        .when()
+                                        .post("/seat-locks/showtime/" + testShowtime.getId() + "/release")
+                                        .then()
+                                        .statusCode(HttpStatus.NO_CONTENT.value());
+
+                        given()
+                                        .header("X-Session-Id", sessionId)
+                                        .when()
+                                        .post("/seat-locks/showtime/" + testShowtime.getId() + "/heartbeat")
+                                        .then()
+                                        .statusCode(HttpStatus.GONE.value());
+                }
+        }
+
         // ==================== Check Availability Tests (V(G)=6) ====================
 
         @Nested
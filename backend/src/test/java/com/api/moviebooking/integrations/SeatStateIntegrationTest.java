@@ -0,0 +1,309 @@
+package com.api.moviebooking.integrations;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.models.dtos.booking.LockSeatsRequest;
+import com.api.moviebooking.models.entities.*;
+import com.api.moviebooking.models.enums.*;
+import com.api.moviebooking.repositories.*;
+import com.api.moviebooking.services.RedisLockService;
+import com.api.moviebooking.services.SeatStateReconciler;
+import com.api.moviebooking.services.SeatStateService;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.utils.QueryBudgetAssertions;
+
+import io.restassured.http.ContentType;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+
+/**
+ * Redis-authoritative seat lock state: locking and releasing leave
+ * showtime_seats alone until the write-behind flushes, availability follows
+ * Redis, and lost Redis keys of live locks are rebuilt from the SeatLock rows.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+                "booking.lock.state=REDIS",
+                // Flushes are triggered by the tests
+                "booking.lock.write-behind.flush-interval-ms=3600000",
+                "booking.reconciler.grace-seconds=0" })
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Seat State Integration Tests")
+class SeatStateIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        @Container
+        @SuppressWarnings("resource")
+        static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                        .withExposedPorts(6379);
+
+        @DynamicPropertySource
+        static void configureProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.data.redis.host", redis::getHost);
+                registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+        }
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        private SeatStateService seatStateService;
+
+        @Autowired
+        private RedisLockService redisLockService;
+
+        @Autowired
+        private SeatStateReconciler seatStateReconciler;
+
+        @Autowired
+        private RedisTemplate<String, Object> redisTemplate;
+
+        @Autowired
+        private SeatLockSeatRepo seatLockSeatRepo;
+
+        @Autowired
+        private SeatLockRepo seatLockRepo;
+
+        @Autowired
+        private ShowtimeTicketTypeRepo showtimeTicketTypeRepo;
+
+        @Autowired
+        private ShowtimeSeatRepo showtimeSeatRepo;
+
+        @Autowired
+        private ShowtimeRepo showtimeRepo;
+
+        @Autowired
+        private SeatRepo seatRepo;
+
+        @Autowired
+        private RoomRepo roomRepo;
+
+        @Autowired
+        private CinemaRepo cinemaRepo;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        @Autowired
+        private TicketTypeRepo ticketTypeRepo;
+
+        private Showtime testShowtime;
+        private ShowtimeSeat testShowtimeSeat;
+        private TicketType testTicketType;
+        private String sessionId;
+
+        @BeforeEach
+        void setUp() {
+                RestAssuredMockMvc.mockMvc(QueryBudgetAssertions.mockMvc(webApplicationContext));
+                redisTemplate.getConnectionFactory().getConnection().serverCommands().flushAll();
+                seatStateService.flush();
+
+                seatLockSeatRepo.deleteAll();
+                seatLockRepo.deleteAll();
+                showtimeTicketTypeRepo.deleteAll();
+                showtimeSeatRepo.deleteAll();
+                showtimeRepo.deleteAll();
+                seatRepo.deleteAll();
+                roomRepo.deleteAll();
+                cinemaRepo.deleteAll();
+                movieRepo.deleteAll();
+                ticketTypeRepo.deleteAll();
+
+                Cinema cinema = new Cinema();
+                cinema.setName("State Cinema");
+                cinema.setAddress("1 State St");
+                cinema.setHotline("123-456-7890");
+                cinema = cinemaRepo.save(cinema);
+
+                Room room = new Room();
+                room.setCinema(cinema);
+                room.setRoomNumber(1);
+                room.setRoomType("STANDARD");
+                room = roomRepo.save(room);
+
+                Seat seat = new Seat();
+                seat.setRoom(room);
+                seat.setRowLabel("A");
+                seat.setSeatNumber(1);
+                seat.setSeatType(SeatType.NORMAL);
+                seat = seatRepo.save(seat);
+
+                Movie movie = new Movie();
+                movie.setTitle("State Movie");
+                movie.setDuration(120);
+                movie.setStatus(MovieStatus.SHOWING);
+                movie = movieRepo.save(movie);
+
+                testShowtime = new Showtime();
+                testShowtime.setMovie(movie);
+                testShowtime.setRoom(room);
+                testShowtime.setStartTime(LocalDateTime.now().plusDays(1));
+                testShowtime = showtimeRepo.save(testShowtime);
+
+                testShowtimeSeat = new ShowtimeSeat();
+                testShowtimeSeat.setShowtime(testShowtime);
+                testShowtimeSeat.setSeat(seat);
+                testShowtimeSeat.setStatus(SeatStatus.AVAILABLE);
+                testShowtimeSeat.setPrice(new BigDecimal("100000"));
+                testShowtimeSeat = showtimeSeatRepo.save(testShowtimeSeat);
+
+                testTicketType = new TicketType();
+                testTicketType.setCode("ADULT");
+                testTicketType.setLabel("Adult Ticket");
+                testTicketType.setModifierType(ModifierType.PERCENTAGE);
+                testTicketType.setModifierValue(BigDecimal.ZERO);
+                testTicketType.setActive(true);
+                testTicketType.setSortOrder(1);
+                testTicketType = ticketTypeRepo.save(testTicketType);
+
+                ShowtimeTicketType showtimeTicketType = new ShowtimeTicketType();
+                showtimeTicketType.setShowtime(testShowtime);
+                showtimeTicketType.setTicketType(testTicketType);
+                showtimeTicketType.setActive(true);
+                showtimeTicketTypeRepo.save(showtimeTicketType);
+
+                sessionId = UUID.randomUUID().toString();
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should keep LOCKED in Redis and write it behind")
+        void testLockSeats_WriteBehind() {
+                lockSeat();
+
+                assertEquals(SeatStatus.AVAILABLE, storedStatus());
+                given()
+                                .when()
+                                .get("/seat-locks/availability/showtime/" + testShowtime.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("lockedSeats", contains(testShowtimeSeat.getId().toString()))
+                                .body("availableSeats", empty());
+
+                seatStateService.flush();
+
+                assertEquals(SeatStatus.LOCKED, storedStatus());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should skip the database for a lock released before the flush")
+        void testLockAndRelease_Coalesced() {
+                lockSeat();
+
+                given()
+                                .header("X-Session-Id", sessionId)
+                                .when()
+                                .delete("/seat-locks/showtime/" + testShowtime.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value());
+
+                seatStateService.flush();
+
+                assertEquals(SeatStatus.AVAILABLE, storedStatus());
+                given()
+                                .when()
+                                .get("/seat-locks/availability/showtime/" + testShowtime.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("availableSeats", contains(testShowtimeSeat.getId().toString()));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should rebuild the Redis keys of live locks")
+        void testRebuildLocks_AfterRedisLoss() {
+                lockSeat();
+                String seatsKey = redisLockService.seatLocksKey(testShowtime.getId());
+                String expiryKey = redisLockService.seatLockExpiryKey(testShowtime.getId());
+                redisTemplate.delete(List.of(seatsKey, expiryKey));
+
+                seatStateService.rebuildLocks();
+
+                assertEquals(Set.of(testShowtimeSeat.getId()), redisLockService.findLockedSeats(testShowtime.getId()));
+                assertTrue(redisLockService.getLockTTL(seatsKey) > 0);
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should keep a showtime's seat locks in one hash and one expiry set")
+        void testSeatLockLayout_OneHashPerShowtime() {
+                lockSeat();
+
+                assertEquals(1L, redisTemplate.opsForHash().size(redisLockService.seatLocksKey(testShowtime.getId())));
+                assertEquals(1L, redisTemplate.opsForZSet().zCard(redisLockService.seatLockExpiryKey(testShowtime.getId())));
+                assertTrue(redisLockService.getLockTTL(redisLockService.seatLockExpiryKey(testShowtime.getId())) > 0);
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should restore evicted Redis locks and release orphaned ones")
+        void testReconcile_RedisDrift() {
+                lockSeat();
+                redisTemplate.delete(List.of(redisLockService.seatLocksKey(testShowtime.getId()),
+                                redisLockService.seatLockExpiryKey(testShowtime.getId())));
+                UUID orphanSeat = UUID.randomUUID();
+                redisLockService.acquireMultipleSeatsLock(testShowtime.getId(), List.of(orphanSeat),
+                                UUID.randomUUID().toString(), 300);
+
+                assertEquals(2, seatStateReconciler.reconcile(testShowtime.getId()));
+
+                assertEquals(Set.of(testShowtimeSeat.getId()), redisLockService.findLockedSeats(testShowtime.getId()));
+                assertEquals(0, seatStateReconciler.reconcile(testShowtime.getId()));
+        }
+
+        private void lockSeat() {
+                LockSeatsRequest request = LockSeatsRequest.builder()
+                                .showtimeId(testShowtime.getId())
+                                .seats(List.of(LockSeatsRequest.SeatWithTicketType.builder()
+                                                .showtimeSeatId(testShowtimeSeat.getId())
+                                                .ticketTypeId(testTicketType.getId())
+                                                .build()))
+                                .build();
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body(request)
+                                .header("X-Session-Id", sessionId)
+                                .when()
+                                .post("/seat-locks")
+                                .then()
+                                .statusCode(HttpStatus.CREATED.value());
+        }
+
+        private SeatStatus storedStatus() {
+                return showtimeSeatRepo.findById(testShowtimeSeat.getId()).orElseThrow().getStatus();
+        }
+}
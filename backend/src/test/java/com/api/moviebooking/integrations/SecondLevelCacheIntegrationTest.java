@@ -0,0 +1,231 @@
+package com.api.moviebooking.integrations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.configs.QueryCountInspector;
+import com.api.moviebooking.configs.SecondLevelCacheConfig;
+import com.api.moviebooking.configs.SecondLevelCacheInvalidator;
+import com.api.moviebooking.models.dtos.cache.CacheInvalidationMessage;
+import com.api.moviebooking.models.entities.TicketType;
+import com.api.moviebooking.models.enums.ModifierType;
+import com.api.moviebooking.repositories.TicketTypeRepo;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Hibernate second-level cache (SecondLevelCacheConfig,
+ * SecondLevelCacheInvalidator): repeated entity reads are served from the
+ * region, region metrics are registered, and committed changes are published
+ * to and evicted from other nodes over Redis.
+ *
+ * Bulk statements raise no entity events; their tables are published as
+ * region evictions instead.
+ *
+ * Other nodes are played by the test: it listens on the invalidation channel
+ * and publishes messages with a foreign origin.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "cache.l2.invalidation.enabled=true")
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Second-Level Cache Integration Tests")
+class SecondLevelCacheIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        @Container
+        @SuppressWarnings("resource")
+        static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                        .withExposedPorts(6379);
+
+        @DynamicPropertySource
+        static void configureProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.data.redis.host", redis::getHost);
+                registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+        }
+
+        @Autowired
+        private TicketTypeRepo ticketTypeRepo;
+
+        @Autowired
+        private EntityManagerFactory entityManagerFactory;
+
+        @Autowired
+        private RedisTemplate<String, Object> redisTemplate;
+
+        @Autowired
+        private RedisConnectionFactory redisConnectionFactory;
+
+        @Autowired
+        private MeterRegistry meterRegistry;
+
+        @Autowired
+        private TransactionTemplate transactionTemplate;
+
+        @PersistenceContext
+        private EntityManager entityManager;
+
+        private SessionFactoryImplementor sessionFactory;
+        private TicketType ticketType;
+
+        @BeforeEach
+        void setUp() {
+                sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+                ticketType = new TicketType();
+                ticketType.setCode("L2-" + UUID.randomUUID().toString().substring(0, 8));
+                ticketType.setLabel("Second-level cache test");
+                ticketType.setModifierType(ModifierType.PERCENTAGE);
+                ticketType.setModifierValue(BigDecimal.ZERO);
+                ticketType.setActive(true);
+                ticketType.setSortOrder(1);
+                ticketType = ticketTypeRepo.save(ticketType);
+                sessionFactory.getCache().evictEntityData(TicketType.class);
+        }
+
+        @AfterEach
+        void tearDown() {
+                QueryCountInspector.clear();
+                ticketTypeRepo.deleteById(ticketType.getId());
+        }
+
+        @Test
+        @SmokeTest
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should serve the second read of a cached entity from its region")
+        void testSecondReadFromRegion() {
+                QueryCountInspector.start();
+                ticketTypeRepo.findById(ticketType.getId()).orElseThrow();
+                assertEquals(1, QueryCountInspector.count());
+                assertTrue(sessionFactory.getCache().containsEntity(TicketType.class, ticketType.getId()));
+
+                QueryCountInspector.start();
+                TicketType cached = ticketTypeRepo.findById(ticketType.getId()).orElseThrow();
+                assertEquals(0, QueryCountInspector.count());
+                assertEquals(ticketType.getCode(), cached.getCode());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should register hit and miss meters for every region")
+        void testRegionMeters() {
+                for (String region : SecondLevelCacheConfig.ENTITY_REGIONS) {
+                        assertFalse(meterRegistry.find("cache.gets").tag("layer", "hibernate").tag("cache", region)
+                                        .functionCounters().isEmpty(), region);
+                }
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should publish a committed change of a cached entity")
+        void testPublishOnCommit() throws Exception {
+                BlockingQueue<Object> published = new LinkedBlockingQueue<>();
+                RedisMessageListenerContainer container = listen(published);
+                try {
+                        ticketType.setLabel("Renamed");
+                        ticketTypeRepo.save(ticketType);
+
+                        Object body = published.poll(5, TimeUnit.SECONDS);
+                        CacheInvalidationMessage invalidation = assertInstanceOf(CacheInvalidationMessage.class, body);
+                        assertEquals(TicketType.class.getName(), invalidation.getEntityName());
+                        assertEquals(ticketType.getId(), invalidation.getId());
+                        assertNotEquals("other-node", invalidation.getOrigin());
+                } finally {
+                        container.stop();
+                        container.destroy();
+                }
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should publish a region eviction for a bulk update of a cached entity")
+        void testPublishOnBulkUpdate() throws Exception {
+                BlockingQueue<Object> published = new LinkedBlockingQueue<>();
+                RedisMessageListenerContainer container = listen(published);
+                try {
+                        transactionTemplate.executeWithoutResult(status -> entityManager
+                                        .createQuery("UPDATE TicketType t SET t.label = :label WHERE t.id = :id")
+                                        .setParameter("label", "Bulk renamed")
+                                        .setParameter("id", ticketType.getId())
+                                        .executeUpdate());
+
+                        Object body = published.poll(5, TimeUnit.SECONDS);
+                        CacheInvalidationMessage invalidation = assertInstanceOf(CacheInvalidationMessage.class, body);
+                        assertEquals(TicketType.class.getName(), invalidation.getEntityName());
+                        assertNull(invalidation.getId());
+                } finally {
+                        container.stop();
+                        container.destroy();
+                }
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should evict an entity changed on another node")
+        void testEvictOnRemoteChange() throws InterruptedException {
+                ticketTypeRepo.findById(ticketType.getId()).orElseThrow();
+                assertTrue(sessionFactory.getCache().containsEntity(TicketType.class, ticketType.getId()));
+
+                redisTemplate.convertAndSend(SecondLevelCacheInvalidator.CHANNEL,
+                                new CacheInvalidationMessage("other-node", TicketType.class.getName(),
+                                                ticketType.getId()));
+
+                for (int i = 0; i < 50
+                                && sessionFactory.getCache().containsEntity(TicketType.class, ticketType.getId()); i++) {
+                        Thread.sleep(100);
+                }
+                assertFalse(sessionFactory.getCache().containsEntity(TicketType.class, ticketType.getId()));
+        }
+
+        private RedisMessageListenerContainer listen(BlockingQueue<Object> published) throws InterruptedException {
+                RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+                container.setConnectionFactory(redisConnectionFactory);
+                container.addMessageListener(
+                                (message, pattern) -> published.add(
+                                                redisTemplate.getValueSerializer().deserialize(message.getBody())),
+                                new ChannelTopic(SecondLevelCacheInvalidator.CHANNEL));
+                container.afterPropertiesSet();
+                container.start();
+                // Let the subscription reach Redis before publishing
+                Thread.sleep(500);
+                return container;
+        }
+}
@@ -0,0 +1,245 @@
+package com.api.moviebooking.integrations;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.models.dtos.booking.LockSeatsRequest;
+import com.api.moviebooking.models.entities.*;
+import com.api.moviebooking.models.enums.*;
+import com.api.moviebooking.repositories.*;
+import com.api.moviebooking.services.SeatMaterializationService;
+import com.api.moviebooking.services.ShowtimeSeatService;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.utils.QueryBudgetAssertions;
+
+import io.restassured.http.ContentType;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+
+/**
+ * Sparse showtime seat storage: a new showtime gets no showtime_seats rows,
+ * its seats are still listed and available, and locking a seat writes only
+ * that seat's row.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "showtime.seats.storage=SPARSE")
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Sparse Showtime Seat Integration Tests")
+class SparseShowtimeSeatIntegrationTest {
+
+        private static final int SEAT_COUNT = 6;
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        @Container
+        @SuppressWarnings("resource")
+        static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                        .withExposedPorts(6379);
+
+        @DynamicPropertySource
+        static void configureProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.data.redis.host", redis::getHost);
+                registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+        }
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        private ShowtimeSeatService showtimeSeatService;
+
+        @Autowired
+        private SeatLockSeatRepo seatLockSeatRepo;
+
+        @Autowired
+        private SeatLockRepo seatLockRepo;
+
+        @Autowired
+        private ShowtimeTicketTypeRepo showtimeTicketTypeRepo;
+
+        @Autowired
+        private ShowtimeSeatRepo showtimeSeatRepo;
+
+        @Autowired
+        private ShowtimeRepo showtimeRepo;
+
+        @Autowired
+        private SeatRepo seatRepo;
+
+        @Autowired
+        private RoomRepo roomRepo;
+
+        @Autowired
+        private CinemaRepo cinemaRepo;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        @Autowired
+        private TicketTypeRepo ticketTypeRepo;
+
+        @Autowired
+        private PriceBaseRepo priceBaseRepo;
+
+        private Showtime testShowtime;
+        private TicketType testTicketType;
+        private Seat vipSeat;
+
+        @BeforeEach
+        void setUp() {
+                RestAssuredMockMvc.mockMvc(QueryBudgetAssertions.mockMvc(webApplicationContext));
+
+                seatLockSeatRepo.deleteAll();
+                seatLockRepo.deleteAll();
+                showtimeTicketTypeRepo.deleteAll();
+                showtimeSeatRepo.deleteAll();
+                showtimeRepo.deleteAll();
+                seatRepo.deleteAll();
+                roomRepo.deleteAll();
+                cinemaRepo.deleteAll();
+                movieRepo.deleteAll();
+                ticketTypeRepo.deleteAll();
+                priceBaseRepo.deleteAll();
+
+                PriceBase priceBase = new PriceBase();
+                priceBase.setName("Standard Base Price");
+                priceBase.setBasePrice(new BigDecimal("50000"));
+                priceBase.setIsActive(true);
+                priceBaseRepo.save(priceBase);
+
+                Cinema cinema = new Cinema();
+                cinema.setName("Sparse Cinema");
+                cinema.setAddress("1 Sparse St");
+                cinema.setHotline("123-456-7890");
+                cinema = cinemaRepo.save(cinema);
+
+                Room room = new Room();
+                room.setCinema(cinema);
+                room.setRoomNumber(1);
+                room.setRoomType("STANDARD");
+                room = roomRepo.save(room);
+
+                for (int number = 1; number <= SEAT_COUNT; number++) {
+                        Seat seat = new Seat();
+                        seat.setRoom(room);
+                        seat.setRowLabel("A");
+                        seat.setSeatNumber(number);
+                        seat.setSeatType(number == SEAT_COUNT ? SeatType.VIP : SeatType.NORMAL);
+                        seat = seatRepo.save(seat);
+                        if (number == SEAT_COUNT) {
+                                vipSeat = seat;
+                        }
+                }
+
+                Movie movie = new Movie();
+                movie.setTitle("Sparse Movie");
+                movie.setDuration(120);
+                movie.setStatus(MovieStatus.SHOWING);
+                movie = movieRepo.save(movie);
+
+                testShowtime = new Showtime();
+                testShowtime.setMovie(movie);
+                testShowtime.setRoom(room);
+                testShowtime.setStartTime(LocalDateTime.now().plusDays(1));
+                testShowtime = showtimeRepo.save(testShowtime);
+
+                testTicketType = new TicketType();
+                testTicketType.setCode("ADULT");
+                testTicketType.setLabel("Adult Ticket");
+                testTicketType.setModifierType(ModifierType.PERCENTAGE);
+                testTicketType.setModifierValue(BigDecimal.ZERO);
+                testTicketType.setActive(true);
+                testTicketType.setSortOrder(1);
+                testTicketType = ticketTypeRepo.save(testTicketType);
+
+                ShowtimeTicketType showtimeTicketType = new ShowtimeTicketType();
+                showtimeTicketType.setShowtime(testShowtime);
+                showtimeTicketType.setTicketType(testTicketType);
+                showtimeTicketType.setActive(true);
+                showtimeTicketTypeRepo.save(showtimeTicketType);
+
+                showtimeSeatService.generateShowtimeSeats(testShowtime.getId());
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should list every seat without writing showtime seat rows")
+        void testGenerate_NoRows() {
+                assertEquals(0, showtimeSeatRepo.findByShowtimeId(testShowtime.getId()).size());
+
+                given()
+                                .when()
+                                .get("/showtime-seats/showtime/" + testShowtime.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("$", hasSize(SEAT_COUNT))
+                                .body("status", everyItem(equalTo("AVAILABLE")))
+                                .body("showtimeSeatId", hasItem(SeatMaterializationService
+                                                .showtimeSeatId(testShowtime.getId(), vipSeat.getId()).toString()));
+        }
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should write only the locked seat's row when locking")
+        void testLockSeats_MaterializesLockedSeat() {
+                UUID showtimeSeatId = SeatMaterializationService.showtimeSeatId(testShowtime.getId(),
+                                vipSeat.getId());
+                LockSeatsRequest request = LockSeatsRequest.builder()
+                                .showtimeId(testShowtime.getId())
+                                .seats(List.of(LockSeatsRequest.SeatWithTicketType.builder()
+                                                .showtimeSeatId(showtimeSeatId)
+                                                .ticketTypeId(testTicketType.getId())
+                                                .build()))
+                                .build();
+
+                given()
+                                .contentType(ContentType.JSON)
+                                .body(request)
+                                .header("X-Session-Id", UUID.randomUUID().toString())
+                                .when()
+                                .post("/seat-locks")
+                                .then()
+                                .statusCode(HttpStatus.CREATED.value());
+
+                List<ShowtimeSeat> rows = showtimeSeatRepo.findByShowtimeId(testShowtime.getId());
+                assertEquals(1, rows.size());
+                assertEquals(showtimeSeatId, rows.get(0).getId());
+                assertEquals(SeatStatus.LOCKED, rows.get(0).getStatus());
+
+                given()
+                                .when()
+                                .get("/seat-locks/availability/showtime/" + testShowtime.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value())
+                                .body("availableSeats", hasSize(SEAT_COUNT - 1))
+                                .body("lockedSeats", contains(showtimeSeatId.toString()));
+        }
+}
@@ -0,0 +1,130 @@
+package com.api.moviebooking.integrations;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.helpers.utils.UuidV7Generator;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * UUIDv7 ids: generator layout and an insert benchmark against UUIDv4.
+ *
+ * The benchmark fills two identical tables keyed by v4 and by v7 ids and
+ * logs insert rate, primary key index size and WAL written. Only the index
+ * size is asserted: appending at the right edge of the B-tree leaves full
+ * pages where random inserts split them.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("UUIDv7 Integration Tests")
+@Slf4j
+class UuidV7IntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        private static final int ROWS = 200_000;
+        private static final int BATCH_SIZE = 1_000;
+
+        @Autowired
+        private JdbcTemplate jdbcTemplate;
+
+        @Test
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should generate version 7 ids in creation order, in Java and in SQL")
+        void testLayoutAndOrder() {
+                long before = System.currentTimeMillis();
+                List<UUID> ids = new ArrayList<>();
+                for (int i = 0; i < 10_000; i++) {
+                        ids.add(UuidV7Generator.next());
+                }
+
+                for (int i = 0; i < ids.size(); i++) {
+                        assertEquals(7, ids.get(i).version());
+                        assertEquals(2, ids.get(i).variant());
+                        if (i > 0) {
+                                assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+                        }
+                }
+                assertTrue(UuidV7Generator.timestamp(ids.get(0)) >= before);
+
+                // PostgreSQL compares uuids bytewise: same order as generated
+                List<UUID> sorted = jdbcTemplate.queryForList(
+                                "SELECT id FROM unnest(?::uuid[]) AS t(id) ORDER BY id", UUID.class,
+                                (Object) ids.toArray(new UUID[0]));
+                assertEquals(ids, sorted);
+
+                UUID fromSql = jdbcTemplate.queryForObject("SELECT uuid_generate_v7()", UUID.class);
+                assertEquals(7, fromSql.version());
+                assertEquals(2, fromSql.variant());
+                assertTrue(Math.abs(UuidV7Generator.timestamp(fromSql) - System.currentTimeMillis()) < 60_000);
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should build a smaller primary key index than random v4 ids")
+        void testInsertBenchmark_V4VersusV7() {
+                Result v4 = insert("uuid_bench_v4", UUID::randomUUID);
+                Result v7 = insert("uuid_bench_v7", UuidV7Generator::next);
+
+                log.info("UUIDv4: {} rows in {} ms ({} rows/s), index {} kB, WAL {} kB",
+                                ROWS, v4.millis(), ROWS * 1000L / Math.max(1, v4.millis()),
+                                v4.indexBytes() / 1024, v4.walBytes() / 1024);
+                log.info("UUIDv7: {} rows in {} ms ({} rows/s), index {} kB, WAL {} kB",
+                                ROWS, v7.millis(), ROWS * 1000L / Math.max(1, v7.millis()),
+                                v7.indexBytes() / 1024, v7.walBytes() / 1024);
+                assertTrue(v7.indexBytes() < v4.indexBytes(),
+                                "v7 index " + v7.indexBytes() + " bytes, v4 index " + v4.indexBytes() + " bytes");
+        }
+
+        private record Result(long millis, long indexBytes, long walBytes) {
+        }
+
+        private Result insert(String table, Supplier<UUID> ids) {
+                jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+                jdbcTemplate.execute("CREATE TABLE " + table
+                                + " (id uuid PRIMARY KEY, created_at timestamp NOT NULL DEFAULT now(), payload text)");
+                String walBefore = jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+
+                long start = System.nanoTime();
+                List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+                for (int i = 0; i < ROWS; i++) {
+                        batch.add(new Object[] { ids.get(), "row-" + i });
+                        if (batch.size() == BATCH_SIZE) {
+                                jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, payload) VALUES (?, ?)", batch);
+                                batch.clear();
+                        }
+                }
+                long millis = (System.nanoTime() - start) / 1_000_000;
+
+                Long walBytes = jdbcTemplate.queryForObject(
+                                "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), ?::pg_lsn)::bigint", Long.class, walBefore);
+                Long indexBytes = jdbcTemplate.queryForObject(
+                                "SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+                jdbcTemplate.execute("DROP TABLE " + table);
+                return new Result(millis, indexBytes, walBytes);
+        }
+}
@@ -0,0 +1,294 @@
+package com.api.moviebooking.integrations;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import com.api.moviebooking.models.dtos.booking.LockSeatsRequest;
+import com.api.moviebooking.models.entities.*;
+import com.api.moviebooking.models.enums.*;
+import com.api.moviebooking.repositories.*;
+import com.api.moviebooking.services.WaitingRoomService;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import io.restassured.http.ContentType;
+import io.restassured.module.mockmvc.RestAssuredMockMvc;
+import io.restassured.module.mockmvc.response.ValidatableMockMvcResponse;
+
+/**
+ * Waiting room of hot showtimes (WaitingRoomService, WaitingRoomController):
+ * queue order, admission capped by the seats still available, and the
+ * admission ticket required by POST /seat-locks.
+ *
+ * The admission tick is pushed out of the way so each test admits explicitly.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Testcontainers
+@ActiveProfiles("test")
+@DisplayName("Waiting Room Integration Tests")
+class WaitingRoomIntegrationTest {
+
+        @Container
+        @ServiceConnection
+        static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(
+                        DockerImageName.parse("postgres:15-alpine"));
+
+        @Container
+        @SuppressWarnings("resource")
+        static GenericContainer<?> redis = new GenericContainer<>(DockerImageName.parse("redis:7-alpine"))
+                        .withExposedPorts(6379);
+
+        @DynamicPropertySource
+        static void configureProperties(DynamicPropertyRegistry registry) {
+                registry.add("spring.data.redis.host", redis::getHost);
+                registry.add("spring.data.redis.port", redis::getFirstMappedPort);
+                registry.add("booking.waiting-room.admit-interval-ms", () -> "3600000");
+        }
+
+        @Autowired
+        private WebApplicationContext webApplicationContext;
+
+        @Autowired
+        private WaitingRoomService waitingRoomService;
+
+        @Autowired
+        private SeatLockRepo seatLockRepo;
+
+        @Autowired
+        private SeatLockSeatRepo seatLockSeatRepo;
+
+        @Autowired
+        private ShowtimeRepo showtimeRepo;
+
+        @Autowired
+        private MovieRepo movieRepo;
+
+        @Autowired
+        private RoomRepo roomRepo;
+
+        @Autowired
+        private CinemaRepo cinemaRepo;
+
+        @Autowired
+        private SeatRepo seatRepo;
+
+        @Autowired
+        private ShowtimeSeatRepo showtimeSeatRepo;
+
+        @Autowired
+        private TicketTypeRepo ticketTypeRepo;
+
+        @Autowired
+        private ShowtimeTicketTypeRepo showtimeTicketTypeRepo;
+
+        private Showtime showtime;
+        private List<ShowtimeSeat> showtimeSeats;
+        private TicketType ticketType;
+
+        @BeforeEach
+        void setUp() {
+                RestAssuredMockMvc.mockMvc(MockMvcBuilders
+                                .webAppContextSetup(webApplicationContext)
+                                .apply(springSecurity())
+                                .build());
+
+                seatLockSeatRepo.deleteAll();
+                seatLockRepo.deleteAll();
+                showtimeTicketTypeRepo.deleteAll();
+                showtimeSeatRepo.deleteAll();
+                showtimeRepo.deleteAll();
+                seatRepo.deleteAll();
+                roomRepo.deleteAll();
+                cinemaRepo.deleteAll();
+                movieRepo.deleteAll();
+                ticketTypeRepo.deleteAll();
+
+                ticketType = new TicketType();
+                ticketType.setCode("ADULT");
+                ticketType.setLabel("Adult Ticket");
+                ticketType.setModifierType(ModifierType.PERCENTAGE);
+                ticketType.setModifierValue(BigDecimal.ZERO);
+                ticketType.setActive(true);
+                ticketType.setSortOrder(1);
+                ticketType = ticketTypeRepo.save(ticketType);
+
+                Cinema cinema = new Cinema();
+                cinema.setName("Premiere Cinema");
+                cinema.setAddress("1 Queue St");
+                cinema.setHotline("123-456-7890");
+                cinema = cinemaRepo.save(cinema);
+
+                Room room = new Room();
+                room.setCinema(cinema);
+                room.setRoomNumber(1);
+                room.setRoomType("STANDARD");
+                room = roomRepo.save(room);
+
+                Movie movie = new Movie();
+                movie.setTitle("Premiere Movie");
+                movie.setDuration(120);
+                movie.setStatus(MovieStatus.SHOWING);
+                movie = movieRepo.save(movie);
+
+                showtime = new Showtime();
+                showtime.setMovie(movie);
+                showtime.setRoom(room);
+                showtime.setStartTime(LocalDateTime.now().plusDays(1));
+                showtime = showtimeRepo.save(showtime);
+
+                // Two seats: at most 3 sessions admitted at once (seat-factor 1.5)
+                showtimeSeats = new ArrayList<>();
+                for (int number = 1; number <= 2; number++) {
+                        Seat seat = new Seat();
+                        seat.setRoom(room);
+                        seat.setRowLabel("A");
+                        seat.setSeatNumber(number);
+                        seat.setSeatType(SeatType.NORMAL);
+                        seat = seatRepo.save(seat);
+
+                        ShowtimeSeat showtimeSeat = new ShowtimeSeat();
+                        showtimeSeat.setShowtime(showtime);
+                        showtimeSeat.setSeat(seat);
+                        showtimeSeat.setStatus(SeatStatus.AVAILABLE);
+                        showtimeSeat.setPrice(new BigDecimal("100000"));
+                        showtimeSeats.add(showtimeSeatRepo.save(showtimeSeat));
+                }
+
+                ShowtimeTicketType showtimeTicketType = new ShowtimeTicketType();
+                showtimeTicketType.setShowtime(showtime);
+                showtimeTicketType.setTicketType(ticketType);
+                showtimeTicketType.setActive(true);
+                showtimeTicketTypeRepo.save(showtimeTicketType);
+        }
+
+        @AfterEach
+        void tearDown() {
+                waitingRoomService.disable(showtime.getId());
+        }
+
+        @Test
+        @SmokeTest
+        @SanityTest
+        @RegressionTest
+        @DisplayName("Should queue sessions in arrival order and admit no more than the seats allow")
+        void testQueueOrderAndAdmission() {
+                waitingRoomService.enable(showtime.getId());
+                List<String> sessions = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                        String sessionId = UUID.randomUUID().toString();
+                        sessions.add(sessionId);
+                        join(sessionId)
+                                        .body("status", equalTo("WAITING"))
+                                        .body("position", equalTo(i + 1));
+                }
+
+                assertEquals(3, waitingRoomService.admit(showtime.getId()));
+
+                for (int i = 0; i < 3; i++) {
+                        status(sessions.get(i))
+                                        .body("status", equalTo("ADMITTED"))
+                                        .body("admissionTicket", notNullValue());
+                }
+                status(sessions.get(3))
+                                .body("status", equalTo("WAITING"))
+                                .body("position", equalTo(1))
+                                .body("queueLength", equalTo(2));
+
+                // The admitted sessions fill the capacity until they lock or their ticket lapses
+                assertEquals(0, waitingRoomService.admit(showtime.getId()));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should require an unused admission ticket of the session to lock seats of a hot showtime")
+        void testLockRequiresTicket() {
+                waitingRoomService.enable(showtime.getId());
+                String sessionId = UUID.randomUUID().toString();
+                join(sessionId);
+                waitingRoomService.admit(showtime.getId());
+                String ticket = status(sessionId).extract().path("admissionTicket");
+
+                lockSeats(sessionId, null).statusCode(HttpStatus.FORBIDDEN.value());
+                lockSeats(UUID.randomUUID().toString(), ticket).statusCode(HttpStatus.FORBIDDEN.value());
+                lockSeats(sessionId, ticket).statusCode(HttpStatus.CREATED.value());
+
+                // Locking freed the admission slot, which used up the ticket
+                status(sessionId).body("status", equalTo("NOT_QUEUED"));
+                lockSeats(sessionId, ticket).statusCode(HttpStatus.FORBIDDEN.value());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should lock seats without a ticket when the showtime is not hot")
+        void testNotHot() {
+                String sessionId = UUID.randomUUID().toString();
+
+                join(sessionId).body("status", equalTo("NOT_REQUIRED"));
+                lockSeats(sessionId, null).statusCode(HttpStatus.CREATED.value());
+        }
+
+        private ValidatableMockMvcResponse join(String sessionId) {
+                return given()
+                                .header("X-Session-Id", sessionId)
+                                .when()
+                                .post("/seat-locks/waiting-room/showtime/{showtimeId}", showtime.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value());
+        }
+
+        private ValidatableMockMvcResponse status(String sessionId) {
+                return given()
+                                .header("X-Session-Id", sessionId)
+                                .when()
+                                .get("/seat-locks/waiting-room/showtime/{showtimeId}", showtime.getId())
+                                .then()
+                                .statusCode(HttpStatus.OK.value());
+        }
+
+        private ValidatableMockMvcResponse lockSeats(String sessionId,
+                        String ticket) {
+                LockSeatsRequest request = LockSeatsRequest.builder()
+                                .showtimeId(showtime.getId())
+                                .seats(List.of(LockSeatsRequest.SeatWithTicketType.builder()
+                                                .showtimeSeatId(showtimeSeats.get(0).getId())
+                                                .ticketTypeId(ticketType.getId())
+                                                .build()))
+                                .build();
+                var spec = given()
+                                .contentType(ContentType.JSON)
+                                .header("X-Session-Id", sessionId)
+                                .body(request);
+                if (ticket != null) {
+                        spec = spec.header("X-Admission-Ticket", ticket);
+                }
+                return spec.when().post("/seat-locks").then();
+        }
+}
@@ -0,0 +1,143 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
+import com.api.moviebooking.models.dtos.booking.BookingContext;
+import com.api.moviebooking.models.entities.Room;
+import com.api.moviebooking.models.entities.Seat;
+import com.api.moviebooking.models.entities.Showtime;
+import com.api.moviebooking.models.entities.ShowtimeTicketType;
+import com.api.moviebooking.models.entities.TicketType;
+import com.api.moviebooking.models.enums.ModifierType;
+import com.api.moviebooking.models.enums.SeatType;
+import com.api.moviebooking.repositories.ShowtimeRepo;
+import com.api.moviebooking.repositories.ShowtimeTicketTypeRepo;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+/**
+ * Unit tests for BookingContextService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookingContextService Unit Tests")
+class BookingContextServiceTest {
+
+    @Mock
+    private ShowtimeRepo showtimeRepo;
+
+    @Mock
+    private ShowtimeTicketTypeRepo showtimeTicketTypeRepo;
+
+    @Mock
+    private PriceCalculationService priceCalculationService;
+
+    @Mock
+    private TicketTypeService ticketTypeService;
+
+    @InjectMocks
+    private BookingContextService bookingContextService;
+
+    private Showtime showtime;
+    private TicketType adult;
+
+    @BeforeEach
+    void setUp() {
+        Room room = new Room();
+        room.setRoomType("IMAX");
+        showtime = new Showtime();
+        showtime.setId(UUID.randomUUID());
+        showtime.setRoom(room);
+        showtime.setFormat("2D");
+        showtime.setStartTime(LocalDateTime.now().plusDays(1).withNano(0));
+
+        adult = new TicketType();
+        adult.setId(UUID.randomUUID());
+        adult.setCode("adult");
+        adult.setLabel("Adult");
+        adult.setModifierType(ModifierType.FIXED_AMOUNT);
+        adult.setModifierValue(new BigDecimal("-15000"));
+    }
+
+    @Test
+    @SmokeTest
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should price every seat type with every assigned ticket type")
+    void testGetBookingContext_PriceMatrix() {
+        stubShowtime();
+        when(priceCalculationService.calculatePrice(eq(showtime), any(Seat.class)))
+                .thenAnswer(invocation -> ((Seat) invocation.getArgument(1)).getSeatType() == SeatType.VIP
+                        ? new BigDecimal("120000.00")
+                        : new BigDecimal("100000.00"));
+        when(ticketTypeService.applyTicketTypeModifier(any(), eq(adult)))
+                .thenAnswer(invocation -> ((BigDecimal) invocation.getArgument(0)).add(adult.getModifierValue()));
+
+        BookingContext context = bookingContextService.getBookingContext(showtime.getId());
+
+        assertTrue(context.allowsTicketType(adult.getId()));
+        assertFalse(context.allowsTicketType(UUID.randomUUID()));
+        assertEquals(new BigDecimal("85000.00"), context.price(SeatType.NORMAL, adult.getId()));
+        assertEquals(new BigDecimal("105000.00"), context.price(SeatType.VIP, adult.getId()));
+        assertEquals("IMAX", context.roomType());
+        assertFalse(context.sparse());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should throw when the showtime does not exist")
+    void testGetBookingContext_ShowtimeNotFound() {
+        UUID showtimeId = UUID.randomUUID();
+        when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> bookingContextService.getBookingContext(showtimeId));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should survive the JSON round trip of the Redis cache layer")
+    void testBookingContext_RedisRoundTrip() {
+        stubShowtime();
+        when(priceCalculationService.calculatePrice(eq(showtime), any(Seat.class)))
+                .thenReturn(new BigDecimal("100000.00"));
+        when(ticketTypeService.applyTicketTypeModifier(any(), eq(adult))).thenReturn(new BigDecimal("85000"));
+        BookingContext context = bookingContextService.getBookingContext(showtime.getId());
+
+        // Same value serializer as CatalogCacheConfig
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule())
+                        .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+        Object restored = serializer.deserialize(serializer.serialize(context));
+
+        assertEquals(context, restored);
+        assertEquals(new BigDecimal("85000"), ((BookingContext) restored).price(SeatType.VIP, adult.getId()));
+    }
+
+    private void stubShowtime() {
+        ShowtimeTicketType assignment = new ShowtimeTicketType();
+        assignment.setShowtime(showtime);
+        assignment.setTicketType(adult);
+        when(showtimeRepo.findById(showtime.getId())).thenReturn(Optional.of(showtime));
+        when(showtimeTicketTypeRepo.findActiveTicketTypesByShowtime(showtime.getId())).thenReturn(List.of(assignment));
+    }
+}
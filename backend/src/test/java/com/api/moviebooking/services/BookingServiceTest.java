@@ -8,7 +8,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -23,12 +25,16 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import com.api.moviebooking.helpers.exceptions.ConcurrentBookingException;
+import com.api.moviebooking.helpers.exceptions.LockExpiredException;
 import com.api.moviebooking.helpers.exceptions.MaxSeatsExceededException;
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.exceptions.SeatLockedException;
 import com.api.moviebooking.helpers.mapstructs.BookingMapper;
 import com.api.moviebooking.models.dtos.SessionContext;
+import com.api.moviebooking.models.dtos.booking.BookingContext;
+import com.api.moviebooking.models.dtos.booking.BookingContext.TicketTypeOption;
 import com.api.moviebooking.models.dtos.booking.DiscountResult;
+import com.api.moviebooking.models.dtos.booking.LockHeartbeatResponse;
 import com.api.moviebooking.models.dtos.booking.LockSeatsRequest;
 import com.api.moviebooking.models.dtos.booking.LockSeatsResponse;
 import com.api.moviebooking.models.dtos.booking.PricePreviewRequest;
@@ -39,6 +45,8 @@ import com.api.moviebooking.models.enums.LockOwnerType;
 import com.api.moviebooking.models.enums.SeatStatus;
 import com.api.moviebooking.models.enums.SeatType;
 import com.api.moviebooking.repositories.*;
+import com.api.moviebooking.services.SeatLockTokenService.SeatClaim;
+import com.api.moviebooking.services.SeatLockTokenService.SeatLockClaims;
 import com.api.moviebooking.tags.RegressionTest;
 
 @ExtendWith(MockitoExtension.class)
@@ -78,6 +86,21 @@ class BookingServiceTest {
         @Mock
         private BookingMapper bookingMapper;
 
+        @Mock
+        private SeatMaterializationService seatMaterializationService;
+
+        @Mock
+        private SeatStateService seatStateService;
+
+        @Mock
+        private SeatStateEngine seatStateEngine;
+
+        @Mock
+        private SeatLockTokenService seatLockTokenService;
+
+        @Mock
+        private BookingContextService bookingContextService;
+
         @InjectMocks
         private BookingService bookingService;
 
@@ -93,8 +116,13 @@ class BookingServiceTest {
 
         @BeforeEach
         void setUp() {
+                // Database-held seat state: the stored status is the effective one
+                lenient().when(seatStateService.effectiveStatus(any(), any()))
+                                .thenAnswer(invocation -> ((ShowtimeSeat) invocation.getArgument(0)).getStatus());
+
                 // Set configuration values
                 ReflectionTestUtils.setField(bookingService, "lockDurationMinutes", 10);
+                ReflectionTestUtils.setField(bookingService, "leaseSeconds", 120);
                 ReflectionTestUtils.setField(bookingService, "maxSeatsPerBooking", 10);
 
                 // Initialize test data
@@ -170,6 +198,10 @@ class BookingServiceTest {
 
                 // Common mocks for basic flow
                 lenient().when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.of(mockShowtime));
+                lenient().when(showtimeRepo.getReferenceById(showtimeId)).thenReturn(mockShowtime);
+                lenient().when(bookingContextService.getBookingContext(showtimeId))
+                                .thenReturn(bookingContext(List.of(mockTicketType)));
+                lenient().when(ticketTypeRepo.getReferenceById(ticketTypeId)).thenReturn(mockTicketType);
                 lenient().when(userRepo.findById(userId)).thenReturn(Optional.of(mockUser));
                 lenient().when(ticketTypeRepo.findById(ticketTypeId)).thenReturn(Optional.of(mockTicketType));
                 lenient().when(seatLockRepo.save(any(SeatLock.class))).thenAnswer(i -> {
@@ -182,14 +214,14 @@ class BookingServiceTest {
                 });
         }
 
-        // ==================== Price Preview Tests (V(G)=5) ====================
+        // ==================== Price Preview Tests (V(G)=7) ====================
 
         @Nested
         @DisplayName("calculatePricePreview()")
         class PricePreviewTests {
 
                 @Test
-                @DisplayName("Test 1/5: Should calculate preview for valid active lock")
+                @DisplayName("Test 1/7: Should calculate preview for valid active lock")
                 void testPricePreview_ValidLock() {
                         // Arrange
                         SeatLock seatLock = new SeatLock();
@@ -207,7 +239,7 @@ class BookingServiceTest {
                                         .lockId(seatLock.getId())
                                         .build();
 
-                        when(seatLockRepo.findById(request.getLockId())).thenReturn(Optional.of(seatLock));
+                        when(seatLockRepo.findByIdInPartition(request.getLockId())).thenReturn(Optional.of(seatLock));
                         when(priceCalculationService.calculateDiscounts(any(), any(), any()))
                                         .thenReturn(DiscountResult.builder()
                                                         .totalDiscount(BigDecimal.ZERO)
@@ -225,7 +257,7 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 2/5: Should fail when lock ownership doesn't match")
+                @DisplayName("Test 2/7: Should fail when lock ownership doesn't match")
                 void testPricePreview_OwnershipMismatch() {
                         SeatLock seatLock = new SeatLock();
                         seatLock.setId(UUID.randomUUID());
@@ -236,14 +268,14 @@ class BookingServiceTest {
                                         .lockId(seatLock.getId())
                                         .build();
 
-                        when(seatLockRepo.findById(request.getLockId())).thenReturn(Optional.of(seatLock));
+                        when(seatLockRepo.findByIdInPartition(request.getLockId())).thenReturn(Optional.of(seatLock));
 
                         assertThrows(IllegalArgumentException.class,
                                         () -> bookingService.calculatePricePreview(request, mockSession));
                 }
 
                 @Test
-                @DisplayName("Test 3/5: Should fail when lock is inactive")
+                @DisplayName("Test 3/7: Should fail when lock is inactive")
                 void testPricePreview_InactiveLock() {
                         SeatLock seatLock = new SeatLock();
                         seatLock.setId(UUID.randomUUID());
@@ -254,14 +286,14 @@ class BookingServiceTest {
                                         .lockId(seatLock.getId())
                                         .build();
 
-                        when(seatLockRepo.findById(request.getLockId())).thenReturn(Optional.of(seatLock));
+                        when(seatLockRepo.findByIdInPartition(request.getLockId())).thenReturn(Optional.of(seatLock));
 
                         assertThrows(IllegalArgumentException.class,
                                         () -> bookingService.calculatePricePreview(request, mockSession));
                 }
 
                 @Test
-                @DisplayName("Test 4/5: Should include snacks in calculation")
+                @DisplayName("Test 4/7: Should include snacks in calculation")
                 void testPricePreview_WithSnacks() {
                         SeatLock seatLock = new SeatLock();
                         seatLock.setId(UUID.randomUUID());
@@ -281,7 +313,7 @@ class BookingServiceTest {
                                                         .build()))
                                         .build();
 
-                        when(seatLockRepo.findById(request.getLockId())).thenReturn(Optional.of(seatLock));
+                        when(seatLockRepo.findByIdInPartition(request.getLockId())).thenReturn(Optional.of(seatLock));
                         when(snackRepo.findById(snack.getId())).thenReturn(Optional.of(snack));
                         when(priceCalculationService.calculateDiscounts(any(), any(), any()))
                                         .thenReturn(DiscountResult.builder()
@@ -298,7 +330,7 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 5/5: Should apply discounts correctly")
+                @DisplayName("Test 5/7: Should apply discounts correctly")
                 void testPricePreview_WithDiscounts() {
                         SeatLock seatLock = new SeatLock();
                         seatLock.setId(UUID.randomUUID());
@@ -314,7 +346,7 @@ class BookingServiceTest {
                                         .lockId(seatLock.getId())
                                         .build();
 
-                        when(seatLockRepo.findById(request.getLockId())).thenReturn(Optional.of(seatLock));
+                        when(seatLockRepo.findByIdInPartition(request.getLockId())).thenReturn(Optional.of(seatLock));
                         when(priceCalculationService.calculateDiscounts(any(), any(), any()))
                                         .thenReturn(DiscountResult.builder()
                                                         .totalDiscount(new BigDecimal("10.00"))
@@ -329,9 +361,52 @@ class BookingServiceTest {
                         assertEquals(new BigDecimal("10.00"), response.getDiscount());
                         assertEquals(new BigDecimal("90.00"), response.getTotal());
                 }
+
+                @Test
+                @DisplayName("Test 6/7: Should price the seats from a valid lock token without reading the lock")
+                void testPricePreview_LockToken() {
+                        UUID lockId = UUID.randomUUID();
+                        PricePreviewRequest request = PricePreviewRequest.builder()
+                                        .lockId(lockId)
+                                        .lockToken("token")
+                                        .build();
+
+                        when(seatLockTokenService.verify("token")).thenReturn(new SeatLockClaims(lockId,
+                                        userId.toString(), showtimeId, LocalDateTime.now().plusMinutes(2),
+                                        List.of(new SeatClaim(seatId1, ticketTypeId, new BigDecimal("100.00")),
+                                                        new SeatClaim(seatId2, ticketTypeId, new BigDecimal("80.00")))));
+                        when(priceCalculationService.calculateDiscounts(any(), any(), any()))
+                                        .thenReturn(DiscountResult.builder()
+                                                        .totalDiscount(BigDecimal.ZERO)
+                                                        .membershipDiscount(BigDecimal.ZERO)
+                                                        .promotionDiscount(BigDecimal.ZERO)
+                                                        .build());
+
+                        PricePreviewResponse response = bookingService.calculatePricePreview(request, mockSession);
+
+                        assertEquals(new BigDecimal("180.00"), response.getSubtotal());
+                        verifyNoInteractions(seatLockRepo);
+                }
+
+                @Test
+                @DisplayName("Test 7/7: Should fail when the lock token expired")
+                void testPricePreview_ExpiredLockToken() {
+                        UUID lockId = UUID.randomUUID();
+                        PricePreviewRequest request = PricePreviewRequest.builder()
+                                        .lockId(lockId)
+                                        .lockToken("token")
+                                        .build();
+
+                        when(seatLockTokenService.verify("token")).thenReturn(new SeatLockClaims(lockId,
+                                        userId.toString(), showtimeId, LocalDateTime.now().minusSeconds(1), List.of()));
+
+                        assertThrows(LockExpiredException.class,
+                                        () -> bookingService.calculatePricePreview(request, mockSession));
+                        verifyNoInteractions(seatLockRepo);
+                }
         }
 
-        // ==================== Lock Seats Tests (V(G)=13) ====================
+// ==================== Lock Seats Tests (V(G)=15) ====================
 
         @Nested
         @DisplayName("lockSeats()")
@@ -354,7 +429,7 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 1/13: Should throw exception when requested seats exceed max limit")
+                @DisplayName("Test 1/15: Should throw exception when requested seats exceed max limit")
                 void testLockSeats_MaxSeatsExceeded() {
                         LockSeatsRequest request = createRequest(randomIds(11)); // Max is 10
                         assertThrows(MaxSeatsExceededException.class,
@@ -362,7 +437,7 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 2/13: Should handle existing locks - different showtime release")
+                @DisplayName("Test 2/15: Should handle existing locks - different showtime release")
                 void testLockSeats_ReleaseDifferentShowtimeLocks() {
                         // Arrange
                         LockSeatsRequest request = createRequest(List.of(seatId1));
@@ -380,14 +455,12 @@ class BookingServiceTest {
                         sls.setShowtimeSeat(mockSeat1);
                         existingLock.getSeatLockSeats().add(sls);
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(userId.toString()))
+                        when(seatLockRepo.findAllActiveLocksForOwner(eq(userId.toString()), any()))
                                         .thenReturn(List.of(existingLock));
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1));
                         when(redisLockService.acquireMultipleSeatsLock(any(), any(), any(), anyLong()))
                                         .thenReturn(true);
-                        when(priceCalculationService.calculatePrice(any(), any())).thenReturn(BigDecimal.TEN);
-                        when(ticketTypeService.applyTicketTypeModifier(any(), any())).thenReturn(BigDecimal.TEN);
 
                         // Act
                         bookingService.lockSeats(request, mockSession);
@@ -397,7 +470,7 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 3/13: Should throw exception for concurrent booking (same showtime lock)")
+                @DisplayName("Test 3/15: Should throw exception for concurrent booking (same showtime lock)")
                 void testLockSeats_ConcurrentBookingSameShowtime() {
                         LockSeatsRequest request = createRequest(List.of(seatId1));
 
@@ -405,7 +478,7 @@ class BookingServiceTest {
                         existingLock.setShowtime(mockShowtime); // Same showtime
                         existingLock.setActive(true);
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(userId.toString()))
+                        when(seatLockRepo.findAllActiveLocksForOwner(eq(userId.toString()), any()))
                                         .thenReturn(List.of(existingLock));
 
                         assertThrows(ConcurrentBookingException.class,
@@ -413,21 +486,22 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 4/13: Should throw exception when showtime not found")
+                @DisplayName("Test 4/15: Should throw exception when showtime not found")
                 void testLockSeats_ShowtimeNotFound() {
                         LockSeatsRequest request = createRequest(List.of(seatId1));
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
-                        when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.empty());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
+                        when(bookingContextService.getBookingContext(showtimeId))
+                                        .thenThrow(new ResourceNotFoundException("Showtime", "id", showtimeId));
 
                         assertThrows(ResourceNotFoundException.class,
                                         () -> bookingService.lockSeats(request, mockSession));
                 }
 
                 @Test
-                @DisplayName("Test 5/13: Should throw exception when some seats not found")
+                @DisplayName("Test 5/15: Should throw exception when some seats not found")
                 void testLockSeats_SeatsNotFound() {
                         LockSeatsRequest request = createRequest(List.of(seatId1, seatId2));
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1)); // Found 1 but requested 2
 
@@ -436,14 +510,15 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 6/13: Should validate ticket types for showtime")
+                @DisplayName("Test 6/15: Should validate ticket types for showtime")
                 void testLockSeats_ValidateTicketTypes() {
                         LockSeatsRequest request = createRequest(List.of(seatId1));
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1));
 
+                        when(bookingContextService.getBookingContext(showtimeId)).thenReturn(bookingContext(List.of()));
                         doThrow(new IllegalArgumentException("Invalid ticket type"))
                                         .when(ticketTypeService).validateTicketTypeForShowtime(any(), any());
 
@@ -452,12 +527,12 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 7/13: Should throw exception when seats already locked/booked")
+                @DisplayName("Test 7/15: Should throw exception when seats already locked/booked")
                 void testLockSeats_SeatsNotAvailable() {
                         LockSeatsRequest request = createRequest(List.of(seatId1));
                         mockSeat1.setStatus(SeatStatus.LOCKED);
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1));
 
@@ -465,11 +540,11 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 8/13: Should throw exception when Redis lock acquisition fails")
+                @DisplayName("Test 8/15: Should throw exception when Redis lock acquisition fails")
                 void testLockSeats_RedisLockFailed() {
                         LockSeatsRequest request = createRequest(List.of(seatId1));
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1));
                         when(redisLockService.acquireMultipleSeatsLock(any(), any(), any(), anyLong()))
@@ -480,17 +555,15 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 9/13: Should handle authenticated user linkage")
+                @DisplayName("Test 9/15: Should handle authenticated user linkage")
                 void testLockSeats_AuthenticatedUser() {
                         LockSeatsRequest request = createRequest(List.of(seatId1));
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1));
                         when(redisLockService.acquireMultipleSeatsLock(any(), any(), any(), anyLong()))
                                         .thenReturn(true);
-                        when(priceCalculationService.calculatePrice(any(), any())).thenReturn(BigDecimal.TEN);
-                        when(ticketTypeService.applyTicketTypeModifier(any(), any())).thenReturn(BigDecimal.TEN);
 
                         bookingService.lockSeats(request, mockSession);
 
@@ -498,7 +571,7 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 10/13: Should throw exception when internal mapping logic fails")
+                @DisplayName("Test 10/15: Should throw exception when internal mapping logic fails")
                 void testLockSeats_TicketTypeMappingError() {
                         // This is hard to trigger with valid request construction, but simulating
                         // internal error
@@ -507,7 +580,7 @@ class BookingServiceTest {
                         LockSeatsRequest request = createRequest(randomIds(1));
                         // We'll mock ticketTypeRepo to fail finding it
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1));
                         when(redisLockService.acquireMultipleSeatsLock(any(), any(), any(), anyLong()))
@@ -518,27 +591,31 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 11/13: Should throw exception when ticket type not found in repo")
-                void testLockSeats_TicketTypeNotFound() {
+                @DisplayName("Test 11/15: Should rebuild a cached context that misses a valid ticket type")
+                void testLockSeats_StaleBookingContext() {
                         LockSeatsRequest request = createRequest(List.of(seatId1));
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
+                        when(bookingContextService.getBookingContext(showtimeId)).thenReturn(bookingContext(List.of()));
+                        when(bookingContextService.refreshBookingContext(showtimeId))
+                                        .thenReturn(bookingContext(List.of(mockTicketType)));
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1));
                         when(redisLockService.acquireMultipleSeatsLock(any(), any(), any(), anyLong()))
                                         .thenReturn(true);
-                        when(ticketTypeRepo.findById(any())).thenReturn(Optional.empty());
 
-                        assertThrows(ResourceNotFoundException.class,
-                                        () -> bookingService.lockSeats(request, mockSession));
+                        LockSeatsResponse response = bookingService.lockSeats(request, mockSession);
+
+                        verify(ticketTypeService).validateTicketTypeForShowtime(showtimeId, ticketTypeId);
+                        assertEquals(BigDecimal.TEN, response.getTotalPrice());
                 }
 
                 @Test
-                @DisplayName("Test 12/13: Should rollback Redis lock on database exception")
+                @DisplayName("Test 12/15: Should rollback Redis lock on database exception")
                 void testLockSeats_RollbackOnException() {
                         LockSeatsRequest request = createRequest(List.of(seatId1));
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1));
                         when(redisLockService.acquireMultipleSeatsLock(any(), any(), any(), anyLong()))
@@ -554,23 +631,52 @@ class BookingServiceTest {
                 }
 
                 @Test
-                @DisplayName("Test 13/13: Happy path - Successful lock")
+                @DisplayName("Test 13/15: Happy path - Successful lock")
                 void testLockSeats_Success() {
                         LockSeatsRequest request = createRequest(List.of(seatId1, seatId2));
 
-                        when(seatLockRepo.findAllActiveLocksForOwner(any())).thenReturn(Collections.emptyList());
+                        when(seatLockRepo.findAllActiveLocksForOwner(any(), any())).thenReturn(Collections.emptyList());
                         when(showtimeSeatRepo.findByIdsAndShowtime(any(), eq(showtimeId)))
                                         .thenReturn(List.of(mockSeat1, mockSeat2));
                         when(redisLockService.acquireMultipleSeatsLock(any(), any(), any(), anyLong()))
                                         .thenReturn(true);
-                        when(priceCalculationService.calculatePrice(any(), any())).thenReturn(BigDecimal.TEN);
-                        when(ticketTypeService.applyTicketTypeModifier(any(), any())).thenReturn(BigDecimal.TEN);
 
                         LockSeatsResponse response = bookingService.lockSeats(request, mockSession);
 
                         assertNotNull(response);
                         assertEquals(2, response.getLockedSeats().size());
+                        assertEquals(new BigDecimal("20"), response.getTotalPrice());
                         verify(seatLockRepo, atLeastOnce()).save(any(SeatLock.class));
+                        verifyNoInteractions(priceCalculationService, ticketTypeService);
+                        verify(showtimeRepo, never()).findById(any());
+                }
+
+                @Test
+                @DisplayName("Test 14/15: Should reject seats taken in the seat state engine before any query")
+                void testLockSeats_SeatStateEngineConflict() {
+                        LockSeatsRequest request = createRequest(List.of(seatId1, seatId2));
+                        when(seatStateEngine.tryLock(eq(showtimeId), any(), any(), anyLong()))
+                                        .thenReturn(List.of(seatId2));
+
+                        SeatLockedException exception = assertThrows(SeatLockedException.class,
+                                        () -> bookingService.lockSeats(request, mockSession));
+
+                        assertEquals(List.of(seatId2), exception.getLockedSeatIds());
+                        verifyNoInteractions(seatLockRepo, showtimeRepo, showtimeSeatRepo, redisLockService,
+                                        bookingContextService);
+                }
+
+                @Test
+                @DisplayName("Test 15/15: Should report the session's own engine lock from another tab")
+                void testLockSeats_SeatStateEngineOwnLock() {
+                        LockSeatsRequest request = createRequest(List.of(seatId1));
+                        when(seatStateEngine.tryLock(eq(showtimeId), any(), any(), anyLong()))
+                                        .thenReturn(List.of(seatId1));
+                        when(seatStateEngine.lockedBy(List.of(seatId1), userId.toString())).thenReturn(true);
+
+                        assertThrows(ConcurrentBookingException.class,
+                                        () -> bookingService.lockSeats(request, mockSession));
+                        verifyNoInteractions(seatLockRepo, showtimeSeatRepo, redisLockService);
                 }
         }
 
@@ -651,7 +757,7 @@ class BookingServiceTest {
 
                         when(showtimeRepo.existsById(showtimeId)).thenReturn(true);
                         when(showtimeSeatRepo.findByShowtimeId(showtimeId)).thenReturn(List.of(mockSeat1));
-                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(userId.toString(), showtimeId))
+                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(eq(userId.toString()), eq(showtimeId), any()))
                                         .thenReturn(Optional.of(activeLock));
 
                         SeatAvailabilityResponse response = bookingService.checkAvailability(showtimeId, mockSession);
@@ -681,24 +787,120 @@ class BookingServiceTest {
                         sls.setShowtimeSeat(mockSeat1);
                         activeLock.getSeatLockSeats().add(sls);
 
-                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(userId.toString(), showtimeId))
+                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(eq(userId.toString()), eq(showtimeId), any()))
                                         .thenReturn(Optional.of(activeLock));
 
                         bookingService.releaseSeats(userId.toString(), showtimeId);
 
-                        verify(showtimeSeatRepo).updateMultipleSeatsStatus(any(), eq(SeatStatus.AVAILABLE));
+                        verify(seatStateService).markAvailable(any(), any());
                         verify(redisLockService).releaseMultipleSeatsLock(any(), any(), any());
                 }
 
                 @Test
                 @DisplayName("Test 2/2: Should do nothing when no lock exists")
                 void testReleaseSeats_NoLock() {
-                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(any(), any()))
+                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(any(), any(), any()))
                                         .thenReturn(Optional.empty());
 
                         bookingService.releaseSeats(userId.toString(), showtimeId);
 
-                        verify(showtimeSeatRepo, never()).updateMultipleSeatsStatus(any(), any());
+                        verify(seatStateService, never()).markAvailable(any(), any());
+                }
+        }
+
+        // ==================== Heartbeat Tests (V(G)=4) ====================
+
+        @Nested
+        @DisplayName("heartbeat()")
+        class HeartbeatTests {
+
+                private SeatLock activeLock;
+
+                @BeforeEach
+                void setUpLock() {
+                        activeLock = new SeatLock();
+                        activeLock.setId(UUID.randomUUID());
+                        activeLock.setLockOwnerId(userId.toString());
+                        activeLock.setShowtime(mockShowtime);
+                        activeLock.setLockKey(UUID.randomUUID().toString());
+                        activeLock.setCreatedAt(LocalDateTime.now().minusMinutes(1));
+                        activeLock.setExpiresAt(LocalDateTime.now().plusSeconds(30));
+                        activeLock.setSeatLockSeats(new ArrayList<>());
+
+                        SeatLockSeat sls = new SeatLockSeat();
+                        sls.setShowtimeSeat(mockSeat1);
+                        activeLock.getSeatLockSeats().add(sls);
+                }
+
+                @Test
+                @DisplayName("Test 1/4: Should throw LockExpiredException when no active lock exists")
+                void testHeartbeat_NoLock() {
+                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(any(), any(), any()))
+                                        .thenReturn(Optional.empty());
+
+                        assertThrows(LockExpiredException.class,
+                                        () -> bookingService.heartbeat(userId.toString(), showtimeId));
+                }
+
+                @Test
+                @DisplayName("Test 2/4: Should throw LockExpiredException when the lease already ran out")
+                void testHeartbeat_Expired() {
+                        activeLock.setExpiresAt(LocalDateTime.now().minusSeconds(1));
+                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(eq(userId.toString()), eq(showtimeId), any()))
+                                        .thenReturn(Optional.of(activeLock));
+
+                        assertThrows(LockExpiredException.class,
+                                        () -> bookingService.heartbeat(userId.toString(), showtimeId));
+                        verifyNoInteractions(redisLockService);
+                }
+
+                @Test
+                @DisplayName("Test 3/4: Should extend by one lease, capped at the lock duration")
+                void testHeartbeat_Extended() {
+                        activeLock.setCreatedAt(LocalDateTime.now().minusSeconds(530));
+                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(eq(userId.toString()), eq(showtimeId), any()))
+                                        .thenReturn(Optional.of(activeLock));
+                        when(redisLockService.extendSeatLocks(eq(showtimeId), eq(List.of(seatId1)),
+                                        eq(activeLock.getLockKey()), anyLong())).thenReturn(true);
+
+                        LockHeartbeatResponse response = bookingService.heartbeat(userId.toString(), showtimeId);
+
+                        assertEquals(activeLock.getCreatedAt().plusMinutes(10), response.getHoldUntil());
+                        assertEquals(response.getHoldUntil(), response.getExpiresAt());
+                        assertEquals(response.getExpiresAt(), activeLock.getExpiresAt());
+                        verify(redisLockService).extendSeatLocks(eq(showtimeId), any(), any(),
+                                        longThat(ttl -> ttl > 60 && ttl <= 70));
+                        verify(seatStateEngine).extend(eq(List.of(seatId1)), eq(userId.toString()),
+                                        longThat(ttl -> ttl > 60 && ttl <= 70));
+                }
+
+                @Test
+                @DisplayName("Test 4/4: Should release the lock when another session took a seat in Redis")
+                void testHeartbeat_SeatTaken() {
+                        when(seatLockRepo.findActiveLockByOwnerAndShowtime(eq(userId.toString()), eq(showtimeId), any()))
+                                        .thenReturn(Optional.of(activeLock));
+                        when(redisLockService.extendSeatLocks(any(), any(), any(), anyLong())).thenReturn(false);
+
+                        assertThrows(LockExpiredException.class,
+                                        () -> bookingService.heartbeat(userId.toString(), showtimeId));
+                        assertFalse(activeLock.isActive());
+                        verify(seatStateService).markAvailable(showtimeId, List.of(seatId1));
+                        verify(seatStateEngine, never()).extend(any(), any(), anyLong());
+                }
+        }
+
+        private BookingContext bookingContext(List<TicketType> ticketTypes) {
+                Map<String, TicketTypeOption> options = new HashMap<>();
+                Map<String, BigDecimal> prices = new HashMap<>();
+                for (TicketType ticketType : ticketTypes) {
+                        options.put(ticketType.getId().toString(), new TicketTypeOption(ticketType.getId(),
+                                        ticketType.getCode(), ticketType.getLabel(), ticketType.getModifierType(),
+                                        ticketType.getModifierValue()));
+                        for (SeatType seatType : SeatType.values()) {
+                                prices.put(BookingContext.priceKey(seatType, ticketType.getId()), BigDecimal.TEN);
+                        }
                 }
+                return new BookingContext(showtimeId, mockShowtime.getStartTime(), mockShowtime.getFormat(), null,
+                                false, options, prices);
         }
 }
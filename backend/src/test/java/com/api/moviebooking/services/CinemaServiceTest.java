@@ -19,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import com.api.moviebooking.helpers.exceptions.DuplicateResourceException;
 import com.api.moviebooking.helpers.exceptions.EntityDeletionForbiddenException;
@@ -1312,15 +1313,15 @@ class CinemaServiceTest {
             RoomDataResponse response2 = new RoomDataResponse();
             response2.setRoomType("Standard");
 
-            when(roomRepo.findAll()).thenReturn(Arrays.asList(room1, room2));
+            when(roomRepo.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(Arrays.asList(room1, room2));
             when(roomMapper.toDataResponse(room1)).thenReturn(response1);
             when(roomMapper.toDataResponse(room2)).thenReturn(response2);
 
-            List<RoomDataResponse> result = cinemaService.getAllRooms();
+            List<RoomDataResponse> result = cinemaService.getAllRooms(null, null).getItems();
 
             assertNotNull(result);
             assertEquals(2, result.size());
-            verify(roomRepo).findAll();
+            verify(roomRepo).findAllByOrderByIdAsc(any(Limit.class));
             verify(roomMapper, times(2)).toDataResponse(any(Room.class));
         }
     }
@@ -1358,15 +1359,15 @@ class CinemaServiceTest {
             SnackDataResponse response2 = new SnackDataResponse();
             response2.setName("Nachos");
 
-            when(snackRepo.findAll()).thenReturn(Arrays.asList(snack1, snack2));
+            when(snackRepo.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(Arrays.asList(snack1, snack2));
             when(snackMapper.toDataResponse(snack1)).thenReturn(response1);
             when(snackMapper.toDataResponse(snack2)).thenReturn(response2);
 
-            List<SnackDataResponse> result = cinemaService.getAllSnacks();
+            List<SnackDataResponse> result = cinemaService.getAllSnacks(null, null).getItems();
 
             assertNotNull(result);
             assertEquals(2, result.size());
-            verify(snackRepo).findAll();
+            verify(snackRepo).findAllByOrderByIdAsc(any(Limit.class));
             verify(snackMapper, times(2)).toDataResponse(any(Snack.class));
         }
     }
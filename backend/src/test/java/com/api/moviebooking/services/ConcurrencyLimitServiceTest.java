@@ -0,0 +1,134 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.moviebooking.helpers.exceptions.ServiceOverloadedException;
+import com.api.moviebooking.services.ConcurrencyLimitService.Priority;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for ConcurrencyLimitService.
+ */
+@DisplayName("ConcurrencyLimitService Unit Tests")
+class ConcurrencyLimitServiceTest {
+
+    private static final long MILLIS = 1_000_000;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitService concurrencyLimitService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        concurrencyLimitService = new ConcurrencyLimitService(meterRegistry);
+        ReflectionTestUtils.setField(concurrencyLimitService, "initialLimit", 10);
+        ReflectionTestUtils.setField(concurrencyLimitService, "minLimit", 5);
+        ReflectionTestUtils.setField(concurrencyLimitService, "maxLimit", 100);
+        ReflectionTestUtils.setField(concurrencyLimitService, "lockShare", 0.8);
+        ReflectionTestUtils.setField(concurrencyLimitService, "tolerance", 1.5);
+        ReflectionTestUtils.setField(concurrencyLimitService, "smoothing", 0.2);
+        ReflectionTestUtils.setField(concurrencyLimitService, "retryAfterSeconds", 1L);
+        concurrencyLimitService.init();
+    }
+
+    @Test
+    @SmokeTest
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should shed new locks past their share while confirm and checkout still get the rest")
+    void testAcquire_LockShare() {
+        for (int i = 0; i < 8; i++) {
+            concurrencyLimitService.acquire(Priority.LOW);
+        }
+
+        ServiceOverloadedException exception = assertThrows(ServiceOverloadedException.class,
+                () -> concurrencyLimitService.acquire(Priority.LOW));
+        assertEquals(1L, exception.getRetryAfterSeconds());
+
+        concurrencyLimitService.acquire(Priority.HIGH);
+        concurrencyLimitService.acquire(Priority.HIGH);
+        assertThrows(ServiceOverloadedException.class, () -> concurrencyLimitService.acquire(Priority.HIGH));
+
+        assertEquals(10, concurrencyLimitService.getInflight());
+        assertEquals(1.0, meterRegistry.get("booking.concurrency.rejected").tag("priority", "low").counter().count());
+        assertEquals(1.0, meterRegistry.get("booking.concurrency.rejected").tag("priority", "high").counter().count());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should free the slot of a finished request")
+    void testRelease() {
+        long start = concurrencyLimitService.acquire(Priority.HIGH);
+
+        concurrencyLimitService.release(start, Priority.HIGH);
+
+        assertEquals(0, concurrencyLimitService.getInflight());
+        assertEquals(0.0, meterRegistry.get("booking.concurrency.inflight").gauge().value());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should adapt the limit to seat lock latency only, not to slow checkouts")
+    void testRelease_OnlyLocksSampled() {
+        long checkout = concurrencyLimitService.acquire(Priority.HIGH) - 60_000 * MILLIS;
+        concurrencyLimitService.release(checkout, Priority.HIGH);
+        assertEquals(0.0, meterRegistry.get("booking.concurrency.latency.baseline").gauge().value());
+
+        long lock = concurrencyLimitService.acquire(Priority.LOW) - 10 * MILLIS;
+        concurrencyLimitService.release(lock, Priority.LOW);
+        assertTrue(meterRegistry.get("booking.concurrency.latency.baseline").gauge().value() >= 10);
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should raise the limit while the limit is in use and latency holds steady")
+    void testOnSample_SteadyLatencyGrows() {
+        for (int i = 0; i < 20; i++) {
+            concurrencyLimitService.onSample(10 * MILLIS, (int) concurrencyLimitService.getLimit());
+        }
+
+        assertTrue(concurrencyLimitService.getLimit() > 10);
+        assertEquals(concurrencyLimitService.getLimit(),
+                meterRegistry.get("booking.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should cut the limit down to min-limit when latency climbs")
+    void testOnSample_RisingLatencyShrinks() {
+        for (int i = 0; i < 50; i++) {
+            concurrencyLimitService.onSample(10 * MILLIS, 10);
+        }
+        double before = concurrencyLimitService.getLimit();
+
+        for (int i = 0; i < 10; i++) {
+            concurrencyLimitService.onSample(200 * MILLIS, (int) concurrencyLimitService.getLimit());
+        }
+        assertTrue(concurrencyLimitService.getLimit() < before);
+
+        for (int i = 0; i < 100; i++) {
+            concurrencyLimitService.onSample(500 * MILLIS, 100);
+        }
+        assertEquals(5.0, concurrencyLimitService.getLimit());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should leave the limit alone while less than half of it is in use")
+    void testOnSample_AppLimited() {
+        for (int i = 0; i < 20; i++) {
+            concurrencyLimitService.onSample(10 * MILLIS, 2);
+        }
+
+        assertEquals(10.0, concurrencyLimitService.getLimit());
+    }
+}
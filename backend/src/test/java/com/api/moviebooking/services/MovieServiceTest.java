@@ -3,6 +3,7 @@ package com.api.moviebooking.services;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -16,6 +17,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import com.api.moviebooking.helpers.mapstructs.MovieMapper;
 import com.api.moviebooking.models.dtos.movie.AddMovieRequest;
@@ -219,7 +221,7 @@ class MovieServiceTest {
         Movie movie2 = new Movie();
         movie2.setTitle("Movie 2");
 
-        when(movieRepo.findAll()).thenReturn(List.of(movie1, movie2));
+        when(movieRepo.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(List.of(movie1, movie2));
 
         MovieDataResponse resp1 = MovieDataResponse.builder()
                 .title("Movie 1")
@@ -231,7 +233,7 @@ class MovieServiceTest {
         when(movieMapper.toDataResponse(movie1)).thenReturn(resp1);
         when(movieMapper.toDataResponse(movie2)).thenReturn(resp2);
 
-        List<MovieDataResponse> result = movieService.getAllMovies();
+        List<MovieDataResponse> result = movieService.getAllMovies(null, null).getItems();
 
         assertEquals(2, result.size());
         assertEquals("Movie 1", result.get(0).getTitle());
@@ -0,0 +1,120 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * Unit tests for PartitionMaintenanceService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PartitionMaintenanceService Unit Tests")
+class PartitionMaintenanceServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Query query;
+
+    @InjectMocks
+    private PartitionMaintenanceService partitionMaintenanceService;
+
+    private final LocalDate month = LocalDate.now().withDayOfMonth(1);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(partitionMaintenanceService, "monthsAhead", 12);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "archiveAfterMonths", 3);
+        ReflectionTestUtils.setField(partitionMaintenanceService, "seatLockRetentionMonths", 2);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+    }
+
+    @Test
+    @SmokeTest
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should create the partitions ahead of all three tables")
+    void testCreatePartitions() {
+        when(query.getSingleResult()).thenReturn(2, 1, 1);
+
+        int created = partitionMaintenanceService.createPartitions(month, month.plusMonths(12));
+
+        assertEquals(4, created);
+        verify(query).setParameter("parent", "showtime_seats");
+        verify(query).setParameter("keyColumn", "showtime_start");
+        verify(query).setParameter("parent", "seat_locks");
+        verify(query).setParameter("parent", "seat_lock_seats");
+        verify(query, times(3)).setParameter("lastMonth", month.plusMonths(12));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should prepare then archive each old showtime seat month in its own calls, oldest first")
+    void testArchiveShowtimeSeats() {
+        LocalDate before = month.minusMonths(3);
+        when(query.getResultList()).thenReturn(List.of(
+                before.minusMonths(2).toString(), before.minusMonths(1).toString()));
+        when(query.getSingleResult()).thenReturn(900L, 120L, 700L, 80L);
+
+        int archived = partitionMaintenanceService.archiveShowtimeSeats(before);
+
+        assertEquals(2, archived);
+        InOrder inOrder = inOrder(entityManager, query);
+        inOrder.verify(entityManager).createNativeQuery("SELECT prepare_showtime_seats_archive(:month)");
+        inOrder.verify(query).setParameter("month", before.minusMonths(2));
+        inOrder.verify(entityManager).createNativeQuery("SELECT archive_showtime_seats_month(:month)");
+        inOrder.verify(query).setParameter("month", before.minusMonths(2));
+        inOrder.verify(entityManager).createNativeQuery("SELECT prepare_showtime_seats_archive(:month)");
+        inOrder.verify(query).setParameter("month", before.minusMonths(1));
+        verify(transactionManager, times(5)).commit(any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should drop seat lock seats before the locks they reference")
+    void testDropSeatLocks() {
+        when(query.getSingleResult()).thenReturn(1, 1);
+
+        assertEquals(2, partitionMaintenanceService.dropSeatLocks(month.minusMonths(2)));
+
+        InOrder inOrder = inOrder(query);
+        inOrder.verify(query).setParameter("parent", "seat_lock_seats");
+        inOrder.verify(query).setParameter("parent", "seat_locks");
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should log and keep running when a step fails")
+    void testMaintainPartitions_Failure() {
+        when(query.getSingleResult()).thenThrow(new IllegalStateException("lock timeout"));
+
+        assertDoesNotThrow(() -> partitionMaintenanceService.maintainPartitions());
+        verify(query, never()).getResultList();
+    }
+}
@@ -14,11 +14,13 @@ import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import com.api.moviebooking.helpers.mapstructs.PromotionMapper;
 import com.api.moviebooking.models.dtos.promotion.AddPromotionRequest;
@@ -26,6 +28,7 @@ import com.api.moviebooking.models.dtos.promotion.PromotionDataResponse;
 import com.api.moviebooking.models.dtos.promotion.UpdatePromotionRequest;
 import com.api.moviebooking.models.entities.Promotion;
 import com.api.moviebooking.models.enums.DiscountType;
+import com.api.moviebooking.repositories.BookingPromotionRepo;
 import com.api.moviebooking.repositories.PromotionRepo;
 import com.api.moviebooking.tags.RegressionTest;
 import com.api.moviebooking.tags.SanityTest;
@@ -33,12 +36,19 @@ import com.api.moviebooking.tags.SmokeTest;
 
 import jakarta.persistence.EntityManager;
 
+/**
+ * Unit tests for PromotionService.
+ */
 @ExtendWith(MockitoExtension.class)
+@DisplayName("PromotionService Unit Tests")
 class PromotionServiceTest {
 
     @Mock
     private PromotionRepo promotionRepo;
 
+    @Mock
+    private BookingPromotionRepo bookingPromotionRepo;
+
     @Mock
     private PromotionMapper promotionMapper;
 
@@ -52,6 +62,7 @@ class PromotionServiceTest {
     @SmokeTest
     @SanityTest
     @RegressionTest
+    @DisplayName("Should map, save and return a percentage promotion")
     void addPromotionPercentage_mapsSavesAndReturnsResponse() {
         AddPromotionRequest req = AddPromotionRequest.builder()
                 .code("SUMMER2025")
@@ -90,6 +101,7 @@ class PromotionServiceTest {
 
         @Test
     @RegressionTest
+    @DisplayName("Should map, save and return a fixed-amount promotion")
     void addPromotionFixed_mapsSavesAndReturnsResponse() {
         AddPromotionRequest req = AddPromotionRequest.builder()
                 .code("SUMMER2025")
@@ -128,6 +140,7 @@ class PromotionServiceTest {
 
     @Test
     @RegressionTest
+    @DisplayName("Should reject a new promotion whose code already exists")
     void addPromotion_throwsWhenCodeAlreadyExists() {
         AddPromotionRequest req = AddPromotionRequest.builder()
                 .code("DUPLICATE")
@@ -148,6 +161,7 @@ class PromotionServiceTest {
 
     @Test
     @RegressionTest
+    @DisplayName("Should reject a new promotion that ends before it starts")
     void addPromotion_throwsWhenEndDateBeforeStartDate() {
         AddPromotionRequest req = AddPromotionRequest.builder()
                 .code("INVALID")
@@ -168,6 +182,7 @@ class PromotionServiceTest {
 
     @Test
     @RegressionTest
+    @DisplayName("Should reject a new percentage promotion above 100")
     void addPromotion_throwsWhenPercentageExceeds100() {
         AddPromotionRequest req = AddPromotionRequest.builder()
                 .code("INVALID")
@@ -188,6 +203,7 @@ class PromotionServiceTest {
 
     @Test
     @RegressionTest
+    @DisplayName("Should reject a new promotion whose per-user limit exceeds its usage limit")
     void addPromotion_throwsWhenPerUserLimitExceedsUsageLimit() {
         AddPromotionRequest req = AddPromotionRequest.builder()
                 .code("INVALID")
@@ -209,6 +225,7 @@ class PromotionServiceTest {
     @Test
     @SanityTest
     @RegressionTest
+    @DisplayName("Should update only the given fields of a promotion")
     void updatePromotion_updatesNonNullFieldsAndSaves() {
         UUID id = UUID.randomUUID();
         Promotion existing = new Promotion();
@@ -251,6 +268,7 @@ class PromotionServiceTest {
 
     @Test
     @RegressionTest
+    @DisplayName("Should reject an update to a code that is already taken")
     void updatePromotion_throwsWhenNewCodeConflicts() {
         UUID id = UUID.randomUUID();
         Promotion existing = new Promotion();
@@ -269,6 +287,7 @@ class PromotionServiceTest {
 
     @Test
     @RegressionTest
+    @DisplayName("Should reject an update to a percentage above 100")
     void updatePromotion_throwsWhenPercentageExceeds100() {
         UUID id = UUID.randomUUID();
         Promotion existing = new Promotion();
@@ -292,6 +311,7 @@ class PromotionServiceTest {
 
     @Test
     @RegressionTest
+    @DisplayName("Should reject an update whose per-user limit exceeds the usage limit")
     void updatePromotion_throwsWhenPerUserLimitExceedsUsageLimit() {
         UUID id = UUID.randomUUID();
         Promotion existing = new Promotion();
@@ -317,6 +337,7 @@ class PromotionServiceTest {
     @Test
     @SanityTest
     @RegressionTest
+    @DisplayName("Should deactivate a promotion")
     void deactivatePromotion_setsIsActiveToFalse() {
         UUID id = UUID.randomUUID();
         Promotion promotion = new Promotion();
@@ -335,6 +356,7 @@ class PromotionServiceTest {
     @Test
     @SanityTest
     @RegressionTest
+    @DisplayName("Should delete an existing promotion")
     void deletePromotion_findsAndDeletes() {
         UUID id = UUID.randomUUID();
         Promotion existing = new Promotion();
@@ -352,6 +374,7 @@ class PromotionServiceTest {
     @SmokeTest
     @SanityTest
     @RegressionTest
+    @DisplayName("Should return a promotion by id")
     void getPromotion_returnsMappedResponse() {
         UUID id = UUID.randomUUID();
         Promotion existing = new Promotion();
@@ -375,6 +398,7 @@ class PromotionServiceTest {
     @SmokeTest
     @SanityTest
     @RegressionTest
+    @DisplayName("Should return a promotion by code")
     void getPromotionByCode_returnsMappedResponse() {
         Promotion existing = new Promotion();
         existing.setCode("TESTCODE");
@@ -395,13 +419,14 @@ class PromotionServiceTest {
     @Test
     @SanityTest
     @RegressionTest
+    @DisplayName("Should return all promotions")
     void getAllPromotions_returnsMappedList() {
         Promotion promo1 = new Promotion();
         promo1.setCode("PROMO1");
         Promotion promo2 = new Promotion();
         promo2.setCode("PROMO2");
 
-        when(promotionRepo.findAll()).thenReturn(List.of(promo1, promo2));
+        when(promotionRepo.findAllByOrderByIdAsc(any(Limit.class))).thenReturn(List.of(promo1, promo2));
 
         PromotionDataResponse resp1 = PromotionDataResponse.builder()
                 .code("PROMO1")
@@ -413,7 +438,7 @@ class PromotionServiceTest {
         when(promotionMapper.toDataResponse(promo1)).thenReturn(resp1);
         when(promotionMapper.toDataResponse(promo2)).thenReturn(resp2);
 
-        List<PromotionDataResponse> result = promotionService.getAllPromotions();
+        List<PromotionDataResponse> result = promotionService.getAllPromotions(null, null).getItems();
 
         assertEquals(2, result.size());
         assertEquals("PROMO1", result.get(0).getCode());
@@ -423,6 +448,7 @@ class PromotionServiceTest {
     @Test
     @SanityTest
     @RegressionTest
+    @DisplayName("Should return the active promotions")
     void getActivePromotions_returnsMappedList() {
         Promotion promo = new Promotion();
         promo.setCode("ACTIVE");
@@ -444,6 +470,7 @@ class PromotionServiceTest {
     @Test
     @SanityTest
     @RegressionTest
+    @DisplayName("Should return the promotions valid right now")
     void getValidPromotions_returnsMappedList() {
         Promotion promo = new Promotion();
         promo.setCode("VALID");
@@ -466,6 +493,7 @@ class PromotionServiceTest {
     }
 
     @Test
+    @DisplayName("Should throw from every operation when the promotion does not exist")
     void operations_throwWhenPromotionNotFound() {
         UUID id = UUID.randomUUID();
         when(promotionRepo.findById(id)).thenReturn(Optional.empty());
@@ -476,4 +504,44 @@ class PromotionServiceTest {
         assertThrows(RuntimeException.class, () -> promotionService.deletePromotion(id));
         assertThrows(RuntimeException.class, () -> promotionService.deactivatePromotion(id));
     }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject a promotion whose usage limit is reached")
+    void validateAndGetPromotion_throwsWhenUsageLimitReached() {
+        Promotion promo = validPromotion();
+        promo.setUsageLimit(2);
+        when(promotionRepo.findByCode("LIMITED")).thenReturn(Optional.of(promo));
+        when(bookingPromotionRepo.countByPromotionId(promo.getId())).thenReturn(2L);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> promotionService.validateAndGetPromotion("LIMITED", UUID.randomUUID()));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should count only the user's own usages against the per-user limit")
+    void validateAndGetPromotion_countsPerUserUsage() {
+        Promotion promo = validPromotion();
+        promo.setPerUserLimit(1);
+        UUID userId = UUID.randomUUID();
+        when(promotionRepo.findByCode("LIMITED")).thenReturn(Optional.of(promo));
+        when(bookingPromotionRepo.countByPromotionIdAndUserId(promo.getId(), userId)).thenReturn(0L);
+
+        assertSame(promo, promotionService.validateAndGetPromotion("LIMITED", userId));
+
+        when(bookingPromotionRepo.countByPromotionIdAndUserId(promo.getId(), userId)).thenReturn(1L);
+        assertThrows(IllegalArgumentException.class,
+                () -> promotionService.validateAndGetPromotion("LIMITED", userId));
+    }
+
+    private Promotion validPromotion() {
+        Promotion promo = new Promotion();
+        promo.setId(UUID.randomUUID());
+        promo.setCode("LIMITED");
+        promo.setIsActive(true);
+        promo.setStartDate(LocalDateTime.now().minusDays(1));
+        promo.setEndDate(LocalDateTime.now().plusDays(1));
+        return promo;
+    }
 }
@@ -0,0 +1,112 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.api.moviebooking.services.RateLimitService.Decision;
+import com.api.moviebooking.services.RateLimitService.Policy;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+/**
+ * Unit tests for RateLimitService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitService Unit Tests")
+class RateLimitServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @InjectMocks
+    private RateLimitService rateLimitService;
+
+    private final Policy policy = new Policy(5, 10, 30, 60);
+    private final String session = "session:" + UUID.randomUUID();
+
+    @Test
+    @SmokeTest
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should take a token from the caller and the IP buckets and report the tighter one")
+    void testTryAcquire_Allowed() {
+        doReturn(List.of("1", "4", "0", "29", "0")).when(redisTemplate).execute(any(RedisScript.class),
+                any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any(), any(), any(), any(),
+                any());
+
+        Decision decision = rateLimitService.tryAcquire("lock", policy, session, "10.0.0.1");
+
+        assertTrue(decision.allowed());
+        assertEquals(5L, decision.limit());
+        assertEquals(4L, decision.remaining());
+        assertEquals(6L, decision.resetSeconds());
+        assertEquals(30L, decision.windowSeconds());
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class),
+                eq(List.of("ratelimit:{lock}:" + session, "ratelimit:{lock}:ip:10.0.0.1")),
+                eq("1"), eq("5"), any(), eq("30"), any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject with the wait of the empty bucket and then short-circuit without Redis")
+    void testTryAcquire_DeniedThenNearCache() {
+        doReturn(List.of("0", "0", "2500", "12", "0")).when(redisTemplate).execute(any(RedisScript.class),
+                any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any(), any(), any(), any(),
+                any());
+
+        Decision first = rateLimitService.tryAcquire("lock", policy, session, "10.0.0.1");
+        Decision second = rateLimitService.tryAcquire("lock", policy, session, "10.0.0.2");
+
+        assertFalse(first.allowed());
+        assertEquals(0L, first.remaining());
+        assertEquals(3L, first.retryAfterSeconds());
+        assertFalse(second.allowed());
+        assertTrue(second.retryAfterSeconds() >= 1);
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should only limit the IP of an anonymous caller")
+    void testTryAcquire_Anonymous() {
+        doReturn(List.of("1", "29", "0")).when(redisTemplate).execute(any(RedisScript.class),
+                any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any(), any(), any());
+
+        Decision decision = rateLimitService.tryAcquire("lock", policy, null, "10.0.0.1");
+
+        assertTrue(decision.allowed());
+        assertEquals(30L, decision.limit());
+        assertEquals(29L, decision.remaining());
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of("ratelimit:{lock}:ip:10.0.0.1")), eq("1"), eq("30"),
+                any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should let requests through when Redis is unreachable")
+    void testTryAcquire_RedisDown() {
+        when(redisTemplate.execute(any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class),
+                anyList(), any(), any(), any(), any(), any()))
+                .thenThrow(new RuntimeException("Redis connection failed"));
+
+        assertNull(rateLimitService.tryAcquire("lock", policy, session, "10.0.0.1"));
+    }
+}
@@ -7,6 +7,7 @@ import static org.mockito.Mockito.*;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
@@ -14,11 +15,14 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
 import com.api.moviebooking.tags.RegressionTest;
 import com.api.moviebooking.tags.SanityTest;
@@ -378,31 +382,42 @@ class RedisLockServiceTest {
         assertFalse(result);
     }
 
-    // ==================== Key Generation Tests - V(G) = 1 ====================
-    // Cyclomatic Complexity: 1 (0 decision nodes for each method)
-    // Test Cases: 3 (one for each key generation method)
+    // ==================== Seat Lock Key Tests - V(G) = 1 ====================
     // Note: V(G) = 1, excluded from decision tables per requirements
 
     @Test
     @RegressionTest
-    @DisplayName("Generate seat lock key with correct format")
-    void testGenerateSeatLockKey() {
+    @DisplayName("Seat lock keys of a showtime share its hash tag")
+    void testSeatLockKeys_ShareHashTag() {
         // Arrange
         UUID showtimeId = UUID.randomUUID();
-        UUID seatId = UUID.randomUUID();
 
         // Act
-        String key = redisLockService.generateSeatLockKey(showtimeId, seatId);
+        String seatsKey = redisLockService.seatLocksKey(showtimeId);
+        String expiryKey = redisLockService.seatLockExpiryKey(showtimeId);
 
         // Assert
-        assertEquals("lock:seat:" + showtimeId + ":" + seatId, key);
+        assertEquals("lock:seats:{" + showtimeId + "}", seatsKey);
+        assertEquals("lock:seats:{" + showtimeId + "}:expiry", expiryKey);
     }
 
-    // ==================== acquireMultipleSeatsLock() Tests - V(G) = 4
+    @Test
+    @RegressionTest
+    @DisplayName("Encode lock tokens and seat ids as 16 raw bytes")
+    void testCompactCodec() {
+        // Arrange
+        UUID seatId = UUID.randomUUID();
+
+        // Act & Assert
+        assertEquals(16, RedisLockService.encodeToken(UUID.randomUUID().toString()).length);
+        assertEquals(seatId, RedisLockService.decodeUuid(RedisLockService.encodeUuid(seatId)));
+        assertArrayEquals("legacy-token".getBytes(), RedisLockService.encodeToken("legacy-token"));
+    }
+
+    // ==================== acquireMultipleSeatsLock() Tests - V(G) = 3
     // ====================
-    // Cyclomatic Complexity: 4 (3 decision nodes: for loop isLocked check, for loop
-    // acquire, !acquireLock)
-    // Test Cases: 4 (covers all paths including rollback)
+    // Cyclomatic Complexity: 3 (2 decision nodes: empty seat list, catch)
+    // Test Cases: 4 (script grants, script refuses, Redis error, empty list)
 
     @Test
     @SmokeTest
@@ -416,28 +431,25 @@ class RedisLockServiceTest {
         UUID seatId2 = UUID.randomUUID();
         List<UUID> seatIds = Arrays.asList(seatId1, seatId2);
         String lockToken = UUID.randomUUID().toString();
-
-        String seatKey1 = "lock:seat:" + showtimeId + ":" + seatId1;
-        String seatKey2 = "lock:seat:" + showtimeId + ":" + seatId2;
-
-        // All seats are not locked
-        when(redisTemplate.hasKey(seatKey1)).thenReturn(false);
-        when(redisTemplate.hasKey(seatKey2)).thenReturn(false);
-
-        // Successfully acquire both locks
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.setIfAbsent(eq(seatKey1), eq(lockToken), any())).thenReturn(true);
-        when(valueOperations.setIfAbsent(eq(seatKey2), eq(lockToken), any())).thenReturn(true);
+        doReturn(1L).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class));
 
         // Act
         boolean result = redisLockService.acquireMultipleSeatsLock(showtimeId, seatIds, lockToken, ttlSeconds);
 
         // Assert
         assertTrue(result);
-        verify(redisTemplate).hasKey(seatKey1);
-        verify(redisTemplate).hasKey(seatKey2);
-        verify(valueOperations).setIfAbsent(eq(seatKey1), eq(lockToken), any());
-        verify(valueOperations).setIfAbsent(eq(seatKey2), eq(lockToken), any());
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class),
+                eq(List.of("lock:seats:{" + showtimeId + "}", "lock:seats:{" + showtimeId + "}:expiry")),
+                args.capture());
+        List<Object> values = Arrays.asList(args.getValue());
+        assertEquals(4, values.size());
+        assertArrayEquals(RedisLockService.encodeToken(lockToken), (byte[]) values.get(0));
+        assertArrayEquals("600000".getBytes(), (byte[]) values.get(1));
+        assertArrayEquals(RedisLockService.encodeUuid(seatId1), (byte[]) values.get(2));
+        assertArrayEquals(RedisLockService.encodeUuid(seatId2), (byte[]) values.get(3));
     }
 
     @Test
@@ -447,73 +459,58 @@ class RedisLockServiceTest {
     void testAcquireMultipleSeatsLock_OneSeatLocked() {
         // Arrange
         UUID showtimeId = UUID.randomUUID();
-        UUID seatId1 = UUID.randomUUID();
-        UUID seatId2 = UUID.randomUUID();
-        List<UUID> seatIds = Arrays.asList(seatId1, seatId2);
+        List<UUID> seatIds = Arrays.asList(UUID.randomUUID(), UUID.randomUUID());
         String lockToken = UUID.randomUUID().toString();
-
-        String seatKey1 = "lock:seat:" + showtimeId + ":" + seatId1;
-        String seatKey2 = "lock:seat:" + showtimeId + ":" + seatId2;
-
-        // First seat is available, second is locked
-        when(redisTemplate.hasKey(seatKey1)).thenReturn(false);
-        when(redisTemplate.hasKey(seatKey2)).thenReturn(true);
+        doReturn(0L).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class));
 
         // Act
         boolean result = redisLockService.acquireMultipleSeatsLock(showtimeId, seatIds, lockToken, ttlSeconds);
 
         // Assert
         assertFalse(result);
-        verify(redisTemplate).hasKey(seatKey1);
-        verify(redisTemplate).hasKey(seatKey2);
-        // Should not attempt to acquire any locks
-        verify(redisTemplate, never()).opsForValue();
     }
 
     @Test
-    @SanityTest
     @RegressionTest
-    @DisplayName("Rollback successfully acquired locks on partial failure")
-    void testAcquireMultipleSeatsLock_PartialFailure_Rollback() {
+    @DisplayName("Fail closed when Redis throws")
+    void testAcquireMultipleSeatsLock_RedisException() {
         // Arrange
         UUID showtimeId = UUID.randomUUID();
-        UUID seatId1 = UUID.randomUUID();
-        UUID seatId2 = UUID.randomUUID();
-        List<UUID> seatIds = Arrays.asList(seatId1, seatId2);
-        String lockToken = UUID.randomUUID().toString();
-
-        String seatKey1 = "lock:seat:" + showtimeId + ":" + seatId1;
-        String seatKey2 = "lock:seat:" + showtimeId + ":" + seatId2;
+        List<UUID> seatIds = Arrays.asList(UUID.randomUUID());
+        doThrow(new RuntimeException("Redis connection failed")).when(redisTemplate).execute(
+                any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(),
+                any(Object[].class));
 
-        // All seats appear available initially
-        when(redisTemplate.hasKey(seatKey1)).thenReturn(false);
-        when(redisTemplate.hasKey(seatKey2)).thenReturn(false);
+        // Act
+        boolean result = redisLockService.acquireMultipleSeatsLock(showtimeId, seatIds,
+                UUID.randomUUID().toString(), ttlSeconds);
 
-        // First lock succeeds, second fails (race condition)
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.setIfAbsent(eq(seatKey1), eq(lockToken), any())).thenReturn(true);
-        when(valueOperations.setIfAbsent(eq(seatKey2), eq(lockToken), any())).thenReturn(false);
+        // Assert
+        assertFalse(result);
+    }
 
-        // For rollback
-        when(valueOperations.get(seatKey1)).thenReturn(lockToken);
-        when(redisTemplate.delete(seatKey1)).thenReturn(true);
+    @Test
+    @RegressionTest
+    @DisplayName("Handle empty seat list (edge case)")
+    void testAcquireMultipleSeatsLock_EmptyList() {
+        // Arrange
+        UUID showtimeId = UUID.randomUUID();
+        List<UUID> seatIds = Arrays.asList();
+        String lockToken = UUID.randomUUID().toString();
 
         // Act
         boolean result = redisLockService.acquireMultipleSeatsLock(showtimeId, seatIds, lockToken, ttlSeconds);
 
         // Assert
-        assertFalse(result);
-        // Verify rollback was called for seat 1
-        verify(valueOperations).get(seatKey1);
-        verify(redisTemplate).delete(seatKey1);
+        assertTrue(result); // Should succeed with empty list
+        verifyNoInteractions(redisTemplate);
     }
 
-    // ==================== releaseMultipleSeatsLock() Tests - V(G) = 2
+    // ==================== releaseMultipleSeatsLock() Tests - V(G) = 3
     // ====================
-    // Cyclomatic Complexity: 2 (1 decision node: for loop)
-    // Test Cases: 1 (covers normal path, empty list tested via
-    // acquireMultipleSeatsLock_EmptyList)
-    // Note: V(G) ≤ 2, excluded from decision tables per requirements
+    // Cyclomatic Complexity: 3 (2 decision nodes: empty seat list, catch)
+    // Note: the token check runs inside the script
 
     @Test
     @SmokeTest
@@ -528,41 +525,103 @@ class RedisLockServiceTest {
         List<UUID> seatIds = Arrays.asList(seatId1, seatId2);
         String lockToken = UUID.randomUUID().toString();
 
-        String seatKey1 = "lock:seat:" + showtimeId + ":" + seatId1;
-        String seatKey2 = "lock:seat:" + showtimeId + ":" + seatId2;
-
-        // Setup for successful release
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(seatKey1)).thenReturn(lockToken);
-        when(valueOperations.get(seatKey2)).thenReturn(lockToken);
-        when(redisTemplate.delete(seatKey1)).thenReturn(true);
-        when(redisTemplate.delete(seatKey2)).thenReturn(true);
-
         // Act
         redisLockService.releaseMultipleSeatsLock(showtimeId, seatIds, lockToken);
 
         // Assert
-        verify(valueOperations).get(seatKey1);
-        verify(valueOperations).get(seatKey2);
-        verify(redisTemplate).delete(seatKey1);
-        verify(redisTemplate).delete(seatKey2);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), args.capture());
+        List<Object> values = Arrays.asList(args.getValue());
+        assertEquals(3, values.size());
+        assertArrayEquals(RedisLockService.encodeToken(lockToken), (byte[]) values.get(0));
+        assertArrayEquals(RedisLockService.encodeUuid(seatId1), (byte[]) values.get(1));
     }
 
+    // ==================== extendSeatLocks() Tests - V(G) = 2 ====================
+    // Cyclomatic Complexity: 2 (1 decision node: catch)
+
     @Test
+    @SanityTest
     @RegressionTest
-    @DisplayName("Handle empty seat list (edge case)")
-    void testAcquireMultipleSeatsLock_EmptyList() {
+    @DisplayName("Extend the seats' lock by the new TTL in one script call")
+    void testExtendSeatLocks_Success() {
         // Arrange
         UUID showtimeId = UUID.randomUUID();
-        List<UUID> seatIds = Arrays.asList();
+        UUID seatId = UUID.randomUUID();
         String lockToken = UUID.randomUUID().toString();
+        doReturn(1L).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class));
 
         // Act
-        boolean result = redisLockService.acquireMultipleSeatsLock(showtimeId, seatIds, lockToken, ttlSeconds);
+        boolean result = redisLockService.extendSeatLocks(showtimeId, List.of(seatId), lockToken, 120);
 
         // Assert
-        assertTrue(result); // Should succeed with empty list
-        verify(redisTemplate, never()).hasKey(any());
-        verify(redisTemplate, never()).opsForValue();
+        assertTrue(result);
+        ArgumentCaptor<Object[]> args = ArgumentCaptor.forClass(Object[].class);
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class),
+                eq(List.of("lock:seats:{" + showtimeId + "}", "lock:seats:{" + showtimeId + "}:expiry")),
+                args.capture());
+        List<Object> values = Arrays.asList(args.getValue());
+        assertArrayEquals(RedisLockService.encodeToken(lockToken), (byte[]) values.get(0));
+        assertArrayEquals("120000".getBytes(), (byte[]) values.get(1));
+        assertArrayEquals(RedisLockService.encodeUuid(seatId), (byte[]) values.get(2));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Fail to extend when another token holds a seat")
+    void testExtendSeatLocks_SeatTaken() {
+        // Arrange
+        doReturn(0L).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(Object[].class));
+
+        // Act
+        boolean result = redisLockService.extendSeatLocks(UUID.randomUUID(), List.of(UUID.randomUUID()),
+                UUID.randomUUID().toString(), 120);
+
+        // Assert
+        assertFalse(result);
+    }
+
+    // ==================== findLockedSeats() Tests - V(G) = 3 ====================
+    // Cyclomatic Complexity: 3 (2 decision nodes: for loop, catch)
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Return the requested seats among the showtime's live locks")
+    void testFindLockedSeats() {
+        // Arrange
+        UUID showtimeId = UUID.randomUUID();
+        UUID locked = UUID.randomUUID();
+        UUID free = UUID.randomUUID();
+        doReturn(List.of(RedisLockService.encodeUuid(locked), RedisLockService.encodeUuid(UUID.randomUUID())))
+                .when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                        any(RedisSerializer.class), eq(List.of("lock:seats:{" + showtimeId + "}:expiry")),
+                        any(Object[].class));
+
+        // Act
+        Set<UUID> result = redisLockService.findLockedSeats(showtimeId, List.of(locked, free));
+
+        // Assert
+        assertEquals(Set.of(locked), result);
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Report no locks when Redis throws")
+    void testFindLockedSeats_RedisException() {
+        // Arrange
+        doThrow(new RuntimeException("Redis connection failed")).when(redisTemplate).execute(
+                any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(),
+                any(Object[].class));
+
+        // Act
+        Set<UUID> result = redisLockService.findLockedSeats(UUID.randomUUID(), List.of(UUID.randomUUID()));
+
+        // Assert
+        assertTrue(result.isEmpty());
     }
 }
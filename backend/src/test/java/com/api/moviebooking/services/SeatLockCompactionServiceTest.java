@@ -0,0 +1,104 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+
+/**
+ * Unit tests for SeatLockCompactionService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatLockCompactionService Unit Tests")
+class SeatLockCompactionServiceTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private Query query;
+
+    @InjectMocks
+    private SeatLockCompactionService seatLockCompactionService;
+
+    private final LocalDateTime before = LocalDateTime.now().minusDays(7);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(seatLockCompactionService, "retentionDays", 7);
+        ReflectionTestUtils.setField(seatLockCompactionService, "batchSize", 100);
+        ReflectionTestUtils.setField(seatLockCompactionService, "batchPauseMs", 0L);
+        ReflectionTestUtils.setField(seatLockCompactionService, "maxBatches", 5);
+        when(entityManager.createNativeQuery(anyString())).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+    }
+
+    @Test
+    @SmokeTest
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should compact batch after batch, each in its own transaction, until one is short")
+    void testCompactLocksBefore_UntilShortBatch() {
+        when(query.getSingleResult()).thenReturn(100, 100, 42);
+
+        assertEquals(242, seatLockCompactionService.compactLocksBefore(before));
+
+        verify(query, times(3)).setParameter("before", before);
+        verify(query, times(3)).setParameter("batchSize", 100);
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should stop after max batches and leave the rest for the next run")
+    void testCompactLocksBefore_MaxBatches() {
+        when(query.getSingleResult()).thenReturn(100);
+
+        assertEquals(500, seatLockCompactionService.compactLocksBefore(before));
+
+        verify(query, times(5)).getSingleResult();
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should compact the locks created before the retention window")
+    void testCompactInactiveLocks_RetentionWindow() {
+        when(query.getSingleResult()).thenReturn(0);
+
+        seatLockCompactionService.compactInactiveLocks();
+
+        verify(query).setParameter("before", LocalDate.now().minusDays(7).atStartOfDay());
+        verify(query, times(1)).getSingleResult();
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should log and keep running when a batch fails")
+    void testCompactInactiveLocks_Failure() {
+        when(query.getSingleResult()).thenThrow(new IllegalStateException("deadlock detected"));
+
+        assertDoesNotThrow(() -> seatLockCompactionService.compactInactiveLocks());
+    }
+}
@@ -0,0 +1,105 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.moviebooking.models.entities.SeatLock;
+import com.api.moviebooking.models.entities.SeatLockSeat;
+import com.api.moviebooking.models.entities.Showtime;
+import com.api.moviebooking.models.entities.ShowtimeSeat;
+import com.api.moviebooking.models.entities.TicketType;
+import com.api.moviebooking.services.SeatLockTokenService.SeatClaim;
+import com.api.moviebooking.services.SeatLockTokenService.SeatLockClaims;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+/**
+ * Unit tests for SeatLockTokenService.
+ */
+@DisplayName("SeatLockTokenService Unit Tests")
+class SeatLockTokenServiceTest {
+
+    private SeatLockTokenService tokenService;
+    private SeatLock seatLock;
+
+    @BeforeEach
+    void setUp() {
+        tokenService = withSecret("test-secret");
+
+        Showtime showtime = new Showtime();
+        showtime.setId(UUID.randomUUID());
+        ShowtimeSeat showtimeSeat = new ShowtimeSeat();
+        showtimeSeat.setId(UUID.randomUUID());
+        TicketType ticketType = new TicketType();
+        ticketType.setId(UUID.randomUUID());
+
+        seatLock = new SeatLock();
+        seatLock.setId(UUID.randomUUID());
+        seatLock.setLockOwnerId("guest-session");
+        seatLock.setShowtime(showtime);
+        seatLock.setExpiresAt(LocalDateTime.now().plusMinutes(2).truncatedTo(ChronoUnit.MILLIS));
+        SeatLockSeat seatLockSeat = new SeatLockSeat();
+        seatLockSeat.setShowtimeSeat(showtimeSeat);
+        seatLockSeat.setTicketType(ticketType);
+        seatLockSeat.setPrice(new BigDecimal("95000.00"));
+        seatLock.getSeatLockSeats().add(seatLockSeat);
+    }
+
+    @Test
+    @SmokeTest
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should decode the terms a token was issued with")
+    void testIssueAndVerify() {
+        SeatLockClaims claims = tokenService.verify(tokenService.issue(seatLock));
+
+        SeatLockSeat seatLockSeat = seatLock.getSeatLockSeats().get(0);
+        assertEquals(seatLock.getId(), claims.lockId());
+        assertEquals("guest-session", claims.lockOwnerId());
+        assertEquals(seatLock.getShowtime().getId(), claims.showtimeId());
+        assertEquals(seatLock.getExpiresAt(), claims.expiresAt());
+        assertEquals(new SeatClaim(seatLockSeat.getShowtimeSeat().getId(), seatLockSeat.getTicketType().getId(),
+                new BigDecimal("95000.00")), claims.seats().get(0));
+        assertEquals(new BigDecimal("95000.00"), claims.ticketSubtotal());
+        assertFalse(claims.isExpired(LocalDateTime.now()));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject a token whose payload was changed")
+    void testVerify_TamperedPayload() {
+        String token = tokenService.issue(seatLock);
+        seatLock.getSeatLockSeats().get(0).setPrice(BigDecimal.ONE);
+        String other = tokenService.issue(seatLock);
+        String forged = other.substring(0, other.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertThrows(IllegalArgumentException.class, () -> tokenService.verify(forged));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject tokens signed with another secret or malformed")
+    void testVerify_ForeignOrMalformed() {
+        String foreign = withSecret("other-secret").issue(seatLock);
+
+        assertThrows(IllegalArgumentException.class, () -> tokenService.verify(foreign));
+        assertThrows(IllegalArgumentException.class, () -> tokenService.verify("not-a-token"));
+        assertThrows(IllegalArgumentException.class, () -> tokenService.verify(null));
+    }
+
+    private static SeatLockTokenService withSecret(String secret) {
+        SeatLockTokenService service = new SeatLockTokenService();
+        ReflectionTestUtils.setField(service, "secret", secret);
+        return service;
+    }
+}
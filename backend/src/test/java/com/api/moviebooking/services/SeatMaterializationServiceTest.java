@@ -0,0 +1,189 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.api.moviebooking.models.entities.Room;
+import com.api.moviebooking.models.entities.Seat;
+import com.api.moviebooking.models.entities.Showtime;
+import com.api.moviebooking.models.entities.ShowtimeSeat;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.models.enums.SeatType;
+import com.api.moviebooking.repositories.SeatRepo;
+import com.api.moviebooking.repositories.ShowtimeRepo;
+import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Unit tests for SeatMaterializationService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatMaterializationService Unit Tests")
+class SeatMaterializationServiceTest {
+
+    private static final String SEAT_PRICES = "{\"NORMAL\":{\"basePrice\":80000,\"finalPrice\":80000},"
+            + "\"VIP\":{\"basePrice\":80000,\"finalPrice\":100000}}";
+
+    @Mock
+    private ShowtimeRepo showtimeRepo;
+
+    @Mock
+    private SeatRepo seatRepo;
+
+    @Mock
+    private ShowtimeSeatRepo showtimeSeatRepo;
+
+    @Mock
+    private PriceCalculationService priceCalculationService;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @InjectMocks
+    private SeatMaterializationService seatMaterializationService;
+
+    private Showtime showtime;
+    private Room room;
+    private Seat normalSeat, vipSeat;
+
+    @BeforeEach
+    void setUp() {
+        room = new Room();
+        room.setId(UUID.randomUUID());
+
+        normalSeat = seat("A", 1, SeatType.NORMAL);
+        vipSeat = seat("B", 1, SeatType.VIP);
+
+        showtime = new Showtime();
+        showtime.setId(UUID.randomUUID());
+        showtime.setRoom(room);
+    }
+
+    @Test
+    @SmokeTest
+    @RegressionTest
+    @DisplayName("Should snapshot one price per seat type of the room")
+    void testSnapshotPrices_Success() {
+        when(seatRepo.findSeatTypesByRoomId(room.getId())).thenReturn(List.of(SeatType.NORMAL, SeatType.VIP));
+        when(priceCalculationService.calculatePriceWithBreakdown(eq(showtime), any()))
+                .thenReturn(new Object[] { new BigDecimal("80000"), "{\"finalPrice\":80000}" });
+
+        seatMaterializationService.snapshotPrices(showtime);
+
+        assertTrue(showtime.getSeatPrices().contains("\"NORMAL\""));
+        assertTrue(showtime.getSeatPrices().contains("\"VIP\""));
+        verify(priceCalculationService, times(2)).calculatePriceWithBreakdown(eq(showtime), any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject a room without seats")
+    void testSnapshotPrices_NoSeats() {
+        when(seatRepo.findSeatTypesByRoomId(room.getId())).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> seatMaterializationService.snapshotPrices(showtime));
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should list seats without a row as AVAILABLE at their seat type price")
+    void testUnmaterializedSeats_Sparse() {
+        showtime.setSeatPrices(SEAT_PRICES);
+        ShowtimeSeat locked = new ShowtimeSeat(UUID.randomUUID(), showtime, normalSeat, SeatStatus.LOCKED,
+                new BigDecimal("80000"), "{}", showtime.getStartTime());
+        when(seatRepo.findByRoomId(room.getId())).thenReturn(List.of(normalSeat, vipSeat));
+
+        List<ShowtimeSeat> seats = seatMaterializationService.unmaterializedSeats(showtime.getId(),
+                List.of(locked));
+
+        // The showtime comes with its rows
+        verify(showtimeRepo, never()).findById(any());
+
+        assertEquals(1, seats.size());
+        ShowtimeSeat seat = seats.get(0);
+        assertEquals(vipSeat, seat.getSeat());
+        assertEquals(SeatStatus.AVAILABLE, seat.getStatus());
+        assertEquals(0, new BigDecimal("100000").compareTo(seat.getPrice()));
+        assertEquals(SeatMaterializationService.showtimeSeatId(showtime.getId(), vipSeat.getId()), seat.getId());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should list nothing for eagerly generated showtimes")
+    void testUnmaterializedSeats_Eager() {
+        when(showtimeRepo.findById(showtime.getId())).thenReturn(Optional.of(showtime));
+
+        assertTrue(seatMaterializationService.unmaterializedSeats(showtime.getId(), List.of()).isEmpty());
+        verify(seatRepo, never()).findByRoomId(any());
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should write the rows of requested seats under their derived ids")
+    void testMaterialize_Sparse() {
+        showtime.setSeatPrices(SEAT_PRICES);
+        UUID showtimeSeatId = SeatMaterializationService.showtimeSeatId(showtime.getId(), vipSeat.getId());
+        when(seatRepo.findAllById(List.of(vipSeat.getId()))).thenReturn(List.of(vipSeat));
+
+        seatMaterializationService.materialize(showtime, List.of(showtimeSeatId));
+
+        verify(showtimeSeatRepo).insertAvailableIfAbsent(eq(showtimeSeatId), eq(showtime.getId()),
+                eq(vipSeat.getId()), argThat(price -> price.compareTo(new BigDecimal("100000")) == 0),
+                anyString());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should skip seats of another room")
+    void testMaterialize_OtherRoom() {
+        showtime.setSeatPrices(SEAT_PRICES);
+        Room otherRoom = new Room();
+        otherRoom.setId(UUID.randomUUID());
+        vipSeat.setRoom(otherRoom);
+        UUID showtimeSeatId = SeatMaterializationService.showtimeSeatId(showtime.getId(), vipSeat.getId());
+        when(seatRepo.findAllById(anyList())).thenReturn(List.of(vipSeat));
+
+        seatMaterializationService.materialize(showtime, List.of(showtimeSeatId));
+
+        verify(showtimeSeatRepo, never()).insertAvailableIfAbsent(any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should not touch eagerly generated showtimes")
+    void testMaterialize_Eager() {
+        seatMaterializationService.materialize(showtime, List.of(UUID.randomUUID()));
+
+        verifyNoInteractions(seatRepo, showtimeSeatRepo);
+    }
+
+    private Seat seat(String rowLabel, int seatNumber, SeatType seatType) {
+        Seat seat = new Seat();
+        seat.setId(UUID.randomUUID());
+        seat.setRoom(room);
+        seat.setRowLabel(rowLabel);
+        seat.setSeatNumber(seatNumber);
+        seat.setSeatType(seatType);
+        return seat;
+    }
+}
@@ -14,9 +14,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.mapstructs.SeatMapper;
+import com.api.moviebooking.helpers.utils.CursorUtils;
+import com.api.moviebooking.models.dtos.CursorPage;
 import com.api.moviebooking.models.dtos.seat.*;
 import com.api.moviebooking.models.entities.Room;
 import com.api.moviebooking.models.entities.Seat;
@@ -43,6 +46,12 @@ class SeatServiceTest {
     @Mock
     private SeatMapper seatMapper;
 
+    @Mock
+    private SeatMaterializationService seatMaterializationService;
+
+    @Mock
+    private SeatStateService seatStateService;
+
     @InjectMocks
     private SeatService seatService;
 
@@ -290,7 +299,7 @@ class SeatServiceTest {
             request.setSeatsPerRow(15);
 
             when(roomRepo.findById(roomId)).thenReturn(Optional.of(room));
-            when(seatRepo.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+            when(seatRepo.saveAllInBatches(anyList())).thenAnswer(i -> i.getArgument(0));
             when(seatMapper.toDataResponse(any())).thenReturn(new SeatDataResponse());
 
             BulkSeatResponse result = seatService.generateSeats(request);
@@ -300,7 +309,7 @@ class SeatServiceTest {
             assertEquals(150, result.getNormalSeats());
             assertEquals(0, result.getVipSeats());
             assertEquals(0, result.getCoupleSeats());
-            verify(seatRepo).saveAll(anyList());
+            verify(seatRepo).saveAllInBatches(anyList());
         }
 
         @Test
@@ -315,7 +324,7 @@ class SeatServiceTest {
             request.setVipRows(Arrays.asList("A", "B"));
 
             when(roomRepo.findById(roomId)).thenReturn(Optional.of(room));
-            when(seatRepo.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+            when(seatRepo.saveAllInBatches(anyList())).thenAnswer(i -> i.getArgument(0));
             when(seatMapper.toDataResponse(any())).thenReturn(new SeatDataResponse());
 
             BulkSeatResponse result = seatService.generateSeats(request);
@@ -337,7 +346,7 @@ class SeatServiceTest {
             request.setCoupleRows(Arrays.asList("E"));
 
             when(roomRepo.findById(roomId)).thenReturn(Optional.of(room));
-            when(seatRepo.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+            when(seatRepo.saveAllInBatches(anyList())).thenAnswer(i -> i.getArgument(0));
             when(seatMapper.toDataResponse(any())).thenReturn(new SeatDataResponse());
 
             BulkSeatResponse result = seatService.generateSeats(request);
@@ -364,7 +373,7 @@ class SeatServiceTest {
                 seatService.generateSeats(request);
             });
 
-            verify(seatRepo, never()).saveAll(anyList());
+            verify(seatRepo, never()).saveAllInBatches(anyList());
         }
 
         @Test
@@ -463,14 +472,38 @@ class SeatServiceTest {
         @RegressionTest
         @DisplayName("Should get all seats")
         void testGetAllSeats() {
-            List<Seat> seats = Arrays.asList(seat, seat);
-            when(seatRepo.findAll()).thenReturn(seats);
-            when(seatMapper.toDataResponse(any())).thenReturn(new SeatDataResponse());
+            SeatDataResponse row = new SeatDataResponse();
+            row.setSeatId(UUID.randomUUID());
+            when(seatRepo.findPage(any(Limit.class))).thenReturn(Arrays.asList(row, row));
 
-            List<SeatDataResponse> result = seatService.getAllSeats();
+            CursorPage<SeatDataResponse> result = seatService.getAllSeats(null, null);
 
-            assertEquals(2, result.size());
-            verify(seatRepo).findAll();
+            assertEquals(2, result.getItems().size());
+            assertNull(result.getNextCursor());
+            verify(seatRepo).findPage(Limit.of(CursorUtils.DEFAULT_LIMIT + 1));
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should return next cursor when more seats exist")
+        void testGetAllSeats_HasNextPage() {
+            SeatDataResponse first = new SeatDataResponse();
+            first.setSeatId(UUID.randomUUID());
+            SeatDataResponse second = new SeatDataResponse();
+            second.setSeatId(UUID.randomUUID());
+            when(seatRepo.findPage(Limit.of(2))).thenReturn(Arrays.asList(first, second));
+
+            CursorPage<SeatDataResponse> result = seatService.getAllSeats(null, 1);
+
+            assertEquals(1, result.getItems().size());
+            assertEquals(first.getSeatId(), CursorUtils.decodeId(result.getNextCursor()));
+
+            when(seatRepo.findPageAfter(eq(first.getSeatId()), any(Limit.class))).thenReturn(List.of(second));
+
+            CursorPage<SeatDataResponse> next = seatService.getAllSeats(result.getNextCursor(), 1);
+
+            assertEquals(1, next.getItems().size());
+            assertFalse(next.hasMore());
         }
 
         @Test
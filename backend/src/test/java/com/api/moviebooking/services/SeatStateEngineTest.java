@@ -0,0 +1,180 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for SeatStateEngine.
+ */
+@DisplayName("SeatStateEngine Unit Tests")
+class SeatStateEngineTest {
+
+    @TempDir
+    Path directory;
+
+    private SeatStateEngine engine;
+    private UUID showtimeId;
+    private List<UUID> seatIds;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        engine = start(List.of());
+        showtimeId = UUID.randomUUID();
+        seatIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        engine.close();
+    }
+
+    @Test
+    @SmokeTest
+    @RegressionTest
+    @DisplayName("Should lock free seats and report the seats of other owners")
+    void testTryLock_Conflict() {
+        assertTrue(engine.tryLock(showtimeId, seatIds, "owner-1", 600).isEmpty());
+
+        List<UUID> conflicts = engine.tryLock(showtimeId, List.of(UUID.randomUUID(), seatIds.get(1)), "owner-2", 600);
+
+        assertEquals(List.of(seatIds.get(1)), conflicts);
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should lock nothing when one seat conflicts")
+    void testTryLock_AllOrNothing() {
+        UUID freeSeat = UUID.randomUUID();
+        engine.tryLock(showtimeId, List.of(seatIds.get(0)), "owner-1", 600);
+
+        engine.tryLock(showtimeId, List.of(freeSeat, seatIds.get(0)), "owner-2", 600);
+
+        assertTrue(engine.tryLock(showtimeId, List.of(freeSeat), "owner-3", 600).isEmpty());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should only release the owner's locks")
+    void testRelease_OtherOwnerIgnored() {
+        engine.tryLock(showtimeId, seatIds, "owner-1", 600);
+
+        engine.release(seatIds, "owner-2");
+        assertEquals(seatIds, engine.tryLock(showtimeId, seatIds, "owner-3", 600));
+
+        engine.release(seatIds, "owner-1");
+        assertTrue(engine.tryLock(showtimeId, seatIds, "owner-3", 600).isEmpty());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should tell the owner's own unexpired locks apart")
+    void testLockedBy() {
+        engine.tryLock(showtimeId, List.of(seatIds.get(0)), "owner-1", 600);
+        engine.tryLock(showtimeId, List.of(seatIds.get(1)), "owner-2", -1);
+
+        assertTrue(engine.lockedBy(seatIds, "owner-1"));
+        assertFalse(engine.lockedBy(seatIds, "owner-2"));
+        assertFalse(engine.lockedBy(List.of(seatIds.get(1)), "owner-1"));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should let another owner take an expired lock")
+    void testTryLock_ExpiredLock() {
+        engine.tryLock(showtimeId, seatIds, "owner-1", -1);
+
+        assertTrue(engine.tryLock(showtimeId, seatIds, "owner-2", 600).isEmpty());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should keep an extended lock past its first lease, for the owner only")
+    void testExtend() {
+        engine.tryLock(showtimeId, seatIds, "owner-1", -1);
+
+        engine.extend(seatIds, "owner-2", 600);
+        assertFalse(engine.lockedBy(seatIds, "owner-1"));
+
+        engine.extend(seatIds, "owner-1", 600);
+        assertTrue(engine.lockedBy(seatIds, "owner-1"));
+        assertEquals(seatIds, engine.tryLock(showtimeId, seatIds, "owner-2", 600));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject booked seats until they are made available")
+    void testMarkBooked() {
+        engine.markBooked(seatIds);
+        assertEquals(seatIds, engine.tryLock(showtimeId, seatIds, "owner-1", 600));
+
+        engine.markAvailable(seatIds);
+        assertTrue(engine.tryLock(showtimeId, seatIds, "owner-1", 600).isEmpty());
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should recover locks and bookings from the journal after a restart")
+    void testJournal_ReplayedOnRestart() throws IOException {
+        UUID booked = UUID.randomUUID();
+        engine.tryLock(showtimeId, seatIds, "owner-1", 600);
+        engine.markBooked(List.of(booked));
+        engine.close();
+
+        engine = start(List.of());
+
+        assertEquals(seatIds, engine.tryLock(showtimeId, seatIds, "owner-2", 600));
+        assertEquals(List.of(booked), engine.tryLock(showtimeId, List.of(booked), "owner-2", 600));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should only arbitrate the showtimes this node owns")
+    void testOwns_ConsistentHashing() throws IOException {
+        engine.close();
+        engine = start(List.of("node-1", "node-2", "node-3"));
+
+        long owned = IntStream.range(0, 300)
+                .filter(i -> engine.owns(UUID.randomUUID()))
+                .count();
+
+        assertTrue(owned > 30 && owned < 200, "node-1 owns " + owned + " of 300 showtimes");
+        UUID notOwned = Stream.generate(UUID::randomUUID)
+                .filter(id -> !engine.owns(id))
+                .findFirst()
+                .orElseThrow();
+        engine.markBooked(seatIds);
+        assertTrue(engine.tryLock(notOwned, seatIds, "owner-1", 600).isEmpty());
+    }
+
+    private SeatStateEngine start(List<String> nodes) throws IOException {
+        SeatStateEngine started = new SeatStateEngine(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(started, "enabled", true);
+        ReflectionTestUtils.setField(started, "directory", directory.toString());
+        ReflectionTestUtils.setField(started, "capacity", 1024);
+        ReflectionTestUtils.setField(started, "nodeId", "node-1");
+        ReflectionTestUtils.setField(started, "nodes", nodes);
+        started.init();
+        return started;
+    }
+}
@@ -0,0 +1,256 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import com.api.moviebooking.models.entities.SeatLock;
+import com.api.moviebooking.models.entities.SeatLockSeat;
+import com.api.moviebooking.models.entities.ShowtimeSeat;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.repositories.SeatLockRepo;
+import com.api.moviebooking.repositories.ShowtimeRepo;
+import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+import com.api.moviebooking.services.RedisLockService.SeatLockEntry;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for SeatStateReconciler.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatStateReconciler Unit Tests")
+class SeatStateReconcilerTest {
+
+    @Mock
+    private ShowtimeRepo showtimeRepo;
+
+    @Mock
+    private ShowtimeSeatRepo showtimeSeatRepo;
+
+    @Mock
+    private SeatLockRepo seatLockRepo;
+
+    @Mock
+    private RedisLockService redisLockService;
+
+    @Mock
+    private SeatStateService seatStateService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private SeatStateReconciler reconciler;
+
+    private UUID showtimeId;
+    private UUID seatId;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(reconciler, "enabled", true);
+        ReflectionTestUtils.setField(reconciler, "intervalMs", 30000L);
+        ReflectionTestUtils.setField(reconciler, "windowHours", 336L);
+        ReflectionTestUtils.setField(reconciler, "batchSize", 2);
+        ReflectionTestUtils.setField(reconciler, "graceSeconds", 30L);
+        ReflectionTestUtils.setField(reconciler, "lockDurationMinutes", 10L);
+        ReflectionTestUtils.setField(reconciler, "leaseSeconds", 120L);
+        reconciler.init();
+        showtimeId = UUID.randomUUID();
+        seatId = UUID.randomUUID();
+    }
+
+    @Test
+    @SmokeTest
+    @RegressionTest
+    @DisplayName("Should release a Redis lock no live lock row backs")
+    void testReconcile_OrphanRedisLock() {
+        String token = UUID.randomUUID().toString();
+        when(redisLockService.findSeatLocks(showtimeId))
+                .thenReturn(Map.of(seatId, new SeatLockEntry(token, acquiredSecondsAgo(120))));
+
+        int repaired = reconciler.reconcile(showtimeId);
+
+        assertEquals(1, repaired);
+        verify(redisLockService).releaseMultipleSeatsLock(showtimeId, List.of(seatId), token);
+        assertEquals(1.0, drift("redis_orphan_lock"));
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should leave a fresh Redis lock whose row may not be committed yet")
+    void testReconcile_FreshRedisLockWithinGrace() {
+        when(redisLockService.findSeatLocks(showtimeId))
+                .thenReturn(Map.of(seatId, new SeatLockEntry(UUID.randomUUID().toString(), acquiredSecondsAgo(5))));
+
+        assertEquals(0, reconciler.reconcile(showtimeId));
+        verify(redisLockService, never()).releaseMultipleSeatsLock(any(), any(), any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should release Redis locks on booked seats")
+    void testReconcile_RedisLockOnBookedSeat() {
+        String token = UUID.randomUUID().toString();
+        when(showtimeSeatRepo.findIdsByShowtimeIdAndStatus(showtimeId, SeatStatus.LOCKED)).thenReturn(List.of());
+        when(showtimeSeatRepo.findIdsByShowtimeIdAndStatus(showtimeId, SeatStatus.BOOKED)).thenReturn(List.of(seatId));
+        when(redisLockService.findSeatLocks(showtimeId))
+                .thenReturn(Map.of(seatId, new SeatLockEntry(token, acquiredSecondsAgo(5))));
+
+        reconciler.reconcile(showtimeId);
+
+        verify(redisLockService).releaseMultipleSeatsLock(showtimeId, List.of(seatId), token);
+        assertEquals(1.0, drift("redis_lock_on_booked"));
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should restore the Redis lock of a live lock row")
+    void testReconcile_MissingRedisLock() {
+        SeatLock lock = liveLock();
+        when(seatStateService.isRedisAuthoritative()).thenReturn(true);
+        when(seatLockRepo.findLiveLocksByShowtime(eq(showtimeId), any(), any())).thenReturn(List.of(lock));
+        when(seatLockRepo.findActiveIds(Set.of(lock.getId()))).thenReturn(List.of(lock.getId()));
+        when(redisLockService.restoreSeatLocks(eq(showtimeId), eq(List.of(seatId)), eq(lock.getLockKey()), anyLong()))
+                .thenReturn(1);
+
+        assertEquals(1, reconciler.reconcile(showtimeId));
+        assertEquals(1.0, drift("redis_lock_missing"));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should not restore the Redis lock of a lock released while reconciling")
+    void testReconcile_ReleasedDuringReconcile() {
+        SeatLock lock = liveLock();
+        when(seatStateService.isRedisAuthoritative()).thenReturn(true);
+        // Read as live, then released (Redis entry deleted, row deactivated) before the restore
+        when(seatLockRepo.findLiveLocksByShowtime(eq(showtimeId), any(), any())).thenReturn(List.of(lock));
+        when(seatLockRepo.findActiveIds(Set.of(lock.getId()))).thenReturn(List.of());
+
+        assertEquals(0, reconciler.reconcile(showtimeId));
+        verify(redisLockService, never()).restoreSeatLocks(any(), any(), any(), anyLong());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should read Redis before the lock rows and read the rows on the primary")
+    void testReconcile_RedisFirstOnPrimary() {
+        reconciler.reconcile(showtimeId);
+
+        InOrder inOrder = inOrder(redisLockService, seatLockRepo);
+        inOrder.verify(redisLockService).findSeatLocks(showtimeId);
+        inOrder.verify(seatLockRepo).findLiveLocksByShowtime(eq(showtimeId), any(), any());
+        ArgumentCaptor<TransactionDefinition> definition = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager, atLeastOnce()).getTransaction(definition.capture());
+        assertTrue(definition.getAllValues().stream().noneMatch(TransactionDefinition::isReadOnly));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should free LOCKED seats without a live lock in DATABASE state")
+    void testReconcile_PhantomDatabaseLock() {
+        when(showtimeSeatRepo.findIdsByShowtimeIdAndStatus(showtimeId, SeatStatus.LOCKED)).thenReturn(List.of(seatId));
+        when(showtimeSeatRepo.updateMultipleSeatsStatusFrom(List.of(seatId), SeatStatus.LOCKED, SeatStatus.AVAILABLE))
+                .thenReturn(1);
+
+        assertEquals(1, reconciler.reconcile(showtimeId));
+        assertEquals(1.0, drift("db_phantom_lock"));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should not check the status column in REDIS state")
+    void testReconcile_RedisState_StatusColumnIgnored() {
+        when(seatStateService.isRedisAuthoritative()).thenReturn(true);
+        when(showtimeSeatRepo.findIdsByShowtimeIdAndStatus(showtimeId, SeatStatus.LOCKED)).thenReturn(List.of(seatId));
+
+        assertEquals(0, reconciler.reconcile(showtimeId));
+        verify(showtimeSeatRepo, never()).updateMultipleSeatsStatusFrom(any(), any(), any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should continue after the last showtime of a full batch and wrap around")
+    void testReconcileNextBatch_Cursor() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        when(showtimeRepo.findIdsStartingBetween(any(), any(), eq(Limit.of(2)))).thenReturn(List.of(first, second));
+        when(showtimeRepo.findIdsStartingBetweenAfter(any(), any(), eq(second), eq(Limit.of(2))))
+                .thenReturn(List.of());
+        when(redisLockService.acquireLock(eq("lock:seat-reconciler"), any(), eq(30L))).thenReturn(true);
+
+        reconciler.reconcileNextBatch();
+        reconciler.reconcileNextBatch();
+        reconciler.reconcileNextBatch();
+
+        verify(showtimeRepo, times(2)).findIdsStartingBetween(any(), any(), any());
+        verify(redisLockService, times(2)).findSeatLocks(first);
+        verify(redisLockService, times(2)).findSeatLocks(second);
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should skip the run when another node holds the interval lock")
+    void testReconcileNextBatch_OtherNodeRan() {
+        when(redisLockService.acquireLock(eq("lock:seat-reconciler"), any(), anyLong())).thenReturn(false);
+
+        reconciler.reconcileNextBatch();
+
+        verifyNoInteractions(showtimeRepo, transactionManager);
+        verify(redisLockService, never()).findSeatLocks(any());
+    }
+
+    private long acquiredSecondsAgo(long seconds) {
+        return System.currentTimeMillis() - seconds * 1000 + 120_000;
+    }
+
+    private SeatLock liveLock() {
+        ShowtimeSeat showtimeSeat = new ShowtimeSeat();
+        showtimeSeat.setId(seatId);
+        SeatLock lock = new SeatLock();
+        lock.setId(UUID.randomUUID());
+        lock.setLockKey(UUID.randomUUID().toString());
+        lock.setExpiresAt(LocalDateTime.now().plusMinutes(5));
+        SeatLockSeat seatLockSeat = new SeatLockSeat();
+        seatLockSeat.setSeatLock(lock);
+        seatLockSeat.setShowtimeSeat(showtimeSeat);
+        lock.getSeatLockSeats().add(seatLockSeat);
+        return lock;
+    }
+
+    private double drift(String type) {
+        return meterRegistry.get("seat.reconciler.drift").tag("type", type).counter().count();
+    }
+}
@@ -0,0 +1,251 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.api.moviebooking.models.entities.SeatLock;
+import com.api.moviebooking.models.entities.Showtime;
+import com.api.moviebooking.models.entities.ShowtimeSeat;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.repositories.SeatLockRepo;
+import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Unit tests for SeatStateService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SeatStateService Unit Tests")
+class SeatStateServiceTest {
+
+    @Mock
+    private ShowtimeSeatRepo showtimeSeatRepo;
+
+    @Mock
+    private SeatLockRepo seatLockRepo;
+
+    @Mock
+    private RedisLockService redisLockService;
+
+    @Mock
+    private SeatStateEngine seatStateEngine;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private SeatStateService seatStateService;
+
+    private UUID showtimeId;
+    private List<UUID> seatIds;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(seatStateService, "state", "REDIS");
+        ReflectionTestUtils.setField(seatStateService, "batchSize", 500);
+        seatStateService.init();
+        showtimeId = UUID.randomUUID();
+        seatIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+    }
+
+    @Test
+    @SmokeTest
+    @RegressionTest
+    @DisplayName("Should write LOCKED in the request in DATABASE state")
+    void testMarkLocked_DatabaseState() {
+        ReflectionTestUtils.setField(seatStateService, "state", "DATABASE");
+
+        seatStateService.markLocked(showtimeId, seatIds);
+
+        verify(showtimeSeatRepo).updateMultipleSeatsStatus(showtimeId, seatIds, SeatStatus.LOCKED);
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should defer LOCKED to one batched update in REDIS state")
+    void testMarkLocked_RedisState_WriteBehind() {
+        seatStateService.markLocked(showtimeId, seatIds);
+
+        verify(showtimeSeatRepo, never()).updateMultipleSeatsStatus(any(), any(), any());
+
+        seatStateService.flush();
+
+        verify(showtimeSeatRepo).updateMultipleSeatsStatusFrom(
+                argThat(ids -> ids.containsAll(seatIds) && ids.size() == 2),
+                eq(SeatStatus.AVAILABLE), eq(SeatStatus.LOCKED));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should only write the latest change of a seat")
+    void testFlush_CoalescesLockAndRelease() {
+        seatStateService.markLocked(showtimeId, seatIds);
+        seatStateService.markAvailable(showtimeId, seatIds);
+
+        seatStateService.flush();
+
+        verify(showtimeSeatRepo, never()).updateMultipleSeatsStatusFrom(any(), any(), eq(SeatStatus.LOCKED));
+        verify(showtimeSeatRepo).updateMultipleSeatsStatusFrom(anyList(), eq(SeatStatus.LOCKED),
+                eq(SeatStatus.AVAILABLE));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should write a seat released while the queue is drained only as AVAILABLE")
+    void testFlush_ReleasedWhileDraining() {
+        UUID seatId = seatIds.get(0);
+        // The walk over the queue sees the seat twice: locked, then released right after it was drained
+        Map<UUID, SeatStatus> racing = new ConcurrentHashMap<>() {
+            @Override
+            public Set<Map.Entry<UUID, SeatStatus>> entrySet() {
+                return new LinkedHashSet<>(List.of(Map.entry(seatId, SeatStatus.LOCKED),
+                        Map.entry(seatId, SeatStatus.AVAILABLE)));
+            }
+
+            @Override
+            public boolean remove(Object key, Object value) {
+                boolean removed = super.remove(key, value);
+                if (removed && value == SeatStatus.LOCKED) {
+                    put(seatId, SeatStatus.AVAILABLE);
+                }
+                return removed;
+            }
+        };
+        racing.put(seatId, SeatStatus.LOCKED);
+        ReflectionTestUtils.setField(seatStateService, "pending", racing);
+
+        seatStateService.flush();
+
+        verify(showtimeSeatRepo, never()).updateMultipleSeatsStatusFrom(any(), any(), eq(SeatStatus.LOCKED));
+        verify(showtimeSeatRepo).updateMultipleSeatsStatusFrom(List.of(seatId), SeatStatus.LOCKED,
+                SeatStatus.AVAILABLE);
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should write LOCKED batches before AVAILABLE ones")
+    void testFlush_LockedBeforeAvailable() {
+        seatStateService.markAvailable(showtimeId, List.of(seatIds.get(0)));
+        seatStateService.markLocked(showtimeId, List.of(seatIds.get(1)));
+
+        seatStateService.flush();
+
+        InOrder inOrder = inOrder(showtimeSeatRepo);
+        inOrder.verify(showtimeSeatRepo).updateMultipleSeatsStatusFrom(List.of(seatIds.get(1)),
+                SeatStatus.AVAILABLE, SeatStatus.LOCKED);
+        inOrder.verify(showtimeSeatRepo).updateMultipleSeatsStatusFrom(List.of(seatIds.get(0)),
+                SeatStatus.LOCKED, SeatStatus.AVAILABLE);
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should drop queued changes of booked seats")
+    void testMarkBooked_DropsPending() {
+        seatStateService.markLocked(showtimeId, seatIds);
+        seatStateService.markBooked(showtimeId, seatIds);
+
+        seatStateService.flush();
+
+        verify(showtimeSeatRepo).updateMultipleSeatsStatus(showtimeId, seatIds, SeatStatus.BOOKED);
+        verify(showtimeSeatRepo, never()).updateMultipleSeatsStatusFrom(any(), any(), any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should book the seats of a lock in one statement, leaving the engine alone on a conflict")
+    void testMarkBookedBySeatLock() {
+        SeatLock seatLock = new SeatLock();
+        seatLock.setId(UUID.randomUUID());
+        seatLock.setCreatedAt(LocalDateTime.now());
+        seatLock.setShowtime(new Showtime());
+        seatLock.getShowtime().setId(showtimeId);
+        seatStateService.markLocked(showtimeId, seatIds);
+        when(showtimeSeatRepo.markBookedBySeatLock(seatLock.getId(), seatLock.getCreatedAt(), showtimeId))
+                .thenReturn(2, 1);
+
+        assertEquals(2, seatStateService.markBookedBySeatLock(seatLock, seatIds));
+        assertEquals(1, seatStateService.markBookedBySeatLock(seatLock, seatIds));
+        seatStateService.flush();
+
+        verify(seatStateEngine, times(1)).markBooked(seatIds);
+        verify(showtimeSeatRepo, never()).updateMultipleSeatsStatusFrom(any(), any(), any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should retry a failed flush on the next one")
+    void testFlush_Failure_Requeued() {
+        when(showtimeSeatRepo.updateMultipleSeatsStatusFrom(anyList(), any(), any()))
+                .thenThrow(new RuntimeException("DB down"))
+                .thenReturn(2);
+        seatStateService.markLocked(showtimeId, seatIds);
+
+        seatStateService.flush();
+        seatStateService.flush();
+
+        verify(showtimeSeatRepo, times(2)).updateMultipleSeatsStatusFrom(anyList(),
+                eq(SeatStatus.AVAILABLE), eq(SeatStatus.LOCKED));
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should take LOCKED from Redis and BOOKED from the database")
+    void testEffectiveStatus_RedisState() {
+        ShowtimeSeat staleLocked = seat(SeatStatus.LOCKED);
+        ShowtimeSeat lockedInRedis = seat(SeatStatus.AVAILABLE);
+        ShowtimeSeat booked = seat(SeatStatus.BOOKED);
+        Set<UUID> redisLocked = Set.of(lockedInRedis.getId(), booked.getId());
+
+        assertEquals(SeatStatus.AVAILABLE, seatStateService.effectiveStatus(staleLocked, redisLocked));
+        assertEquals(SeatStatus.LOCKED, seatStateService.effectiveStatus(lockedInRedis, redisLocked));
+        assertEquals(SeatStatus.BOOKED, seatStateService.effectiveStatus(booked, redisLocked));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should not ask Redis in DATABASE state")
+    void testLockedSeatIds_DatabaseState() {
+        ReflectionTestUtils.setField(seatStateService, "state", "DATABASE");
+
+        assertTrue(seatStateService.lockedSeatIds(UUID.randomUUID(), List.of(seat(SeatStatus.LOCKED))).isEmpty());
+        verifyNoInteractions(redisLockService);
+    }
+
+    private ShowtimeSeat seat(SeatStatus status) {
+        ShowtimeSeat seat = new ShowtimeSeat();
+        seat.setId(UUID.randomUUID());
+        seat.setStatus(status);
+        return seat;
+    }
+}
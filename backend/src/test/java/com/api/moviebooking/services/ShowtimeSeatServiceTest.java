@@ -15,6 +15,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import com.api.moviebooking.helpers.exceptions.ResourceNotFoundException;
 import com.api.moviebooking.helpers.mapstructs.ShowtimeSeatMapper;
@@ -48,6 +49,15 @@ class ShowtimeSeatServiceTest {
     @Mock
     private PriceCalculationService priceCalculationService;
 
+    @Mock
+    private SeatMaterializationService seatMaterializationService;
+
+    @Mock
+    private SeatStateService seatStateService;
+
+    @Mock
+    private SeatStateEngine seatStateEngine;
+
     @InjectMocks
     private ShowtimeSeatService showtimeSeatService;
 
@@ -60,6 +70,11 @@ class ShowtimeSeatServiceTest {
 
     @BeforeEach
     void setUp() {
+        // Database-held seat state: the stored status is the effective one
+        lenient().when(seatStateService.effectiveStatus(any(), any()))
+                .thenAnswer(invocation -> ((ShowtimeSeat) invocation.getArgument(0)).getStatus());
+
+        ReflectionTestUtils.setField(showtimeSeatService, "copyThreshold", 2000);
         showtimeId = UUID.randomUUID();
         showtimeSeatId = UUID.randomUUID();
 
@@ -112,7 +127,7 @@ class ShowtimeSeatServiceTest {
 
             when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.of(showtime));
             when(priceCalculationService.calculatePriceWithBreakdown(any(), any())).thenReturn(priceData);
-            when(showtimeSeatRepo.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
+            when(showtimeSeatRepo.saveAllInBatches(anyList())).thenAnswer(i -> i.getArgument(0));
             when(showtimeSeatMapper.toDataResponse(any())).thenReturn(new ShowtimeSeatDataResponse());
 
             List<ShowtimeSeatDataResponse> result = showtimeSeatService
@@ -120,7 +135,7 @@ class ShowtimeSeatServiceTest {
 
             assertNotNull(result);
             assertEquals(2, result.size());
-            verify(showtimeSeatRepo).saveAll(anyList());
+            verify(showtimeSeatRepo).saveAllInBatches(anyList());
             verify(priceCalculationService, times(2)).calculatePriceWithBreakdown(any(), any());
         }
 
@@ -134,7 +149,7 @@ class ShowtimeSeatServiceTest {
                 showtimeSeatService.generateShowtimeSeats(showtimeId);
             });
 
-            verify(showtimeSeatRepo, never()).saveAll(anyList());
+            verify(showtimeSeatRepo, never()).saveAllInBatches(anyList());
         }
 
         @Test
@@ -149,7 +164,22 @@ class ShowtimeSeatServiceTest {
                 showtimeSeatService.generateShowtimeSeats(showtimeId);
             });
 
-            verify(showtimeSeatRepo, never()).saveAll(anyList());
+            verify(showtimeSeatRepo, never()).saveAllInBatches(anyList());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should only snapshot seat type prices in sparse storage")
+        void testGenerateShowtimeSeats_SparseStorage() {
+            when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.of(showtime));
+            when(seatMaterializationService.isSparseStorage()).thenReturn(true);
+
+            List<ShowtimeSeatDataResponse> result = showtimeSeatService.generateShowtimeSeats(showtimeId);
+
+            assertTrue(result.isEmpty());
+            verify(seatMaterializationService).snapshotPrices(showtime);
+            verify(showtimeRepo).save(showtime);
+            verify(showtimeSeatRepo, never()).saveAllInBatches(anyList());
         }
 
         @Test
@@ -161,7 +191,7 @@ class ShowtimeSeatServiceTest {
 
             when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.of(showtime));
             when(priceCalculationService.calculatePriceWithBreakdown(any(), any())).thenReturn(priceData);
-            when(showtimeSeatRepo.saveAll(anyList())).thenAnswer(invocation -> {
+            when(showtimeSeatRepo.saveAllInBatches(anyList())).thenAnswer(invocation -> {
                 List<ShowtimeSeat> seats = invocation.getArgument(0);
                 for (ShowtimeSeat ss : seats) {
                     assertEquals(SeatStatus.AVAILABLE, ss.getStatus());
@@ -172,7 +202,30 @@ class ShowtimeSeatServiceTest {
 
             showtimeSeatService.generateShowtimeSeats(showtimeId);
 
-            verify(showtimeSeatRepo).saveAll(anyList());
+            verify(showtimeSeatRepo).saveAllInBatches(anyList());
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should price each seat type once and COPY large rooms")
+        void testGenerateShowtimeSeats_CopyAboveThreshold() {
+            Seat seat3 = new Seat();
+            seat3.setId(UUID.randomUUID());
+            seat3.setSeatType(SeatType.NORMAL);
+            room.setSeats(Arrays.asList(seat1, seat2, seat3));
+            ReflectionTestUtils.setField(showtimeSeatService, "copyThreshold", 3);
+
+            when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.of(showtime));
+            when(priceCalculationService.calculatePriceWithBreakdown(any(), any()))
+                    .thenReturn(new Object[] { new BigDecimal("100000"), "{}" });
+            when(showtimeSeatMapper.toDataResponse(any())).thenReturn(new ShowtimeSeatDataResponse());
+
+            List<ShowtimeSeatDataResponse> result = showtimeSeatService.generateShowtimeSeats(showtimeId);
+
+            assertEquals(3, result.size());
+            verify(priceCalculationService, times(2)).calculatePriceWithBreakdown(any(), any());
+            verify(showtimeSeatRepo).copyInsert(anyList());
+            verify(showtimeSeatRepo, never()).saveAllInBatches(anyList());
         }
     }
 
@@ -346,14 +399,14 @@ class ShowtimeSeatServiceTest {
         @DisplayName("Should get seats by showtime")
         void testGetSeatsByShowtime() {
             List<ShowtimeSeat> seats = Arrays.asList(showtimeSeat);
-            when(showtimeSeatRepo.findByShowtimeId(showtimeId)).thenReturn(seats);
+            when(showtimeSeatRepo.findByShowtimeIdWithSeat(showtimeId)).thenReturn(seats);
             when(showtimeSeatMapper.toDataResponse(any())).thenReturn(new ShowtimeSeatDataResponse());
 
             List<ShowtimeSeatDataResponse> result = showtimeSeatService
                     .getShowtimeSeatsByShowtime(showtimeId);
 
             assertEquals(1, result.size());
-            verify(showtimeSeatRepo).findByShowtimeId(showtimeId);
+            verify(showtimeSeatRepo).findByShowtimeIdWithSeat(showtimeId);
         }
 
         @Test
@@ -372,6 +425,29 @@ class ShowtimeSeatServiceTest {
 
             assertEquals(1, result.size());
             verify(showtimeSeatRepo).findByShowtimeIdAndStatus(showtimeId, SeatStatus.AVAILABLE);
+            verify(showtimeSeatRepo, never()).findByShowtimeIdWithSeat(showtimeId);
+        }
+
+        @Test
+        @RegressionTest
+        @DisplayName("Should add the seats without a row of a sparse showtime to the available seats")
+        void testGetAvailableSeats_Sparse() {
+            List<ShowtimeSeat> availableSeats = Arrays.asList(showtimeSeat);
+            List<ShowtimeSeat> allSeats = Arrays.asList(showtimeSeat);
+            ShowtimeSeat unmaterialized = new ShowtimeSeat();
+            when(showtimeSeatRepo.findByShowtimeIdAndStatus(showtimeId, SeatStatus.AVAILABLE))
+                    .thenReturn(availableSeats);
+            when(seatMaterializationService.showtimeOf(eq(showtimeId), any())).thenReturn(showtime);
+            when(seatMaterializationService.isSparse(showtime)).thenReturn(true);
+            when(showtimeSeatRepo.findByShowtimeIdWithSeat(showtimeId)).thenReturn(allSeats);
+            when(seatMaterializationService.unmaterializedSeats(showtime, allSeats))
+                    .thenReturn(List.of(unmaterialized));
+            when(showtimeSeatMapper.toDataResponse(any())).thenReturn(new ShowtimeSeatDataResponse());
+
+            List<ShowtimeSeatDataResponse> result = showtimeSeatService
+                    .getAvailableShowtimeSeats(showtimeId);
+
+            assertEquals(2, result.size());
         }
 
         @Test
@@ -403,7 +479,7 @@ class ShowtimeSeatServiceTest {
             Object[] priceData = new Object[] { new BigDecimal("95000"), "{\"final\":95000}" };
 
             when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.of(showtime));
-            when(showtimeSeatRepo.findByShowtimeId(showtimeId)).thenReturn(seats);
+            when(showtimeSeatRepo.findByShowtimeIdWithSeat(showtimeId)).thenReturn(seats);
             when(priceCalculationService.calculatePriceWithBreakdown(showtime, seat1))
                     .thenReturn(priceData);
             when(showtimeSeatRepo.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
@@ -427,7 +503,7 @@ class ShowtimeSeatServiceTest {
             Object[] priceData = new Object[] { new BigDecimal("80000"), expectedBreakdown };
 
             when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.of(showtime));
-            when(showtimeSeatRepo.findByShowtimeId(showtimeId)).thenReturn(seats);
+            when(showtimeSeatRepo.findByShowtimeIdWithSeat(showtimeId)).thenReturn(seats);
             when(priceCalculationService.calculatePriceWithBreakdown(any(), any())).thenReturn(priceData);
             when(showtimeSeatRepo.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
             when(showtimeSeatMapper.toDataResponse(any())).thenReturn(new ShowtimeSeatDataResponse());
@@ -464,7 +540,7 @@ class ShowtimeSeatServiceTest {
             List<ShowtimeSeat> seats = Arrays.asList(showtimeSeat, seat2Instance);
 
             when(showtimeRepo.findById(showtimeId)).thenReturn(Optional.of(showtime));
-            when(showtimeSeatRepo.findByShowtimeId(showtimeId)).thenReturn(seats);
+            when(showtimeSeatRepo.findByShowtimeIdWithSeat(showtimeId)).thenReturn(seats);
             when(priceCalculationService.calculatePriceWithBreakdown(any(), any()))
                     .thenReturn(new Object[] { new BigDecimal("100000"), "{}" });
             when(showtimeSeatRepo.saveAll(anyList())).thenAnswer(i -> i.getArgument(0));
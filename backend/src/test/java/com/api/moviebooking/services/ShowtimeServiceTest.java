@@ -5,6 +5,7 @@ import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -18,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
 import com.api.moviebooking.helpers.mapstructs.ShowtimeMapper;
 import com.api.moviebooking.models.dtos.showtime.AddShowtimeRequest;
@@ -181,6 +183,7 @@ class ShowtimeServiceTest {
                 ShowtimeDataResponse result = showtimeService.updateShowtime(showtimeId, req);
 
                 verify(showtimeRepo).save(existing);
+                verify(showtimeSeatService).rescheduleShowtimeSeats(showtimeId, newStartTime);
                 assertEquals(newRoom, existing.getRoom());
                 assertEquals("3D", existing.getFormat());
                 assertEquals(newStartTime, existing.getStartTime());
@@ -220,6 +223,7 @@ class ShowtimeServiceTest {
                                 .thenReturn(true);
 
                 assertThrows(IllegalArgumentException.class, () -> showtimeService.updateShowtime(showtimeId, req));
+                verify(showtimeSeatService, never()).rescheduleShowtimeSeats(any(), any());
         }
 
         @Test
@@ -267,7 +271,7 @@ class ShowtimeServiceTest {
                 Showtime showtime2 = new Showtime();
                 showtime2.setFormat("3D");
 
-                when(showtimeRepo.findAll()).thenReturn(List.of(showtime1, showtime2));
+                when(showtimeRepo.findPage(any(Limit.class))).thenReturn(List.of(showtime1, showtime2));
 
                 ShowtimeDataResponse resp1 = ShowtimeDataResponse.builder()
                                 .format("2D")
@@ -279,7 +283,7 @@ class ShowtimeServiceTest {
                 when(showtimeMapper.toDataResponse(showtime1)).thenReturn(resp1);
                 when(showtimeMapper.toDataResponse(showtime2)).thenReturn(resp2);
 
-                List<ShowtimeDataResponse> result = showtimeService.getAllShowtimes();
+                List<ShowtimeDataResponse> result = showtimeService.getAllShowtimes(null, null).getItems();
 
                 assertEquals(2, result.size());
                 assertEquals("2D", result.get(0).getFormat());
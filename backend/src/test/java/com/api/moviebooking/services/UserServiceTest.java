@@ -22,6 +22,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
@@ -729,28 +730,28 @@ class UserServiceTest {
             UserProfileResponse response2 = new UserProfileResponse();
             response2.setEmail("user2@example.com");
 
-            when(userRepo.findAll()).thenReturn(List.of(mockUser, user2));
+            when(userRepo.findPage(any(Limit.class))).thenReturn(List.of(mockUser, user2));
             when(userMapper.toUserProfileResponse(mockUser)).thenReturn(response1);
             when(userMapper.toUserProfileResponse(user2)).thenReturn(response2);
 
-            List<UserProfileResponse> result = userService.getAllUsers();
+            List<UserProfileResponse> result = userService.getAllUsers(null, null).getItems();
 
             assertNotNull(result);
             assertEquals(2, result.size());
-            verify(userRepo).findAll();
+            verify(userRepo).findPage(any(Limit.class));
         }
 
         @Test
         @RegressionTest
         @DisplayName("TC-2: Should return empty list when no users exist")
         void testGetAllUsers_EmptyList() {
-            when(userRepo.findAll()).thenReturn(List.of());
+            when(userRepo.findPage(any(Limit.class))).thenReturn(List.of());
 
-            List<UserProfileResponse> result = userService.getAllUsers();
+            List<UserProfileResponse> result = userService.getAllUsers(null, null).getItems();
 
             assertNotNull(result);
             assertTrue(result.isEmpty());
-            verify(userRepo).findAll();
+            verify(userRepo).findPage(any(Limit.class));
         }
     }
 
@@ -0,0 +1,258 @@
+package com.api.moviebooking.services;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.api.moviebooking.helpers.exceptions.AdmissionRequiredException;
+import com.api.moviebooking.helpers.exceptions.ServiceOverloadedException;
+import com.api.moviebooking.models.dtos.SessionContext;
+import com.api.moviebooking.models.dtos.booking.WaitingRoomStatusResponse;
+import com.api.moviebooking.models.enums.LockOwnerType;
+import com.api.moviebooking.models.enums.SeatStatus;
+import com.api.moviebooking.models.enums.WaitingRoomStatus;
+import com.api.moviebooking.repositories.SeatRepo;
+import com.api.moviebooking.repositories.ShowtimeSeatRepo;
+import com.api.moviebooking.services.WaitingRoomService.AdmissionTicket;
+import com.api.moviebooking.tags.RegressionTest;
+import com.api.moviebooking.tags.SanityTest;
+import com.api.moviebooking.tags.SmokeTest;
+
+/**
+ * Unit tests for WaitingRoomService.
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("WaitingRoomService Unit Tests")
+class WaitingRoomServiceTest {
+
+    @Mock
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Mock
+    private SetOperations<String, Object> setOperations;
+
+    @Mock
+    private RedisLockService redisLockService;
+
+    @Mock
+    private SeatRepo seatRepo;
+
+    @Mock
+    private ShowtimeSeatRepo showtimeSeatRepo;
+
+    @InjectMocks
+    private WaitingRoomService waitingRoomService;
+
+    private final UUID showtimeId = UUID.randomUUID();
+    private SessionContext session;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(waitingRoomService, "admitPerSecond", 50.0);
+        ReflectionTestUtils.setField(waitingRoomService, "seatFactor", 1.5);
+        ReflectionTestUtils.setField(waitingRoomService, "ticketTtlSeconds", 120L);
+        ReflectionTestUtils.setField(waitingRoomService, "secret", "test-waiting-room-secret");
+        session = SessionContext.builder()
+                .lockOwnerId(UUID.randomUUID().toString())
+                .lockOwnerType(LockOwnerType.GUEST_SESSION)
+                .build();
+    }
+
+    @Test
+    @SmokeTest
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should not queue sessions for a showtime that is not hot")
+    void testGetStatus_NotHot() {
+        WaitingRoomStatusResponse response = waitingRoomService.getStatus(showtimeId, session, true);
+
+        assertEquals(WaitingRoomStatus.NOT_REQUIRED, response.getStatus());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @SmokeTest
+    @RegressionTest
+    @DisplayName("Should report the queue position and estimated wait of a queued session")
+    void testGetStatus_Waiting() {
+        enableHotMode();
+        doReturn(List.of("WAITING", "120", "500")).when(redisTemplate).execute(any(RedisScript.class),
+                any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any(), any(), any());
+
+        WaitingRoomStatusResponse response = waitingRoomService.getStatus(showtimeId, session, true);
+
+        assertEquals(WaitingRoomStatus.WAITING, response.getStatus());
+        assertEquals(120L, response.getPosition());
+        assertEquals(500L, response.getQueueLength());
+        assertEquals(3L, response.getEstimatedWaitSeconds());
+        assertNull(response.getAdmissionTicket());
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), eq(session.getLockOwnerId()), eq("1"), any());
+    }
+
+    @Test
+    @SanityTest
+    @RegressionTest
+    @DisplayName("Should hand an admitted session a ticket for its showtime")
+    void testGetStatus_Admitted() {
+        enableHotMode();
+        LocalDateTime expiresAt = LocalDateTime.now().plusMinutes(2).withNano(0);
+        long expiryMillis = expiresAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        doReturn(List.of("ADMITTED", Long.toString(expiryMillis))).when(redisTemplate).execute(
+                any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(),
+                any(), any(), any());
+
+        WaitingRoomStatusResponse response = waitingRoomService.getStatus(showtimeId, session, false);
+
+        assertEquals(WaitingRoomStatus.ADMITTED, response.getStatus());
+        assertEquals(expiresAt, response.getTicketExpiresAt());
+        AdmissionTicket ticket = waitingRoomService.verifyTicket(response.getAdmissionTicket());
+        assertEquals(showtimeId, ticket.showtimeId());
+        assertEquals(session.getLockOwnerId(), ticket.lockOwnerId());
+        doReturn(1L).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any());
+        assertDoesNotThrow(() -> waitingRoomService.requireAdmission(showtimeId, session,
+                response.getAdmissionTicket()));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should let lock requests through without a ticket when the showtime is not hot")
+    void testRequireAdmission_NotHot() {
+        assertDoesNotThrow(() -> waitingRoomService.requireAdmission(showtimeId, session, null));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject a lock request without a ticket on a hot showtime")
+    void testRequireAdmission_MissingTicket() {
+        enableHotMode();
+
+        assertThrows(AdmissionRequiredException.class,
+                () -> waitingRoomService.requireAdmission(showtimeId, session, null));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject a tampered ticket")
+    void testRequireAdmission_TamperedTicket() {
+        enableHotMode();
+        String ticket = waitingRoomService.issueTicket(new AdmissionTicket(showtimeId, session.getLockOwnerId(),
+                LocalDateTime.now().plusMinutes(2)));
+        String forged = waitingRoomService.issueTicket(new AdmissionTicket(showtimeId, "someone-else",
+                LocalDateTime.now().plusMinutes(2)));
+        String tampered = forged.substring(0, forged.indexOf('.')) + ticket.substring(ticket.indexOf('.'));
+
+        assertThrows(AdmissionRequiredException.class,
+                () -> waitingRoomService.requireAdmission(showtimeId, session, tampered));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject a ticket issued to another session")
+    void testRequireAdmission_OtherSession() {
+        enableHotMode();
+        String ticket = waitingRoomService.issueTicket(new AdmissionTicket(showtimeId, UUID.randomUUID().toString(),
+                LocalDateTime.now().plusMinutes(2)));
+
+        assertThrows(AdmissionRequiredException.class,
+                () -> waitingRoomService.requireAdmission(showtimeId, session, ticket));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject an expired ticket")
+    void testRequireAdmission_Expired() {
+        enableHotMode();
+        String ticket = waitingRoomService.issueTicket(new AdmissionTicket(showtimeId, session.getLockOwnerId(),
+                LocalDateTime.now().minusSeconds(1)));
+
+        assertThrows(AdmissionRequiredException.class,
+                () -> waitingRoomService.requireAdmission(showtimeId, session, ticket));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should reject a ticket whose slot was freed by a successful lock")
+    void testRequireAdmission_UsedTicket() {
+        enableHotMode();
+        String ticket = waitingRoomService.issueTicket(new AdmissionTicket(showtimeId, session.getLockOwnerId(),
+                LocalDateTime.now().plusMinutes(2)));
+        doReturn(0L).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any());
+
+        assertThrows(AdmissionRequiredException.class,
+                () -> waitingRoomService.requireAdmission(showtimeId, session, ticket));
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), eq(List.of("waitroom:{" + showtimeId + "}:admitted")),
+                eq(session.getLockOwnerId()));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should ask to retry when the admission slot cannot be checked")
+    void testRequireAdmission_RedisDown() {
+        enableHotMode();
+        String ticket = waitingRoomService.issueTicket(new AdmissionTicket(showtimeId, session.getLockOwnerId(),
+                LocalDateTime.now().plusMinutes(2)));
+        doThrow(new RuntimeException("Redis connection failed")).when(redisTemplate).execute(
+                any(RedisScript.class), any(RedisSerializer.class), any(RedisSerializer.class), anyList(), any());
+
+        assertThrows(ServiceOverloadedException.class,
+                () -> waitingRoomService.requireAdmission(showtimeId, session, ticket));
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should cap admissions at the available seats times the seat factor")
+    void testAdmit_CapacityFromAvailableSeats() {
+        when(seatRepo.countByShowtimeId(showtimeId)).thenReturn(100L);
+        when(showtimeSeatRepo.countByShowtimeIdAndStatus(showtimeId, SeatStatus.BOOKED)).thenReturn(40L);
+        when(redisLockService.findLockedSeats(showtimeId))
+                .thenReturn(Set.of(UUID.randomUUID(), UUID.randomUUID()));
+        doReturn(7L).when(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), any(), any(), any(), any());
+
+        assertEquals(7L, waitingRoomService.admit(showtimeId));
+
+        verify(redisTemplate).execute(any(RedisScript.class), any(RedisSerializer.class),
+                any(RedisSerializer.class), anyList(), eq("50.0"), eq("87"), eq("120000"), any());
+    }
+
+    @Test
+    @RegressionTest
+    @DisplayName("Should keep the last known hot showtimes when Redis is unreachable")
+    void testAdmitNext_RefreshFailure() {
+        enableHotMode();
+        when(setOperations.members(anyString())).thenThrow(new RuntimeException("Redis connection failed"));
+
+        assertDoesNotThrow(() -> waitingRoomService.admitNext());
+
+        assertTrue(waitingRoomService.isHot(showtimeId));
+    }
+
+    private void enableHotMode() {
+        when(redisTemplate.opsForSet()).thenReturn(setOperations);
+        waitingRoomService.enable(showtimeId);
+    }
+}
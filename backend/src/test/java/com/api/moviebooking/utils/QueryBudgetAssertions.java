@@ -0,0 +1,72 @@
+package com.api.moviebooking.utils;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+import java.util.function.Supplier;
+
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import com.api.moviebooking.configs.QueryCountFilter;
+import com.api.moviebooking.configs.QueryCountInspector;
+
+import io.restassured.module.mockmvc.response.MockMvcResponse;
+
+/**
+ * Assertions for SQL statement budgets in integration tests.
+ * Requires query-count.enabled=true (set in application-test.properties).
+ *
+ * Usage:
+ * RestAssuredMockMvc.mockMvc(QueryBudgetAssertions.mockMvc(context));
+ * MockMvcResponse response = given().when().get("/seats/layout?showtime_id=" + id);
+ * QueryBudgetAssertions.assertWithinBudget(response, 2);
+ */
+public final class QueryBudgetAssertions {
+
+    private QueryBudgetAssertions() {
+    }
+
+    /**
+     * MockMvc with the query count filter, so responses carry X-Query-Count
+     * (MockMvc does not pick up servlet filter beans by itself)
+     */
+    public static MockMvc mockMvc(WebApplicationContext context) {
+        return MockMvcBuilders
+                .webAppContextSetup(context)
+                .addFilters(new QueryCountFilter())
+                .apply(springSecurity())
+                .build();
+    }
+
+    /**
+     * Assert the request ran at most {@code budget} SQL statements
+     */
+    public static void assertWithinBudget(MockMvcResponse response, long budget) {
+        String header = response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER);
+        assertNotNull(header, "Response has no " + QueryCountFilter.QUERY_COUNT_HEADER + " header");
+
+        long count = Long.parseLong(header);
+        assertTrue(count <= budget,
+                "Query budget exceeded: " + count + " statements, budget " + budget);
+    }
+
+    /**
+     * Run a service-level action and assert it ran at most {@code budget} SQL
+     * statements on the current thread
+     */
+    public static <T> T assertWithinBudget(long budget, Supplier<T> action) {
+        QueryCountInspector.start();
+        try {
+            T result = action.get();
+            long count = QueryCountInspector.count();
+            assertTrue(count <= budget,
+                    "Query budget exceeded: " + count + " statements, budget " + budget);
+            return result;
+        } finally {
+            QueryCountInspector.clear();
+        }
+    }
+}
@@ -53,8 +53,12 @@ export const HEADERS = {
 export function fetchK6TestData() {
     console.log('🔍 Fetching K6 test data from API...');
     
-    // 1. Get movies and find "K6 Performance Test Movie"
-    const moviesRes = http.get(`${CONFIG.BASE_URL}/movies`, { headers: HEADERS });
+    // 1. Find "K6 Performance Test Movie" by title; the plain /movies list is
+    //    paginated and may not include it on the first page
+    const moviesRes = http.get(
+        `${CONFIG.BASE_URL}/movies/search/title?title=${encodeURIComponent(CONFIG.K6_MOVIE_TITLE)}`,
+        { headers: HEADERS }
+    );
     if (moviesRes.status !== 200) {
         console.error(`❌ Failed to fetch movies: ${moviesRes.status}`);
         return null;